@@ -0,0 +1,46 @@
+package mylab.bench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.config.Configurator;
+
+/**
+ * 벤치마크 중 System.out 출력을 버리기 위한 도우미.
+ *
+ * - 측정 대상 코드가 println 을 호출하면 JMH 포크(fork) 프로세스의 출력이 부모로 전달되어
+ *   터미널 속도가 결과에 섞인다. 출력 문자열을 만드는 비용은 그대로 측정되고, 쓰기만 버린다.
+ * - log4j2 로 바뀐 로그는 root 레벨을 OFF 로 낮춰 끈다(레벨 검사만 측정됨).
+ */
+public final class QuietConsole {
+
+    private static final PrintStream ORIGINAL = System.out;
+    private static volatile Level originalRootLevel;
+
+    private QuietConsole() {}
+
+    /** System.out 을 아무것도 쓰지 않는 스트림으로 바꾸고 root logger 를 끈다. */
+    public static void silence() {
+        if (originalRootLevel == null) {
+            originalRootLevel = LogManager.getRootLogger().getLevel();
+        }
+        Configurator.setRootLevel(Level.OFF);
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {}
+
+            @Override
+            public void write(byte[] b, int off, int len) {}
+        }));
+    }
+
+    /** 원래 System.out 과 root logger 레벨로 되돌린다. */
+    public static void restore() {
+        if (originalRootLevel != null) {
+            Configurator.setRootLevel(originalRootLevel);
+        }
+        System.setOut(ORIGINAL);
+    }
+}
@@ -0,0 +1,72 @@
+package mylab.notification.di.annot;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 느린 제공업체(FakeNotificationService) 상대로 동기 전송과 비동기 전송의 처리량 비교.
+ * 한 번 호출에 BATCH 건을 보내고 모두 끝날 때까지 기다린다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsyncNotificationDispatcherBenchmark {
+
+    static final int BATCH = 200;
+
+    @Param({ "1", "5" })
+    long latencyMillis;
+
+    @Param({ "64" })
+    int threads;
+
+    FakeNotificationService provider;
+    AsyncNotificationDispatcher dispatcher;
+
+    @Setup
+    public void setUp() {
+        provider = new FakeNotificationService("fake", latencyMillis);
+        dispatcher = new AsyncNotificationDispatcher(AsyncNotificationDispatcher.newDefaultExecutor(threads),
+                1024, AsyncNotificationDispatcher.Backpressure.BLOCK);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        dispatcher.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void sync() {
+        for (int i = 0; i < BATCH; i++) {
+            provider.sendNotification("벤치마크");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void async() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            futures[i] = dispatcher.dispatch(provider, "벤치마크");
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+}
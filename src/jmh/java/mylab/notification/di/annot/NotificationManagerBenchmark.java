@@ -0,0 +1,57 @@
+package mylab.notification.di.annot;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import mylab.bench.QuietConsole;
+import mylab.notification.di.annot.config.NotificationConfig;
+
+/**
+ * NotificationManager 전송 벤치마크 (NotificationConfig 컨텍스트).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NotificationManagerBenchmark {
+
+    AnnotationConfigApplicationContext context;
+    NotificationManager notificationManager;
+
+    @Setup
+    public void setUp() {
+        QuietConsole.silence();
+        context = new AnnotationConfigApplicationContext(NotificationConfig.class);
+        notificationManager = context.getBean(NotificationManager.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        QuietConsole.restore();
+    }
+
+    @Benchmark
+    public void sendByEmail() {
+        notificationManager.sendNotificationByEmail("벤치마크 이메일");
+    }
+
+    @Benchmark
+    public void sendBySms() {
+        notificationManager.sendNotificationBySms("벤치마크 SMS");
+    }
+}
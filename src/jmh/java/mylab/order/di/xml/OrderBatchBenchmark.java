@@ -0,0 +1,72 @@
+package mylab.order.di.xml;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 주문 총액 일괄 계산 벤치마크: 단건 반복 vs calculateOrderTotals (fork/join).
+ *
+ * - 카트 20만 개(대부분 1~5개 상품, 1% 는 최대 200개) 한 묶음을 처리하는 시간.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderBatchBenchmark {
+
+    final OrderService orderService = new OrderService();
+    List<ShoppingCart> carts;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        Product[] catalog = new Product[500];
+        for (int i = 0; i < catalog.length; i++) {
+            catalog[i] = new Product("P" + i, "상품" + i, random.nextInt(10_000_000) / 100.0);
+        }
+        carts = new ArrayList<>();
+        for (int c = 0; c < 200_000; c++) {
+            int size = 1 + random.nextInt(c % 100 == 0 ? 200 : 5);
+            List<Product> products = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                products.add(catalog[random.nextInt(catalog.length)]);
+            }
+            ShoppingCart cart = new ShoppingCart();
+            cart.setProducts(products);
+            carts.add(cart);
+        }
+    }
+
+    @Benchmark
+    public void singleCartLoop(Blackhole bh) {
+        for (ShoppingCart cart : carts) {
+            bh.consume(orderService.calculateOrderTotal(cart));
+        }
+    }
+
+    @Benchmark
+    public double[] batch() {
+        return orderService.calculateOrderTotals(carts);
+    }
+
+    @Benchmark
+    public double[] batchStream() {
+        return orderService.calculateOrderTotals(carts.stream());
+    }
+}
@@ -0,0 +1,77 @@
+package mylab.order.di.xml;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ShoppingCart 총액 계산 벤치마크 (카트 크기별).
+ *
+ * - listCart        : 기존 ShoppingCart.getTotalPrice() (List 전체 순회, double 합산)
+ * - listCartUnits   : ShoppingCart.getTotalPriceUnits() (전체 순회, 정확한 금액)
+ * - incrementalCart : IncrementalShoppingCart (누적 합계, O(1))
+ * - catalogCart     : CatalogShoppingCart (slot 배열 순회)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShoppingCartBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int cartSize;
+
+    ShoppingCart listCart;
+    IncrementalShoppingCart incrementalCart;
+    CatalogShoppingCart catalogCart;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Product> products = new ArrayList<>(cartSize);
+        for (int i = 0; i < cartSize; i++) {
+            products.add(new Product("P" + i, "상품" + i, random.nextInt(10_000_000) / 100.0));
+        }
+        listCart = new ShoppingCart();
+        listCart.setProducts(products);
+        incrementalCart = new IncrementalShoppingCart();
+        incrementalCart.setProducts(products);
+        catalogCart = new CatalogShoppingCart(new ProductCatalog(cartSize));
+        catalogCart.setProducts(products);
+    }
+
+    @Benchmark
+    public double listCart() {
+        return listCart.getTotalPrice();
+    }
+
+    @Benchmark
+    public long listCartUnits() {
+        return listCart.getTotalPriceUnits();
+    }
+
+    @Benchmark
+    public double incrementalCart() {
+        return incrementalCart.getTotalPrice();
+    }
+
+    @Benchmark
+    public double catalogCart() {
+        return catalogCart.getTotalPrice();
+    }
+}
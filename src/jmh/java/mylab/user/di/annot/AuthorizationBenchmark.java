@@ -0,0 +1,66 @@
+package mylab.user.di.annot;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 규칙 RULES 개에서 authorize 한 번의 시간.
+ * - cached   : 같은 (user, resource) 반복 (판정 캐시 적중)
+ * - compiled : 캐시 없이 trie 탐색
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthorizationBenchmark {
+
+    @Param({ "1000", "5000" })
+    int rules;
+
+    SecurityService securityService;
+    AuthorizationPolicy policy;
+    String[] resources;
+    int next;
+
+    @Setup
+    public void setUp() {
+        StringBuilder text = new StringBuilder("role gildong R1 R7\n");
+        for (int i = 0; i < rules; i++) {
+            String effect = i % 10 == 9 ? "deny" : "allow";
+            text.append(effect).append(" /svc").append(i % 50).append("/res").append(i)
+                    .append(i % 3 == 0 ? "/*/detail" : "/**").append(" R").append(i % 32).append('\n');
+        }
+        policy = AuthorizationPolicy.parse(new StringReader(text.toString()));
+        securityService = new SecurityService();
+        securityService.setAuthorizationEngine(new AuthorizationEngine(policy));
+        resources = new String[64];
+        for (int i = 0; i < resources.length; i++) {
+            int r = i * 37 % rules;
+            resources[i] = "/svc" + (r % 50) + "/res" + r + "/item" + i + "/detail";
+        }
+    }
+
+    @Benchmark
+    public boolean cached() {
+        return securityService.authorize("gildong", resources[next++ & 63]);
+    }
+
+    @Benchmark
+    public boolean compiled() {
+        return policy.isAllowed("gildong", resources[next++ & 63]);
+    }
+}
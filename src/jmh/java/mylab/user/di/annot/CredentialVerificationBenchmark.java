@@ -0,0 +1,59 @@
+package mylab.user.di.annot;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 스레드 하나(코어 하나)가 초당 처리하는 로그인 수: PBKDF2 반복 횟수별.
+ * - hashed : 매번 느린 해시 (첫 로그인 / 캐시 꺼짐)
+ * - cached : 최근 성공한 비밀번호 재확인 (HMAC 한 번)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class CredentialVerificationBenchmark {
+
+    @Param({ "10000", "100000", "600000" })
+    int iterations;
+
+    CredentialStore hashed;
+    CredentialStore cached;
+
+    @Setup
+    public void setUp() {
+        PasswordHasher hasher = new PasswordHasher(iterations);
+        hashed = new CredentialStore(hasher);
+        hashed.setCacheTtlMillis(0);
+        hashed.setPassword("gildong", "s3cret-password");
+        cached = new CredentialStore(hasher);
+        cached.setCacheTtlMillis(TimeUnit.HOURS.toMillis(1));
+        cached.setPassword("gildong", "s3cret-password");
+        cached.verify("gildong", "s3cret-password");
+    }
+
+    @Benchmark
+    public boolean hashed() {
+        return hashed.verify("gildong", "s3cret-password");
+    }
+
+    @Benchmark
+    public boolean cached() {
+        return cached.verify("gildong", "s3cret-password");
+    }
+}
@@ -0,0 +1,85 @@
+package mylab.user.di.annot;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mylab.bench.QuietConsole;
+
+/**
+ * 사용자 USERS 명 등록: registerUser 반복 vs registerUsers(일괄).
+ * InMemoryUserRepository 의 roundTripMicros 로 DB 왕복 비용을 흉내 낸다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserBulkRegistrationBenchmark {
+
+    static final int USERS = 10_000;
+
+    @Param({ "0", "50" })
+    long roundTripMicros;
+
+    @Param({ "500" })
+    int batchSize;
+
+    InMemoryUserRepository repository;
+    UserService userService;
+
+    @Setup
+    public void setUp() {
+        QuietConsole.silence();
+        repository = new InMemoryUserRepository();
+        repository.setRoundTripMicros(roundTripMicros);
+        userService = new UserService();
+        userService.setUserRepository(repository);
+        userService.setSecurityService(new SecurityService());
+        userService.setBulkBatchSize(batchSize);
+    }
+
+    @Setup(Level.Invocation)
+    public void clear() {
+        repository.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        QuietConsole.restore();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS)
+    public int perUser() {
+        int registered = 0;
+        for (int i = 0; i < USERS; i++) {
+            if (userService.registerUser("u" + i, "사용자" + i, "pw" + i)) {
+                registered++;
+            }
+        }
+        return registered;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS)
+    public long bulk() {
+        return userService.registerUsers(IntStream.range(0, USERS)
+                .mapToObj(i -> new UserRegistration("u" + i, "사용자" + i, "pw" + i))).getRegistered();
+    }
+}
@@ -0,0 +1,51 @@
+package mylab.user.di.annot;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.GenericXmlApplicationContext;
+
+import mylab.bench.QuietConsole;
+
+/**
+ * UserService.registerUser 벤치마크 (mylab-user-di.xml 컨텍스트).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserServiceBenchmark {
+
+    GenericXmlApplicationContext context;
+    UserService userService;
+
+    @Setup
+    public void setUp() {
+        QuietConsole.silence();
+        context = new GenericXmlApplicationContext("classpath:mylab-user-di.xml");
+        userService = context.getBean(UserService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        QuietConsole.restore();
+    }
+
+    @Benchmark
+    public boolean registerUser() {
+        return userService.registerUser("u100", "홍길동", "1234");
+    }
+}
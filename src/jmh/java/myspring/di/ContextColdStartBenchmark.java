@@ -0,0 +1,81 @@
+package myspring.di;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.context.support.GenericXmlApplicationContext;
+
+import mylab.bench.QuietConsole;
+import myspring.di.support.AotApplicationContexts;
+import myspring.di.support.ParallelBeanInitializer;
+
+/**
+ * 스프링 컨텍스트 "콜드(cold)" 시작 벤치마크: XML vs 빌드 때 생성한 빈 등록 코드(AOT) vs XML + 병렬 초기화.
+ *
+ * - 포크(새 JVM)마다 첫 컨텍스트 하나만 잰다(SingleShotTime) → 클래스 로딩, XML 파서/스캐너/SpEL 초기화 포함.
+ * - xml : GenericXmlApplicationContext (META-INF/spring.components 인덱스는 양쪽 모두 클래스패스에 있음)
+ * - aot : AotApplicationContexts.create (BeanRegistrationGenerator 가 만든 코드, mvn process-classes 이후)
+ * - parallel : xml + ParallelBeanInitializer (코어가 여러 개일 때 의미가 있다)
+ * - 웜(warm) 시작 시간은 ContextStartupBenchmark.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+@State(Scope.Benchmark)
+public class ContextColdStartBenchmark {
+
+    @Param({"spring-beans.xml", "mylab-order-di.xml", "mylab-user-di.xml"})
+    String config;
+
+    @Param({"xml", "aot", "parallel"})
+    String mode;
+
+    GenericApplicationContext context;
+
+    @Setup
+    public void setUp() {
+        QuietConsole.silence();
+        //두 모드 모두 같은 클래스(ClassUtils 등)를 미리 읽어 둔다
+        if (!AotApplicationContexts.isGenerated(config)) {
+            throw new IllegalStateException("no generated registrations for " + config + " (build without -Daot.skip)");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+        QuietConsole.restore();
+    }
+
+    @Benchmark
+    public Object startup() {
+        if ("aot".equals(mode)) {
+            context = AotApplicationContexts.create(config);
+        } else if ("parallel".equals(mode)) {
+            GenericXmlApplicationContext xml = new GenericXmlApplicationContext();
+            xml.load("classpath:" + config);
+            ParallelBeanInitializer.enable(xml);
+            xml.refresh();
+            context = xml;
+        } else {
+            context = new GenericXmlApplicationContext("classpath:" + config);
+        }
+        return context.getBeanDefinitionNames();
+    }
+}
@@ -0,0 +1,73 @@
+package myspring.di;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.support.GenericXmlApplicationContext;
+
+import mylab.bench.QuietConsole;
+import mylab.notification.di.annot.config.NotificationConfig;
+import myspring.di.annot.config.HelloBeanConfig;
+import myspring.di.xml.config.HelloConfig;
+
+/**
+ * 스프링 컨텍스트 시작(생성 + refresh + close) 벤치마크.
+ *
+ * - XML 설정 : spring-beans.xml / mylab-order-di.xml / mylab-user-di.xml
+ * - Java 설정: HelloConfig / HelloBeanConfig / NotificationConfig
+ * - 같은 JVM 에서 반복하므로 클래스 로딩이 끝난 "웜(warm)" 시작 시간이다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContextStartupBenchmark {
+
+    @Param({"spring-beans.xml", "mylab-order-di.xml", "mylab-user-di.xml",
+            "HelloConfig", "HelloBeanConfig", "NotificationConfig"})
+    String config;
+
+    Class<?> javaConfigClass;
+
+    @Setup
+    public void setUp() {
+        QuietConsole.silence();
+        switch (config) {
+            case "HelloConfig":        javaConfigClass = HelloConfig.class; break;
+            case "HelloBeanConfig":    javaConfigClass = HelloBeanConfig.class; break;
+            case "NotificationConfig": javaConfigClass = NotificationConfig.class; break;
+            default:                   javaConfigClass = null; // XML
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        QuietConsole.restore();
+    }
+
+    @Benchmark
+    public Object startup() {
+        if (javaConfigClass == null) {
+            try (GenericXmlApplicationContext context = new GenericXmlApplicationContext("classpath:" + config)) {
+                return context.getBeanDefinitionNames();
+            }
+        }
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(javaConfigClass)) {
+            return context.getBeanDefinitionNames();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package myspring.di.xml;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mylab.bench.QuietConsole;
+
+/**
+ * StringPrinter.print 벤치마크 (여러 스레드에서 하나의 싱글톤 프린터에 출력).
+ *
+ * - printer   : StringPrinter (synchronized StringBuffer 하나)
+ * - segmented : SegmentedStringPrinter (스레드별 segment, toString 에서 병합)
+ *
+ * - 버퍼가 계속 커지지 않도록 SingleShotTime + batchSize 로 반복마다 스레드당 10만 번만 출력하고,
+ *   반복(iteration)마다 새 프린터로 바꾼다. 결과는 "10만 번 출력에 걸린 시간"이다.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10, batchSize = 100_000)
+@Measurement(iterations = 20, batchSize = 100_000)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StringPrinterBenchmark {
+
+    Printer printer;
+    Printer segmented;
+
+    @Setup(Level.Iteration)
+    public void newPrinter() {
+        QuietConsole.silence();
+        printer = new StringPrinter();
+        segmented = new SegmentedStringPrinter();
+        QuietConsole.restore();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void print1Thread() {
+        printer.print("Hello 스프링");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void print4Threads() {
+        printer.print("Hello 스프링");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void print8Threads() {
+        printer.print("Hello 스프링");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void segmented1Thread() {
+        segmented.print("Hello 스프링");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void segmented4Threads() {
+        segmented.print("Hello 스프링");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void segmented8Threads() {
+        segmented.print("Hello 스프링");
+    }
+}
@@ -0,0 +1,85 @@
+package mylab.notification.di.annot;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 관측한 응답 시간으로 동시 전송 한도를 조절하는 limiter (TCP Vegas 식 지연 기반 + AIMD).
+ *
+ * - 최소 응답 시간(minRtt, 대기 없는 상태로 봄)을 기억한다.
+ * - 응답 시간이 minRtt × tolerance 이하이고 한도의 절반 이상을 쓰고 있으면 한도 +1 (additive increase).
+ * - 응답 시간이 그보다 길면(제공업체 쪽에 줄이 생김) 한도 × backoffRatio,
+ *   실패면 한도 × 0.5 (multiplicative decrease).
+ * - 한도에 닿으면 tryAcquire 가 바로 false → 호출자는 줄 서지 않는다.
+ * - 제공업체가 계속 느린 상태로 바뀐 경우를 위해 minRtt 는 rttWindow 개 샘플마다 그 구간 최소값으로 다시 잡는다.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final int rttWindow;
+
+    private double limit;
+    private int inFlight;
+    private long minRtt = Long.MAX_VALUE;
+    private long windowMinRtt = Long.MAX_VALUE;
+    private int windowSamples;
+    private long rejected;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this(initialLimit, minLimit, maxLimit, 2.0, 0.9, 500);
+    }
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double tolerance, double backoffRatio, int rttWindow) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit
+                || tolerance < 1 || backoffRatio <= 0 || backoffRatio >= 1 || rttWindow < 1) {
+            throw new IllegalArgumentException("invalid limiter settings");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.rttWindow = rttWindow;
+    }
+
+    /** @return 한도 안이면 true (끝나면 반드시 release 호출) */
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            rejected++;
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /** 전송 하나가 끝났을 때 응답 시간과 성공 여부로 한도를 조절한다. */
+    public synchronized void release(long rttNanos, boolean success) {
+        int used = inFlight;
+        inFlight--;
+        if (!success) {
+            limit = Math.max(minLimit, limit * 0.5);
+            return;
+        }
+        minRtt = Math.min(minRtt, rttNanos);
+        windowMinRtt = Math.min(windowMinRtt, rttNanos);
+        if (++windowSamples >= rttWindow) {
+            minRtt = windowMinRtt;
+            windowMinRtt = Long.MAX_VALUE;
+            windowSamples = 0;
+        }
+        if (rttNanos > minRtt * tolerance) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (used * 2 >= (int) limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    public synchronized int getLimit() { return (int) limit; }
+    public synchronized int getInFlight() { return inFlight; }
+    public synchronized long getRejectedCount() { return rejected; }
+    public synchronized double getMinRttMillis() {
+        return minRtt == Long.MAX_VALUE ? 0.0 : minRtt / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,167 @@
+package mylab.notification.di.annot;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * NotificationService 호출을 호출 스레드 밖(executor)에서 실행하는 비동기 전송기.
+ *
+ * - 대기 + 전송 중인 알림 수를 queueCapacity 로 제한한다(Semaphore).
+ * - 가득 차면 Backpressure 에 따라 기다리거나(BLOCK), 바로 실패시키거나(REJECT),
+ *   호출 스레드에서 직접 보낸다(CALLER_RUNS).
+ * - 전송마다 CompletableFuture 를 돌려준다. 전송 예외는 future 로 전달된다.
+ */
+public class AsyncNotificationDispatcher implements AutoCloseable {
+    public enum Backpressure { BLOCK, REJECT, CALLER_RUNS }
+
+    private final Executor executor;
+    private final int queueCapacity;
+    private final Backpressure backpressure;
+    private final Semaphore permits;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public AsyncNotificationDispatcher(Executor executor, int queueCapacity, Backpressure backpressure) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be positive: " + queueCapacity);
+        }
+        this.executor = executor;
+        this.queueCapacity = queueCapacity;
+        this.backpressure = backpressure;
+        this.permits = new Semaphore(queueCapacity);
+    }
+
+    /**
+     * 가상 스레드 executor(JDK 21+)를 만들고, 지원하지 않는 JDK 에서는
+     * platformThreads 개의 daemon 스레드 풀을 만든다.
+     */
+    public static ExecutorService newDefaultExecutor(int platformThreads) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(platformThreads, daemonThreads("notification-dispatch-"));
+        }
+    }
+
+    /** @return 지금 JDK 에서 newDefaultExecutor 가 가상 스레드를 쓰는지 */
+    public static boolean isVirtualThreadSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * service 로 message 를 비동기 전송한다.
+     *
+     * @return 전송이 끝나면 완료되는 future. REJECT 로 거절되면 RejectedExecutionException,
+     *         BLOCK 으로 기다리다 인터럽트되면 InterruptedException 으로 실패한다.
+     */
+    public CompletableFuture<Void> dispatch(NotificationService service, String message) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        boolean acquired;
+        try {
+            acquired = acquire();
+        } catch (InterruptedException e) {
+            // 큐가 가득 찬 것이 아니므로 거절로 세지 않는다
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+            return future;
+        }
+        if (!acquired) {
+            if (backpressure == Backpressure.CALLER_RUNS) {
+                submitted.increment();
+                send(service, message, future);
+            } else {
+                rejected.increment();
+                future.completeExceptionally(
+                        new RejectedExecutionException("notification queue is full (" + queueCapacity + ")"));
+            }
+            return future;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    service.sendNotification(message);
+                } catch (Throwable e) {
+                    permits.release();
+                    failed.increment();
+                    future.completeExceptionally(e);
+                    return;
+                }
+                // 자리를 먼저 돌려줘야 future 완료 직후의 dispatch 가 거절되지 않는다
+                permits.release();
+                completed.increment();
+                future.complete(null);
+            });
+            submitted.increment();
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            rejected.increment();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private boolean acquire() throws InterruptedException {
+        if (backpressure != Backpressure.BLOCK) {
+            return permits.tryAcquire();
+        }
+        permits.acquire();
+        return true;
+    }
+
+    private void send(NotificationService service, String message, CompletableFuture<Void> future) {
+        try {
+            service.sendNotification(message);
+            completed.increment();
+            future.complete(null);
+        } catch (Throwable e) {
+            // executor 경로와 같이 Error 도 future 로 전달한다
+            failed.increment();
+            future.completeExceptionally(e);
+        }
+    }
+
+    public int getQueueCapacity() { return queueCapacity; }
+    public Backpressure getBackpressure() { return backpressure; }
+    public int getPendingCount() { return queueCapacity - permits.availablePermits(); }
+    public long getSubmittedCount() { return submitted.sum(); }
+    public long getCompletedCount() { return completed.sum(); }
+    public long getFailedCount() { return failed.sum(); }
+    public long getRejectedCount() { return rejected.sum(); }
+
+    /** 새 전송은 받지 않고, executor 가 ExecutorService 면 남은 전송이 끝날 때까지 기다린다. */
+    @Override
+    public void close() throws InterruptedException {
+        if (executor instanceof ExecutorService) {
+            ExecutorService service = (ExecutorService) executor;
+            service.shutdown();
+            service.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+
+    static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,225 @@
+package mylab.notification.di.annot;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * 채널 서비스(delegate) 앞에서 메시지를 수신자별로 모아 한 번에 보내는 NotificationService.
+ *
+ * - 같은 수신자에게 maxDelayMillis 안에 들어온 메시지는 한 번의 sendNotifications 로 합쳐진다.
+ * - 모인 메시지가 maxBatchSize 개가 되거나, 첫 메시지 후 maxDelayMillis 가 지나면 보낸다.
+ * - 채널별로 하나씩 두므로(이메일, SMS ...) 묶음은 채널 + 수신자 단위가 된다.
+ * - 전송 1회당 메시지 수와 메시지가 전송 전까지 기다린 시간을 집계한다.
+ * - 수신자 없이 들어온 메시지(sendNotification(message))는 묶지 않고 바로 delegate 에 넘긴다.
+ *   (서로 관계없는 메시지를 하나로 합치면 받는 쪽이 달라지므로)
+ * - close() 로 flusher 가 멈춘 뒤(또는 멈추는 중)에 들어온 메시지는 호출 스레드에서 바로 보낸다.
+ */
+public class BatchingNotificationService implements NotificationService, AutoCloseable {
+    private static final Logger log = LogManager.getLogger(BatchingNotificationService.class);
+
+
+    private final String channel;
+    private final NotificationService delegate;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final ConcurrentHashMap<String, Batch> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+
+    private final LongAdder sends = new LongAdder();
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder failedSends = new LongAdder();
+    private final LongAccumulator maxBatch = new LongAccumulator(Math::max, 0);
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+    public BatchingNotificationService(String channel, NotificationService delegate, int maxBatchSize, long maxDelayMillis) {
+        if (maxBatchSize < 1 || maxDelayMillis < 1) {
+            throw new IllegalArgumentException("maxBatchSize and maxDelayMillis must be positive");
+        }
+        this.channel = channel;
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+                AsyncNotificationDispatcher.daemonThreads("notification-batch-" + channel + "-"));
+        executor.setRemoveOnCancelPolicy(true);
+        this.flusher = executor;
+    }
+
+    public String getChannel() { return channel; }
+    public NotificationService getDelegate() { return delegate; }
+    public int getMaxBatchSize() { return maxBatchSize; }
+    public long getMaxDelayMillis() { return TimeUnit.NANOSECONDS.toMillis(maxDelayNanos); }
+
+    @Override
+    public String getProviderId() { return delegate.getProviderId(); }
+
+    @Override
+    public void sendNotification(String message) {
+        delegate.sendNotification(message);
+    }
+
+    @Override
+    public void sendNotification(String recipient, String message) {
+        long now = System.nanoTime();
+        while (true) {
+            Batch batch = pending.computeIfAbsent(recipient, this::openBatch);
+            synchronized (batch) {
+                if (batch.closed) {
+                    continue; // 방금 전송으로 넘어간 묶음 → 새 묶음에 넣는다
+                }
+                batch.add(message, now);
+                if (batch.size() < maxBatchSize && !flusher.isShutdown()) {
+                    return;
+                }
+                batch.closed = true;
+            }
+            // 크기 한도 → 호출 스레드는 기다리지 않고 flusher 가 보낸다
+            pending.remove(recipient, batch);
+            try {
+                flusher.execute(() -> deliver(batch));
+            } catch (RejectedExecutionException e) {
+                // close() 이후에는 타이머도 flusher 도 없으므로 호출 스레드에서 보낸다
+                deliver(batch);
+            }
+            return;
+        }
+    }
+
+    @Override
+    public void sendNotifications(String recipient, List<String> messages) {
+        for (String message : messages) {
+            sendNotification(recipient, message);
+        }
+    }
+
+    /** 모여 있는 묶음을 지금 호출 스레드에서 모두 보낸다. */
+    public void flush() {
+        for (Batch batch : pending.values()) {
+            if (close(batch)) {
+                deliver(batch);
+            }
+        }
+    }
+
+    /**
+     * 남은 묶음을 보내고 flusher 스레드를 끝낸다.
+     * 이후의 sendNotification 은 묶지 않고 호출 스레드에서 보낸다.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(30, TimeUnit.SECONDS);
+        flush();
+    }
+
+    private Batch openBatch(String recipient) {
+        Batch batch = new Batch(recipient);
+        try {
+            flusher.schedule(() -> {
+                if (close(batch)) {
+                    deliver(batch);
+                }
+            }, maxDelayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // close() 이후 → 넣은 쪽이 flusher.isShutdown() 을 보고 직접 보낸다 (sendNotification)
+        }
+        return batch;
+    }
+
+    private boolean close(Batch batch) {
+        synchronized (batch) {
+            if (batch.closed) {
+                return false;
+            }
+            batch.closed = true;
+        }
+        pending.remove(batch.recipient, batch);
+        return true;
+    }
+
+    private void deliver(Batch batch) {
+        long now = System.nanoTime();
+        int size = batch.size();
+        for (int i = 0; i < size; i++) {
+            long wait = now - batch.enqueuedAt[i];
+            totalWaitNanos.add(wait);
+            maxWaitNanos.accumulate(wait);
+        }
+        sends.increment();
+        messages.add(size);
+        maxBatch.accumulate(size);
+        try {
+            if (size == 1) {
+                delegate.sendNotification(batch.recipient, batch.messages.get(0));
+            } else {
+                delegate.sendNotifications(batch.recipient, batch.messages);
+            }
+        } catch (RuntimeException e) {
+            failedSends.increment();
+            log.error("[{}] 묶음 전송 실패 ({}건 → {})", channel, box(size), batch.recipient, e);
+        }
+    }
+
+    public long getSendCount() { return sends.sum(); }
+    public long getMessageCount() { return messages.sum(); }
+    public long getFailedSendCount() { return failedSends.sum(); }
+    public long getMaxMessagesPerSend() { return maxBatch.get(); }
+    public double getMaxWaitMillis() { return maxWaitNanos.get() / 1_000_000.0; }
+    public int getPendingRecipientCount() { return pending.size(); }
+
+    /** @return 전송 1회당 평균 메시지 수 */
+    public double getMessagesPerSend() {
+        long s = sends.sum();
+        return s == 0 ? 0.0 : (double) messages.sum() / s;
+    }
+
+    /** @return 메시지가 전송되기까지 기다린 평균 시간(ms) */
+    public double getAverageWaitMillis() {
+        long m = messages.sum();
+        return m == 0 ? 0.0 : totalWaitNanos.sum() / 1_000_000.0 / m;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BatchingNotificationService[%s, sends=%d, messages=%d, messages/send=%.1f, avgWait=%.1fms, maxWait=%.1fms]",
+                channel, getSendCount(), getMessageCount(), getMessagesPerSend(), getAverageWaitMillis(), getMaxWaitMillis());
+    }
+
+    // 한 수신자에게 모이는 메시지들. closed 이후에는 더 넣지 않는다
+    private static final class Batch {
+        final String recipient;
+        final List<String> messages = new ArrayList<>();
+        long[] enqueuedAt = new long[8];
+        boolean closed;
+
+        Batch(String recipient) {
+            this.recipient = recipient;
+        }
+
+        void add(String message, long now) {
+            if (messages.size() == enqueuedAt.length) {
+                enqueuedAt = Arrays.copyOf(enqueuedAt, enqueuedAt.length * 2);
+            }
+            enqueuedAt[messages.size()] = now;
+            messages.add(message);
+        }
+
+        int size() {
+            return messages.size();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package mylab.notification.di.annot;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 최근 windowSize 번의 호출 결과로 열리고 닫히는 서킷 브레이커.
+ *
+ * - CLOSED    : 모두 통과. 최근 호출 중 실패(예외 또는 slowCallMillis 초과) 비율이
+ *               failureRateThreshold 이상이면 OPEN.
+ * - OPEN      : openMillis 동안 모두 거절(호출자는 기다리지 않는다).
+ * - HALF_OPEN : 시험 호출 halfOpenCalls 번만 통과. 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN.
+ */
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    private final boolean[] window;
+    private int windowIndex;
+    private int recorded;
+    private int failures;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int trialsStarted;
+    private int trialsSucceeded;
+    private long rejected;
+    private long opened;
+
+    public CircuitBreaker(int windowSize, double failureRateThreshold, long slowCallMillis, long openMillis) {
+        this(windowSize, Math.max(1, windowSize / 2), failureRateThreshold, slowCallMillis, openMillis, 3);
+    }
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                          long slowCallMillis, long openMillis, int halfOpenCalls) {
+        if (windowSize < 1 || minimumCalls < 1 || halfOpenCalls < 1
+                || failureRateThreshold <= 0 || failureRateThreshold > 1) {
+            throw new IllegalArgumentException("invalid circuit breaker settings");
+        }
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMillis);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.halfOpenCalls = halfOpenCalls;
+        this.window = new boolean[windowSize];
+    }
+
+    /** @return 호출해도 되면 true. false 면 호출하지 말고 바로 실패 처리한다. */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                rejected++;
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialsStarted = 0;
+            trialsSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialsStarted >= halfOpenCalls) {
+                rejected++;
+                return false;
+            }
+            trialsStarted++;
+        }
+        return true;
+    }
+
+    /** tryAcquirePermission 으로 받은 자리를 호출하지 않고 돌려준다. */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && trialsStarted > 0) {
+            trialsStarted--;
+        }
+    }
+
+    /** 호출 결과를 기록한다. 성공이라도 slowCallMillis 를 넘기면 실패로 센다. */
+    public synchronized void record(long durationNanos, boolean success) {
+        boolean failure = !success || durationNanos > slowCallNanos;
+        if (state == State.HALF_OPEN) {
+            if (failure) {
+                open();
+            } else if (++trialsSucceeded >= halfOpenCalls) {
+                close();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return; // 열리기 전에 시작한 호출
+        }
+        if (recorded == windowSize && window[windowIndex]) {
+            failures--;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            failures++;
+        }
+        windowIndex = (windowIndex + 1) % windowSize;
+        recorded = Math.min(windowSize, recorded + 1);
+        if (recorded >= minimumCalls && failures >= failureRateThreshold * recorded) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        opened++;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        recorded = 0;
+        failures = 0;
+        windowIndex = 0;
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            return State.HALF_OPEN; // 다음 호출에서 시험 상태로 바뀐다
+        }
+        return state;
+    }
+
+    public synchronized double getFailureRate() { return recorded == 0 ? 0.0 : (double) failures / recorded; }
+    public synchronized long getRejectedCount() { return rejected; }
+    public synchronized long getOpenedCount() { return opened; }
+}
@@ -1,6 +1,15 @@
 package mylab.notification.di.annot;
 
+import static org.apache.logging.log4j.util.Unbox.box;
+
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
 public class EmailNotificationService implements NotificationService {
+    private static final Logger log = LogManager.getLogger(EmailNotificationService.class);
+
     private final String smtpServer;
     private final int port;
 
@@ -12,8 +21,22 @@ public class EmailNotificationService implements NotificationService {
     public String getSmtpServer() { return smtpServer; }
     public int getPort() { return port; }
 
+    @Override
+    public String getProviderId() { return smtpServer + ":" + port; }
+
     @Override
     public void sendNotification(String message) {
-        System.out.println("이메일 알림 전송: " + message + " (서버: " + smtpServer + ":" + port + ")");
+        log.info("이메일 알림 전송: {} (서버: {}:{})", message, smtpServer, box(port));
+    }
+
+    @Override
+    public void sendNotification(String recipient, String message) {
+        log.info("이메일 알림 전송: {} → {} (서버: {}:{})", message, recipient, smtpServer, box(port));
+    }
+
+    // 연결 한 번에 여러 건
+    @Override
+    public void sendNotifications(String recipient, List<String> messages) {
+        log.info("이메일 알림 {}건 일괄 전송: {} → {} (서버: {}:{})", box(messages.size()), messages, recipient, smtpServer, box(port));
     }
 }
\ No newline at end of file
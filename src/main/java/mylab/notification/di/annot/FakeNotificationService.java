@@ -0,0 +1,54 @@
+package mylab.notification.di.annot;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 실제 SMTP/SMS 없이 전송 지연만 흉내 내는 테스트/벤치마크용 NotificationService.
+ * 출력하지 않고, 전송 횟수와 메시지 건수만 센다.
+ */
+public class FakeNotificationService implements NotificationService {
+    private final String name;
+    private volatile long latencyMicros;
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder sends = new LongAdder();
+
+    public FakeNotificationService(String name, long latencyMillis) {
+        this.name = name;
+        this.latencyMicros = TimeUnit.MILLISECONDS.toMicros(latencyMillis);
+    }
+
+    public String getName() { return name; }
+    @Override
+    public String getProviderId() { return name; }
+    public long getLatencyMicros() { return latencyMicros; }
+    public void setLatencyMicros(long latencyMicros) { this.latencyMicros = latencyMicros; }
+    public long getSentCount() { return sent.sum(); }
+    public long getSendCount() { return sends.sum(); }
+
+    @Override
+    public void sendNotification(String message) {
+        send(1);
+    }
+
+    // 여러 건을 보내도 지연은 한 번(연결 1회)
+    @Override
+    public void sendNotifications(String recipient, List<String> messages) {
+        send(messages.size());
+    }
+
+    private void send(int messageCount) {
+        long latency = latencyMicros;
+        if (latency > 0) {
+            try {
+                TimeUnit.MICROSECONDS.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(name + " send interrupted", e);
+            }
+        }
+        sends.increment();
+        sent.add(messageCount);
+    }
+}
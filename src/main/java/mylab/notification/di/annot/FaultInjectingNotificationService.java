@@ -0,0 +1,65 @@
+package mylab.notification.di.annot;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 지연, 실패, 장애를 마음대로 넣을 수 있는 테스트용 NotificationService.
+ *
+ * - latencyMillis      : 모든 전송의 기본 지연
+ * - slowCallRate / slowLatencyMillis : 일부 전송만 느리게 (꼬리 지연)
+ * - failureRate        : 일부 전송을 예외로 실패
+ * - down               : true 면 모든 전송 실패 (장애)
+ * 설정은 실행 중에 바꿀 수 있다.
+ */
+public class FaultInjectingNotificationService implements NotificationService {
+    private final String providerId;
+    private volatile long latencyMillis;
+    private volatile double slowCallRate;
+    private volatile long slowLatencyMillis;
+    private volatile double failureRate;
+    private volatile boolean down;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder injectedFailures = new LongAdder();
+
+    public FaultInjectingNotificationService(String providerId) {
+        this.providerId = providerId;
+    }
+
+    @Override
+    public String getProviderId() { return providerId; }
+
+    public void setLatencyMillis(long latencyMillis) { this.latencyMillis = latencyMillis; }
+    public void setSlowCalls(double slowCallRate, long slowLatencyMillis) {
+        this.slowCallRate = slowCallRate;
+        this.slowLatencyMillis = slowLatencyMillis;
+    }
+    public void setFailureRate(double failureRate) { this.failureRate = failureRate; }
+    public void setDown(boolean down) { this.down = down; }
+
+    public long getCallCount() { return calls.sum(); }
+    public long getInjectedFailureCount() { return injectedFailures.sum(); }
+
+    @Override
+    public void sendNotification(String message) {
+        calls.increment();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long latency = latencyMillis;
+        if (slowCallRate > 0 && random.nextDouble() < slowCallRate) {
+            latency = slowLatencyMillis;
+        }
+        if (latency > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (down || (failureRate > 0 && random.nextDouble() < failureRate)) {
+            injectedFailures.increment();
+            throw new IllegalStateException(providerId + " injected failure");
+        }
+    }
+}
@@ -1,17 +1,48 @@
 package mylab.notification.di.annot;
 
+import java.util.concurrent.CompletableFuture;
+
 public class NotificationManager {
     private final NotificationService emailService;
     private final NotificationService smsService;
+    private final AsyncNotificationDispatcher dispatcher;
 
     public NotificationManager(NotificationService emailService, NotificationService smsService) {
+        this(emailService, smsService, null);
+    }
+
+    // dispatcher 가 없으면 *Async 메서드도 호출 스레드에서 보낸다
+    public NotificationManager(NotificationService emailService, NotificationService smsService,
+                               AsyncNotificationDispatcher dispatcher) {
         this.emailService = emailService;
         this.smsService = smsService;
+        this.dispatcher = dispatcher;
     }
 
     public NotificationService getEmailService() { return emailService; }
     public NotificationService getSmsService()   { return smsService; }
+    public AsyncNotificationDispatcher getDispatcher() { return dispatcher; }
 
     public void sendNotificationByEmail(String message) { emailService.sendNotification(message); }
     public void sendNotificationBySms(String message)   { smsService.sendNotification(message); }
-}
\ No newline at end of file
+
+    public void sendNotificationByEmail(String recipient, String message) { emailService.sendNotification(recipient, message); }
+    public void sendNotificationBySms(String recipient, String message)   { smsService.sendNotification(recipient, message); }
+
+    public CompletableFuture<Void> sendNotificationByEmailAsync(String message) { return dispatch(emailService, message); }
+    public CompletableFuture<Void> sendNotificationBySmsAsync(String message)   { return dispatch(smsService, message); }
+
+    private CompletableFuture<Void> dispatch(NotificationService service, String message) {
+        if (dispatcher != null) {
+            return dispatcher.dispatch(service, message);
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            service.sendNotification(message);
+            future.complete(null);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+}
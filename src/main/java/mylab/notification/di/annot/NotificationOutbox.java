@@ -0,0 +1,710 @@
+package mylab.notification.di.annot;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * 알림을 보내기 전에 디스크 로그에 먼저 적어 두는 outbox.
+ *
+ * - 로그는 고정 크기 세그먼트 파일(outbox-00000000000000000000.log ...)을 메모리 매핑해 이어 쓴다.
+ *   레코드: [int 길이][int CRC32][채널][수신자][메시지]
+ * - group commit: 여러 스레드가 append 한 레코드를 committer 스레드가 force() 한 번으로 디스크에 내린다.
+ *   append() 의 future 는 자기 레코드가 내려간 뒤에 완료된다.
+ * - sender 스레드가 내려간 레코드를 순서대로 채널 서비스에 보내고, 보낸 위치(offset)를
+ *   outbox.checkpoint 에 주기적으로 기록한다. 다 보낸 세그먼트 파일은 지운다.
+ * - 다시 열면 checkpoint 이후의 레코드를 다시 보낸다(최소 1회 전송).
+ *   마지막 checkpoint 이후 이미 보낸 레코드(최대 checkpointInterval 건)는 중복 전송될 수 있다.
+ * - 마지막 세그먼트 끝의 깨진 레코드(길이 0 또는 CRC 불일치)는 쓰다 만 것으로 보고 버린다.
+ * - force() 가 실패하면 그 회차의 append 는 모두 예외로 끝나고, 해당 레코드는 길이를 ~길이로 바꿔
+ *   "취소됨" 으로 표시한다. sender 와 재시작 후 복구는 취소된 레코드를 건너뛴다
+ *   → 실패를 받은 호출자가 다시 보내도 중복 전송되지 않는다. 다음 force 는 backoff 후에 시도한다.
+ * - 전송이 실패하면 같은 레코드를 backoff 후 다시 보낸다(순서 유지). maxAttempts 번 실패하거나
+ *   알 수 없는 채널이면 outbox.dead 파일에 한 줄(채널\t수신자\t메시지\t오류)로 남기고 다음 레코드로 넘어간다.
+ *   → 한 수신자/채널의 장애가 뒤의 모든 알림을 막지 않는다.
+ *
+ *   예) NotificationOutbox outbox = new NotificationOutbox(dir, NotificationOutbox.channelsOf(manager));
+ *       outbox.start();
+ *       outbox.enqueue("sms", "010-1234-5678", "주문이 접수되었습니다");
+ *       new NotificationManager(outbox.channel("email"), outbox.channel("sms")); // outbox 를 거치는 매니저
+ */
+public class NotificationOutbox implements AutoCloseable {
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 256;
+    public static final int DEFAULT_MAX_ATTEMPTS = 5;
+
+    private static final Logger log = LogManager.getLogger(NotificationOutbox.class);
+
+    private static final int HEADER = 8;
+    private static final int END_OF_SEGMENT = -1;
+    private static final String CHECKPOINT_FILE = "outbox.checkpoint";
+    private static final String DEAD_LETTER_FILE = "outbox.dead";
+
+    private final Path directory;
+    private final Map<String, NotificationService> channels;
+    private final int segmentSize;
+    private int checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+    private volatile int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final MappedByteBuffer checkpoint;
+    private final FileChannel checkpointChannel;
+
+    // append / commit 상태 (lock 으로 보호)
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition dirty = lock.newCondition();
+    private final Condition committed = lock.newCondition();
+    private final ArrayDeque<PendingAppend> waiting = new ArrayDeque<>();
+    private Segment writeSegment;
+    private long writeOffset;
+    private volatile long durableOffset;
+    private volatile boolean closed;
+
+    // sender 상태 (sender 스레드만 변경)
+    private volatile long deliveredOffset;
+    private final long recoveredOffset;
+    private final long recoveredEntries;
+
+    private final Thread committer;
+    private Thread sender;
+
+    private final LongAdder appends = new LongAdder();
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder deliveryFailures = new LongAdder();
+    private final LongAdder deadLetters = new LongAdder();
+    private final LongAdder commitFailures = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+
+    public NotificationOutbox(Path directory, Map<String, ? extends NotificationService> channels) throws IOException {
+        this(directory, channels, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public NotificationOutbox(Path directory, Map<String, ? extends NotificationService> channels, int segmentSize)
+            throws IOException {
+        if (segmentSize < 1024) {
+            throw new IllegalArgumentException("segmentSize must be at least 1024: " + segmentSize);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.channels = Collections.unmodifiableMap(new LinkedHashMap<>(channels));
+        this.segmentSize = segmentSize;
+
+        this.checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.checkpoint = checkpointChannel.map(FileChannel.MapMode.READ_WRITE, 0, 16);
+        long checkpointed = checkpoint.getLong(0);
+        if (checkpoint.getLong(8) != ~checkpointed) {
+            checkpointed = 0; // 처음 만들었거나 깨진 checkpoint
+        }
+
+        for (Path file : listSegmentFiles()) {
+            long index = Long.parseLong(file.getFileName().toString().substring(7, 27));
+            if ((index + 1) * segmentSize <= checkpointed) {
+                Files.delete(file); // 다 보냈지만 지우기 전에 멈춘 세그먼트
+            } else {
+                segments.put(index, new Segment(index, file));
+            }
+        }
+        if (segments.isEmpty()) {
+            long index = checkpointed / segmentSize;
+            writeSegment = openSegment(index);
+            writeOffset = Math.max(checkpointed, index * segmentSize);
+        } else {
+            writeSegment = segments.lastEntry().getValue();
+            writeOffset = scanEnd(writeSegment);
+        }
+        long firstBase = segments.firstKey() * (long) segmentSize;
+        this.deliveredOffset = Math.min(writeOffset, Math.max(checkpointed, firstBase));
+        this.durableOffset = writeOffset;
+        this.recoveredOffset = deliveredOffset;
+        this.recoveredEntries = countEntries(deliveredOffset, writeOffset);
+
+        this.committer = new Thread(this::commitLoop, "notification-outbox-commit");
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    /** NotificationManager 의 이메일/SMS 서비스를 "email", "sms" 채널로 쓴다. */
+    public static Map<String, NotificationService> channelsOf(NotificationManager manager) {
+        Map<String, NotificationService> channels = new LinkedHashMap<>();
+        channels.put("email", manager.getEmailService());
+        channels.put("sms", manager.getSmsService());
+        return channels;
+    }
+
+    /**
+     * 이 outbox 의 한 채널에 적는 NotificationService. sendNotification 은 레코드가 디스크에 내려가면 돌아오고,
+     * 실제 전송은 sender 스레드가 한다. NotificationManager 앞에 두는 용도.
+     */
+    public NotificationService channel(String name) {
+        NotificationService target = channels.get(name);
+        if (target == null) {
+            throw new IllegalArgumentException("unknown channel: " + name);
+        }
+        return new NotificationService() {
+            @Override
+            public void sendNotification(String message) {
+                enqueue(name, null, message);
+            }
+
+            @Override
+            public void sendNotification(String recipient, String message) {
+                enqueue(name, recipient, message);
+            }
+
+            @Override
+            public String getProviderId() {
+                return target.getProviderId();
+            }
+        };
+    }
+
+    public void setCheckpointInterval(int checkpointInterval) { this.checkpointInterval = checkpointInterval; }
+
+    /** 한 레코드를 보내 볼 최대 횟수. 모두 실패하면 outbox.dead 에 남기고 건너뛴다. */
+    public void setMaxAttempts(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be positive: " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+    }
+
+    public int getMaxAttempts() { return maxAttempts; }
+
+    /** @return 전송을 포기한 레코드를 적어 두는 파일 */
+    public Path getDeadLetterFile() { return directory.resolve(DEAD_LETTER_FILE); }
+
+    /** 전송 스레드를 시작한다. 다시 연 경우 checkpoint 이후의 레코드부터 보낸다. */
+    public synchronized void start() {
+        if (sender == null) {
+            sender = new Thread(this::sendLoop, "notification-outbox-sender");
+            sender.setDaemon(true);
+            sender.start();
+        }
+    }
+
+    /**
+     * 레코드를 로그에 붙인다.
+     *
+     * @return 레코드가 디스크에 내려가면 그 다음 offset 으로 완료되는 future
+     */
+    public CompletableFuture<Long> append(String channel, String recipient, String message) {
+        if (!channels.containsKey(channel)) {
+            throw new IllegalArgumentException("unknown channel: " + channel);
+        }
+        byte[] payload = encode(channel, recipient, message);
+        if (HEADER + payload.length > segmentSize) {
+            throw new IllegalArgumentException("notification too large: " + payload.length + " bytes");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        PendingAppend pending = new PendingAppend();
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("outbox is closed");
+            }
+            int position = (int) (writeOffset - writeSegment.base);
+            if (position + HEADER + payload.length > segmentSize) {
+                if (position + 4 <= segmentSize) {
+                    writeSegment.buffer.putInt(position, END_OF_SEGMENT);
+                }
+                writeSegment = openSegment(writeSegment.index + 1);
+                writeOffset = writeSegment.base;
+                position = 0;
+            }
+            ByteBuffer target = writeSegment.buffer.duplicate();
+            target.position(position + 4);
+            target.putInt((int) crc.getValue());
+            target.put(payload);
+            writeSegment.buffer.putInt(position, payload.length); // 길이를 마지막에 → 쓰다 만 레코드는 CRC 로 걸러짐
+            writeOffset += HEADER + payload.length;
+            pending.end = writeOffset;
+            waiting.addLast(pending);
+            dirty.signal();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+        appends.increment();
+        return pending.future;
+    }
+
+    /** append 후 디스크에 내려갈 때까지 기다린다. */
+    public long enqueue(String channel, String recipient, String message) {
+        try {
+            return append(channel, recipient, message).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    // ──────────────────────────────────────────────────────────────
+    // group commit
+    // ──────────────────────────────────────────────────────────────
+    private void commitLoop() {
+        int failures = 0;
+        while (true) {
+            long target;
+            List<Segment> toForce = new ArrayList<>();
+            lock.lock();
+            try {
+                while (writeOffset == durableOffset && !closed) {
+                    dirty.awaitUninterruptibly();
+                }
+                if (writeOffset == durableOffset) {
+                    return; // closed, 다 내려감
+                }
+                target = writeOffset;
+                long from = durableOffset / segmentSize;
+                toForce.addAll(segments.subMap(from, true, writeSegment.index, true).values());
+            } finally {
+                lock.unlock();
+            }
+
+            IOException failure = null;
+            for (Segment segment : toForce) {
+                try {
+                    force(segment.buffer);
+                } catch (RuntimeException e) {
+                    failure = new IOException("force failed: " + segment.file, e);
+                }
+            }
+            commits.increment();
+
+            List<PendingAppend> done = new ArrayList<>();
+            lock.lock();
+            try {
+                if (failure != null) {
+                    // 실패를 돌려준 레코드가 나중 force 로 내려가 전송되지 않도록 취소 표시 후 건너뛴다
+                    cancelled.add(cancel(durableOffset, target));
+                }
+                durableOffset = target;
+                while (!waiting.isEmpty() && waiting.peekFirst().end <= target) {
+                    done.add(waiting.pollFirst());
+                }
+                committed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            for (PendingAppend pending : done) {
+                if (failure == null) {
+                    pending.future.complete(pending.end);
+                } else {
+                    pending.future.completeExceptionally(new UncheckedIOException(failure));
+                }
+            }
+            if (failure == null) {
+                failures = 0;
+            } else {
+                // 디스크 오류가 계속되면 바로 다시 force 하지 않는다. 10ms 부터 두 배씩, 최대 1초
+                commitFailures.increment();
+                log.error("[outbox] force 실패 {}회 연속: {}", box(++failures), failure.getCause().toString());
+                sleepQuietly(Math.min(1_000L, 10L << Math.min(failures - 1, 7)));
+            }
+        }
+    }
+
+    // 테스트에서 디스크 오류를 흉내 내려고 재정의한다
+    void force(MappedByteBuffer buffer) {
+        buffer.force();
+    }
+
+    // [from, to) 의 레코드 길이를 ~길이로 바꿔 취소 표시한다 (lock 안에서, committer 만 호출)
+    private long cancel(long from, long to) {
+        long count = 0;
+        long offset = from;
+        while (offset < to) {
+            Segment segment = segments.get(offset / segmentSize);
+            int position = (int) (offset - segment.base);
+            int length = position + HEADER > segmentSize ? END_OF_SEGMENT : segment.buffer.getInt(position);
+            if (length == END_OF_SEGMENT) {
+                offset = segment.base + segmentSize;
+                continue;
+            }
+            segment.buffer.putInt(position, ~length);
+            count++;
+            offset += HEADER + length;
+        }
+        return count;
+    }
+
+    // ──────────────────────────────────────────────────────────────
+    // 전송
+    // ──────────────────────────────────────────────────────────────
+    private void sendLoop() {
+        long offset = deliveredOffset;
+        int sinceCheckpoint = 0;
+        int attempts = 0;
+        while (!closed) {
+            if (offset >= durableOffset) {
+                if (sinceCheckpoint > 0) {
+                    writeCheckpoint(offset);
+                    sinceCheckpoint = 0;
+                }
+                lock.lock();
+                try {
+                    if (offset >= durableOffset && !closed) {
+                        committed.await(100, TimeUnit.MILLISECONDS);
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                } finally {
+                    lock.unlock();
+                }
+                continue;
+            }
+
+            Segment segment = segments.get(offset / segmentSize);
+            int position = (int) (offset - segment.base);
+            if (position == 0 && segments.firstKey() < segment.index) {
+                // 앞 세그먼트를 정확히 채우고 넘어오면 END 표시가 없다 → 여기서 checkpoint 후 지운다
+                writeCheckpoint(offset);
+                sinceCheckpoint = 0;
+                for (Segment done : new ArrayList<>(segments.headMap(segment.index).values())) {
+                    deleteSegment(done);
+                }
+            }
+            int length = position + HEADER > segmentSize ? END_OF_SEGMENT : segment.buffer.getInt(position);
+            if (length == END_OF_SEGMENT) {
+                // 다음 세그먼트로 → checkpoint 를 먼저 남기고 다 보낸 파일을 지운다
+                offset = segment.base + segmentSize;
+                writeCheckpoint(offset);
+                sinceCheckpoint = 0;
+                deleteSegment(segment);
+                continue;
+            }
+            if (length < END_OF_SEGMENT) {
+                offset += HEADER + ~length; // 취소된 레코드
+                deliveredOffset = offset;
+                continue;
+            }
+
+            Entry entry = decode(segment.buffer, position + HEADER, length);
+            NotificationService service = channels.get(entry.channel);
+            try {
+                if (service == null) {
+                    throw new IllegalStateException("unknown channel: " + entry.channel);
+                }
+                if (entry.recipient == null) {
+                    service.sendNotification(entry.message);
+                } else {
+                    service.sendNotification(entry.recipient, entry.message);
+                }
+                delivered.increment();
+            } catch (RuntimeException e) {
+                deliveryFailures.increment();
+                if (service != null && ++attempts < maxAttempts) {
+                    // 같은 레코드를 잠시 후 다시 보낸다(순서 유지). 10ms 부터 두 배씩, 최대 1초
+                    sleepQuietly(Math.min(1_000L, 10L << Math.min(attempts - 1, 7)));
+                    continue;
+                }
+                deadLetter(entry, e);
+            }
+            attempts = 0;
+            offset += HEADER + length;
+            deliveredOffset = offset;
+            if (++sinceCheckpoint >= checkpointInterval) {
+                writeCheckpoint(offset);
+                sinceCheckpoint = 0;
+            }
+        }
+        writeCheckpoint(offset);
+    }
+
+    // 포기한 레코드를 outbox.dead 에 한 줄로 남긴다 (sender 스레드만 호출)
+    private void deadLetter(Entry entry, RuntimeException cause) {
+        deadLetters.increment();
+        log.error("[outbox] {} 채널 전송 포기, {} 에 기록: {} → {}", entry.channel, DEAD_LETTER_FILE, entry.recipient, cause.toString());
+        String recipient = entry.recipient == null ? "" : entry.recipient;
+        String line = escape(entry.channel) + '\t' + escape(recipient) + '\t' + escape(entry.message)
+                + '\t' + escape(cause.toString()) + '\n';
+        try {
+            Files.write(getDeadLetterFile(), line.getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.error("[outbox] {} 기록 실패: {}", DEAD_LETTER_FILE, e.toString());
+        }
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private void writeCheckpoint(long offset) {
+        deliveredOffset = offset;
+        synchronized (checkpoint) {
+            checkpoint.putLong(0, offset);
+            checkpoint.putLong(8, ~offset);
+            checkpoint.force();
+        }
+    }
+
+    // ──────────────────────────────────────────────────────────────
+    // 상태
+    // ──────────────────────────────────────────────────────────────
+    public long getWriteOffset() {
+        lock.lock();
+        try {
+            return writeOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getDurableOffset() { return durableOffset; }
+    public long getDeliveredOffset() { return deliveredOffset; }
+    /** @return 열 때 checkpoint 이후에 남아 있던(다시 보낼) 레코드 수 */
+    public long getRecoveredCount() { return recoveredEntries; }
+    public long getRecoveredOffset() { return recoveredOffset; }
+    public long getAppendCount() { return appends.sum(); }
+    public long getCommitCount() { return commits.sum(); }
+    public long getDeliveredCount() { return delivered.sum(); }
+    public long getDeliveryFailureCount() { return deliveryFailures.sum(); }
+    public long getDeadLetterCount() { return deadLetters.sum(); }
+    public long getCommitFailureCount() { return commitFailures.sum(); }
+    /** @return force 실패로 취소해 보내지 않은 레코드 수 */
+    public long getCancelledCount() { return cancelled.sum(); }
+    public int getSegmentCount() { return segments.size(); }
+
+    /** @return force 한 번에 내려간 평균 레코드 수 */
+    public double getAppendsPerCommit() {
+        long c = commits.sum();
+        return c == 0 ? 0.0 : (double) appends.sum() / c;
+    }
+
+    /**
+     * 새 append 를 막고, 붙인 레코드를 모두 디스크에 내린 뒤 전송을 멈춘다.
+     * 아직 보내지 않은 레코드는 로그에 남아 다음에 열 때 다시 보낸다.
+     */
+    @Override
+    public void close() throws InterruptedException, IOException {
+        lock.lock();
+        try {
+            closed = true;
+            dirty.signal();
+            committed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        committer.join();
+        Thread s;
+        synchronized (this) {
+            s = sender;
+        }
+        if (s != null) {
+            s.join();
+        }
+        for (Segment segment : segments.values()) {
+            unmap(segment.buffer);
+            segment.channel.close();
+        }
+        unmap(checkpoint);
+        checkpointChannel.close();
+    }
+
+    // ──────────────────────────────────────────────────────────────
+    // 세그먼트 / 레코드
+    // ──────────────────────────────────────────────────────────────
+    private List<Path> listSegmentFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "outbox-*.log")) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    private Segment openSegment(long index) throws IOException {
+        Segment segment = new Segment(index, directory.resolve(String.format("outbox-%020d.log", index)));
+        segments.put(index, segment);
+        return segment;
+    }
+
+    private void deleteSegment(Segment segment) {
+        if (segment == writeSegment) {
+            return;
+        }
+        segments.remove(segment.index);
+        unmap(segment.buffer); // 이 세그먼트를 읽는 스레드는 더 없다 (committer 는 durableOffset 이후만 만진다)
+        try {
+            segment.channel.close();
+            Files.deleteIfExists(segment.file);
+        } catch (IOException e) {
+            log.warn("[outbox] 세그먼트 삭제 실패: {} {}", segment.file, e.toString());
+        }
+    }
+
+    /**
+     * 매핑을 바로 푼다. 풀지 않으면 파일을 지워도 GC 될 때까지 매핑(디스크 공간)이 남는다.
+     * Java 9+ 는 Unsafe.invokeCleaner, Java 8 은 DirectBuffer.cleaner().clean(). 안 되면 GC 에 맡긴다.
+     * 풀린 buffer 를 만지면 JVM 이 죽으므로 더 쓰지 않는 buffer 에만 호출한다.
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            try {
+                Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                invokeCleaner.invoke(theUnsafe.get(null), buffer);
+            } catch (NoSuchMethodException e) {
+                Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                Object cleaner = cleanerMethod.invoke(buffer);
+                if (cleaner != null) {
+                    cleaner.getClass().getMethod("clean").invoke(cleaner);
+                }
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.debug("[outbox] 매핑 해제 실패, GC 에 맡김: {}", e.toString());
+        }
+    }
+
+    /** 마지막 세그먼트에서 온전한 레코드가 끝나는 위치를 찾는다. */
+    private long scanEnd(Segment segment) {
+        int position = 0;
+        CRC32 crc = new CRC32();
+        while (position + HEADER <= segmentSize) {
+            int stored = segment.buffer.getInt(position);
+            int length = stored < END_OF_SEGMENT ? ~stored : stored; // 취소된 레코드도 온전하면 건너뛴다
+            if (length <= 0 || position + HEADER + length > segmentSize) {
+                break;
+            }
+            ByteBuffer payload = segment.buffer.duplicate();
+            payload.limit(position + HEADER + length).position(position + HEADER);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != segment.buffer.getInt(position + 4)) {
+                break;
+            }
+            position += HEADER + length;
+        }
+        // 쓰다 만 꼬리를 지워 다음 append 가 깨끗한 자리에서 시작하게 한다
+        for (int i = position; i < Math.min(segmentSize, position + HEADER); i++) {
+            segment.buffer.put(i, (byte) 0);
+        }
+        return segment.base + position;
+    }
+
+    private long countEntries(long from, long to) {
+        long count = 0;
+        long offset = from;
+        while (offset < to) {
+            Segment segment = segments.get(offset / segmentSize);
+            int position = (int) (offset - segment.base);
+            int length = position + HEADER > segmentSize ? END_OF_SEGMENT : segment.buffer.getInt(position);
+            if (length == END_OF_SEGMENT) {
+                offset = segment.base + segmentSize;
+                continue;
+            }
+            if (length < END_OF_SEGMENT) {
+                offset += HEADER + ~length; // 취소된 레코드는 세지 않는다
+                continue;
+            }
+            count++;
+            offset += HEADER + length;
+        }
+        return count;
+    }
+
+    // 수신자 null 은 길이 -1 로 적어 수신자 없는 sendNotification(message) 로 보낸다
+    private static byte[] encode(String channel, String recipient, String message) {
+        byte[] c = channel.getBytes(StandardCharsets.UTF_8);
+        byte[] r = recipient == null ? new byte[0] : recipient.getBytes(StandardCharsets.UTF_8);
+        byte[] m = message.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(12 + c.length + r.length + m.length);
+        buffer.putInt(c.length).put(c).putInt(recipient == null ? -1 : r.length).put(r).putInt(m.length).put(m);
+        return buffer.array();
+    }
+
+    private static Entry decode(MappedByteBuffer source, int position, int length) {
+        ByteBuffer buffer = source.duplicate();
+        buffer.limit(position + length).position(position);
+        return new Entry(readString(buffer), readString(buffer), readString(buffer));
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private final class Segment {
+        final long index;
+        final long base;
+        final Path file;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+
+        Segment(long index, Path file) throws IOException {
+            this.index = index;
+            this.base = index * segmentSize;
+            this.file = file;
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private static final class Entry {
+        final String channel;
+        final String recipient;
+        final String message;
+
+        Entry(String channel, String recipient, String message) {
+            this.channel = channel;
+            this.recipient = recipient;
+            this.message = message;
+        }
+    }
+
+    private static final class PendingAppend {
+        long end;
+        final CompletableFuture<Long> future = new CompletableFuture<>();
+    }
+}
@@ -0,0 +1,18 @@
+package mylab.notification.di.annot;
+
+/**
+ * NotificationRouter 의 우선순위 차선. weight 는 모든 차선이 밀려 있을 때 차지하는 전송 비율이다.
+ */
+public enum NotificationPriority {
+    CRITICAL(16), // OTP, 보안 알림
+    NORMAL(4),
+    BULK(1);      // 마케팅 대량 발송
+
+    private final int weight;
+
+    NotificationPriority(int weight) {
+        this.weight = weight;
+    }
+
+    public int getWeight() { return weight; }
+}
@@ -0,0 +1,404 @@
+package mylab.notification.di.annot;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 이름으로 등록된 여러 채널(NotificationService 빈)로 알림을 보내는 라우터.
+ *
+ * - 채널이 가리키는 제공업체(getProviderId)마다 우선순위 차선(NotificationPriority)별 큐를 둔다.
+ *   OTP(CRITICAL)는 대량 발송(BULK)과 다른 큐에 있으므로 그 뒤에 줄 서지 않는다.
+ * - 제공업체마다 토큰 버킷으로 초당 전송 수를 제한한다. 한 제공업체가 한도에 걸려도
+ *   다른 제공업체의 전송은 계속된다.
+ * - 차선 선택은 가중치 라운드 로빈(smooth weighted round robin)이다. 밀려 있는 차선은
+ *   weight 비율만큼 반드시 차례를 받으므로 BULK 도 굶지 않는다.
+ * - 전송 중인 건수를 maxInFlight 로 제한해, executor 큐 안에서 다시 줄 서는 일이 없게 한다.
+ *   위 차선(CRITICAL, NORMAL)은 maxInFlight 의 일부를 예약해 두므로, BULK 전송이 슬롯을 모두
+ *   차지해도 CRITICAL 은 느린 대량 전송이 끝나기를 기다리지 않는다.
+ *   · 예약 = 최하위 차선을 뺀 각 차선의 weight 비율 × maxInFlight / 2 (최소 1, 최하위 차선 몫은 최소 1 남김)
+ *   · 차선 p 와 그 아래 차선의 전송 중 건수 합 ≤ maxInFlight - (p 보다 위 차선들의 예약)
+ *   · 예) maxInFlight 32 → CRITICAL 12, NORMAL 3 예약 → BULK 는 최대 17, NORMAL+BULK 는 최대 29
+ * - 채널이 RejectedExecutionException 을 던지면(ResilientNotificationService 의 limiter 한도, 열린 브레이커)
+ *   실패가 아니라 역압으로 본다. 알림을 차선 맨 앞에 되돌리고, 그 제공업체만 잠시(10ms 부터 두 배씩, 최대 1초)
+ *   쉬었다가 다시 보낸다. 전송이 한 번 성공하면 쉬는 시간은 처음으로 돌아간다.
+ */
+public class NotificationRouter implements AutoCloseable {
+    private static final NotificationPriority[] LANES = NotificationPriority.values();
+    private static final long MIN_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, NotificationService> channels;
+    private final Map<String, TokenBucket> rateLimits;
+    private final Executor executor;
+    private final int maxInFlight;
+    private final int laneCapacity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+    private final Map<String, ProviderQueue> providers = new HashMap<>();
+    private final List<ProviderQueue> providerOrder = new ArrayList<>();
+    private final int[] inFlightLimit = new int[LANES.length];
+    private final int[] laneInFlight = new int[LANES.length];
+    private int cursor;
+    private int inFlight;
+    private int queued;
+    private boolean closed;
+    private final Thread dispatcherThread;
+
+    private final LongAdder[] sent = newAdders();
+    private final LongAdder[] rejected = newAdders();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder requeued = new LongAdder();
+    private final LongAccumulator[] maxWaitNanos = new LongAccumulator[LANES.length];
+
+    /**
+     * @param channels     채널 이름 → 서비스 (스프링에서는 Map 주입으로 빈 이름 → 빈)
+     * @param ratePerSecond 제공업체 ID → 초당 전송 한도. 없는 제공업체는 제한하지 않는다
+     * @param executor     실제 전송을 실행할 executor (스레드 수 ≥ maxInFlight 권장)
+     * @param maxInFlight  동시에 전송 중일 수 있는 최대 건수
+     * @param laneCapacity 제공업체별 차선 하나에 쌓을 수 있는 최대 건수 (넘치면 거절)
+     */
+    public NotificationRouter(Map<String, ? extends NotificationService> channels, Map<String, Double> ratePerSecond,
+                              Executor executor, int maxInFlight, int laneCapacity) {
+        if (maxInFlight < 1 || laneCapacity < 1) {
+            throw new IllegalArgumentException("maxInFlight and laneCapacity must be positive");
+        }
+        this.channels = Collections.unmodifiableMap(new LinkedHashMap<>(channels));
+        this.rateLimits = new HashMap<>();
+        // 버킷 크기는 0.1초 분량 → 순간 몰림은 조금만 허용
+        ratePerSecond.forEach((provider, rate) ->
+                rateLimits.put(provider, new TokenBucket(rate, Math.max(1, (int) Math.ceil(rate / 10)))));
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.laneCapacity = laneCapacity;
+        reserveInFlight(maxInFlight);
+        for (int i = 0; i < LANES.length; i++) {
+            maxWaitNanos[i] = new LongAccumulator(Math::max, 0);
+        }
+        this.dispatcherThread = new Thread(this::dispatchLoop, "notification-router");
+        this.dispatcherThread.setDaemon(true);
+        this.dispatcherThread.start();
+    }
+
+    public Map<String, NotificationService> getChannels() { return channels; }
+
+    public TokenBucket getRateLimit(String providerId) { return rateLimits.get(providerId); }
+
+    /** @return priority 차선과 그 아래 차선이 함께 쓸 수 있는 최대 전송 중 건수 */
+    public int getInFlightLimit(NotificationPriority priority) { return inFlightLimit[priority.ordinal()]; }
+
+    // 위 차선부터 weight 비율만큼 슬롯을 예약한다. 최하위 차선은 예약하지 않고, 적어도 1 슬롯은 남긴다
+    private void reserveInFlight(int maxInFlight) {
+        int totalWeight = 0;
+        for (NotificationPriority lane : LANES) {
+            totalWeight += lane.getWeight();
+        }
+        int limit = maxInFlight;
+        for (int i = 0; i < LANES.length; i++) {
+            inFlightLimit[i] = limit;
+            if (i < LANES.length - 1) {
+                int reserve = Math.max(1, Math.round(maxInFlight * LANES[i].getWeight() / (2.0f * totalWeight)));
+                limit -= Math.min(reserve, limit - 1);
+            }
+        }
+    }
+
+    /**
+     * channel 로 recipient 에게 message 를 priority 차선으로 보낸다.
+     *
+     * @return 전송이 끝나면 완료되는 future. 차선이 가득 차면 RejectedExecutionException 으로 실패한다.
+     * @throws IllegalArgumentException 등록되지 않은 채널
+     */
+    public CompletableFuture<Void> send(String channel, String recipient, String message, NotificationPriority priority) {
+        NotificationService service = channels.get(channel);
+        if (service == null) {
+            throw new IllegalArgumentException("unknown channel: " + channel + " (known: " + channels.keySet() + ")");
+        }
+        Task task = new Task(service, recipient, message, priority);
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("router is closed");
+            }
+            String providerId = service.getProviderId();
+            ProviderQueue provider = providers.get(providerId);
+            if (provider == null) {
+                provider = new ProviderQueue(rateLimits.get(providerId));
+                providers.put(providerId, provider);
+                providerOrder.add(provider);
+            }
+            ArrayDeque<Task> lane = provider.lanes.get(priority.ordinal());
+            if (lane.size() >= laneCapacity) {
+                rejected[priority.ordinal()].increment();
+                task.future.completeExceptionally(new RejectedExecutionException(
+                        providerId + " " + priority + " lane is full (" + laneCapacity + ")"));
+                return task.future;
+            }
+            task.provider = provider;
+            lane.addLast(task);
+            queued++;
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+        return task.future;
+    }
+
+    private void dispatchLoop() {
+        while (true) {
+            Task task;
+            lock.lock();
+            try {
+                while (true) {
+                    if (closed && queued == 0) {
+                        return;
+                    }
+                    long waitNanos = Long.MAX_VALUE;
+                    task = null;
+                    int open = openLanes();
+                    if (open != 0 && queued > 0) {
+                        long now = System.nanoTime();
+                        int n = providerOrder.size();
+                        for (int i = 0; i < n && task == null; i++) {
+                            int index = (cursor + i) % n;
+                            ProviderQueue provider = providerOrder.get(index);
+                            if (!provider.hasWork(open)) {
+                                continue;
+                            }
+                            if (provider.backoffNanos != 0 && now - provider.pausedUntil < 0) {
+                                waitNanos = Math.min(waitNanos, provider.pausedUntil - now);
+                                continue;
+                            }
+                            long tokenWait = provider.bucket == null ? 0 : provider.bucket.reserve();
+                            if (tokenWait == 0) {
+                                task = provider.next(open);
+                                cursor = index + 1;
+                            } else {
+                                waitNanos = Math.min(waitNanos, tokenWait);
+                            }
+                        }
+                    }
+                    if (task != null) {
+                        queued--;
+                        inFlight++;
+                        laneInFlight[task.priority.ordinal()]++;
+                        break;
+                    }
+                    try {
+                        if (waitNanos == Long.MAX_VALUE) {
+                            workAvailable.await();
+                        } else {
+                            workAvailable.awaitNanos(waitNanos);
+                        }
+                    } catch (InterruptedException e) {
+                        // close() 가 깨운 경우 → 다시 검사
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            execute(task);
+        }
+    }
+
+    // 지금 전송을 시작할 수 있는 차선들의 비트마스크 (lock 안에서 호출, 차선 i → 1 << i). 하나도 없으면 0
+    private int openLanes() {
+        if (inFlight >= maxInFlight) {
+            return 0;
+        }
+        int open = 0;
+        int atOrBelow = 0;
+        for (int i = LANES.length - 1; i >= 0; i--) {
+            atOrBelow += laneInFlight[i];
+            if (atOrBelow < inFlightLimit[i]) {
+                open |= 1 << i;
+            }
+        }
+        return open;
+    }
+
+    private void execute(Task task) {
+        int lane = task.priority.ordinal();
+        maxWaitNanos[lane].accumulate(System.nanoTime() - task.enqueuedAt);
+        try {
+            executor.execute(() -> {
+                try {
+                    task.service.sendNotification(task.recipient, task.message);
+                    sent[lane].increment();
+                    finished(task, true);
+                    task.future.complete(null);
+                } catch (RejectedExecutionException e) {
+                    // 채널의 limiter/브레이커 거절 → 역압: 다시 줄 세우고 그 제공업체는 잠시 쉰다
+                    requeued.increment();
+                    requeue(task);
+                } catch (Throwable e) {
+                    failed.increment();
+                    finished(task, false);
+                    task.future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            failed.increment();
+            finished(task, false);
+            task.future.completeExceptionally(e);
+        }
+    }
+
+    private void finished(Task task, boolean success) {
+        lock.lock();
+        try {
+            inFlight--;
+            laneInFlight[task.priority.ordinal()]--;
+            if (success) {
+                task.provider.backoffNanos = 0;
+            }
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 차선 맨 앞에 되돌리고(순서 유지) 제공업체의 쉬는 시간을 두 배로 늘린다
+    private void requeue(Task task) {
+        lock.lock();
+        try {
+            inFlight--;
+            laneInFlight[task.priority.ordinal()]--;
+            ProviderQueue provider = task.provider;
+            provider.lanes.get(task.priority.ordinal()).addFirst(task);
+            queued++;
+            provider.backoffNanos = provider.backoffNanos == 0
+                    ? MIN_BACKOFF_NANOS : Math.min(MAX_BACKOFF_NANOS, provider.backoffNanos * 2);
+            provider.pausedUntil = System.nanoTime() + provider.backoffNanos;
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getSentCount(NotificationPriority priority) { return sent[priority.ordinal()].sum(); }
+    public long getRejectedCount(NotificationPriority priority) { return rejected[priority.ordinal()].sum(); }
+    public long getFailedCount() { return failed.sum(); }
+    /** @return 채널이 거절(RejectedExecutionException)해서 다시 줄 세운 횟수 */
+    public long getRequeuedCount() { return requeued.sum(); }
+
+    /** @return 해당 차선 메시지가 큐에서 기다린 최대 시간(ms) */
+    public double getMaxWaitMillis(NotificationPriority priority) {
+        return maxWaitNanos[priority.ordinal()].get() / 1_000_000.0;
+    }
+
+    public int getQueuedCount() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 새 알림은 받지 않고, 쌓인 알림을 모두 보낸 뒤 끝낸다. */
+    @Override
+    public void close() throws InterruptedException {
+        lock.lock();
+        try {
+            closed = true;
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+        dispatcherThread.join();
+        if (executor instanceof ExecutorService) {
+            ExecutorService service = (ExecutorService) executor;
+            service.shutdown();
+            service.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[LANES.length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    // 제공업체 하나의 차선들 + 토큰 버킷
+    private static final class ProviderQueue {
+        final TokenBucket bucket;
+        final List<ArrayDeque<Task>> lanes = new ArrayList<>(LANES.length);
+        final int[] current = new int[LANES.length];
+        // 채널이 거절한 뒤 쉬는 시간 (0 이면 쉬지 않음)과 다시 보낼 수 있는 시각
+        long backoffNanos;
+        long pausedUntil;
+
+        ProviderQueue(TokenBucket bucket) {
+            this.bucket = bucket;
+            for (int i = 0; i < LANES.length; i++) {
+                lanes.add(new ArrayDeque<>());
+            }
+        }
+
+        boolean hasWork(int open) {
+            for (int i = 0; i < LANES.length; i++) {
+                if ((open & 1 << i) != 0 && !lanes.get(i).isEmpty()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // smooth weighted round robin: 밀려 있는(그리고 열린) 차선마다 weight 를 더하고 가장 큰 차선을 고른다
+        Task next(int open) {
+            int total = 0;
+            int best = -1;
+            for (int i = 0; i < LANES.length; i++) {
+                if (lanes.get(i).isEmpty()) {
+                    current[i] = 0;
+                    continue;
+                }
+                if ((open & 1 << i) == 0) {
+                    continue;
+                }
+                int weight = LANES[i].getWeight();
+                current[i] += weight;
+                total += weight;
+                if (best < 0 || current[i] > current[best]) {
+                    best = i;
+                }
+            }
+            current[best] -= total;
+            return lanes.get(best).pollFirst();
+        }
+    }
+
+    private static final class Task {
+        final NotificationService service;
+        final String recipient;
+        final String message;
+        final NotificationPriority priority;
+        final long enqueuedAt = System.nanoTime();
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        ProviderQueue provider;
+
+        Task(NotificationService service, String recipient, String message, NotificationPriority priority) {
+            this.service = service;
+            this.recipient = recipient;
+            this.message = message;
+            this.priority = priority;
+        }
+    }
+}
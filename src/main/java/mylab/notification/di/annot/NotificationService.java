@@ -1,5 +1,22 @@
 package mylab.notification.di.annot;
 
+import java.util.List;
+
 public interface NotificationService {
     void sendNotification(String message);
-}
\ No newline at end of file
+
+    // 속도 제한 등을 묶는 제공업체 식별자 (예: SMS "SKT", 이메일 "smtp.gmail.com:587")
+    default String getProviderId() {
+        return getClass().getSimpleName();
+    }
+
+    // 수신자를 아는 호출. 기본 구현은 수신자를 구분하지 않는다
+    default void sendNotification(String recipient, String message) {
+        sendNotification(message);
+    }
+
+    // 한 수신자에게 모인 메시지들을 한 번에 보낸다. 기본 구현은 한 메시지로 합쳐 1회 전송
+    default void sendNotifications(String recipient, List<String> messages) {
+        sendNotification(recipient, String.join("\n", messages));
+    }
+}
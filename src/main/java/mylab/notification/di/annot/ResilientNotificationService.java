@@ -0,0 +1,72 @@
+package mylab.notification.di.annot;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 제공업체 서비스(delegate) 앞에 서킷 브레이커와 동시성 limiter 를 두는 NotificationService.
+ *
+ * - 브레이커가 열려 있거나 limiter 한도에 닿으면 기다리지 않고 RejectedExecutionException 을 던진다.
+ *   → 제공업체가 느려져도 호출자는 그 뒤에 쌓이지 않는다.
+ * - 제공업체(getProviderId)마다 하나씩 둔다.
+ */
+public class ResilientNotificationService implements NotificationService {
+    private final NotificationService delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ResilientNotificationService(NotificationService delegate, CircuitBreaker circuitBreaker,
+                                        AdaptiveConcurrencyLimiter limiter) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.limiter = limiter;
+    }
+
+    public NotificationService getDelegate() { return delegate; }
+    public CircuitBreaker getCircuitBreaker() { return circuitBreaker; }
+    public AdaptiveConcurrencyLimiter getLimiter() { return limiter; }
+
+    @Override
+    public String getProviderId() { return delegate.getProviderId(); }
+
+    @Override
+    public void sendNotification(String message) {
+        call(() -> delegate.sendNotification(message));
+    }
+
+    @Override
+    public void sendNotification(String recipient, String message) {
+        call(() -> delegate.sendNotification(recipient, message));
+    }
+
+    @Override
+    public void sendNotifications(String recipient, List<String> messages) {
+        call(() -> delegate.sendNotifications(recipient, messages));
+    }
+
+    private void call(Runnable send) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new RejectedExecutionException(getProviderId() + " circuit is open");
+        }
+        if (!limiter.tryAcquire()) {
+            circuitBreaker.releasePermission();
+            throw new RejectedExecutionException(getProviderId() + " concurrency limit reached (" + limiter.getLimit() + ")");
+        }
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            send.run();
+            success = true;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            limiter.release(elapsed, success);
+            circuitBreaker.record(elapsed, success);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ResilientNotificationService[" + getProviderId() + ", circuit=" + circuitBreaker.getState()
+                + ", limit=" + limiter.getLimit() + ", inFlight=" + limiter.getInFlight() + "]";
+    }
+}
@@ -1,6 +1,15 @@
 package mylab.notification.di.annot;
 
+import static org.apache.logging.log4j.util.Unbox.box;
+
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
 public class SmsNotificationService implements NotificationService {
+    private static final Logger log = LogManager.getLogger(SmsNotificationService.class);
+
     private final String provider;
 
     public SmsNotificationService(String provider) {
@@ -9,8 +18,21 @@ public class SmsNotificationService implements NotificationService {
 
     public String getProvider() { return provider; }
 
+    @Override
+    public String getProviderId() { return provider; }
+
     @Override
     public void sendNotification(String message) {
-        System.out.println("SMS 알림 전송: " + message + " (제공업체: " + provider + ")");
+        log.info("SMS 알림 전송: {} (제공업체: {})", message, provider);
+    }
+
+    @Override
+    public void sendNotification(String recipient, String message) {
+        log.info("SMS 알림 전송: {} → {} (제공업체: {})", message, recipient, provider);
+    }
+
+    @Override
+    public void sendNotifications(String recipient, List<String> messages) {
+        log.info("SMS 알림 {}건 일괄 전송: {} → {} (제공업체: {})", box(messages.size()), messages, recipient, provider);
     }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package mylab.notification.di.annot;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 초당 ratePerSecond 개씩 채워지고 최대 burst 개까지 쌓이는 토큰 버킷.
+ */
+public class TokenBucket {
+    private final double tokensPerNano;
+    private final double burst;
+    private double tokens;
+    private long refilledAt;
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("ratePerSecond and burst must be positive");
+        }
+        this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.tokens = burst;
+        this.refilledAt = System.nanoTime();
+    }
+
+    public double getRatePerSecond() { return tokensPerNano * TimeUnit.SECONDS.toNanos(1); }
+    public int getBurst() { return (int) burst; }
+
+    /** 토큰이 있으면 하나 쓰고 true */
+    public boolean tryAcquire() {
+        return reserve() == 0;
+    }
+
+    /**
+     * 토큰이 있으면 하나 쓰고 0 을, 없으면 다음 토큰까지 남은 시간(ns)을 돌려준다.
+     */
+    public synchronized long reserve() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        if (tokens >= 1.0) {
+            tokens -= 1.0;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((1.0 - tokens) / tokensPerNano));
+    }
+}
@@ -1,10 +1,26 @@
 package mylab.notification.di.annot.config;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import mylab.notification.di.annot.AsyncNotificationDispatcher;
+import mylab.notification.di.annot.AdaptiveConcurrencyLimiter;
+import mylab.notification.di.annot.BatchingNotificationService;
+import mylab.notification.di.annot.CircuitBreaker;
 import mylab.notification.di.annot.EmailNotificationService;
 import mylab.notification.di.annot.NotificationManager;
+import mylab.notification.di.annot.NotificationOutbox;
+import mylab.notification.di.annot.NotificationRouter;
+import mylab.notification.di.annot.NotificationService;
+import mylab.notification.di.annot.ResilientNotificationService;
 import mylab.notification.di.annot.SmsNotificationService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
 @Configuration
 public class NotificationConfig {
@@ -19,8 +35,67 @@ public class NotificationConfig {
         return new SmsNotificationService("SKT");
     }
 
+    // 대기 + 전송 중 최대 1024건, 가득 차면 호출 스레드가 기다림. 컨텍스트 종료 시 close() 로 남은 전송 완료
+    @Bean
+    public AsyncNotificationDispatcher notificationDispatcher() {
+        return new AsyncNotificationDispatcher(AsyncNotificationDispatcher.newDefaultExecutor(8),
+                1024, AsyncNotificationDispatcher.Backpressure.BLOCK);
+    }
+
     @Bean
+    @Primary
     public NotificationManager notificationManager() {
-        return new NotificationManager(emailNotificationService(), smsNotificationService());
+        return new NotificationManager(emailNotificationService(), smsNotificationService(), notificationDispatcher());
+    }
+
+    // 프로세스가 죽어도 알림을 잃지 않도록 이메일/SMS 앞에 디스크 outbox 를 둔다. 재시작하면 못 보낸 것부터 다시 보낸다
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public NotificationOutbox notificationOutbox(
+            @Value("${notification.outbox.dir:${java.io.tmpdir}/notification-outbox}") String directory) throws IOException {
+        return new NotificationOutbox(Paths.get(directory), NotificationOutbox.channelsOf(notificationManager()));
+    }
+
+    // 보내기 전에 outbox 에 적고(group commit) 돌아오는 매니저. 실제 전송은 outbox 의 sender 스레드가 한다
+    @Bean
+    public NotificationManager durableNotificationManager(NotificationOutbox notificationOutbox) {
+        return new NotificationManager(notificationOutbox.channel("email"), notificationOutbox.channel("sms"));
+    }
+
+    // 대량(마케팅) 발송용: 수신자별로 최대 100건 / 200ms 까지 모아서 한 번에 전송
+    @Bean
+    public BatchingNotificationService batchingEmailNotificationService() {
+        return new BatchingNotificationService("email", emailNotificationService(), 100, 200);
+    }
+
+    @Bean
+    public BatchingNotificationService batchingSmsNotificationService() {
+        return new BatchingNotificationService("sms", smsNotificationService(), 100, 200);
+    }
+
+    @Bean
+    public NotificationManager bulkNotificationManager() {
+        return new NotificationManager(batchingEmailNotificationService(), batchingSmsNotificationService());
+    }
+
+    // SMTP 가 느려질 때 호출자가 쌓이지 않도록: 최근 50건 중 절반이 실패/2초 초과면 10초간 차단, 동시 전송 4~64
+    @Bean
+    public ResilientNotificationService resilientEmailNotificationService() {
+        return new ResilientNotificationService(emailNotificationService(),
+                new CircuitBreaker(50, 0.5, 2_000, 10_000), new AdaptiveConcurrencyLimiter(16, 4, 64));
+    }
+
+    // 채널 이름 → 서비스를 직접 정하는 라우터. 제공업체별 초당 한도
+    // (NotificationService 빈을 Map 으로 모두 주입하면 batching/resilient 래퍼가 같은 제공업체의 채널로 또 들어간다)
+    // 이메일은 circuit breaker 를 거치는 resilientEmailNotificationService 로 보낸다.
+    // 라우터의 동시 전송(32)이 limiter 한도(처음 16)보다 커도, limiter/브레이커 거절은 라우터가 다시 줄 세운다
+    @Bean
+    public NotificationRouter notificationRouter() {
+        Map<String, NotificationService> channels = new LinkedHashMap<>();
+        channels.put("emailNotificationService", resilientEmailNotificationService());
+        channels.put("smsNotificationService", smsNotificationService());
+        Map<String, Double> ratePerSecond = new HashMap<>();
+        ratePerSecond.put("SKT", 100.0);
+        ratePerSecond.put("smtp.gmail.com:587", 200.0);
+        return new NotificationRouter(channels, ratePerSecond, AsyncNotificationDispatcher.newDefaultExecutor(32), 32, 10_000);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,170 @@
+package mylab.order.di.xml;
+
+import java.util.Arrays;
+
+/**
+ * CartContent(카트 내용 스냅샷).
+ *
+ * - 카트에 담긴 라인(상품 ID, 단가, 수량)을 상품 ID·단가 순으로 정렬해 합친 불변 값.
+ * - 담은 순서나 카트 구현(ShoppingCart / IncrementalShoppingCart / CatalogShoppingCart)과
+ *   무관하게 내용이 같으면 equals 가 true 이다.
+ * - hashCode 는 64비트 내용 지문(ShoppingCart#getContentFingerprint 와 같은 값)에서 나온다.
+ *
+ * 학습 포인트
+ * - 지문은 해시일 뿐이라 서로 다른 카트가 같은 값을 가질 수 있다(예: "Aa" 와 "BB" 는 String.hashCode 가 같다).
+ *   QuoteCache 는 견적을 계산할 때만 이 스냅샷을 만들어 두고, 지문이 같은 카트가 오면
+ *   ShoppingCart#hasContent 로 실제 내용을 비교하므로 다른 카트의 견적을 돌려주지 않는다.
+ */
+public final class CartContent {
+
+    private final String[] ids;
+    private final long[] priceUnits;
+    private final int[] quantities;
+    private final long fingerprint;
+
+    private CartContent(String[] ids, long[] priceUnits, int[] quantities, long fingerprint) {
+        this.ids = ids;
+        this.priceUnits = priceUnits;
+        this.quantities = quantities;
+        this.fingerprint = fingerprint;
+    }
+
+    /** @return 새 빌더 */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** @return 라인 수 (같은 ID·단가는 한 라인) */
+    public int getLineCount() { return ids.length; }
+
+    /** @return i 번째 라인의 상품 ID */
+    public String getId(int i) { return ids[i]; }
+
+    /** @return i 번째 라인의 단가(최소 화폐 단위) */
+    public long getPriceUnits(int i) { return priceUnits[i]; }
+
+    /** @return i 번째 라인의 수량 */
+    public int getQuantity(int i) { return quantities[i]; }
+
+    /**
+     * (상품 ID, 단가) 라인의 위치를 이진 탐색으로 찾는다.
+     *
+     * @return 라인 번호, 없으면 -1
+     */
+    public int indexOf(String id, long priceUnits) {
+        int low = 0;
+        int high = ids.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int c = ids[mid].compareTo(id);
+            if (c == 0) {
+                c = Long.compare(this.priceUnits[mid], priceUnits);
+            }
+            if (c < 0) {
+                low = mid + 1;
+            } else if (c > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 라인별 수량 합계(counts)가 이 스냅샷의 수량과 모두 같은지 본다.
+     * ShoppingCart#hasContent 구현이 indexOf 로 센 결과를 넘긴다.
+     */
+    boolean hasQuantities(int[] counts) {
+        return Arrays.equals(quantities, counts);
+    }
+
+    /** @return 64비트 내용 지문 */
+    public long getFingerprint() { return fingerprint; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CartContent)) return false;
+        CartContent other = (CartContent) o;
+        return fingerprint == other.fingerprint
+                && Arrays.equals(quantities, other.quantities)
+                && Arrays.equals(priceUnits, other.priceUnits)
+                && Arrays.equals(ids, other.ids);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(fingerprint);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("CartContent[");
+        for (int i = 0; i < ids.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(ids[i]).append('@').append(Money.toBigDecimal(priceUnits[i])).append(" x ").append(quantities[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+
+    /**
+     * 라인을 모아 정렬·병합한 CartContent 를 만든다.
+     */
+    public static final class Builder {
+        private String[] ids = new String[8];
+        private long[] priceUnits = new long[8];
+        private int[] quantities = new int[8];
+        private int count;
+
+        private Builder() {}
+
+        /** 라인 하나를 더한다. 같은 ID·단가가 이미 있으면 build() 에서 수량이 합쳐진다. */
+        public Builder add(String id, long priceUnits, int quantity) {
+            if (quantity < 1) {
+                throw new IllegalArgumentException("quantity must be positive: " + quantity);
+            }
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+                this.priceUnits = Arrays.copyOf(this.priceUnits, count * 2);
+                quantities = Arrays.copyOf(quantities, count * 2);
+            }
+            ids[count] = id;
+            this.priceUnits[count] = priceUnits;
+            quantities[count] = quantity;
+            count++;
+            return this;
+        }
+
+        public CartContent build() {
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> {
+                int c = ids[a].compareTo(ids[b]);
+                return c != 0 ? c : Long.compare(priceUnits[a], priceUnits[b]);
+            });
+
+            String[] sortedIds = new String[count];
+            long[] sortedPrices = new long[count];
+            int[] sortedQuantities = new int[count];
+            int lines = 0;
+            long fingerprint = 0L;
+            for (Integer i : order) {
+                if (lines > 0 && sortedIds[lines - 1].equals(ids[i]) && sortedPrices[lines - 1] == priceUnits[i]) {
+                    sortedQuantities[lines - 1] = Math.addExact(sortedQuantities[lines - 1], quantities[i]);
+                } else {
+                    sortedIds[lines] = ids[i];
+                    sortedPrices[lines] = priceUnits[i];
+                    sortedQuantities[lines] = quantities[i];
+                    lines++;
+                }
+                fingerprint += ShoppingCart.fingerprintOf(ids[i].hashCode(), priceUnits[i]) * quantities[i];
+            }
+            return new CartContent(Arrays.copyOf(sortedIds, lines), Arrays.copyOf(sortedPrices, lines),
+                    Arrays.copyOf(sortedQuantities, lines), fingerprint);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package mylab.order.di.xml;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * CatalogShoppingCart(카탈로그 slot 기반 쇼핑 카트).
+ *
+ * - 상품을 Product 객체 대신 {@link ProductCatalog} 의 slot(int) 으로 담는다.
+ * - 카트의 상태는 int[] slots / int[] quantities 두 배열뿐이며,
+ *   총액 계산은 ProductCatalog#sumPriceUnits(...) 의 배열 반복문 한 번이다.
+ * - ShoppingCart 를 상속하므로 OrderService 에 그대로 주입할 수 있다.
+ *
+ *   예) mylab-order-di.xml
+ *   <bean id="catalogCart" class="mylab.order.di.xml.CatalogShoppingCart">
+ *     <property name="productCatalog" ref="productCatalog"/>
+ *     <property name="products"> <list> <ref bean="product1"/> </list> </property>
+ *   </bean>
+ *
+ * 학습 포인트
+ * - <property> 는 선언 순서대로 주입되므로 productCatalog 를 products 보다 먼저 적는다.
+ * - 가격은 카탈로그에서 읽으므로 카탈로그 가격이 바뀌면 총액에도 바로 반영된다.
+ */
+public class CatalogShoppingCart extends ShoppingCart {
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 1) 필드(상태)
+    // ──────────────────────────────────────────────────────────────────────────
+    private ProductCatalog productCatalog;
+    private int[] slots = new int[8];
+    private int[] quantities = new int[8];
+    private int lineCount;
+
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 2) 생성자
+    // ──────────────────────────────────────────────────────────────────────────
+
+    /** 기본 생성자 (setter 주입용). */
+    public CatalogShoppingCart() {}
+
+    /** @param productCatalog slot 이 가리킬 카탈로그 */
+    public CatalogShoppingCart(ProductCatalog productCatalog) {
+        this.productCatalog = productCatalog;
+    }
+
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 3) Getter / Setter
+    // ──────────────────────────────────────────────────────────────────────────
+
+    /** @return slot 이 가리키는 카탈로그 */
+    public ProductCatalog getProductCatalog() { return productCatalog; }
+
+    /** @param productCatalog 스프링 XML 에서 주입되는 카탈로그 빈 */
+    public void setProductCatalog(ProductCatalog productCatalog) { this.productCatalog = productCatalog; }
+
+    /**
+     * 카탈로그 값으로 Product 객체를 만들어 반환한다(호환용, O(n) + 객체 생성).
+     */
+    @Override
+    public List<Product> getProducts() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < lineCount; i++) {
+            Product p = productCatalog.toProduct(slots[i]);
+            for (int q = 0; q < quantities[i]; q++) {
+                products.add(p);
+            }
+        }
+        return Collections.unmodifiableList(products);
+    }
+
+    /**
+     * 카트를 비우고 상품들을 하나씩 담는다. 카탈로그에 없는 상품은 먼저 등록한다.
+     *
+     * @throws IllegalStateException productCatalog 가 아직 주입되지 않은 경우
+     */
+    @Override
+    public void setProducts(List<Product> products) {
+        if (productCatalog == null) {
+            throw new IllegalStateException("productCatalog must be set before products");
+        }
+        clear();
+        if (products != null) {
+            for (Product p : products) {
+                int slot = productCatalog.slotOf(p.getId());
+                addSlot(slot >= 0 ? slot : productCatalog.put(p), 1);
+            }
+        }
+    }
+
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 4) 카트 조작 메서드
+    // ──────────────────────────────────────────────────────────────────────────
+
+    /**
+     * 카탈로그 slot 의 상품을 quantity 개 담는다(라인 추가, 같은 slot 도 합치지 않음).
+     */
+    public void addSlot(int slot, int quantity) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("quantity must be positive: " + quantity);
+        }
+        if (lineCount == slots.length) {
+            slots = Arrays.copyOf(slots, lineCount * 2);
+            quantities = Arrays.copyOf(quantities, lineCount * 2);
+        }
+        slots[lineCount] = slot;
+        quantities[lineCount] = quantity;
+        lineCount++;
+    }
+
+    /**
+     * 상품 ID 로 slot 을 찾아 담는다.
+     *
+     * @throws IllegalArgumentException 카탈로그에 없는 상품 ID 인 경우
+     */
+    public void addProduct(String productId, int quantity) {
+        int slot = productCatalog.slotOf(productId);
+        if (slot < 0) {
+            throw new IllegalArgumentException("unknown product: " + productId);
+        }
+        addSlot(slot, quantity);
+    }
+
+    /** 카트를 비운다. */
+    public void clear() {
+        lineCount = 0;
+    }
+
+    /** @return 라인 수 */
+    public int getLineCount() { return lineCount; }
+
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 5) 비즈니스 메서드 — 배열 반복문 한 번
+    // ──────────────────────────────────────────────────────────────────────────
+
+    @Override
+    public double getTotalPrice() {
+        return Money.toDouble(getTotalPriceUnits());
+    }
+
+    @Override
+    public long getTotalPriceUnits() {
+        return productCatalog.sumPriceUnits(slots, quantities, lineCount);
+    }
+
+    /** 카탈로그의 ID 해시와 현재 가격으로 내용 지문을 계산한다(O(n), 객체 생성 없음). */
+    @Override
+    public long getContentFingerprint() {
+        long fingerprint = 0L;
+        for (int i = 0; i < lineCount; i++) {
+            int slot = slots[i];
+            fingerprint += fingerprintOf(productCatalog.idHashCode(slot), productCatalog.getPriceUnits(slot))
+                    * quantities[i];
+        }
+        return fingerprint;
+    }
+
+    /** 카탈로그의 현재 ID·가격으로 내용 스냅샷을 만든다. */
+    @Override
+    public CartContent getContent() {
+        CartContent.Builder content = CartContent.builder();
+        for (int i = 0; i < lineCount; i++) {
+            content.add(productCatalog.getId(slots[i]), productCatalog.getPriceUnits(slots[i]), quantities[i]);
+        }
+        return content.build();
+    }
+
+
+    /** 카탈로그의 현재 ID·가격으로 content 와 비교한다(스냅샷을 만들지 않음). */
+    @Override
+    public boolean hasContent(CartContent content) {
+        int[] counts = new int[content.getLineCount()];
+        for (int i = 0; i < lineCount; i++) {
+            int line = content.indexOf(productCatalog.getId(slots[i]), productCatalog.getPriceUnits(slots[i]));
+            if (line < 0) {
+                return false;
+            }
+            counts[line] += quantities[i];
+            if (counts[line] > content.getQuantity(line)) {
+                return false;
+            }
+        }
+        return content.hasQuantities(counts);
+    }
+
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 6) toString
+    // ──────────────────────────────────────────────────────────────────────────
+    @Override
+    public String toString() {
+        return "CatalogShoppingCart[lines=" + lineCount + ", catalog=" + productCatalog + "]";
+    }
+}
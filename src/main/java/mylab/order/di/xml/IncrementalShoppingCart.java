@@ -0,0 +1,256 @@
+package mylab.order.di.xml;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * IncrementalShoppingCart(누적 합계 쇼핑 카트).
+ *
+ * - ShoppingCart 를 상속하므로 OrderService 등 기존 코드에 그대로 주입할 수 있다.
+ * - 상품을 추가/삭제/수량 변경할 때마다 총액(totalUnits)을 함께 갱신해 두므로
+ *   getTotalPrice() / getTotalPriceUnits() 는 목록을 순회하지 않고 O(1)로 응답한다.
+ * - 금액은 {@link Money} 의 최소 화폐 단위(long)로 누적하므로 double 합산 오차가 없다.
+ *
+ *   예) mylab-order-di.xml 에서 class 만 바꿔 사용
+ *   <bean id="shoppingCart" class="mylab.order.di.xml.IncrementalShoppingCart">
+ *     <property name="products"> <list> ... </list> </property>
+ *   </bean>
+ *
+ * 학습 포인트
+ * - 같은 상품 ID 는 하나의 라인(CartLine)으로 묶고 수량으로 관리한다.
+ * - 단가는 상품을 담는 시점의 가격으로 고정된다(주문 시점 가격 고정).
+ *   총액과 내용 지문(getContentFingerprint)도 이 단가로 누적한다.
+ * - 스레드 안전하지 않다. 하나의 카트는 한 요청(스레드)에서 다루는 것을 전제로 한다.
+ */
+public class IncrementalShoppingCart extends ShoppingCart {
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 1) 필드(상태)
+    //    - lines: 상품 ID → 라인. 담은 순서를 유지하기 위해 LinkedHashMap 사용.
+    //    - totalUnits: 모든 라인 금액의 합(최소 화폐 단위).
+    //    - fingerprint: 카트 내용 지문(라인 지문 × 수량의 합).
+    //    - itemCount: 모든 라인 수량의 합.
+    // ──────────────────────────────────────────────────────────────────────────
+    private final Map<String, CartLine> lines = new LinkedHashMap<>();
+    private long totalUnits;
+    private long fingerprint;
+    private int itemCount;
+
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 2) 생성자
+    // ──────────────────────────────────────────────────────────────────────────
+
+    /** 기본 생성자 (setter 주입용). */
+    public IncrementalShoppingCart() {}
+
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 3) Getter / Setter (ShoppingCart 호환)
+    // ──────────────────────────────────────────────────────────────────────────
+
+    /**
+     * 라인 정보를 상품 목록 형태로 펼쳐서 반환한다(수량만큼 반복).
+     *
+     * - 호환용 조회 메서드이므로 O(n)이며, 반환 리스트는 수정할 수 없다.
+     */
+    @Override
+    public List<Product> getProducts() {
+        List<Product> products = new ArrayList<>(itemCount);
+        for (CartLine line : lines.values()) {
+            for (int i = 0; i < line.quantity; i++) {
+                products.add(line.product);
+            }
+        }
+        return Collections.unmodifiableList(products);
+    }
+
+    /**
+     * 카트를 비우고 전달받은 상품들을 하나씩(수량 1) 담는다.
+     *
+     * @param products 스프링 XML 의 <property name="products"> 로 전달되는 리스트
+     */
+    @Override
+    public void setProducts(List<Product> products) {
+        clear();
+        if (products != null) {
+            for (Product p : products) {
+                addProduct(p, 1);
+            }
+        }
+    }
+
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 4) 카트 조작 메서드 — 모두 총액을 즉시 갱신한다.
+    // ──────────────────────────────────────────────────────────────────────────
+
+    /** 상품 1개를 담는다. */
+    public void addProduct(Product product) {
+        addProduct(product, 1);
+    }
+
+    /**
+     * 상품을 quantity 개 담는다. 이미 담긴 상품 ID 이면 수량만 늘린다.
+     *
+     * @throws IllegalArgumentException quantity 가 1 미만인 경우
+     */
+    public void addProduct(Product product, int quantity) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("quantity must be positive: " + quantity);
+        }
+        CartLine line = lines.get(product.getId());
+        if (line == null) {
+            line = new CartLine(product, Money.toUnits(product.getPrice()));
+            lines.put(product.getId(), line);
+        }
+        changeQuantity(line, Math.addExact(line.quantity, quantity));
+    }
+
+    /**
+     * 상품 라인을 통째로 뺀다.
+     *
+     * @return 해당 상품이 카트에 있었으면 true
+     */
+    public boolean removeProduct(String productId) {
+        CartLine line = lines.remove(productId);
+        if (line == null) {
+            return false;
+        }
+        changeQuantity(line, 0);
+        return true;
+    }
+
+    /**
+     * 상품의 수량을 quantity 로 바꾼다. 0 이면 라인을 제거한다.
+     *
+     * @throws IllegalArgumentException quantity 가 음수이거나 카트에 없는 상품인 경우
+     */
+    public void updateQuantity(String productId, int quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("quantity must not be negative: " + quantity);
+        }
+        CartLine line = lines.get(productId);
+        if (line == null) {
+            throw new IllegalArgumentException("product not in cart: " + productId);
+        }
+        if (quantity == 0) {
+            removeProduct(productId);
+        } else {
+            changeQuantity(line, quantity);
+        }
+    }
+
+    /** 카트를 비운다. */
+    public void clear() {
+        lines.clear();
+        totalUnits = 0L;
+        fingerprint = 0L;
+        itemCount = 0;
+    }
+
+    /** @return 상품의 현재 수량(없으면 0) */
+    public int getQuantity(String productId) {
+        CartLine line = lines.get(productId);
+        return line == null ? 0 : line.quantity;
+    }
+
+    /** @return 담긴 상품 수량의 합 */
+    public int getItemCount() { return itemCount; }
+
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 5) 비즈니스 메서드 — O(1)
+    // ──────────────────────────────────────────────────────────────────────────
+
+    /** 누적해 둔 총액을 반환한다(O(1)). */
+    @Override
+    public double getTotalPrice() {
+        return Money.toDouble(totalUnits);
+    }
+
+    /** 누적해 둔 총액을 최소 화폐 단위로 반환한다(O(1)). */
+    @Override
+    public long getTotalPriceUnits() {
+        return totalUnits;
+    }
+
+    /** 누적해 둔 내용 지문을 반환한다(O(1)). */
+    @Override
+    public long getContentFingerprint() {
+        return fingerprint;
+    }
+
+    /** 라인(담을 때의 단가 기준)으로 내용 스냅샷을 만든다. */
+    @Override
+    public CartContent getContent() {
+        CartContent.Builder content = CartContent.builder();
+        for (CartLine line : lines.values()) {
+            content.add(line.product.getId(), line.unitPriceUnits, line.quantity);
+        }
+        return content.build();
+    }
+
+    /**
+     * 라인(상품 ID → 단가·수량)으로 content 와 비교한다(O(m), 객체 생성 없음).
+     * 같은 상품 ID 는 한 라인이므로 라인 수가 같고 모든 라인이 일치하면 내용이 같다.
+     */
+    @Override
+    public boolean hasContent(CartContent content) {
+        if (lines.size() != content.getLineCount()) {
+            return false;
+        }
+        for (int i = 0; i < content.getLineCount(); i++) {
+            CartLine line = lines.get(content.getId(i));
+            if (line == null || line.unitPriceUnits != content.getPriceUnits(i) || line.quantity != content.getQuantity(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 라인의 수량을 바꾸면서 총액/지문/수량 합계를 차이(delta)만큼 갱신한다.
+     */
+    private void changeQuantity(CartLine line, int quantity) {
+        long oldLineUnits = Math.multiplyExact(line.unitPriceUnits, (long) line.quantity);
+        long newLineUnits = Math.multiplyExact(line.unitPriceUnits, (long) quantity);
+        totalUnits = Math.addExact(totalUnits, newLineUnits - oldLineUnits);
+        fingerprint += line.fingerprint * (quantity - line.quantity);
+        itemCount += quantity - line.quantity;
+        line.quantity = quantity;
+    }
+
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 6) toString
+    // ──────────────────────────────────────────────────────────────────────────
+    @Override
+    public String toString() {
+        return "IncrementalShoppingCart[lines=" + lines.values() + ", total=" + getTotalAmount() + "]";
+    }
+
+    /**
+     * 카트 한 줄(상품 + 담을 때의 단가 + 수량).
+     */
+    static final class CartLine {
+        final Product product;
+        final long unitPriceUnits;
+        final long fingerprint;
+        int quantity;
+
+        CartLine(Product product, long unitPriceUnits) {
+            this.product = product;
+            this.unitPriceUnits = unitPriceUnits;
+            this.fingerprint = fingerprintOf(product.getId().hashCode(), unitPriceUnits);
+        }
+
+        @Override
+        public String toString() {
+            return product.getId() + " x " + quantity;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package mylab.order.di.xml;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money(금액) 유틸리티.
+ *
+ * - 금액을 "최소 화폐 단위(minor unit)"의 long 값으로 다루기 위한 변환 함수 모음.
+ *   예) SCALE = 2 이면 150000.00원 → 15000000 (단위: 0.01원)
+ * - long 정수 덧셈/곱셈은 double 합산과 달리 오차가 누적되지 않는다(정확한 금액 연산).
+ * - 오버플로는 Math.addExact/multiplyExact 로 감지해 ArithmeticException 으로 알린다.
+ *
+ * 학습 포인트
+ * - Product 는 예제 단순화를 위해 double 가격을 유지하고,
+ *   합산이 필요한 곳에서만 toUnits(...) 로 정수 단위로 바꿔 계산한다.
+ */
+public final class Money {
+
+    /** 소수점 이하 자릿수 (0.01 단위) */
+    public static final int SCALE = 2;
+
+    /** 10^SCALE (double 변환용) */
+    private static final double UNITS_PER_ONE = 100.0;
+
+    /** 2^53: 이 미만의 정수는 double 로 정확히 표현된다 */
+    private static final double MAX_EXACT_UNITS = 9007199254740992.0;
+
+    private Money() {}
+
+    /**
+     * double 가격을 최소 화폐 단위(long)로 변환한다.
+     *
+     * - BigDecimal.valueOf(double) 는 double 의 "가장 짧은 10진 표현"을 사용하므로
+     *   150000.1 같은 값도 15000010 으로 정확히 변환된다.
+     * - SCALE 이하 자릿수는 HALF_UP 으로 반올림한다.
+     * - 대부분의 가격은 소수 둘째 자리 이하가 없으므로, units / 100.0 이 원래 값과
+     *   정확히 같으면 BigDecimal 을 만들지 않고 바로 반환한다(결과는 동일).
+     */
+    public static long toUnits(double price) {
+        double scaled = price * UNITS_PER_ONE;
+        if (Math.abs(scaled) < MAX_EXACT_UNITS) {
+            long units = Math.round(scaled);
+            if (units / UNITS_PER_ONE == price) {
+                return units;
+            }
+        }
+        return BigDecimal.valueOf(price).setScale(SCALE, RoundingMode.HALF_UP)
+                .unscaledValue().longValueExact();
+    }
+
+    /** 최소 화폐 단위(long)를 BigDecimal 금액으로 변환한다. */
+    public static BigDecimal toBigDecimal(long units) {
+        return BigDecimal.valueOf(units, SCALE);
+    }
+
+    /**
+     * 최소 화폐 단위(long)를 기존 API 호환용 double 금액으로 변환한다.
+     *
+     * - |units| < 2^53 이면 나눗셈 한 번으로 가장 가까운 double 이 나온다(객체 생성 없음).
+     */
+    public static double toDouble(long units) {
+        return units / UNITS_PER_ONE;
+    }
+}
@@ -1,5 +1,15 @@
 package mylab.order.di.xml;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+import mylab.order.di.xml.pricing.PricingPipeline;
+
 /**
  * OrderService(주문 서비스).
  *
@@ -26,6 +36,27 @@ public class OrderService {
     // ──────────────────────────────────────────────────────────────────────────
     private ShoppingCart shoppingCart;
 
+    /** (선택) slot 으로 상품을 참조할 때 사용하는 카탈로그 */
+    private ProductCatalog productCatalog;
+
+    /** (선택) 할인/쿠폰/배송비 규칙을 적용하는 가격 파이프라인 */
+    private PricingPipeline pricingPipeline;
+
+    /** (선택) 카트 내용 지문으로 견적을 재사용하는 캐시 */
+    private QuoteCache quoteCache;
+
+    /** 캐시가 없을 때 실제로 가격을 매기는 함수 (호출마다 람다를 만들지 않도록 필드로 보관) */
+    private final ToDoubleFunction<ShoppingCart> pricer = this::priceCart;
+
+    /** (선택) 일괄 계산에 사용할 풀. 없으면 ForkJoinPool.commonPool() */
+    private ForkJoinPool forkJoinPool;
+
+    /** 일괄 계산 시 하나의 작업(task)이 최소한 맡을 카트 수 */
+    private int batchChunkSize = DEFAULT_BATCH_CHUNK_SIZE;
+
+    /** 기본 최소 청크 크기: 작은 카트 수백 개는 한 작업으로 묶어 분할 오버헤드를 줄인다. */
+    public static final int DEFAULT_BATCH_CHUNK_SIZE = 256;
+
 
     // ──────────────────────────────────────────────────────────────────────────
     // 2) 생성자
@@ -55,6 +86,43 @@ public class OrderService {
      */
     public void setShoppingCart(ShoppingCart shoppingCart) { this.shoppingCart = shoppingCart; }
 
+    /** @return 주입된 ProductCatalog (없으면 null) */
+    public ProductCatalog getProductCatalog() { return productCatalog; }
+
+    /**
+     * @param productCatalog 스프링 XML에서 주입되는 카탈로그 빈
+     */
+    public void setProductCatalog(ProductCatalog productCatalog) { this.productCatalog = productCatalog; }
+
+    /** @return 주입된 PricingPipeline (없으면 null → 상품 합계 그대로) */
+    public PricingPipeline getPricingPipeline() { return pricingPipeline; }
+
+    /** @param pricingPipeline 스프링 XML에서 주입되는 가격 파이프라인 (선택) */
+    public void setPricingPipeline(PricingPipeline pricingPipeline) { this.pricingPipeline = pricingPipeline; }
+
+    /** @return 주입된 QuoteCache (없으면 null) */
+    public QuoteCache getQuoteCache() { return quoteCache; }
+
+    /** @param quoteCache 스프링 XML에서 주입되는 견적 캐시 (선택) */
+    public void setQuoteCache(QuoteCache quoteCache) { this.quoteCache = quoteCache; }
+
+    /** @return 일괄 계산에 사용할 풀 (없으면 null → commonPool) */
+    public ForkJoinPool getForkJoinPool() { return forkJoinPool; }
+
+    /** @param forkJoinPool 일괄 계산 전용 풀 (선택) */
+    public void setForkJoinPool(ForkJoinPool forkJoinPool) { this.forkJoinPool = forkJoinPool; }
+
+    /** @return 하나의 작업이 최소한 맡을 카트 수 */
+    public int getBatchChunkSize() { return batchChunkSize; }
+
+    /** @param batchChunkSize 하나의 작업이 최소한 맡을 카트 수 (1 이상) */
+    public void setBatchChunkSize(int batchChunkSize) {
+        if (batchChunkSize < 1) {
+            throw new IllegalArgumentException("batchChunkSize must be positive: " + batchChunkSize);
+        }
+        this.batchChunkSize = batchChunkSize;
+    }
+
 
     // ──────────────────────────────────────────────────────────────────────────
     // 4) 비즈니스 메서드
@@ -69,7 +137,123 @@ public class OrderService {
      *   예) return (shoppingCart == null) ? 0.0 : shoppingCart.getTotalPrice();
      */
     public double calculateOrderTotal() {
-        return shoppingCart.getTotalPrice();
+        return calculateOrderTotal(shoppingCart);
+    }
+
+    /**
+     * 주입된 카트가 아닌, 전달받은 카트 하나의 주문 총액을 계산한다.
+     *
+     * - 일괄 계산(calculateOrderTotals)도 카트마다 이 메서드를 호출한다.
+     * - 가격 파이프라인이 있으면 규칙(할인/쿠폰/배송비)을 적용한 금액을 반환한다.
+     * - 견적 캐시가 있으면 같은 내용의 카트는 캐시된 금액을 반환한다.
+     */
+    public double calculateOrderTotal(ShoppingCart cart) {
+        if (quoteCache != null) {
+            return quoteCache.getOrCompute(cart, pricer);
+        }
+        return priceCart(cart);
+    }
+
+    /** 캐시 없이 카트의 가격을 매긴다. */
+    private double priceCart(ShoppingCart cart) {
+        if (pricingPipeline == null) {
+            return cart.getTotalPrice();
+        }
+        return Money.toDouble(pricingPipeline.price(cart));
+    }
+
+    /**
+     * 여러 카트의 주문 총액을 모든 코어에서 병렬로 계산한다(fork/join).
+     *
+     * 구현 노트:
+     * - 카트 목록을 구간(range)으로 반씩 나누다가, 구간이 청크 크기 이하가 되면
+     *   한 작업에서 순차 계산한다. 청크 크기 = max(batchChunkSize, n / (병렬도 × 8)).
+     * - 작은 카트가 많아도 작업 수가 병렬도의 수 배 정도로만 늘어나 분할 오버헤드가 작다.
+     *
+     * @return carts 와 같은 순서의 총액 배열
+     */
+    public double[] calculateOrderTotals(List<? extends ShoppingCart> carts) {
+        List<? extends ShoppingCart> list = (carts instanceof RandomAccess) ? carts : new ArrayList<>(carts);
+        double[] totals = new double[list.size()];
+        if (totals.length == 0) {
+            return totals;
+        }
+        ForkJoinPool pool = (forkJoinPool != null) ? forkJoinPool : ForkJoinPool.commonPool();
+        int threshold = Math.max(batchChunkSize, totals.length / (pool.getParallelism() * 8));
+        if (totals.length <= threshold) {
+            new OrderTotalTask(list, totals, 0, totals.length, threshold).compute();
+        } else {
+            pool.invoke(new OrderTotalTask(list, totals, 0, totals.length, threshold));
+        }
+        return totals;
+    }
+
+    /**
+     * 카트 스트림의 주문 총액을 병렬 스트림으로 계산한다.
+     *
+     * - 크기를 모르는 스트림은 스트림 분할기가 점점 큰 묶음(batch)으로 나눠 처리한다.
+     *
+     * @return 스트림 순서(encounter order)대로의 총액 배열
+     */
+    public double[] calculateOrderTotals(Stream<? extends ShoppingCart> carts) {
+        return carts.parallel().mapToDouble(this::calculateOrderTotal).toArray();
+    }
+
+    /**
+     * 카탈로그 slot 배열로 주문 총액을 계산한다(상품마다 1개).
+     *
+     * - Product 객체 없이 ProductCatalog 의 가격 배열만 순회한다.
+     */
+    public double calculateOrderTotal(int[] slots) {
+        return Money.toDouble(productCatalog.sumPriceUnits(slots, slots.length));
+    }
+
+    /**
+     * 카탈로그 slot 배열과 수량 배열로 주문 총액을 계산한다.
+     *
+     * @param slots      상품 slot
+     * @param quantities slots[i] 상품의 수량 (slots 와 같은 길이)
+     */
+    public double calculateOrderTotal(int[] slots, int[] quantities) {
+        if (slots.length != quantities.length) {
+            throw new IllegalArgumentException("slots and quantities must have the same length");
+        }
+        return Money.toDouble(productCatalog.sumPriceUnits(slots, quantities, slots.length));
+    }
+
+
+    /**
+     * 카트 목록의 [from, to) 구간을 계산하는 fork/join 작업.
+     */
+    private final class OrderTotalTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<? extends ShoppingCart> carts;
+        private final double[] totals;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        OrderTotalTask(List<? extends ShoppingCart> carts, double[] totals, int from, int to, int threshold) {
+            this.carts = carts;
+            this.totals = totals;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                for (int i = from; i < to; i++) {
+                    totals[i] = calculateOrderTotal(carts.get(i));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new OrderTotalTask(carts, totals, from, mid, threshold),
+                      new OrderTotalTask(carts, totals, mid, to, threshold));
+        }
     }
 
 
@@ -79,12 +263,12 @@ public class OrderService {
     // ──────────────────────────────────────────────────────────────────────────
     @Override
     public String toString() {
-        return "OrderService[shoppingCart=" + shoppingCart + "]";
+        return "OrderService[shoppingCart=" + shoppingCart + ", productCatalog=" + productCatalog + "]";
     }
 
     // ──────────────────────────────────────────────────────────────────────────
     // (참고) 확장 아이디어
-    // - 할인/쿠폰/배송비 정책을 전략(Strategy) 인터페이스로 분리해 주입받기.
+    // - 할인/쿠폰/배송비 정책은 PricingRule 전략으로 분리됨(mylab-order-pricing.xml 참고).
     // - 트랜잭션 처리, 로깅(AOP), 검증 등을 스프링 기능과 결합해 확장.
     // ──────────────────────────────────────────────────────────────────────────
 }
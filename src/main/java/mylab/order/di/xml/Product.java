@@ -1,5 +1,8 @@
 package mylab.order.di.xml;
 
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+
 /**
  * Product(상품) 도메인 객체.
  *
@@ -28,6 +31,9 @@ public class Product {
     /** 상품 가격 (예: 150000). 예제 단순화를 위해 double 사용 */
     private double price;
 
+    /** (선택) 가격 변경 알림 대상. 리스너가 등록될 때 처음 만든다. */
+    private PropertyChangeSupport changes;
+
 
     // ──────────────────────────────────────────────────────────────────────────
     // 2) 생성자
@@ -82,8 +88,37 @@ public class Product {
     /** @return 상품 가격 */
     public double getPrice() { return price; }
 
-    /** @param price 스프링 XML의 <property name="price" ...> 가 호출할 세터 */
-    public void setPrice(double price) { this.price = price; }
+    /**
+     * @param price 스프링 XML의 <property name="price" ...> 가 호출할 세터
+     *              값이 바뀌면 등록된 리스너에 "price" 변경을 알린다.
+     */
+    public void setPrice(double price) {
+        double old = this.price;
+        this.price = price;
+        PropertyChangeSupport changes = this.changes;
+        if (changes != null && Double.compare(old, price) != 0) {
+            changes.firePropertyChange("price", old, price);
+        }
+    }
+
+    /**
+     * 가격 변경 리스너를 등록한다(JavaBeans 규약).
+     *
+     * - 예) QuoteCache 는 이 알림으로 해당 상품이 포함된 견적을 버린다.
+     */
+    public synchronized void addPropertyChangeListener(PropertyChangeListener listener) {
+        if (changes == null) {
+            changes = new PropertyChangeSupport(this);
+        }
+        changes.addPropertyChangeListener(listener);
+    }
+
+    /** 가격 변경 리스너를 해제한다. */
+    public synchronized void removePropertyChangeListener(PropertyChangeListener listener) {
+        if (changes != null) {
+            changes.removePropertyChangeListener(listener);
+        }
+    }
 
 
     // ──────────────────────────────────────────────────────────────────────────
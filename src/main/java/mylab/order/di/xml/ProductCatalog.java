@@ -0,0 +1,325 @@
+package mylab.order.di.xml;
+
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ProductCatalog(상품 카탈로그) — 열(column) 단위 저장소.
+ *
+ * - Product 객체를 상품마다 하나씩 두는 대신, 모든 상품의 필드를 병렬 배열에 나눠 담는다.
+ *   · priceUnits : long[]  가격(최소 화폐 단위, {@link Money#SCALE})
+ *   · text       : char[]  모든 상품의 ID·이름 문자를 이어 붙인 하나의 배열(arena)
+ *   · bounds     : int[]   slot s 의 ID = text[bounds[2s], bounds[2s+1]),
+ *                           이름 = text[bounds[2s+1], bounds[2s+2])
+ *   · index      : int[]   ID → slot 오픈 어드레싱 해시 테이블 (값 = slot + 1, 0 = 빈칸)
+ * - 상품 수가 수백만이 되어도 힙 객체는 배열 몇 개뿐이라 GC 부담과 포인터 추적이 없다.
+ * - 상품은 정수 slot 으로 참조한다. CatalogShoppingCart 는 slot 배열만 들고 있으므로
+ *   총액 합산이 long[] 위의 단순 반복문이 된다.
+ *
+ *   예) mylab-order-di.xml
+ *   <bean id="productCatalog" class="mylab.order.di.xml.ProductCatalog">
+ *     <property name="products"> <list> <ref bean="product1"/> ... </list> </property>
+ *   </bean>
+ *
+ * 학습 포인트
+ * - 로딩(put)은 한 스레드에서 끝낸 뒤 읽기 전용으로 공유하는 것을 전제로 한다(동기화 없음).
+ * - 이미 등록된 ID 를 다시 put 하면 가격만 갱신하고 이름은 유지한다.
+ * - 가격이 바뀌면 리스너에 "price" 인덱스 속성 변경(IndexedPropertyChangeEvent, index = slot)을 알린다.
+ *   toProduct(...) 가 만드는 Product 는 매번 새 객체라 거기에 리스너를 달아도 알림이 오지 않는다.
+ */
+public class ProductCatalog {
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 1) 필드(상태)
+    // ──────────────────────────────────────────────────────────────────────────
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] priceUnits;
+    private int[] bounds;
+    private char[] text;
+    private int[] index;
+    private int size;
+    private PropertyChangeSupport changes;
+
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 2) 생성자
+    // ──────────────────────────────────────────────────────────────────────────
+
+    /** 기본 생성자 (setter 주입용). */
+    public ProductCatalog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize 예상 상품 수. 미리 배열을 잡아 두면 로딩 중 재할당이 줄어든다.
+     */
+    public ProductCatalog(int expectedSize) {
+        int capacity = Math.max(expectedSize, 1);
+        this.priceUnits = new long[capacity];
+        this.bounds = new int[2 * capacity + 1];
+        this.text = new char[capacity * 16];
+        this.index = new int[tableSizeFor(capacity)];
+    }
+
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 3) 등록 / 조회
+    // ──────────────────────────────────────────────────────────────────────────
+
+    /**
+     * 스프링 XML 의 <property name="products"> 로 상품 목록을 한 번에 등록한다.
+     */
+    public void setProducts(List<Product> products) {
+        for (Product p : products) {
+            put(p);
+        }
+    }
+
+    /** Product 객체의 현재 값을 카탈로그에 등록한다. */
+    public int put(Product product) {
+        return put(product.getId(), product.getName(), Money.toUnits(product.getPrice()));
+    }
+
+    /**
+     * 상품을 등록하고 slot 을 반환한다.
+     *
+     * @param priceUnits 가격(최소 화폐 단위)
+     * @return 상품의 slot (이미 있으면 기존 slot)
+     */
+    public int put(String id, String name, long priceUnits) {
+        int existing = slotOf(id);
+        if (existing >= 0) {
+            updatePrice(existing, priceUnits);
+            return existing;
+        }
+
+        int slot = size;
+        ensureCapacity(slot + 1);
+        int start = bounds[2 * slot];
+        ensureTextCapacity(start + id.length() + name.length());
+        id.getChars(0, id.length(), text, start);
+        name.getChars(0, name.length(), text, start + id.length());
+        bounds[2 * slot + 1] = start + id.length();
+        bounds[2 * slot + 2] = start + id.length() + name.length();
+        this.priceUnits[slot] = priceUnits;
+        size++;
+
+        if (size * 2 > index.length) {
+            rehash(index.length * 2);
+        } else {
+            insertIndex(slot, hash(id));
+        }
+        return slot;
+    }
+
+    /**
+     * 상품 ID 로 slot 을 찾는다.
+     *
+     * @return slot, 없으면 -1
+     */
+    public int slotOf(String id) {
+        int mask = index.length - 1;
+        for (int i = hash(id) & mask; ; i = (i + 1) & mask) {
+            int entry = index[i];
+            if (entry == 0) {
+                return -1;
+            }
+            if (idEquals(entry - 1, id)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    /** @return 등록된 상품 수 */
+    public int size() { return size; }
+
+    /** @return slot 의 상품 ID */
+    public String getId(int slot) {
+        checkSlot(slot);
+        return new String(text, bounds[2 * slot], bounds[2 * slot + 1] - bounds[2 * slot]);
+    }
+
+    /** @return slot 의 상품 이름 */
+    public String getName(int slot) {
+        checkSlot(slot);
+        return new String(text, bounds[2 * slot + 1], bounds[2 * slot + 2] - bounds[2 * slot + 1]);
+    }
+
+    /** @return slot 의 상품 ID 의 String#hashCode() 값 (문자열을 만들지 않고 계산) */
+    public int idHashCode(int slot) {
+        checkSlot(slot);
+        return rawHashOfSlot(slot);
+    }
+
+    /** @return slot 의 가격(최소 화폐 단위) */
+    public long getPriceUnits(int slot) {
+        checkSlot(slot);
+        return priceUnits[slot];
+    }
+
+    /** @return slot 의 가격(double, 기존 API 호환용) */
+    public double getPrice(int slot) {
+        return Money.toDouble(getPriceUnits(slot));
+    }
+
+    /** slot 의 가격을 바꾼다(최소 화폐 단위). */
+    public void setPriceUnits(int slot, long units) {
+        checkSlot(slot);
+        updatePrice(slot, units);
+    }
+
+    /**
+     * 가격 변경 리스너를 등록한다(JavaBeans 규약, "price" 인덱스 속성).
+     *
+     * - 예) QuoteCache 는 이 알림으로 해당 slot 의 상품이 포함된 견적을 버린다.
+     */
+    public synchronized void addPropertyChangeListener(PropertyChangeListener listener) {
+        if (changes == null) {
+            changes = new PropertyChangeSupport(this);
+        }
+        changes.addPropertyChangeListener(listener);
+    }
+
+    /** 가격 변경 리스너를 해제한다. */
+    public synchronized void removePropertyChangeListener(PropertyChangeListener listener) {
+        if (changes != null) {
+            changes.removePropertyChangeListener(listener);
+        }
+    }
+
+    /** slot 의 값으로 새 Product 객체를 만든다(호환용, 호출마다 객체 생성). */
+    public Product toProduct(int slot) {
+        return new Product(getId(slot), getName(slot), getPrice(slot));
+    }
+
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 4) 합산 — slot 배열 위의 단순 반복문
+    // ──────────────────────────────────────────────────────────────────────────
+
+    /**
+     * slots[0..count) 상품들의 가격 합(최소 화폐 단위)을 구한다.
+     */
+    public long sumPriceUnits(int[] slots, int count) {
+        long[] prices = this.priceUnits;
+        long total = 0L;
+        for (int i = 0; i < count; i++) {
+            total = Math.addExact(total, prices[slots[i]]);
+        }
+        return total;
+    }
+
+    /**
+     * slots[i] 상품을 quantities[i] 개씩 담았을 때의 합(최소 화폐 단위)을 구한다.
+     */
+    public long sumPriceUnits(int[] slots, int[] quantities, int count) {
+        long[] prices = this.priceUnits;
+        long total = 0L;
+        for (int i = 0; i < count; i++) {
+            total = Math.addExact(total, Math.multiplyExact(prices[slots[i]], (long) quantities[i]));
+        }
+        return total;
+    }
+
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 5) 내부 구현 — 배열 확장 / 해시 인덱스
+    // ──────────────────────────────────────────────────────────────────────────
+
+    private void updatePrice(int slot, long units) {
+        long old = priceUnits[slot];
+        priceUnits[slot] = units;
+        PropertyChangeSupport changes = this.changes;
+        if (changes != null && old != units) {
+            changes.fireIndexedPropertyChange("price", slot, old, units);
+        }
+    }
+
+    private void checkSlot(int slot) {
+        if (slot < 0 || slot >= size) {
+            throw new IndexOutOfBoundsException("slot: " + slot + ", size: " + size);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > priceUnits.length) {
+            int newCapacity = Math.max(capacity, priceUnits.length * 2);
+            priceUnits = Arrays.copyOf(priceUnits, newCapacity);
+            bounds = Arrays.copyOf(bounds, 2 * newCapacity + 1);
+        }
+    }
+
+    private void ensureTextCapacity(int length) {
+        if (length > text.length) {
+            text = Arrays.copyOf(text, Math.max(length, text.length * 2));
+        }
+    }
+
+    private boolean idEquals(int slot, String id) {
+        int start = bounds[2 * slot];
+        int length = bounds[2 * slot + 1] - start;
+        if (length != id.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (text[start + i] != id.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int hashOfSlot(int slot) {
+        return spread(rawHashOfSlot(slot));
+    }
+
+    private int rawHashOfSlot(int slot) {
+        int h = 0;
+        for (int i = bounds[2 * slot], end = bounds[2 * slot + 1]; i < end; i++) {
+            h = 31 * h + text[i];
+        }
+        return h;
+    }
+
+    private static int hash(String id) {
+        return spread(id.hashCode());
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private void insertIndex(int slot, int hash) {
+        int mask = index.length - 1;
+        int i = hash & mask;
+        while (index[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        index[i] = slot + 1;
+    }
+
+    private void rehash(int tableSize) {
+        index = new int[tableSize];
+        for (int slot = 0; slot < size; slot++) {
+            insertIndex(slot, hashOfSlot(slot));
+        }
+    }
+
+    /** 적재율 50% 이하가 되도록 2의 거듭제곱 크기를 고른다. */
+    private static int tableSizeFor(int capacity) {
+        int n = Integer.highestOneBit(Math.max(capacity, 1)) << 2;
+        return Math.max(n, 16);
+    }
+
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 6) toString
+    // ──────────────────────────────────────────────────────────────────────────
+    @Override
+    public String toString() {
+        return "ProductCatalog[size=" + size + "]";
+    }
+}
@@ -0,0 +1,260 @@
+package mylab.order.di.xml;
+
+import java.beans.IndexedPropertyChangeEvent;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * QuoteCache(견적 캐시).
+ *
+ * - 같은 카트를 여러 번 계산할 때(결제 화면 새로고침 등) 가격 계산 결과를 재사용한다.
+ * - 키: 카트 내용 지문(ShoppingCart#getContentFingerprint, IncrementalShoppingCart 는 O(1)) + 쿠폰 코드.
+ *   견적에는 계산할 때의 내용 스냅샷(CartContent)을 함께 두고, 지문이 같을 때만
+ *   ShoppingCart#hasContent 로 라인(상품 ID, 단가, 수량)을 비교하므로
+ *   지문이 겹치는 다른 카트가 서로의 견적을 받지 않는다(겹치면 나중 카트의 견적으로 바뀐다).
+ * - 제한: 최대 개수(maxSize, LRU 방출)와 유효 시간(ttlMillis).
+ * - 상품 가격이 바뀌면(Product "price" 변경 알림, CatalogShoppingCart 는 ProductCatalog 의 알림)
+ *   그 상품이 들어간 견적을 즉시 버린다.
+ * - 적중/실패/방출/무효화 횟수를 세어 캐시가 아껴 준 계산량을 볼 수 있다.
+ *
+ *   예) mylab-order-pricing.xml
+ *   <bean id="quoteCache" class="mylab.order.di.xml.QuoteCache">
+ *     <property name="maxSize" value="10000"/>
+ *     <property name="ttlMillis" value="60000"/>
+ *   </bean>
+ *
+ * 학습 포인트
+ * - 조회/저장은 짧은 synchronized 구간에서만 하고, 가격 계산 자체는 잠금 밖에서 한다.
+ *   (같은 카트가 동시에 처음 계산되면 중복 계산될 수 있으나 결과는 같다.)
+ * - 상품/카탈로그 리스너는 WeakHashMap 으로 관리해 버려진 Product 를 붙잡지 않는다.
+ */
+public class QuoteCache implements PropertyChangeListener {
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 1) 설정 / 상태
+    // ──────────────────────────────────────────────────────────────────────────
+    private int maxSize = 10_000;
+    private long ttlNanos = TimeUnit.MINUTES.toNanos(1);
+
+    /** accessOrder = true → 가장 오래 안 쓴 항목이 맨 앞(LRU) */
+    private final LinkedHashMap<QuoteKey, Quote> quotes = new LinkedHashMap<>(16, 0.75f, true);
+    /** 상품 ID → 그 상품이 들어간 견적 키 (가격 변경 시 무효화용) */
+    private final Map<String, Set<QuoteKey>> keysByProduct = new HashMap<>();
+    /** 이미 리스너를 등록한 상품들 */
+    private final Set<Product> watchedProducts = Collections.newSetFromMap(new WeakHashMap<Product, Boolean>());
+    /** 이미 리스너를 등록한 카탈로그들 (CatalogShoppingCart 의 Product 는 매번 새로 만들어지므로 카탈로그를 구독) */
+    private final Set<ProductCatalog> watchedCatalogs = Collections.newSetFromMap(new WeakHashMap<ProductCatalog, Boolean>());
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 2) Getter / Setter
+    // ──────────────────────────────────────────────────────────────────────────
+    public int getMaxSize() { return maxSize; }
+
+    public void setMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    public long getTtlMillis() { return TimeUnit.NANOSECONDS.toMillis(ttlNanos); }
+
+    public void setTtlMillis(long ttlMillis) { this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis); }
+
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 3) 조회 / 계산
+    // ──────────────────────────────────────────────────────────────────────────
+
+    /**
+     * 캐시된 견적이 있으면 반환하고, 없으면 pricer 로 계산해 저장한다.
+     */
+    public double getOrCompute(ShoppingCart cart, ToDoubleFunction<ShoppingCart> pricer) {
+        QuoteKey key = new QuoteKey(cart.getContentFingerprint(), cart.getCouponCode());
+        long now = System.nanoTime();
+        Quote quote;
+        synchronized (this) {
+            quote = quotes.get(key);
+            if (quote != null && now - quote.createdAt >= ttlNanos) {
+                removeQuote(key);
+                quote = null;
+            }
+        }
+        // 지문이 같을 때만 내용을 비교한다 (견적은 불변이므로 잠금 밖에서)
+        if (quote != null && cart.hasContent(quote.content)) {
+            hits.increment();
+            return quote.total;
+        }
+        misses.increment();
+
+        CartContent content = cart.getContent();
+        double total = pricer.applyAsDouble(cart);
+
+        synchronized (this) {
+            // 지문이 겹친 다른 카트의 견적이 있었다면 이 카트의 견적으로 바꾼다
+            removeQuote(key);
+            quotes.put(key, new Quote(total, now, content));
+            for (int i = 0; i < content.getLineCount(); i++) {
+                keysByProduct.computeIfAbsent(content.getId(i), k -> new HashSet<>()).add(key);
+            }
+            watch(cart);
+            while (quotes.size() > maxSize) {
+                Iterator<QuoteKey> eldest = quotes.keySet().iterator();
+                removeQuote(eldest.next());
+                evictions.increment();
+            }
+        }
+        return total;
+    }
+
+    /** 카트가 참조하는 가격의 출처(카탈로그 또는 Product)에 리스너를 한 번씩 등록한다. */
+    private void watch(ShoppingCart cart) {
+        if (cart instanceof CatalogShoppingCart) {
+            ProductCatalog catalog = ((CatalogShoppingCart) cart).getProductCatalog();
+            if (watchedCatalogs.add(catalog)) {
+                catalog.addPropertyChangeListener(this);
+            }
+            return;
+        }
+        List<Product> products = cart.getProducts();
+        if (products != null) {
+            for (Product p : products) {
+                if (watchedProducts.add(p)) {
+                    p.addPropertyChangeListener(this);
+                }
+            }
+        }
+    }
+
+    /**
+     * Product / ProductCatalog 가격 변경 알림 → 그 상품이 들어간 견적을 모두 버린다.
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent event) {
+        if (!"price".equals(event.getPropertyName())) {
+            return;
+        }
+        Object source = event.getSource();
+        if (source instanceof ProductCatalog && event instanceof IndexedPropertyChangeEvent) {
+            invalidateProduct(((ProductCatalog) source).getId(((IndexedPropertyChangeEvent) event).getIndex()));
+        } else if (source instanceof Product) {
+            invalidateProduct(((Product) source).getId());
+        }
+    }
+
+    /** 상품 ID 가 들어간 견적을 모두 버린다. */
+    public synchronized void invalidateProduct(String productId) {
+        Set<QuoteKey> keys = keysByProduct.remove(productId);
+        if (keys != null) {
+            for (QuoteKey key : keys.toArray(new QuoteKey[0])) {
+                if (removeQuote(key)) {
+                    invalidations.increment();
+                }
+            }
+        }
+    }
+
+    /** 모든 견적을 버린다(통계는 유지). */
+    public synchronized void clear() {
+        quotes.clear();
+        keysByProduct.clear();
+    }
+
+    /** 견적과 역색인(keysByProduct)을 함께 지운다. */
+    private boolean removeQuote(QuoteKey key) {
+        Quote removed = quotes.remove(key);
+        if (removed == null) {
+            return false;
+        }
+        for (int i = 0; i < removed.content.getLineCount(); i++) {
+            String id = removed.content.getId(i);
+            Set<QuoteKey> keys = keysByProduct.get(id);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysByProduct.remove(id);
+            }
+        }
+        return true;
+    }
+
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 4) 통계
+    // ──────────────────────────────────────────────────────────────────────────
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getEvictionCount() { return evictions.sum(); }
+    public long getInvalidationCount() { return invalidations.sum(); }
+    public synchronized int size() { return quotes.size(); }
+
+    /** @return 적중률(0.0 ~ 1.0), 조회가 없으면 0 */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return "QuoteCache[size=" + size() + ", hits=" + getHitCount() + ", misses=" + getMissCount()
+                + ", evictions=" + getEvictionCount() + ", invalidations=" + getInvalidationCount() + "]";
+    }
+
+
+    // ──────────────────────────────────────────────────────────────────────────
+    // 5) 키 / 값
+    // ──────────────────────────────────────────────────────────────────────────
+    static final class QuoteKey {
+        final long fingerprint;
+        final String couponCode;
+
+        QuoteKey(long fingerprint, String couponCode) {
+            this.fingerprint = fingerprint;
+            this.couponCode = couponCode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof QuoteKey)) return false;
+            QuoteKey other = (QuoteKey) o;
+            return fingerprint == other.fingerprint && Objects.equals(couponCode, other.couponCode);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(fingerprint) * 31 + Objects.hashCode(couponCode);
+        }
+    }
+
+    static final class Quote {
+        final double total;
+        final long createdAt;
+        /** 계산할 때의 카트 내용 (지문이 같은 카트가 정말 같은지 확인용) */
+        final CartContent content;
+
+        Quote(double total, long createdAt, CartContent content) {
+            this.total = total;
+            this.createdAt = createdAt;
+            this.content = content;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package mylab.order.di.xml;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 /**
@@ -31,6 +32,9 @@ public class ShoppingCart {
     // ──────────────────────────────────────────────────────────────────────────
     private List<Product> products;
 
+    /** (선택) 카트에 적용할 쿠폰 코드. 가격 규칙(CouponRule)이 참조한다. */
+    private String couponCode;
+
 
     // ──────────────────────────────────────────────────────────────────────────
     // 2) 생성자
@@ -59,6 +63,12 @@ public class ShoppingCart {
      */
     public void setProducts(List<Product> products) { this.products = products; }
 
+    /** @return 적용할 쿠폰 코드 (없으면 null) */
+    public String getCouponCode() { return couponCode; }
+
+    /** @param couponCode 적용할 쿠폰 코드 */
+    public void setCouponCode(String couponCode) { this.couponCode = couponCode; }
+
 
     // ──────────────────────────────────────────────────────────────────────────
     // 4) 비즈니스 메서드
@@ -82,6 +92,95 @@ public class ShoppingCart {
         return total;
     }
 
+    /**
+     * 카트 총액을 최소 화폐 단위(long, {@link Money#SCALE})로 정확하게 계산합니다.
+     *
+     * 구현 노트:
+     * - 상품마다 Money.toUnits(...) 로 정수 변환 후 합산하므로 double 오차가 누적되지 않습니다.
+     * - 이 기본 구현은 호출할 때마다 전체 목록을 순회합니다(O(n)).
+     *   총액 조회가 잦다면 IncrementalShoppingCart 를 사용하세요(O(1)).
+     */
+    public long getTotalPriceUnits() {
+        long total = 0L;
+        if (products != null) {
+            for (Product p : products) {
+                total = Math.addExact(total, Money.toUnits(p.getPrice()));
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 카트 내용(상품 ID, 가격, 수량)의 64비트 지문(fingerprint)을 계산합니다.
+     *
+     * 구현 노트:
+     * - 상품마다 fingerprintOf(...) 값을 더하므로 담긴 순서와 무관하고,
+     *   같은 상품을 n 개 담으면 n 번 더한 값이 됩니다(수량 반영).
+     * - 해시이므로 다른 카트와 겹칠 수 있습니다. 지문이 같으면 hasContent(...) 로 실제 내용을 확인하세요.
+     *   이 기본 구현은 O(n)입니다.
+     */
+    public long getContentFingerprint() {
+        long fingerprint = 0L;
+        if (products != null) {
+            for (Product p : products) {
+                fingerprint += fingerprintOf(p.getId().hashCode(), Money.toUnits(p.getPrice()));
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * 카트 내용(상품 ID, 가격, 수량)의 정렬된 스냅샷을 만듭니다.
+     *
+     * 구현 노트:
+     * - QuoteCache 가 견적을 저장할 때 한 번 만들어 둡니다(조회 때는 만들지 않음).
+     * - 이 기본 구현은 O(n log n)입니다.
+     */
+    public CartContent getContent() {
+        CartContent.Builder content = CartContent.builder();
+        if (products != null) {
+            for (Product p : products) {
+                content.add(p.getId(), Money.toUnits(p.getPrice()), 1);
+            }
+        }
+        return content.build();
+    }
+
+    /**
+     * 카트 내용이 content 와 같은지 비교합니다(스냅샷을 새로 만들지 않음).
+     *
+     * 구현 노트:
+     * - QuoteCache 가 지문이 같은 견적을 찾았을 때만 호출합니다.
+     * - 이 기본 구현은 상품마다 content 를 이진 탐색해 수량을 셉니다(O(n log m)).
+     */
+    public boolean hasContent(CartContent content) {
+        int[] counts = new int[content.getLineCount()];
+        if (products != null) {
+            for (Product p : products) {
+                int i = content.indexOf(p.getId(), Money.toUnits(p.getPrice()));
+                if (i < 0 || ++counts[i] > content.getQuantity(i)) {
+                    return false;
+                }
+            }
+        }
+        return content.hasQuantities(counts);
+    }
+
+    /**
+     * 상품 하나(ID 해시 + 가격)의 지문. 하위 클래스도 같은 함수를 써야 지문이 호환됩니다.
+     */
+    protected static long fingerprintOf(int idHash, long priceUnits) {
+        long z = idHash * 0x9E3779B97F4A7C15L + priceUnits;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** @return 카트 총액(BigDecimal, 정확한 금액) */
+    public BigDecimal getTotalAmount() {
+        return Money.toBigDecimal(getTotalPriceUnits());
+    }
+
 
     // ──────────────────────────────────────────────────────────────────────────
     // 5) toString
@@ -0,0 +1,32 @@
+package mylab.order.di.xml.pricing;
+
+import org.springframework.core.Ordered;
+
+import mylab.order.di.xml.Money;
+
+/**
+ * 가격 규칙 공통 부모 클래스.
+ *
+ * - 실행 순서(order)를 XML 의 <property name="order"> 로 주입받는다.
+ * - 설정값은 사람이 읽기 쉬운 double 금액으로 받고, 내부에서는 최소 화폐 단위로 보관한다.
+ */
+public abstract class AbstractPricingRule implements PricingRule, Ordered {
+
+    private int order = Ordered.LOWEST_PRECEDENCE;
+
+    @Override
+    public int getOrder() { return order; }
+
+    /** @param order 작을수록 먼저 실행 */
+    public void setOrder(int order) { this.order = order; }
+
+    /** 설정값(double 금액)을 최소 화폐 단위로 바꾼다. */
+    protected static long units(double amount) {
+        return Money.toUnits(amount);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[order=" + order + "]";
+    }
+}
@@ -0,0 +1,31 @@
+package mylab.order.di.xml.pricing;
+
+import mylab.order.di.xml.ShoppingCart;
+
+/**
+ * 쿠폰 할인 규칙. 카트의 쿠폰 코드가 couponCode 와 같으면 amountOff 만큼 뺀다(0원 미만 불가).
+ *
+ *   예) <bean class="mylab.order.di.xml.pricing.CouponRule">
+ *         <property name="order" value="200"/>
+ *         <property name="couponCode" value="WELCOME"/>
+ *         <property name="amountOff" value="10000"/>
+ *       </bean>
+ */
+public class CouponRule extends AbstractPricingRule {
+
+    private String couponCode;
+    private long amountOffUnits;
+
+    public String getCouponCode() { return couponCode; }
+    public void setCouponCode(String couponCode) { this.couponCode = couponCode; }
+
+    public void setAmountOff(double amountOff) { this.amountOffUnits = units(amountOff); }
+
+    @Override
+    public long apply(ShoppingCart cart, long subtotal, long amount) {
+        if (couponCode == null || !couponCode.equals(cart.getCouponCode())) {
+            return amount;
+        }
+        return Math.max(0L, amount - amountOffUnits);
+    }
+}
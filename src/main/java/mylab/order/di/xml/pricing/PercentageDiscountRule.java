@@ -0,0 +1,39 @@
+package mylab.order.di.xml.pricing;
+
+import mylab.order.di.xml.ShoppingCart;
+
+/**
+ * 정률 할인 규칙. 상품 합계가 minSubtotal 이상이면 현재 금액에서 discountPercent% 를 뺀다.
+ *
+ *   예) <bean class="mylab.order.di.xml.pricing.PercentageDiscountRule">
+ *         <property name="order" value="100"/>
+ *         <property name="discountPercent" value="10"/>
+ *         <property name="minSubtotal" value="500000"/>
+ *       </bean>
+ *
+ * - 할인액의 1 단위 미만은 버린다. 할인이 그만큼 줄어 고객은 최대 1 단위 미만을 더 낸다(판매자에게 유리한 방향).
+ */
+public class PercentageDiscountRule extends AbstractPricingRule {
+
+    private int discountPercent;
+    private long minSubtotalUnits;
+
+    public int getDiscountPercent() { return discountPercent; }
+
+    public void setDiscountPercent(int discountPercent) {
+        if (discountPercent < 0 || discountPercent > 100) {
+            throw new IllegalArgumentException("discountPercent must be 0..100: " + discountPercent);
+        }
+        this.discountPercent = discountPercent;
+    }
+
+    public void setMinSubtotal(double minSubtotal) { this.minSubtotalUnits = units(minSubtotal); }
+
+    @Override
+    public long apply(ShoppingCart cart, long subtotal, long amount) {
+        if (subtotal < minSubtotalUnits) {
+            return amount;
+        }
+        return amount - Math.multiplyExact(amount, (long) discountPercent) / 100;
+    }
+}
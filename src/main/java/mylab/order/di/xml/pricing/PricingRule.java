@@ -0,0 +1,25 @@
+package mylab.order.di.xml.pricing;
+
+import mylab.order.di.xml.ShoppingCart;
+
+/**
+ * PricingRule(가격 규칙) — 할인/쿠폰/배송비 같은 가격 정책 하나를 나타내는 전략(Strategy).
+ *
+ * - PricingPipeline 이 규칙들을 순서(order)대로 이어서 호출한다.
+ * - 금액은 모두 최소 화폐 단위(long, Money.SCALE)로 주고받아 객체를 만들지 않는다.
+ *
+ * 학습 포인트
+ * - 규칙은 스프링 빈으로 등록하고, 실행 순서는 Ordered#getOrder() 로 정한다.
+ */
+public interface PricingRule {
+
+    /**
+     * 규칙을 적용한 새 금액을 반환한다.
+     *
+     * @param cart     가격을 매기는 카트 (쿠폰 코드 등 조회용)
+     * @param subtotal 규칙 적용 전 상품 합계
+     * @param amount   앞선 규칙들까지 적용된 현재 금액
+     * @return 이 규칙까지 적용한 금액
+     */
+    long apply(ShoppingCart cart, long subtotal, long amount);
+}
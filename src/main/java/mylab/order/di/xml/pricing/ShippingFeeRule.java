@@ -0,0 +1,32 @@
+package mylab.order.di.xml.pricing;
+
+import mylab.order.di.xml.ShoppingCart;
+
+/**
+ * 배송비 규칙. 상품 합계가 freeShippingThreshold 미만이면 fee 를 더한다.
+ *
+ *   예) <bean class="mylab.order.di.xml.pricing.ShippingFeeRule">
+ *         <property name="order" value="300"/>
+ *         <property name="fee" value="3000"/>
+ *         <property name="freeShippingThreshold" value="50000"/>
+ *       </bean>
+ *
+ * - 빈 카트(합계 0)에는 배송비를 붙이지 않는다.
+ */
+public class ShippingFeeRule extends AbstractPricingRule {
+
+    private long feeUnits;
+    private long freeShippingThresholdUnits = Long.MAX_VALUE;
+
+    public void setFee(double fee) { this.feeUnits = units(fee); }
+
+    public void setFreeShippingThreshold(double threshold) { this.freeShippingThresholdUnits = units(threshold); }
+
+    @Override
+    public long apply(ShoppingCart cart, long subtotal, long amount) {
+        if (subtotal == 0L || subtotal >= freeShippingThresholdUnits) {
+            return amount;
+        }
+        return Math.addExact(amount, feeUnits);
+    }
+}
@@ -0,0 +1,50 @@
+package mylab.student.di.annot;
+
+import java.util.Objects;
+
+/**
+ * COURSE 테이블(sql/student.sql) 한 행. COURSE_CODE 가 유일 키.
+ */
+public class Course {
+    private long courseId;
+    private int courseCode;
+    private String courseName;
+    private String courseInstructor;
+
+    public Course() {}
+
+    public Course(int courseCode, String courseName, String courseInstructor) {
+        this.courseCode = courseCode;
+        this.courseName = courseName;
+        this.courseInstructor = courseInstructor;
+    }
+
+    public long getCourseId() { return courseId; }
+    public void setCourseId(long courseId) { this.courseId = courseId; }
+    public int getCourseCode() { return courseCode; }
+    public void setCourseCode(int courseCode) { this.courseCode = courseCode; }
+    public String getCourseName() { return courseName; }
+    public void setCourseName(String courseName) { this.courseName = courseName; }
+    public String getCourseInstructor() { return courseInstructor; }
+    public void setCourseInstructor(String courseInstructor) { this.courseInstructor = courseInstructor; }
+
+    // COURSE_ID(자동 증가)는 비교하지 않는다
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Course)) return false;
+        Course other = (Course) o;
+        return courseCode == other.courseCode && Objects.equals(courseName, other.courseName)
+                && Objects.equals(courseInstructor, other.courseInstructor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(courseCode, courseName, courseInstructor);
+    }
+
+    @Override
+    public String toString() {
+        return "Course [courseCode=" + courseCode + ", courseName=" + courseName + ", courseInstructor=" + courseInstructor + "]";
+    }
+}
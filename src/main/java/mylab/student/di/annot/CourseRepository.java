@@ -0,0 +1,45 @@
+package mylab.student.di.annot;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * sql/student.sql 의 COURSE 테이블을 JDBC 로 읽고 쓴다.
+ */
+public class CourseRepository {
+    private static final String INSERT = "insert into COURSE(COURSE_CODE, COURSE_NAME, COURSE_INSTRUCTOR) values (?, ?, ?)";
+    private static final String COLUMNS = "COURSE_ID, COURSE_CODE, COURSE_NAME, COURSE_INSTRUCTOR";
+    private static final String SELECT_BY_CODE = "select " + COLUMNS + " from COURSE where COURSE_CODE = ?";
+    private static final String SELECT_ALL = "select " + COLUMNS + " from COURSE order by COURSE_CODE";
+
+    private static final RowMapper<Course> COURSE_MAPPER = (rs, rowNum) -> {
+        Course course = new Course(rs.getInt("COURSE_CODE"), rs.getString("COURSE_NAME"), rs.getString("COURSE_INSTRUCTOR"));
+        course.setCourseId(rs.getLong("COURSE_ID"));
+        return course;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CourseRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /** @throws org.springframework.dao.DuplicateKeyException COURSE_CODE 가 이미 있는 경우 */
+    public void save(Course course) {
+        jdbcTemplate.update(INSERT, course.getCourseCode(), course.getCourseName(), course.getCourseInstructor());
+    }
+
+    /** @return COURSE_CODE 로 찾은 과목, 없으면 null */
+    public Course findByCourseCode(int courseCode) {
+        List<Course> courses = jdbcTemplate.query(SELECT_BY_CODE, COURSE_MAPPER, courseCode);
+        return courses.isEmpty() ? null : courses.get(0);
+    }
+
+    public List<Course> findAll() {
+        return jdbcTemplate.query(SELECT_ALL, COURSE_MAPPER);
+    }
+}
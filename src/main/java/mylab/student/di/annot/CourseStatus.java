@@ -0,0 +1,49 @@
+package mylab.student.di.annot;
+
+import java.util.Objects;
+
+/**
+ * COURSE_STATUS 테이블(sql/student.sql) 한 행 = 수강 신청 한 건 (학생 STU_CODE, 과목 COURSE_CODE, 점수).
+ */
+public class CourseStatus {
+    private long statusId;
+    private int stuCode;
+    private int courseCode;
+    private int courseScore;
+
+    public CourseStatus() {}
+
+    public CourseStatus(int stuCode, int courseCode, int courseScore) {
+        this.stuCode = stuCode;
+        this.courseCode = courseCode;
+        this.courseScore = courseScore;
+    }
+
+    public long getStatusId() { return statusId; }
+    public void setStatusId(long statusId) { this.statusId = statusId; }
+    public int getStuCode() { return stuCode; }
+    public void setStuCode(int stuCode) { this.stuCode = stuCode; }
+    public int getCourseCode() { return courseCode; }
+    public void setCourseCode(int courseCode) { this.courseCode = courseCode; }
+    public int getCourseScore() { return courseScore; }
+    public void setCourseScore(int courseScore) { this.courseScore = courseScore; }
+
+    // STATUS_ID(자동 증가)는 비교하지 않는다
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CourseStatus)) return false;
+        CourseStatus other = (CourseStatus) o;
+        return stuCode == other.stuCode && courseCode == other.courseCode && courseScore == other.courseScore;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(stuCode, courseCode, courseScore);
+    }
+
+    @Override
+    public String toString() {
+        return "CourseStatus [stuCode=" + stuCode + ", courseCode=" + courseCode + ", courseScore=" + courseScore + "]";
+    }
+}
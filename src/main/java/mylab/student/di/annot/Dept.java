@@ -0,0 +1,45 @@
+package mylab.student.di.annot;
+
+import java.util.Objects;
+
+/**
+ * DEPT 테이블(sql/student.sql) 한 행. DEPT_CODE 가 유일 키.
+ */
+public class Dept {
+    private long deptId;
+    private int deptCode;
+    private String deptName;
+
+    public Dept() {}
+
+    public Dept(int deptCode, String deptName) {
+        this.deptCode = deptCode;
+        this.deptName = deptName;
+    }
+
+    public long getDeptId() { return deptId; }
+    public void setDeptId(long deptId) { this.deptId = deptId; }
+    public int getDeptCode() { return deptCode; }
+    public void setDeptCode(int deptCode) { this.deptCode = deptCode; }
+    public String getDeptName() { return deptName; }
+    public void setDeptName(String deptName) { this.deptName = deptName; }
+
+    // DEPT_ID(자동 증가)는 비교하지 않는다
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Dept)) return false;
+        Dept other = (Dept) o;
+        return deptCode == other.deptCode && Objects.equals(deptName, other.deptName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(deptCode, deptName);
+    }
+
+    @Override
+    public String toString() {
+        return "Dept [deptCode=" + deptCode + ", deptName=" + deptName + "]";
+    }
+}
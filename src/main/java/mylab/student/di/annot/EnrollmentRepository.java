@@ -0,0 +1,107 @@
+package mylab.student.di.annot;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * sql/student.sql 의 COURSE_STATUS(수강 신청) 테이블을 JDBC 로 읽고 쓴다.
+ *
+ * - saveAll 은 JdbcUserRepository.saveUsers 와 같이 JdbcTemplate.batchUpdate 로 batchSize 건씩 executeBatch 하고,
+ *   TransactionTemplate 으로 전체를 한 트랜잭션으로 커밋한다.
+ *   없는 학생/과목(외래 키) 등으로 한 건이라도 실패하면 전체를 롤백한다(DataIntegrityViolationException).
+ *   MySQL 에서는 URL 의 rewriteBatchedStatements 로 batch 를 여러 행 INSERT 하나로 보낸다.
+ * - forEachByCourse 는 fetchSize 단위로 읽으며 한 건씩 넘긴다 (StudentRepository.forEachStudent 와 같음).
+ */
+public class EnrollmentRepository {
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private static final String INSERT = "insert into COURSE_STATUS(STU_CODE, COURSE_CODE, COURSE_SCORE) values (?, ?, ?)";
+    private static final String COLUMNS = "STATUS_ID, STU_CODE, COURSE_CODE, COURSE_SCORE";
+    private static final String SELECT_BY_STUDENT =
+            "select " + COLUMNS + " from COURSE_STATUS where STU_CODE = ? order by COURSE_CODE, STATUS_ID";
+    private static final String SELECT_BY_COURSE = "select " + COLUMNS + " from COURSE_STATUS where COURSE_CODE = ? order by STATUS_ID";
+    private static final String COUNT = "select count(*) from COURSE_STATUS";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    // forEachByCourse 전용 (fetchSize 설정)
+    private final JdbcTemplate streamingTemplate;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    public EnrollmentRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.streamingTemplate = new JdbcTemplate(dataSource);
+        this.streamingTemplate.setFetchSize(StudentRepository.DEFAULT_FETCH_SIZE);
+    }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    public int getFetchSize() { return streamingTemplate.getFetchSize(); }
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("fetchSize must be positive: " + fetchSize);
+        }
+        streamingTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * @return 저장한 건수
+     * @throws org.springframework.dao.DataIntegrityViolationException 없는 학생/과목 등. 전체 롤백.
+     */
+    public int saveAll(List<CourseStatus> enrollments) {
+        int chunk = batchSize;
+        transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(INSERT, enrollments, chunk, (ps, enrollment) -> {
+            ps.setInt(1, enrollment.getStuCode());
+            ps.setInt(2, enrollment.getCourseCode());
+            ps.setInt(3, enrollment.getCourseScore());
+        }));
+        return enrollments.size();
+    }
+
+    /** 학생 한 명의 수강 내역 (과목 코드 순) */
+    public List<CourseStatus> findByStuCode(int stuCode) {
+        return jdbcTemplate.query(SELECT_BY_STUDENT, (rs, rowNum) -> map(rs), stuCode);
+    }
+
+    /** 과목 하나의 수강 신청을 한 건씩 넘긴다 (목록을 만들지 않음). @return 넘긴 건수 */
+    public long forEachByCourse(int courseCode, Consumer<? super CourseStatus> action) {
+        long[] count = new long[1];
+        streamingTemplate.query(SELECT_BY_COURSE, (RowCallbackHandler) rs -> {
+            action.accept(map(rs));
+            count[0]++;
+        }, courseCode);
+        return count[0];
+    }
+
+    public long countEnrollments() {
+        Long count = jdbcTemplate.queryForObject(COUNT, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private static CourseStatus map(ResultSet rs) throws SQLException {
+        CourseStatus status = new CourseStatus(rs.getInt("STU_CODE"), rs.getInt("COURSE_CODE"), rs.getInt("COURSE_SCORE"));
+        status.setStatusId(rs.getLong("STATUS_ID"));
+        return status;
+    }
+
+    @Override
+    public String toString() {
+        return "EnrollmentRepository [batchSize=" + batchSize + ", fetchSize=" + getFetchSize() + "]";
+    }
+}
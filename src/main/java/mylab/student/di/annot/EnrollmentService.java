@@ -0,0 +1,61 @@
+package mylab.student.di.annot;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class EnrollmentService {
+
+    public static final int MAX_SCORE = 100;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    public EnrollmentRepository getEnrollmentRepository() { return enrollmentRepository; }
+    public void setEnrollmentRepository(EnrollmentRepository enrollmentRepository) { this.enrollmentRepository = enrollmentRepository; }
+    public CourseRepository getCourseRepository() { return courseRepository; }
+    public void setCourseRepository(CourseRepository courseRepository) { this.courseRepository = courseRepository; }
+
+    /**
+     * 수강 신청을 batch 로 한 번에 저장한다. 한 건이라도 실패하면 아무것도 저장하지 않는다.
+     *
+     * @return 저장한 건수
+     * @throws IllegalArgumentException 점수가 0~100 밖인 건이 있으면 (DB 에 보내기 전)
+     * @throws org.springframework.dao.DataIntegrityViolationException 없는 학생/과목
+     */
+    public int enroll(List<CourseStatus> enrollments) {
+        for (int i = 0; i < enrollments.size(); i++) {
+            int score = enrollments.get(i).getCourseScore();
+            if (score < 0 || score > MAX_SCORE) {
+                throw new IllegalArgumentException("score must be between 0 and " + MAX_SCORE + " at index " + i + ": " + score);
+            }
+        }
+        return enrollments.isEmpty() ? 0 : enrollmentRepository.saveAll(enrollments);
+    }
+
+    /** 학생 한 명의 성적표 (과목 코드 순) */
+    public List<CourseStatus> getTranscript(int stuCode) {
+        return enrollmentRepository.findByStuCode(stuCode);
+    }
+
+    // 없으면 null
+    public Course findCourse(int courseCode) {
+        return courseRepository.findByCourseCode(courseCode);
+    }
+
+    public List<Course> getCourses() {
+        return courseRepository.findAll();
+    }
+
+    /** 과목 평균 점수 (수강 신청을 한 건씩 읽어 합산, 없으면 0) */
+    public double averageScore(int courseCode) {
+        long[] sum = new long[1];
+        long count = enrollmentRepository.forEachByCourse(courseCode, status -> sum[0] += status.getCourseScore());
+        return count == 0 ? 0 : (double) sum[0] / count;
+    }
+}
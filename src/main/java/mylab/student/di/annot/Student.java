@@ -0,0 +1,64 @@
+package mylab.student.di.annot;
+
+import java.util.Objects;
+
+/**
+ * STUDENT 테이블(sql/student.sql) 한 행. STU_CODE 가 유일 키, STU_ID 는 자동 증가(페이지 커서로 쓴다).
+ */
+public class Student {
+    private long stuId;
+    private int stuCode;
+    private String stuName;
+    private int stuAge;
+    private String stuGrade;
+    private String stuDaynight;
+    private int deptCode;
+
+    public Student() {}
+
+    public Student(int stuCode, String stuName, int stuAge, String stuGrade, String stuDaynight, int deptCode) {
+        this.stuCode = stuCode;
+        this.stuName = stuName;
+        this.stuAge = stuAge;
+        this.stuGrade = stuGrade;
+        this.stuDaynight = stuDaynight;
+        this.deptCode = deptCode;
+    }
+
+    public long getStuId() { return stuId; }
+    public void setStuId(long stuId) { this.stuId = stuId; }
+    public int getStuCode() { return stuCode; }
+    public void setStuCode(int stuCode) { this.stuCode = stuCode; }
+    public String getStuName() { return stuName; }
+    public void setStuName(String stuName) { this.stuName = stuName; }
+    public int getStuAge() { return stuAge; }
+    public void setStuAge(int stuAge) { this.stuAge = stuAge; }
+    public String getStuGrade() { return stuGrade; }
+    public void setStuGrade(String stuGrade) { this.stuGrade = stuGrade; }
+    public String getStuDaynight() { return stuDaynight; }
+    public void setStuDaynight(String stuDaynight) { this.stuDaynight = stuDaynight; }
+    public int getDeptCode() { return deptCode; }
+    public void setDeptCode(int deptCode) { this.deptCode = deptCode; }
+
+    // STU_ID(자동 증가)는 비교하지 않는다
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Student)) return false;
+        Student other = (Student) o;
+        return stuCode == other.stuCode && stuAge == other.stuAge && deptCode == other.deptCode
+                && Objects.equals(stuName, other.stuName) && Objects.equals(stuGrade, other.stuGrade)
+                && Objects.equals(stuDaynight, other.stuDaynight);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(stuCode, stuName, stuAge, stuGrade, stuDaynight, deptCode);
+    }
+
+    @Override
+    public String toString() {
+        return "Student [stuId=" + stuId + ", stuCode=" + stuCode + ", stuName=" + stuName + ", stuAge=" + stuAge
+                + ", stuGrade=" + stuGrade + ", stuDaynight=" + stuDaynight + ", deptCode=" + deptCode + "]";
+    }
+}
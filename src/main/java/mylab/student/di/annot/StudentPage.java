@@ -0,0 +1,33 @@
+package mylab.student.di.annot;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * STU_ID 키셋 페이지 한 장.
+ *
+ * - 다음 페이지는 getNextAfterId() 를 afterStuId 로 넘겨 읽는다 (OFFSET 없이 STU_ID > ? 로 이어서 읽음).
+ * - 마지막 페이지면 hasNext() 가 false.
+ */
+public class StudentPage {
+    private final List<Student> students;
+    private final boolean hasNext;
+
+    public StudentPage(List<Student> students, boolean hasNext) {
+        this.students = Collections.unmodifiableList(students);
+        this.hasNext = hasNext;
+    }
+
+    public List<Student> getStudents() { return students; }
+    public boolean hasNext() { return hasNext; }
+
+    /** 이 페이지 마지막 학생의 STU_ID (빈 페이지면 -1) */
+    public long getNextAfterId() {
+        return students.isEmpty() ? -1 : students.get(students.size() - 1).getStuId();
+    }
+
+    @Override
+    public String toString() {
+        return "StudentPage [size=" + students.size() + ", nextAfterId=" + getNextAfterId() + ", hasNext=" + hasNext + "]";
+    }
+}
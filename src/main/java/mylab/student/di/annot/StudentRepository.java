@@ -0,0 +1,158 @@
+package mylab.student.di.annot;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+/**
+ * sql/student.sql 의 STUDENT(+ DEPT 조회) 테이블을 JDBC 로 읽고 쓴다.
+ *
+ * - 목록은 STU_ID 키셋 페이지로 읽는다: where STU_ID > ? order by STU_ID limit ?
+ *   → OFFSET 처럼 앞 페이지 행을 건너뛰며 읽지 않으므로 뒤 페이지도 PK 인덱스로 바로 찾는다.
+ *   다음 페이지가 있는지는 size + 1 건을 읽어 판단한다.
+ * - forEachStudent 는 RowCallbackHandler 로 한 행씩 넘기고 모으지 않는다(fetchSize 단위로 가져옴).
+ *   MySQL(Connector/J)은 URL 에 useCursorFetch=true 가 있어야 fetchSize 만큼씩 서버 커서로 읽는다
+ *   (없으면 결과 전체를 먼저 받는다) → mylab-student-jdbc.properties
+ */
+public class StudentRepository {
+    public static final int DEFAULT_FETCH_SIZE = 500;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final String COLUMNS = "STU_ID, STU_CODE, STU_NAME, STU_AGE, STU_GRADE, STU_DAYNIGHT, DEPT_CODE";
+    private static final String INSERT =
+            "insert into STUDENT(STU_CODE, STU_NAME, STU_AGE, STU_GRADE, STU_DAYNIGHT, DEPT_CODE) values (?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_BY_CODE = "select " + COLUMNS + " from STUDENT where STU_CODE = ?";
+    private static final String SELECT_PAGE = "select " + COLUMNS + " from STUDENT where STU_ID > ? order by STU_ID limit ?";
+    private static final String SELECT_PAGE_BY_DEPT =
+            "select " + COLUMNS + " from STUDENT where DEPT_CODE = ? and STU_ID > ? order by STU_ID limit ?";
+    private static final String SELECT_ALL = "select " + COLUMNS + " from STUDENT order by STU_ID";
+    private static final String COUNT = "select count(*) from STUDENT";
+    private static final String SELECT_DEPT = "select DEPT_ID, DEPT_CODE, DEPT_NAME from DEPT where DEPT_CODE = ?";
+    private static final String SELECT_DEPTS = "select DEPT_ID, DEPT_CODE, DEPT_NAME from DEPT order by DEPT_CODE";
+
+    private static final RowMapper<Student> STUDENT_MAPPER = (rs, rowNum) -> mapStudent(rs);
+
+    private static final RowMapper<Dept> DEPT_MAPPER = (rs, rowNum) -> {
+        Dept dept = new Dept(rs.getInt("DEPT_CODE"), rs.getString("DEPT_NAME"));
+        dept.setDeptId(rs.getLong("DEPT_ID"));
+        return dept;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    // forEachStudent 전용 (fetchSize 설정)
+    private final JdbcTemplate streamingTemplate;
+
+    public StudentRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingTemplate = new JdbcTemplate(dataSource);
+        this.streamingTemplate.setFetchSize(DEFAULT_FETCH_SIZE);
+    }
+
+    public JdbcTemplate getJdbcTemplate() { return jdbcTemplate; }
+
+    public int getFetchSize() { return streamingTemplate.getFetchSize(); }
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("fetchSize must be positive: " + fetchSize);
+        }
+        streamingTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * @return 생성된 STU_ID (student 에도 설정)
+     * @throws org.springframework.dao.DuplicateKeyException STU_CODE 가 이미 있는 경우
+     */
+    public long save(Student student) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS);
+            ps.setInt(1, student.getStuCode());
+            ps.setString(2, student.getStuName());
+            ps.setInt(3, student.getStuAge());
+            ps.setString(4, student.getStuGrade());
+            ps.setString(5, student.getStuDaynight());
+            ps.setInt(6, student.getDeptCode());
+            return ps;
+        }, keyHolder);
+        student.setStuId(keyHolder.getKey().longValue());
+        return student.getStuId();
+    }
+
+    /** @return STU_CODE 로 찾은 학생, 없으면 null */
+    public Student findByStuCode(int stuCode) {
+        List<Student> students = jdbcTemplate.query(SELECT_BY_CODE, STUDENT_MAPPER, stuCode);
+        return students.isEmpty() ? null : students.get(0);
+    }
+
+    /** afterStuId 다음부터 size 명 (첫 페이지는 afterStuId = 0) */
+    public StudentPage findPage(long afterStuId, int size) {
+        checkPageSize(size);
+        return toPage(jdbcTemplate.query(SELECT_PAGE, STUDENT_MAPPER, afterStuId, size + 1), size);
+    }
+
+    /** 학과 하나의 학생을 afterStuId 다음부터 size 명 */
+    public StudentPage findPageByDept(int deptCode, long afterStuId, int size) {
+        checkPageSize(size);
+        return toPage(jdbcTemplate.query(SELECT_PAGE_BY_DEPT, STUDENT_MAPPER, deptCode, afterStuId, size + 1), size);
+    }
+
+    /** 모든 학생을 STU_ID 순으로 한 명씩 넘긴다 (목록을 만들지 않음). @return 넘긴 학생 수 */
+    public long forEachStudent(Consumer<? super Student> action) {
+        long[] count = new long[1];
+        streamingTemplate.query(SELECT_ALL, (RowCallbackHandler) rs -> {
+            action.accept(mapStudent(rs));
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    public long countStudents() {
+        Long count = jdbcTemplate.queryForObject(COUNT, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /** @return DEPT_CODE 로 찾은 학과, 없으면 null */
+    public Dept findDept(int deptCode) {
+        List<Dept> depts = jdbcTemplate.query(SELECT_DEPT, DEPT_MAPPER, deptCode);
+        return depts.isEmpty() ? null : depts.get(0);
+    }
+
+    public List<Dept> findDepartments() {
+        return jdbcTemplate.query(SELECT_DEPTS, DEPT_MAPPER);
+    }
+
+    private static void checkPageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("page size must be between 1 and " + MAX_PAGE_SIZE + ": " + size);
+        }
+    }
+
+    // size + 1 건을 읽었으면 다음 페이지가 있다
+    private static StudentPage toPage(List<Student> rows, int size) {
+        boolean hasNext = rows.size() > size;
+        return new StudentPage(hasNext ? rows.subList(0, size) : rows, hasNext);
+    }
+
+    private static Student mapStudent(ResultSet rs) throws SQLException {
+        Student student = new Student(rs.getInt("STU_CODE"), rs.getString("STU_NAME"), rs.getInt("STU_AGE"),
+                rs.getString("STU_GRADE"), rs.getString("STU_DAYNIGHT"), rs.getInt("DEPT_CODE"));
+        student.setStuId(rs.getLong("STU_ID"));
+        return student;
+    }
+
+    @Override
+    public String toString() {
+        return "StudentRepository [fetchSize=" + getFetchSize() + "]";
+    }
+}
@@ -0,0 +1,57 @@
+package mylab.student.di.annot;
+
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class StudentService {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    public StudentRepository getStudentRepository() { return studentRepository; }
+    public void setStudentRepository(StudentRepository studentRepository) { this.studentRepository = studentRepository; }
+
+    /**
+     * 학생을 등록한다.
+     *
+     * @return STU_ID 가 채워진 student
+     * @throws IllegalArgumentException 없는 학과
+     * @throws org.springframework.dao.DuplicateKeyException STU_CODE 가 이미 있는 경우
+     */
+    public Student registerStudent(Student student) {
+        if (studentRepository.findDept(student.getDeptCode()) == null) {
+            throw new IllegalArgumentException("unknown dept: " + student.getDeptCode());
+        }
+        studentRepository.save(student);
+        return student;
+    }
+
+    // 없으면 null
+    public Student findStudent(int stuCode) {
+        return studentRepository.findByStuCode(stuCode);
+    }
+
+    /** 첫 페이지 */
+    public StudentPage getStudents(int size) {
+        return getStudents(0, size);
+    }
+
+    /** 다음 페이지: afterStuId = 이전 페이지의 getNextAfterId() */
+    public StudentPage getStudents(long afterStuId, int size) {
+        return studentRepository.findPage(afterStuId, size);
+    }
+
+    public StudentPage getStudentsByDept(int deptCode, long afterStuId, int size) {
+        return studentRepository.findPageByDept(deptCode, afterStuId, size);
+    }
+
+    // 전체 학생을 메모리에 모으지 않고 한 명씩 처리 (내보내기 등). 처리한 학생 수를 돌려준다.
+    public long forEachStudent(Consumer<? super Student> action) {
+        return studentRepository.forEachStudent(action);
+    }
+}
@@ -0,0 +1,136 @@
+package mylab.user.di.annot;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * SecurityService#authorize 가 쓰는 권한 판정기.
+ *
+ * - 규칙은 policyLocation(예: classpath:mylab-user-authz.policy)에서 읽어 AuthorizationPolicy 로 컴파일한다.
+ * - (userId, resource) 판정 결과를 캐시한다. 정책을 바꾸면(reload/setPolicy) 캐시째 새로 바꾼다.
+ *   → 같은 요청 경로가 반복되면 ConcurrentHashMap 조회 두 번으로 끝난다.
+ * - 캐시는 userId 해시로 16 조각(segment)으로 나눈다. 한 조각의 항목이 maxCachedDecisions / 16 을 넘으면
+ *   그 조각만 새 것으로 바꾼다 → 다른 조각의 사용자들은 계속 캐시 적중.
+ *   (조각을 바꾸는 순간 옛 조각에 쓰던 스레드의 항목은 옛 조각에만 들어가고 새 조각의 개수에는 세지 않는다)
+ * - 개수는 실제로 새로 넣은 항목(putIfAbsent == null)만 센다.
+ */
+public class AuthorizationEngine {
+    private static final int SEGMENTS = 16;
+
+    private Resource policyLocation;
+    private int maxCachedDecisions = 100_000;
+    private volatile Snapshot snapshot = new Snapshot(AuthorizationPolicy.empty(), 0);
+
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder cacheClears = new LongAdder();
+
+    public AuthorizationEngine() {}
+
+    public AuthorizationEngine(AuthorizationPolicy policy) {
+        setPolicy(policy);
+    }
+
+    public Resource getPolicyLocation() { return policyLocation; }
+    public void setPolicyLocation(Resource policyLocation) { this.policyLocation = policyLocation; }
+
+    public int getMaxCachedDecisions() { return maxCachedDecisions; }
+    public void setMaxCachedDecisions(int maxCachedDecisions) { this.maxCachedDecisions = maxCachedDecisions; }
+
+    /** policyLocation 을 다시 읽어 정책과 판정 캐시를 바꾼다 (init-method). */
+    public void reload() {
+        if (policyLocation == null) {
+            throw new IllegalStateException("policyLocation is not set");
+        }
+        try (Reader reader = new InputStreamReader(policyLocation.getInputStream(), StandardCharsets.UTF_8)) {
+            setPolicy(AuthorizationPolicy.parse(reader));
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot read " + policyLocation, e);
+        }
+    }
+
+    public synchronized void setPolicy(AuthorizationPolicy policy) {
+        snapshot = new Snapshot(policy, snapshot.version + 1);
+    }
+
+    public AuthorizationPolicy getPolicy() { return snapshot.policy; }
+
+    /** @return 정책이 바뀔 때마다 1씩 증가 */
+    public long getVersion() { return snapshot.version; }
+
+    public boolean isAllowed(String userId, String resource) {
+        if (userId == null || resource == null) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        int h = userId.hashCode();
+        int index = (h ^ (h >>> 16)) & (SEGMENTS - 1);
+        Segment segment = current.segments.get(index);
+        ConcurrentHashMap<String, Boolean> byResource = segment.decisions.get(userId);
+        if (byResource != null) {
+            Boolean cached = byResource.get(resource);
+            if (cached != null) {
+                return cached;
+            }
+        } else {
+            byResource = segment.decisions.computeIfAbsent(userId, k -> new ConcurrentHashMap<>());
+        }
+        evaluations.increment();
+        boolean allowed = current.policy.isAllowed(userId, resource);
+        if (byResource.putIfAbsent(resource, allowed) == null
+                && segment.size.incrementAndGet() > Math.max(1, maxCachedDecisions / SEGMENTS)) {
+            // 이 조각만 비운다. 다른 스레드가 먼저 바꿨으면 그대로 둔다
+            if (current.segments.compareAndSet(index, segment, new Segment())) {
+                cacheClears.increment();
+            }
+        }
+        return allowed;
+    }
+
+    /** @return 캐시를 못 써서 trie 를 탐색한 횟수 */
+    public long getEvaluationCount() { return evaluations.sum(); }
+    public long getCacheClearCount() { return cacheClears.sum(); }
+    /** @return 판정 캐시 항목 수 (조각별 개수의 합) */
+    public int getCachedDecisionCount() {
+        Snapshot current = snapshot;
+        int count = 0;
+        for (int i = 0; i < SEGMENTS; i++) {
+            count += current.segments.get(i).size.get();
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthorizationEngine [version=" + getVersion() + ", " + getPolicy() + ", cached=" + getCachedDecisionCount()
+                + ", evaluations=" + getEvaluationCount() + "]";
+    }
+
+    private static final class Snapshot {
+        final AuthorizationPolicy policy;
+        final long version;
+        final AtomicReferenceArray<Segment> segments = new AtomicReferenceArray<>(SEGMENTS);
+
+        Snapshot(AuthorizationPolicy policy, long version) {
+            this.policy = policy;
+            this.version = version;
+            for (int i = 0; i < SEGMENTS; i++) {
+                segments.set(i, new Segment());
+            }
+        }
+    }
+
+    // 판정 캐시 한 조각: userId → (resource → 허용 여부)
+    private static final class Segment {
+        final ConcurrentHashMap<String, ConcurrentHashMap<String, Boolean>> decisions = new ConcurrentHashMap<>();
+        final AtomicInteger size = new AtomicInteger();
+    }
+}
@@ -0,0 +1,207 @@
+package mylab.user.di.annot;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 설정에서 읽은 권한 규칙을 컴파일한 결과(불변).
+ *
+ * 규칙 파일 형식 (한 줄에 하나, # 주석)
+ *   role  gildong USER              사용자 → 역할
+ *   allow /users/** USER              역할이 자원 패턴에 접근 가능
+ *   deny  /users/admin/** USER        역할의 접근을 막음 (allow 보다 우선)
+ *
+ * - 자원 패턴은 '/' 로 나눈 경로이며 * 는 한 구간, ** 는 0개 이상 구간과 맞는다.
+ * - 역할은 비트(최대 64개)로 바꾸고, 패턴은 구간 단위 trie 로 모은다.
+ *   trie 노드마다 그 패턴에서 끝나는 allow/deny 역할 비트를 OR 해 두므로
+ *   규칙 수와 상관없이 자원 경로 구간 수만큼만 내려가면 된다.
+ * - 판정: 맞는 모든 패턴의 allow 비트 & 사용자 역할 != 0 이고 deny 비트 & 사용자 역할 == 0.
+ *   맞는 allow 가 없으면 거부(기본 거부).
+ */
+public final class AuthorizationPolicy {
+    public static final int MAX_ROLES = 64;
+
+    private final Node root;
+    private final Map<String, Long> userRoles;
+    private final Map<String, Integer> roleBits;
+    private final int ruleCount;
+
+    private AuthorizationPolicy(Node root, Map<String, Long> userRoles, Map<String, Integer> roleBits, int ruleCount) {
+        this.root = root;
+        this.userRoles = userRoles;
+        this.roleBits = roleBits;
+        this.ruleCount = ruleCount;
+    }
+
+    /** 규칙이 하나도 없는 정책 (모두 거부) */
+    public static AuthorizationPolicy empty() {
+        return new AuthorizationPolicy(new Node(), Collections.<String, Long>emptyMap(),
+                Collections.<String, Integer>emptyMap(), 0);
+    }
+
+    /**
+     * 규칙 파일을 읽어 컴파일한다.
+     *
+     * @throws IllegalArgumentException 형식이 잘못된 줄이 있는 경우 (줄 번호 포함)
+     */
+    public static AuthorizationPolicy parse(Reader source) {
+        Node root = new Node();
+        Map<String, Long> userRoles = new HashMap<>();
+        Map<String, Integer> roleBits = new LinkedHashMap<>();
+        int rules = 0;
+        BufferedReader reader = new BufferedReader(source);
+        try {
+            String line;
+            int lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                int hash = line.indexOf('#');
+                String[] tokens = (hash >= 0 ? line.substring(0, hash) : line).trim().split("\\s+");
+                if (tokens[0].isEmpty()) {
+                    continue;
+                }
+                if (tokens.length < 3) {
+                    throw new IllegalArgumentException("line " + lineNo + ": expected '<role|allow|deny> <target> <roles...>'");
+                }
+                long mask = 0;
+                for (int i = 2; i < tokens.length; i++) {
+                    mask |= 1L << bitOf(roleBits, tokens[i], lineNo);
+                }
+                switch (tokens[0]) {
+                    case "role":
+                        userRoles.merge(tokens[1], mask, (a, b) -> a | b);
+                        break;
+                    case "allow":
+                        insert(root, tokens[1], lineNo).allow |= mask;
+                        rules++;
+                        break;
+                    case "deny":
+                        insert(root, tokens[1], lineNo).deny |= mask;
+                        rules++;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("line " + lineNo + ": unknown keyword '" + tokens[0] + "'");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new AuthorizationPolicy(root, userRoles, roleBits, rules);
+    }
+
+    private static int bitOf(Map<String, Integer> roleBits, String role, int lineNo) {
+        Integer bit = roleBits.get(role);
+        if (bit == null) {
+            if (roleBits.size() == MAX_ROLES) {
+                throw new IllegalArgumentException("line " + lineNo + ": more than " + MAX_ROLES + " roles");
+            }
+            bit = roleBits.size();
+            roleBits.put(role, bit);
+        }
+        return bit;
+    }
+
+    private static Node insert(Node root, String pattern, int lineNo) {
+        Node node = root;
+        for (String segment : pattern.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (segment.equals("**")) {
+                if (node.anySegments == null) {
+                    node.anySegments = new Node();
+                }
+                node = node.anySegments;
+            } else if (segment.equals("*")) {
+                if (node.oneSegment == null) {
+                    node.oneSegment = new Node();
+                }
+                node = node.oneSegment;
+            } else if (segment.indexOf('*') >= 0) {
+                throw new IllegalArgumentException("line " + lineNo + ": '*' must be a whole segment: " + pattern);
+            } else {
+                if (node.children == null) {
+                    node.children = new HashMap<>();
+                }
+                node = node.children.computeIfAbsent(segment, k -> new Node());
+            }
+        }
+        return node;
+    }
+
+    /** @return userId 가 resource 에 접근할 수 있으면 true (trie 탐색, 캐시 없음) */
+    public boolean isAllowed(String userId, String resource) {
+        Long roles = userRoles.get(userId);
+        if (roles == null || resource == null) {
+            return false;
+        }
+        Masks masks = new Masks();
+        match(root, resource, 0, masks);
+        return (masks.allow & roles) != 0 && (masks.deny & roles) == 0;
+    }
+
+    private static void match(Node node, String resource, int pos, Masks masks) {
+        int length = resource.length();
+        while (pos < length && resource.charAt(pos) == '/') {
+            pos++;
+        }
+        if (node.anySegments != null) {
+            // ** 는 0개부터 남은 구간 전부까지 차례로 먹어 본다
+            int p = pos;
+            while (true) {
+                match(node.anySegments, resource, p, masks);
+                if (p >= length) {
+                    break;
+                }
+                int slash = resource.indexOf('/', p);
+                p = slash < 0 ? length : slash + 1;
+            }
+        }
+        if (pos >= length) {
+            masks.allow |= node.allow;
+            masks.deny |= node.deny;
+            return;
+        }
+        int end = resource.indexOf('/', pos);
+        if (end < 0) {
+            end = length;
+        }
+        if (node.children != null) {
+            Node child = node.children.get(resource.substring(pos, end));
+            if (child != null) {
+                match(child, resource, end, masks);
+            }
+        }
+        if (node.oneSegment != null) {
+            match(node.oneSegment, resource, end, masks);
+        }
+    }
+
+    public int getRuleCount() { return ruleCount; }
+    public int getRoleCount() { return roleBits.size(); }
+    public int getUserCount() { return userRoles.size(); }
+
+    @Override
+    public String toString() {
+        return "AuthorizationPolicy [rules=" + ruleCount + ", roles=" + roleBits.keySet() + ", users=" + userRoles.size() + "]";
+    }
+
+    private static final class Node {
+        Map<String, Node> children;
+        Node oneSegment;   // *
+        Node anySegments;  // **
+        long allow;
+        long deny;
+    }
+
+    private static final class Masks {
+        long allow;
+        long deny;
+    }
+}
@@ -0,0 +1,67 @@
+package mylab.user.di.annot;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 일괄 등록 결과. 실패한 레코드는 입력 순번(index)과 이유를 담는다.
+ */
+public class BulkRegistrationResult {
+    private final long total;
+    private final long registered;
+    private final List<Failure> failures;
+    private final long batches;
+    private final long elapsedNanos;
+
+    BulkRegistrationResult(long total, long registered, List<Failure> failures, long batches, long elapsedNanos) {
+        this.total = total;
+        this.registered = registered;
+        this.failures = Collections.unmodifiableList(failures);
+        this.batches = batches;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getTotal() { return total; }
+    public long getRegistered() { return registered; }
+    public List<Failure> getFailures() { return failures; }
+    public long getBatches() { return batches; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    /** @return 초당 처리 건수 */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0.0 : total * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BulkRegistrationResult [total=%d, registered=%d, failed=%d, batches=%d, %.0f건/s]",
+                total, registered, failures.size(), batches, getThroughput());
+    }
+
+    public enum Reason { INVALID, AUTHENTICATION_FAILED, REJECTED_BY_REPOSITORY, ERROR }
+
+    public static class Failure {
+        private final long index;
+        private final String userId;
+        private final Reason reason;
+        private final String message;
+
+        Failure(long index, String userId, Reason reason, String message) {
+            this.index = index;
+            this.userId = userId;
+            this.reason = reason;
+            this.message = message;
+        }
+
+        public long getIndex() { return index; }
+        public String getUserId() { return userId; }
+        public Reason getReason() { return reason; }
+        public String getMessage() { return message; }
+
+        @Override
+        public String toString() {
+            return "Failure [index=" + index + ", userId=" + userId + ", reason=" + reason
+                    + (message == null ? "" : ", message=" + message) + "]";
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package mylab.user.di.annot;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 다른 UserRepository(delegate) 앞에 두는 읽기 캐시.
+ *
+ * - findByUserId: 캐시에 있으면 바로 반환, 없으면 delegate 에서 읽어 저장한다(read-through).
+ * - 없는 userid(null)도 negativeTtlMillis 동안 기억해 같은 확인이 DB 로 가지 않게 한다.
+ * - 최대 개수(maxSize, LRU 방출)와 유효 시간(ttlMillis)을 둔다.
+ * - 같은 키를 동시에 찾으면 DB 조회는 한 번만 하고 나머지는 그 결과를 기다린다(single-flight).
+ * - saveUser/saveUsers 는 delegate 에 쓴 뒤 해당 키를 캐시에서 지운다.
+ *   쓰기와 겹쳐 진행 중이던 조회 결과는 캐시에 넣지 않는다(오래된 값 방지).
+ * - 적중/실패/부재 적중/조회 시간을 집계한다.
+ *
+ * 반환되는 User 는 캐시가 가진 객체이므로 호출자가 바꾸지 않아야 한다.
+ */
+public class CachingUserRepository extends UserRepository {
+    private final UserRepository delegate;
+    private int maxSize = 10_000;
+    private long ttlNanos = TimeUnit.MINUTES.toNanos(5);
+    private long negativeTtlNanos = TimeUnit.SECONDS.toNanos(5);
+
+    /** accessOrder = true → 가장 오래 안 쓴 항목이 맨 앞(LRU) */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ConcurrentHashMap<String, CompletableFuture<User>> loading = new ConcurrentHashMap<>();
+    /** 쓰기(무효화)마다 증가. 조회 시작 후 바뀌었으면 그 결과는 캐시하지 않는다 */
+    private final AtomicLong writeEpoch = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachingUserRepository(UserRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    public UserRepository getDelegate() { return delegate; }
+
+    @Override
+    public String getDbType() { return delegate.getDbType(); }
+
+    public int getMaxSize() { return maxSize; }
+    public void setMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    public long getTtlMillis() { return TimeUnit.NANOSECONDS.toMillis(ttlNanos); }
+    public void setTtlMillis(long ttlMillis) { this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis); }
+
+    public long getNegativeTtlMillis() { return TimeUnit.NANOSECONDS.toMillis(negativeTtlNanos); }
+    public void setNegativeTtlMillis(long negativeTtlMillis) { this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtlMillis); }
+
+    @Override
+    public User findByUserId(String userId) {
+        long now = System.nanoTime();
+        synchronized (this) {
+            Entry entry = entries.get(userId);
+            if (entry != null) {
+                if (now - entry.expiresAt < 0) {
+                    hits.increment();
+                    if (entry.user == null) {
+                        negativeHits.increment();
+                    }
+                    return entry.user;
+                }
+                entries.remove(userId);
+            }
+        }
+        misses.increment();
+
+        CompletableFuture<User> load = new CompletableFuture<>();
+        CompletableFuture<User> inFlight = loading.putIfAbsent(userId, load);
+        if (inFlight != null) {
+            coalesced.increment();
+            try {
+                return inFlight.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        long epoch = writeEpoch.get();
+        long start = System.nanoTime();
+        try {
+            User user = delegate.findByUserId(userId);
+            long end = System.nanoTime();
+            loads.increment();
+            loadNanos.add(end - start);
+            synchronized (this) {
+                if (writeEpoch.get() == epoch) {
+                    entries.put(userId, new Entry(user, end + (user == null ? negativeTtlNanos : ttlNanos)));
+                    evictOverflow();
+                }
+            }
+            load.complete(user);
+            return user;
+        } catch (Throwable e) {
+            // Error 도 future 로 넘겨야 합쳐진 호출자들이 join() 에서 영원히 기다리지 않는다
+            loadFailures.increment();
+            loadNanos.add(System.nanoTime() - start);
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(userId, load);
+        }
+    }
+
+    @Override
+    public boolean saveUser(String userId, String name) {
+        try {
+            return delegate.saveUser(userId, name);
+        } finally {
+            invalidate(userId);
+        }
+    }
+
+    @Override
+    public boolean[] saveUsers(List<User> users) {
+        try {
+            return delegate.saveUsers(users);
+        } finally {
+            writeEpoch.incrementAndGet();
+            synchronized (this) {
+                for (User user : users) {
+                    entries.remove(user.getUserId());
+                }
+            }
+        }
+    }
+
+    /** userid 항목을 지운다(부재 항목 포함). */
+    public void invalidate(String userId) {
+        writeEpoch.incrementAndGet();
+        synchronized (this) {
+            entries.remove(userId);
+        }
+    }
+
+    /** 모든 항목을 지운다(통계는 유지). */
+    public void invalidateAll() {
+        writeEpoch.incrementAndGet();
+        synchronized (this) {
+            entries.clear();
+        }
+    }
+
+    private void evictOverflow() {
+        while (entries.size() > maxSize) {
+            Iterator<String> eldest = entries.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    public long getHitCount() { return hits.sum(); }
+    public long getNegativeHitCount() { return negativeHits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getCoalescedCount() { return coalesced.sum(); }
+    public long getLoadCount() { return loads.sum(); }
+    public long getLoadFailureCount() { return loadFailures.sum(); }
+    public long getEvictionCount() { return evictions.sum(); }
+    public synchronized int size() { return entries.size(); }
+
+    /** @return 적중률(0.0 ~ 1.0), 조회가 없으면 0 */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    /** @return delegate 조회 평균 시간(ms, 실패한 조회 포함) */
+    public double getAverageLoadMillis() {
+        long n = loads.sum() + loadFailures.sum();
+        return n == 0 ? 0.0 : loadNanos.sum() / 1_000_000.0 / n;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CachingUserRepository [size=%d, hits=%d (negative %d), misses=%d, coalesced=%d, loads=%d, avgLoad=%.3fms, evictions=%d, delegate=%s]",
+                size(), getHitCount(), getNegativeHitCount(), getMissCount(), getCoalescedCount(), getLoadCount(),
+                getAverageLoadMillis(), getEvictionCount(), delegate);
+    }
+
+    private static final class Entry {
+        final User user; // null = 없는 사용자
+        final long expiresAt;
+
+        Entry(User user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package mylab.user.di.annot;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * userid → 비밀번호 해시(PasswordHasher 형식) 저장소.
+ *
+ * - verify: 느린 해시(PBKDF2)로 확인한다. 없는 userid 도 더미 해시로 같은 시간만큼 계산한다.
+ * - 로그인에 성공하면 비밀번호의 HMAC(프로세스마다 새로 만든 키)을 cacheTtlMillis 동안 기억해,
+ *   같은 비밀번호로 다시 로그인하면 느린 해시 없이 확인한다(isVerifiedRecently). 0 이면 끈다.
+ *   비밀번호가 바뀌면 기억한 값은 쓰이지 않는다.
+ * - 해시 비용(iterations)을 올리면 예전 해시는 다음 로그인 성공 때 새 비용으로 다시 만든다.
+ */
+public class CredentialStore {
+    private final PasswordHasher hasher;
+    private final ConcurrentHashMap<String, String> hashes = new ConcurrentHashMap<>();
+    private volatile String dummyHash;
+
+    private final SecretKeySpec cacheKey;
+    private final ThreadLocal<Mac> macs;
+    private int cacheMaxSize = 10_000;
+    private long cacheTtlNanos = TimeUnit.MINUTES.toNanos(1);
+    /** accessOrder = true → 가장 오래 안 쓴 항목이 맨 앞(LRU) */
+    private final LinkedHashMap<String, Proof> proofs = new LinkedHashMap<String, Proof>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Proof> eldest) {
+            return size() > cacheMaxSize;
+        }
+    };
+
+    private final LongAdder hashVerifications = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rehashes = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+
+    public CredentialStore(PasswordHasher hasher) {
+        this.hasher = hasher;
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.cacheKey = new SecretKeySpec(key, "HmacSHA256");
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public PasswordHasher getHasher() { return hasher; }
+
+    public int getCacheMaxSize() { return cacheMaxSize; }
+    public void setCacheMaxSize(int cacheMaxSize) { this.cacheMaxSize = cacheMaxSize; }
+
+    public long getCacheTtlMillis() { return TimeUnit.NANOSECONDS.toMillis(cacheTtlNanos); }
+    public void setCacheTtlMillis(long cacheTtlMillis) { this.cacheTtlNanos = TimeUnit.MILLISECONDS.toNanos(cacheTtlMillis); }
+
+    /** 비밀번호를 새로 해시해 저장한다(있으면 바꾼다). */
+    public void setPassword(String userId, String password) {
+        char[] chars = password.toCharArray();
+        try {
+            hashes.put(userId, hasher.hash(chars));
+        } finally {
+            Arrays.fill(chars, '\0');
+        }
+        forget(userId);
+    }
+
+    public void remove(String userId) {
+        hashes.remove(userId);
+        forget(userId);
+    }
+
+    public boolean contains(String userId) { return hashes.containsKey(userId); }
+
+    /** 저장된 해시를 그대로 넣는다(다른 저장소에서 옮겨 올 때). */
+    public void putHash(String userId, String encoded) {
+        hashes.put(userId, encoded);
+        forget(userId);
+    }
+
+    /** @return 최근에 같은 비밀번호로 확인된 적이 있으면 true (느린 해시 없음) */
+    public boolean isVerifiedRecently(String userId, String password) {
+        if (cacheTtlNanos <= 0) {
+            return false;
+        }
+        String encoded = hashes.get(userId);
+        Proof proof;
+        synchronized (proofs) {
+            proof = proofs.get(userId);
+        }
+        if (encoded == null || proof == null || proof.encoded != encoded
+                || System.nanoTime() - proof.expiresAt >= 0) {
+            return false;
+        }
+        if (MessageDigest.isEqual(proof.mac, mac(password))) {
+            cacheHits.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /** @return 비밀번호가 맞으면 true. 느린 해시를 계산하므로 호출 스레드를 점유한다. */
+    public boolean verify(String userId, String password) {
+        if (isVerifiedRecently(userId, password)) {
+            return true;
+        }
+        String encoded = hashes.get(userId);
+        char[] chars = password.toCharArray();
+        long start = System.nanoTime();
+        try {
+            boolean ok = hasher.verify(chars, encoded != null ? encoded : dummyHash());
+            if (encoded == null || !ok) {
+                failures.increment();
+                return false;
+            }
+            if (hasher.needsRehash(encoded)) {
+                String upgraded = hasher.hash(chars);
+                if (hashes.replace(userId, encoded, upgraded)) {
+                    encoded = upgraded;
+                    rehashes.increment();
+                }
+            }
+            remember(userId, encoded, password);
+            return true;
+        } finally {
+            hashVerifications.increment();
+            hashNanos.add(System.nanoTime() - start);
+            Arrays.fill(chars, '\0');
+        }
+    }
+
+    private void remember(String userId, String encoded, String password) {
+        if (cacheTtlNanos > 0) {
+            Proof proof = new Proof(encoded, mac(password), System.nanoTime() + cacheTtlNanos);
+            synchronized (proofs) {
+                proofs.put(userId, proof);
+            }
+        }
+    }
+
+    private void forget(String userId) {
+        synchronized (proofs) {
+            proofs.remove(userId);
+        }
+    }
+
+    private String dummyHash() {
+        String dummy = dummyHash;
+        if (dummy == null) {
+            dummyHash = dummy = hasher.hash("dummy-password".toCharArray());
+        }
+        return dummy;
+    }
+
+    private byte[] mac(String password) {
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(password));
+        Mac mac = macs.get();
+        mac.update(bytes);
+        return mac.doFinal();
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(cacheKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    public long getHashVerificationCount() { return hashVerifications.sum(); }
+    public long getCacheHitCount() { return cacheHits.sum(); }
+    public long getFailureCount() { return failures.sum(); }
+    public long getRehashCount() { return rehashes.sum(); }
+    public int size() { return hashes.size(); }
+
+    /** @return 느린 해시 한 번의 평균 시간(ms) */
+    public double getAverageHashMillis() {
+        long n = hashVerifications.sum();
+        return n == 0 ? 0.0 : hashNanos.sum() / 1_000_000.0 / n;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CredentialStore [users=%d, iterations=%d, hashVerifications=%d, avgHash=%.2fms, cacheHits=%d, failures=%d, rehashes=%d]",
+                size(), hasher.getIterations(), getHashVerificationCount(), getAverageHashMillis(),
+                getCacheHitCount(), getFailureCount(), getRehashCount());
+    }
+
+    private static final class Proof {
+        final String encoded; // 이 해시로 확인했을 때만 유효 (비밀번호 변경 감지)
+        final byte[] mac;
+        final long expiresAt;
+
+        Proof(String encoded, byte[] mac, long expiresAt) {
+            this.encoded = encoded;
+            this.mac = mac;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package mylab.user.di.annot;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 메모리에 저장하는 UserRepository (테스트/벤치마크용).
+ *
+ * - userid 유일 제약을 흉내 낸다: 이미 있는 userid 는 저장하지 않고 false.
+ * - roundTripMicros 를 주면 saveUser / saveUsers / findByUserId 한 번마다 DB 왕복 시간만큼 쉰다.
+ *   → 건별 저장과 묶음 저장의 왕복 횟수 차이를 오프라인에서 볼 수 있다.
+ */
+public class InMemoryUserRepository extends UserRepository {
+    private final ConcurrentHashMap<String, User> users = new ConcurrentHashMap<>();
+    private volatile long roundTripNanos;
+    private final LongAdder roundTrips = new LongAdder();
+
+    public InMemoryUserRepository() {
+        setDbType("InMemory");
+    }
+
+    public long getRoundTripMicros() { return TimeUnit.NANOSECONDS.toMicros(roundTripNanos); }
+    public void setRoundTripMicros(long roundTripMicros) { this.roundTripNanos = TimeUnit.MICROSECONDS.toNanos(roundTripMicros); }
+
+    @Override
+    public boolean saveUser(String userId, String name) {
+        roundTrip();
+        return users.putIfAbsent(userId, new User(userId, name)) == null;
+    }
+
+    @Override
+    public boolean[] saveUsers(List<User> batch) {
+        roundTrip();
+        boolean[] saved = new boolean[batch.size()];
+        for (int i = 0; i < saved.length; i++) {
+            User user = batch.get(i);
+            saved[i] = users.putIfAbsent(user.getUserId(), user) == null;
+        }
+        return saved;
+    }
+
+    @Override
+    public User findByUserId(String userId) {
+        roundTrip();
+        return users.get(userId);
+    }
+
+    public User getUser(String userId) { return users.get(userId); }
+    public int size() { return users.size(); }
+    public long getRoundTripCount() { return roundTrips.sum(); }
+
+    public void clear() {
+        users.clear();
+        roundTrips.reset();
+    }
+
+    private void roundTrip() {
+        roundTrips.increment();
+        if (roundTripNanos > 0) {
+            // parkNanos 는 일찍 깨어날 수 있으므로 정해진 시간이 지날 때까지 다시 쉰다
+            long deadline = System.nanoTime() + roundTripNanos;
+            for (long left = roundTripNanos; left > 0; left = deadline - System.nanoTime()) {
+                LockSupport.parkNanos(left);
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package mylab.user.di.annot;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * sql/user.sql 의 users 테이블을 JDBC 로 읽고 쓰는 UserRepository.
+ *
+ * - DataSource 는 커넥션 풀(HikariCP, mylab-user-jdbc.xml)을 쓴다.
+ * - saveUsers 는 JdbcTemplate.batchUpdate 로 batchSize 건씩 executeBatch 하고,
+ *   TransactionTemplate 으로 전체를 한 트랜잭션으로 커밋한다.
+ *   MySQL 에서는 URL 의 cachePrepStmts/useServerPrepStmts 로 드라이버가 문장을 커넥션별로 캐시하고,
+ *   rewriteBatchedStatements 로 batch 를 여러 행 INSERT 하나로 보낸다.
+ * - userid 유일 인덱스에 걸렸을 때의 동작(UpsertPolicy)
+ *   · FAIL   : DuplicateKeyException. saveUsers 는 묶음 전체를 롤백한다.
+ *   · IGNORE : INSERT IGNORE → 기존 행 유지, 결과 false.
+ *     rewriteBatchedStatements 를 켜면 MySQL 은 행마다 SUCCESS_NO_INFO(-2)를 돌려주므로,
+ *     saveUsers 는 executeBatch 전에 같은 트랜잭션에서 이미 있는 userid 를 조회해 결과를 정한다
+ *     (묶음 안에서 같은 userid 가 또 나오면 처음 것만 true).
+ *   · UPDATE : INSERT ... ON DUPLICATE KEY UPDATE → name/gender/city 를 덮어쓴다, 결과 true.
+ */
+public class JdbcUserRepository extends UserRepository {
+    public enum UpsertPolicy { FAIL, IGNORE, UPDATE }
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private static final String COLUMNS = "users(userid, name, gender, city) values (?, ?, ?, ?)";
+    private static final String INSERT = "insert into " + COLUMNS;
+    private static final String INSERT_IGNORE = "insert ignore into " + COLUMNS;
+    private static final String UPSERT = INSERT
+            + " on duplicate key update name = values(name), gender = values(gender), city = values(city)";
+    private static final String SELECT_BY_USERID = "select userid, name, gender, city from users where userid = ?";
+    private static final String COUNT = "select count(*) from users";
+
+    private static final RowMapper<User> USER_MAPPER = (rs, rowNum) ->
+            new User(rs.getString("userid"), rs.getString("name"), rs.getString("gender"), rs.getString("city"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private volatile UpsertPolicy upsertPolicy = UpsertPolicy.FAIL;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    public JdbcUserRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    public JdbcTemplate getJdbcTemplate() { return jdbcTemplate; }
+
+    public UpsertPolicy getUpsertPolicy() { return upsertPolicy; }
+    public void setUpsertPolicy(UpsertPolicy upsertPolicy) { this.upsertPolicy = upsertPolicy; }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public boolean saveUser(String userId, String name) {
+        return save(new User(userId, name));
+    }
+
+    /**
+     * @return 저장(또는 UPDATE 정책에서 갱신)되었으면 true, IGNORE 정책에서 이미 있으면 false
+     * @throws org.springframework.dao.DuplicateKeyException FAIL 정책에서 userid 가 이미 있는 경우
+     */
+    public boolean save(User user) {
+        UpsertPolicy policy = upsertPolicy;
+        int count = jdbcTemplate.update(sqlFor(policy), user.getUserId(), user.getName(), user.getGender(), user.getCity());
+        return policy == UpsertPolicy.UPDATE || count > 0;
+    }
+
+    @Override
+    public boolean[] saveUsers(List<User> users) {
+        UpsertPolicy policy = upsertPolicy;
+        int chunk = batchSize;
+        return transactionTemplate.execute(status -> {
+            Set<String> seen = policy == UpsertPolicy.IGNORE ? existingUserIds(users, chunk) : Collections.<String>emptySet();
+            int[][] counts = jdbcTemplate.batchUpdate(sqlFor(policy), users, chunk, JdbcUserRepository::bind);
+            boolean[] saved = new boolean[users.size()];
+            int i = 0;
+            for (int[] chunkCounts : counts) {
+                for (int count : chunkCounts) {
+                    if (count == Statement.EXECUTE_FAILED) {
+                        saved[i] = false;
+                    } else if (policy == UpsertPolicy.IGNORE) {
+                        // 행별 결과(0/1)가 SUCCESS_NO_INFO(-2)일 수 있으므로 미리 조회한 userid 로 판단
+                        saved[i] = seen.add(users.get(i).getUserId());
+                    } else {
+                        saved[i] = count != 0 || policy == UpsertPolicy.UPDATE;
+                    }
+                    i++;
+                }
+            }
+            return saved;
+        });
+    }
+
+    /** @return userid 로 찾은 사용자, 없으면 null */
+    @Override
+    public User findByUserId(String userId) {
+        List<User> users = jdbcTemplate.query(SELECT_BY_USERID, USER_MAPPER, userId);
+        return users.isEmpty() ? null : users.get(0);
+    }
+
+    public long countUsers() {
+        Long count = jdbcTemplate.queryForObject(COUNT, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private static String sqlFor(UpsertPolicy policy) {
+        switch (policy) {
+            case IGNORE: return INSERT_IGNORE;
+            case UPDATE: return UPSERT;
+            default:     return INSERT;
+        }
+    }
+
+    // users 중 테이블에 이미 있는 userid (chunk 건씩 in 조회)
+    private Set<String> existingUserIds(List<User> users, int chunk) {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < users.size(); from += chunk) {
+            List<User> part = users.subList(from, Math.min(users.size(), from + chunk));
+            String sql = part.stream().map(user -> "?")
+                    .collect(Collectors.joining(", ", "select userid from users where userid in (", ")"));
+            existing.addAll(jdbcTemplate.queryForList(sql, String.class,
+                    part.stream().map(User::getUserId).toArray()));
+        }
+        return existing;
+    }
+
+    private static void bind(PreparedStatement ps, User user) throws SQLException {
+        ps.setString(1, user.getUserId());
+        ps.setString(2, user.getName());
+        ps.setString(3, user.getGender());
+        ps.setString(4, user.getCity());
+    }
+
+    @Override
+    public String toString() {
+        return "JdbcUserRepository [dbType=" + getDbType() + ", upsertPolicy=" + upsertPolicy + ", batchSize=" + batchSize + "]";
+    }
+}
@@ -0,0 +1,87 @@
+package mylab.user.di.annot;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * PBKDF2(HmacSHA256) 비밀번호 해시.
+ *
+ * - 저장 형식: pbkdf2-sha256$반복횟수$salt(Base64)$hash(Base64)
+ * - iterations 가 비용이다. 값을 올리면 새로 만드는 해시부터 적용되고,
+ *   예전 해시는 needsRehash 로 찾아 로그인 성공 시 다시 만들 수 있다.
+ * - 해시 비교는 MessageDigest.isEqual(상수 시간)로 한다.
+ */
+public class PasswordHasher {
+    public static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    public static final String PREFIX = "pbkdf2-sha256";
+    public static final int DEFAULT_ITERATIONS = 100_000;
+
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    private final int iterations;
+    private final SecureRandom random = new SecureRandom();
+
+    public PasswordHasher() {
+        this(DEFAULT_ITERATIONS);
+    }
+
+    public PasswordHasher(int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("iterations must be positive: " + iterations);
+        }
+        this.iterations = iterations;
+    }
+
+    public int getIterations() { return iterations; }
+
+    /** @return 새 salt 로 만든 저장 형식 문자열 */
+    public String hash(char[] password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = pbkdf2(password, salt, iterations);
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + '$' + iterations + '$' + base64.encodeToString(salt) + '$' + base64.encodeToString(hash);
+    }
+
+    /**
+     * @return password 가 encoded 와 맞으면 true
+     * @throws IllegalArgumentException encoded 형식이 잘못된 경우
+     */
+    public boolean verify(char[] password, String encoded) {
+        String[] parts = split(encoded);
+        byte[] salt = Base64.getDecoder().decode(parts[2]);
+        byte[] expected = Base64.getDecoder().decode(parts[3]);
+        byte[] actual = pbkdf2(password, salt, Integer.parseInt(parts[1]));
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    /** @return encoded 의 반복 횟수가 현재 설정보다 낮으면 true */
+    public boolean needsRehash(String encoded) {
+        return Integer.parseInt(split(encoded)[1]) < iterations;
+    }
+
+    private static String[] split(String encoded) {
+        String[] parts = encoded.split("\\$");
+        if (parts.length != 4 || !PREFIX.equals(parts[0])) {
+            throw new IllegalArgumentException("not a " + PREFIX + " hash");
+        }
+        return parts;
+    }
+
+    private static byte[] pbkdf2(char[] password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -1,17 +1,137 @@
 package mylab.user.di.annot;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+/**
+ * 인증/권한 서비스.
+ *
+ * - credentialStore 가 없으면 비밀번호가 비어 있지 않은지만 본다(기존 동작).
+ * - credentialStore 가 있으면 저장된 PBKDF2 해시로 확인한다. mylab-user-credentials.xml 에서 주입.
+ *   느린 해시는 전용 executor(스레드 수/대기열 크기 제한)에서만 계산해 요청 스레드를 잡아먹지 않는다.
+ *   대기열이 가득 차면 RejectedExecutionException (로그인 폭주 시 backpressure).
+ *   최근 성공한 같은 비밀번호는 호출 스레드에서 바로 확인한다(CredentialStore#isVerifiedRecently).
+ * - authorizationEngine 이 없으면 authorize 는 모두 허용(기존 동작), 있으면 규칙으로 판정한다.
+ */
 @Service
-public class SecurityService {
+public class SecurityService implements DisposableBean {
+    private static final Logger log = LogManager.getLogger(SecurityService.class);
+
+    private CredentialStore credentialStore;
+    private AuthorizationEngine authorizationEngine;
+    private volatile ExecutorService verificationExecutor;
+    private boolean ownsExecutor;
+    private int verificationThreads = Runtime.getRuntime().availableProcessors();
+    private int verificationQueueCapacity = 1024;
+
+    // 권한 판정기 (없으면 모두 허용 - 기존 동작). mylab-user-authz.xml 에서 주입
+    public AuthorizationEngine getAuthorizationEngine() { return authorizationEngine; }
+    @Autowired(required = false)
+    public void setAuthorizationEngine(AuthorizationEngine authorizationEngine) { this.authorizationEngine = authorizationEngine; }
+
+    // 비밀번호 해시 저장소 (없으면 비어 있지 않은지만 확인 - 기존 동작). mylab-user-credentials.xml 에서 주입
+    public CredentialStore getCredentialStore() { return credentialStore; }
+    @Autowired(required = false)
+    public void setCredentialStore(CredentialStore credentialStore) { this.credentialStore = credentialStore; }
+
+    // 해시 계산 전용 executor (없으면 verificationThreads / verificationQueueCapacity 로 만든다)
+    public void setVerificationExecutor(ExecutorService verificationExecutor) { this.verificationExecutor = verificationExecutor; }
+    public int getVerificationThreads() { return verificationThreads; }
+    public void setVerificationThreads(int verificationThreads) { this.verificationThreads = verificationThreads; }
+    public int getVerificationQueueCapacity() { return verificationQueueCapacity; }
+    public void setVerificationQueueCapacity(int verificationQueueCapacity) { this.verificationQueueCapacity = verificationQueueCapacity; }
 
     public boolean authenticate(String userId, String password) {
-        System.out.println("인증: " + userId);
-        return password != null && !password.isEmpty();
+        if (credentialStore == null) {
+            return password != null && !password.isEmpty();
+        }
+        try {
+            return authenticateAsync(userId, password).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * @return 인증 결과. 해시 계산은 verificationExecutor 에서 한다.
+     * @throws RejectedExecutionException 해시 대기열이 가득 찬 경우
+     */
+    public CompletableFuture<Boolean> authenticateAsync(String userId, String password) {
+        if (credentialStore == null) {
+            return CompletableFuture.completedFuture(authenticate(userId, password));
+        }
+        if (userId == null || password == null || password.isEmpty()) {
+            return CompletableFuture.completedFuture(false);
+        }
+        if (credentialStore.isVerifiedRecently(userId, password)) {
+            return CompletableFuture.completedFuture(true);
+        }
+        return CompletableFuture.supplyAsync(() -> credentialStore.verify(userId, password), verificationExecutor());
+    }
+
+    // 비밀번호 설정 (credentialStore 필요)
+    public void setPassword(String userId, String password) {
+        if (credentialStore == null) {
+            throw new IllegalStateException("credentialStore is not configured");
+        }
+        credentialStore.setPassword(userId, password);
     }
 
     public boolean authorize(String userId, String resource) {
-        System.out.println("권한 부여: " + userId + " for " + resource);
+        if (authorizationEngine != null) {
+            return authorizationEngine.isAllowed(userId, resource);
+        }
+        log.info("권한 부여: {} for {}", userId, resource);
         return true;
     }
+
+    // 로그인마다 지나가는 경로이므로 만들어진 뒤에는 잠금 없이 volatile 읽기만 한다 (double-checked)
+    private ExecutorService verificationExecutor() {
+        ExecutorService executor = verificationExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = verificationExecutor;
+                if (executor == null) {
+                    executor = newVerificationExecutor(verificationThreads, verificationQueueCapacity);
+                    verificationExecutor = executor;
+                    ownsExecutor = true;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /** 스레드 threads 개, 대기열 queueCapacity 개를 넘으면 거절(AbortPolicy)하는 executor */
+    public static ExecutorService newVerificationExecutor(int threads, int queueCapacity) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = r -> {
+            Thread t = new Thread(r, "credential-verifier-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), factory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (ownsExecutor) {
+            verificationExecutor.shutdown();
+            verificationExecutor = null;
+            ownsExecutor = false;
+        }
+    }
 }
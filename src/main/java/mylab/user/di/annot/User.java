@@ -0,0 +1,54 @@
+package mylab.user.di.annot;
+
+import java.util.Objects;
+
+/**
+ * users 테이블(sql/user.sql) 한 행. userid 가 유일 키.
+ */
+public class User {
+    private String userId;
+    private String name;
+    private String gender;
+    private String city;
+
+    public User() {}
+
+    public User(String userId, String name) {
+        this(userId, name, null, null);
+    }
+
+    public User(String userId, String name, String gender, String city) {
+        this.userId = userId;
+        this.name = name;
+        this.gender = gender;
+        this.city = city;
+    }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public String getGender() { return gender; }
+    public void setGender(String gender) { this.gender = gender; }
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof User)) return false;
+        User other = (User) o;
+        return Objects.equals(userId, other.userId) && Objects.equals(name, other.name)
+                && Objects.equals(gender, other.gender) && Objects.equals(city, other.city);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, name, gender, city);
+    }
+
+    @Override
+    public String toString() {
+        return "User [userId=" + userId + ", name=" + name + ", gender=" + gender + ", city=" + city + "]";
+    }
+}
@@ -0,0 +1,27 @@
+package mylab.user.di.annot;
+
+/**
+ * 일괄 등록(UserService#registerUsers) 입력 한 건.
+ */
+public class UserRegistration {
+    private final String userId;
+    private final String name;
+    private final String password;
+
+    public UserRegistration(String userId, String name, String password) {
+        this.userId = userId;
+        this.name = name;
+        this.password = password;
+    }
+
+    public String getUserId() { return userId; }
+    public String getName() { return name; }
+    public String getPassword() { return password; }
+
+    public User toUser() { return new User(userId, name); }
+
+    @Override
+    public String toString() {
+        return "UserRegistration [userId=" + userId + ", name=" + name + "]";
+    }
+}
@@ -1,10 +1,15 @@
 package mylab.user.di.annot;
 
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class UserRepository {
+    private static final Logger log = LogManager.getLogger(UserRepository.class);
 
     @Value("MySQL")
     private String dbType;
@@ -15,10 +20,26 @@ public class UserRepository {
     public void setDbType(String dbType) { this.dbType = dbType; }
 
     public boolean saveUser(String userId, String name) {
-        System.out.println("사용자 저장: " + userId + ", " + name + " (DB: " + dbType + ")");
+        log.info("사용자 저장: {}, {} (DB: {})", userId, name, dbType);
         return true;
     }
 
+    // userid 로 사용자를 찾는다. 없으면 null
+    public User findByUserId(String userId) {
+        log.info("사용자 조회: {} (DB: {})", userId, dbType);
+        return null;
+    }
+
+    // 여러 사용자를 한 번에 저장한다. 결과[i] 는 users[i] 가 저장되었는지 여부
+    public boolean[] saveUsers(List<User> users) {
+        boolean[] saved = new boolean[users.size()];
+        for (int i = 0; i < saved.length; i++) {
+            User user = users.get(i);
+            saved[i] = saveUser(user.getUserId(), user.getName());
+        }
+        return saved;
+    }
+
     @Override
     public String toString() {
         return "UserRepository [dbType=" + dbType + "]";
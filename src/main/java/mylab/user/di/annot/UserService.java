@@ -1,19 +1,47 @@
 package mylab.user.di.annot;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import mylab.user.di.annot.BulkRegistrationResult.Failure;
+import mylab.user.di.annot.BulkRegistrationResult.Reason;
+
 @Service
 public class UserService {
 
+    public static final int DEFAULT_BULK_BATCH_SIZE = 500;
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private SecurityService securityService;
 
+    private int bulkBatchSize = DEFAULT_BULK_BATCH_SIZE;
+    private ForkJoinPool authenticationPool = ForkJoinPool.commonPool();
+
     public UserRepository getUserRepository() { return userRepository; }
+    public void setUserRepository(UserRepository userRepository) { this.userRepository = userRepository; }
     public SecurityService getSecurityService() { return securityService; }
+    public void setSecurityService(SecurityService securityService) { this.securityService = securityService; }
+
+    public int getBulkBatchSize() { return bulkBatchSize; }
+    public void setBulkBatchSize(int bulkBatchSize) {
+        if (bulkBatchSize < 1) {
+            throw new IllegalArgumentException("bulkBatchSize must be positive: " + bulkBatchSize);
+        }
+        this.bulkBatchSize = bulkBatchSize;
+    }
+
+    // 일괄 등록 시 인증을 병렬로 돌릴 풀 (기본: 공용 ForkJoinPool)
+    public void setAuthenticationPool(ForkJoinPool authenticationPool) { this.authenticationPool = authenticationPool; }
 
     public boolean registerUser(String userId, String name, String password) {
         if (securityService.authenticate(userId, password)) {
@@ -21,4 +49,102 @@ public class UserService {
         }
         return false;
     }
+
+    // 없으면 null
+    public User findUser(String userId) {
+        return userRepository.findByUserId(userId);
+    }
+
+    /**
+     * 사용자를 일괄 등록한다.
+     *
+     * - 입력 스트림은 bulkBatchSize 건씩만 꺼내 읽는다(전체를 메모리에 올리지 않음).
+     * - 묶음 안에서 인증은 authenticationPool 에서 병렬로, 저장은 saveUsers 한 번으로 한다.
+     * - 실패한 레코드는 결과에 모으고 나머지는 계속 처리한다.
+     *   saveUsers 가 예외를 던지면 그 묶음만 한 건씩 saveUser 로 다시 시도해 문제 레코드를 가려낸다.
+     */
+    public BulkRegistrationResult registerUsers(Stream<UserRegistration> registrations) {
+        long start = System.nanoTime();
+        Iterator<UserRegistration> input = registrations.iterator();
+        List<Failure> failures = new ArrayList<>();
+        List<UserRegistration> chunk = new ArrayList<>(bulkBatchSize);
+        long index = 0;
+        long registered = 0;
+        long batches = 0;
+        while (input.hasNext()) {
+            chunk.clear();
+            long baseIndex = index;
+            while (chunk.size() < bulkBatchSize && input.hasNext()) {
+                chunk.add(input.next());
+                index++;
+            }
+            registered += registerChunk(chunk, baseIndex, failures);
+            batches++;
+        }
+        return new BulkRegistrationResult(index, registered, failures, batches, System.nanoTime() - start);
+    }
+
+    private long registerChunk(List<UserRegistration> chunk, long baseIndex, List<Failure> failures) {
+        Reason[] rejected = new Reason[chunk.size()];
+        String[] messages = new String[chunk.size()];
+        authenticationPool.submit(() -> IntStream.range(0, chunk.size()).parallel().forEach(i -> {
+            UserRegistration r = chunk.get(i);
+            try {
+                if (r == null || isBlank(r.getUserId()) || isBlank(r.getName())) {
+                    rejected[i] = Reason.INVALID;
+                } else if (!securityService.authenticate(r.getUserId(), r.getPassword())) {
+                    rejected[i] = Reason.AUTHENTICATION_FAILED;
+                }
+            } catch (RuntimeException e) {
+                rejected[i] = Reason.ERROR;
+                messages[i] = e.toString();
+            }
+        })).join();
+
+        List<User> users = new ArrayList<>(chunk.size());
+        int[] positions = new int[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+            if (rejected[i] == null) {
+                positions[users.size()] = i;
+                users.add(chunk.get(i).toUser());
+            }
+        }
+
+        long saved = 0;
+        if (!users.isEmpty()) {
+            boolean[] results;
+            try {
+                results = userRepository.saveUsers(users);
+            } catch (RuntimeException batchFailure) {
+                results = new boolean[users.size()];
+                for (int j = 0; j < users.size(); j++) {
+                    try {
+                        results[j] = userRepository.saveUser(users.get(j).getUserId(), users.get(j).getName());
+                    } catch (RuntimeException e) {
+                        rejected[positions[j]] = Reason.ERROR;
+                        messages[positions[j]] = e.toString();
+                    }
+                }
+            }
+            for (int j = 0; j < users.size(); j++) {
+                if (results[j]) {
+                    saved++;
+                } else if (rejected[positions[j]] == null) {
+                    rejected[positions[j]] = Reason.REJECTED_BY_REPOSITORY;
+                }
+            }
+        }
+
+        for (int i = 0; i < chunk.size(); i++) {
+            if (rejected[i] != null) {
+                UserRegistration r = chunk.get(i);
+                failures.add(new Failure(baseIndex + i, r == null ? null : r.getUserId(), rejected[i], messages[i]));
+            }
+        }
+        return saved;
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.trim().isEmpty();
+    }
 }
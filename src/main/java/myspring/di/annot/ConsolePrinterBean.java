@@ -1,11 +1,15 @@
 package myspring.di.annot;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.stereotype.Component;
 
 @Component("consolePrinterBean")
 public class ConsolePrinterBean implements PrinterBean {
+	private static final Logger log = LogManager.getLogger(ConsolePrinterBean.class);
+
 	public ConsolePrinterBean() {
-		System.out.println(this.getClass().getName() + " 생성자가 호출됨");
+		log.info("{} 생성자가 호출됨", this.getClass().getName());
 	}
 	
 	public void print(String message) {
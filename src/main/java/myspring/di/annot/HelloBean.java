@@ -4,6 +4,8 @@ import java.util.List;
 
 import javax.annotation.Resource;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,6 +14,8 @@ import org.springframework.stereotype.Component;
 //<bean id="helloBean" class="myspring.di.annot.HelloBean" />
 @Component("helloBean")
 public class HelloBean {
+	private static final Logger log = LogManager.getLogger(HelloBean.class);
+
 	//<property name="name" value="어노테이션" />
 //전략2 - setter injection	
 	@Value("${myname21}")
@@ -29,7 +33,7 @@ public class HelloBean {
 	List<String> names;
 
 	public HelloBean() {
-		System.out.println(this.getClass().getName() + " 생성자가 호출됨");
+		log.info("{} 생성자가 호출됨", this.getClass().getName());
 	}
 	
 //전략2 - constructor injection
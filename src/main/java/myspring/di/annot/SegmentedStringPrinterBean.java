@@ -0,0 +1,27 @@
+package myspring.di.annot;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Component;
+
+import myspring.di.support.ThreadSegmentBuffer;
+
+//StringPrinterBean 과 같은 역할이지만 스레드마다 따로 쌓고 toString() 에서 합친다.
+@Component("segmentedStringPrinterBean")
+public class SegmentedStringPrinterBean implements PrinterBean {
+	private static final Logger log = LogManager.getLogger(SegmentedStringPrinterBean.class);
+
+	private final ThreadSegmentBuffer buffer = new ThreadSegmentBuffer();
+	
+	public SegmentedStringPrinterBean() {
+		log.info("{} 생성자가 호출됨", this.getClass().getName());
+	}
+
+	public void print(String message) {
+		this.buffer.append(message);
+	}
+
+	public String toString() {
+		return this.buffer.merge();
+	}
+}
@@ -1,13 +1,17 @@
 package myspring.di.annot;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.stereotype.Component;
 
 @Component("stringPrinterBean")
 public class StringPrinterBean implements PrinterBean {
+	private static final Logger log = LogManager.getLogger(StringPrinterBean.class);
+
 	private StringBuffer buffer = new StringBuffer();
 	
 	public StringPrinterBean() {
-		System.out.println(this.getClass().getName() + " 생성자가 호출됨");
+		log.info("{} 생성자가 호출됨", this.getClass().getName());
 	}
 
 	public void print(String message) {
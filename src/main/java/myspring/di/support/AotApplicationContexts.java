@@ -0,0 +1,193 @@
+package myspring.di.support;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.NoUniqueBeanDefinitionException;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.NamedBeanHolder;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.context.support.GenericXmlApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * 빌드 때 생성한 빈 등록 코드(AOT)로 컨텍스트를 띄운다.
+ *
+ * - BeanRegistrationGenerator 가 XML 설정(+ component-scan, @Configuration 처리 결과)을 자바 코드로 바꿔 둔
+ *   myspring.di.aot.<이름>__BeanFactoryRegistrations 가 있으면 그것으로 빈을 등록한다.
+ *   → 시작할 때 XML 파싱, 클래스패스 스캔, @Value/@Resource/@Autowired 리플렉션 탐색, SpEL 평가를 하지 않는다.
+ * - 생성 코드가 없거나 -Dmyspring.aot.enabled=false 이면 예전처럼 GenericXmlApplicationContext 로 XML 을 읽는다.
+ * - ${...} 자리표시자는 실행 시 values.properties 등에서 읽는다(값만 바꿀 때는 다시 생성할 필요 없음).
+ * - -Dmyspring.init.parallel=true 이면 ParallelBeanInitializer 를 켠다(lazy 프록시, 생성자 병렬 호출).
+ *
+ *   사용
+ *   try (GenericApplicationContext ctx = AotApplicationContexts.create("spring-beans.xml")) { ... }
+ *   StartupProfiler 등을 붙이려면 prepare(...) → attach → refresh()
+ *
+ * 아래쪽 static 메서드(resolve/convert/ref/...)는 생성된 코드가 부르는 것이다.
+ */
+public final class AotApplicationContexts {
+	public static final String GENERATED_PACKAGE = "myspring.di.aot";
+	public static final String REGISTRATIONS_SUFFIX = "__BeanFactoryRegistrations";
+	public static final String ENABLED_PROPERTY = "myspring.aot.enabled";
+
+	private AotApplicationContexts() {
+	}
+
+	/** refresh 까지 끝낸 컨텍스트 */
+	public static GenericApplicationContext create(String configLocation) {
+		GenericApplicationContext context = prepare(configLocation);
+		context.refresh();
+		return context;
+	}
+
+	/** 빈 정의만 등록한(refresh 전) 컨텍스트 */
+	public static GenericApplicationContext prepare(String configLocation) {
+		GenericApplicationContext context;
+		if (!isGenerated(configLocation)) {
+			GenericXmlApplicationContext xml = new GenericXmlApplicationContext();
+			xml.load(toResourceLocation(configLocation));
+			context = xml;
+		} else {
+			context = new GenericApplicationContext();
+			registrationsFor(configLocation).initialize(context);
+		}
+		if (ParallelBeanInitializer.isEnabled()) {
+			ParallelBeanInitializer.enable(context);
+		}
+		return context;
+	}
+
+	/** 생성 코드가 클래스패스에 있고 꺼져 있지 않으면 true */
+	public static boolean isGenerated(String configLocation) {
+		return !"false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY))
+				&& ClassUtils.isPresent(registrationsClassName(configLocation), AotApplicationContexts.class.getClassLoader());
+	}
+
+	//"classpath:mylab-order-di.xml" → myspring.di.aot.MylabOrderDi__BeanFactoryRegistrations
+	public static String registrationsClassName(String configLocation) {
+		return GENERATED_PACKAGE + "." + contextName(configLocation) + REGISTRATIONS_SUFFIX;
+	}
+
+	//"classpath:mylab-order-di.xml" → MylabOrderDi
+	static String contextName(String configLocation) {
+		String file = StringUtils.getFilename(StringUtils.cleanPath(configLocation.substring(configLocation.indexOf(':') + 1)));
+		StringBuilder name = new StringBuilder();
+		for (String part : StringUtils.stripFilenameExtension(file).split("[^A-Za-z0-9]+")) {
+			name.append(StringUtils.capitalize(part));
+		}
+		if (name.length() == 0 || !Character.isJavaIdentifierStart(name.charAt(0))) {
+			name.insert(0, "Context");
+		}
+		return name.toString();
+	}
+
+	static String toResourceLocation(String configLocation) {
+		return configLocation.contains(":") ? configLocation : "classpath:" + configLocation;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static ApplicationContextInitializer<GenericApplicationContext> registrationsFor(String configLocation) {
+		try {
+			Class<?> type = ClassUtils.forName(registrationsClassName(configLocation), AotApplicationContexts.class.getClassLoader());
+			return (ApplicationContextInitializer<GenericApplicationContext>) BeanUtils.instantiateClass(type);
+		} catch (ClassNotFoundException e) {
+			throw new IllegalStateException("no generated registrations for " + configLocation, e);
+		}
+	}
+
+
+	//생성 코드용: ${...} 를 푼다 (PropertySourcesPlaceholderConfigurer 가 등록한 resolver)
+	public static String resolve(ConfigurableBeanFactory beanFactory, String value) {
+		return beanFactory.resolveEmbeddedValue(value);
+	}
+
+	//생성 코드용: 문자열이면 ${...} 를 푼 뒤 type 으로 변환
+	public static <T> T convert(ConfigurableBeanFactory beanFactory, Object value, Class<T> type) {
+		Object resolved = value instanceof String ? resolve(beanFactory, (String) value) : value;
+		return beanFactory.getTypeConverter().convertIfNecessary(resolved, type);
+	}
+
+	//생성 코드용: <ref bean="..."/>, @Resource(name = ...), @Qualifier
+	public static <T> T ref(ConfigurableBeanFactory beanFactory, String beanName, Class<T> type, String dependentBean) {
+		T bean = beanFactory.getBean(beanName, type);
+		beanFactory.registerDependentBean(beanName, dependentBean);
+		return bean;
+	}
+
+	//생성 코드용: @Autowired - 타입으로 찾고(primary 우선), 여러 개면 필드/파라미터 이름과 같은 빈
+	public static <T> T autowire(ConfigurableListableBeanFactory beanFactory, Class<T> type, String fallbackName,
+			boolean required, String dependentBean) {
+		try {
+			NamedBeanHolder<T> holder = beanFactory.resolveNamedBean(type);
+			beanFactory.registerDependentBean(holder.getBeanName(), dependentBean);
+			return holder.getBeanInstance();
+		} catch (NoUniqueBeanDefinitionException e) {
+			if (fallbackName != null && beanFactory.containsBean(fallbackName) && beanFactory.isTypeMatch(fallbackName, type)) {
+				return ref(beanFactory, fallbackName, type, dependentBean);
+			}
+			throw e;
+		} catch (NoSuchBeanDefinitionException e) {
+			if (required) {
+				throw e;
+			}
+			return null;
+		}
+	}
+
+	//생성 코드용: 이름 없는 @Resource - 필드/프로퍼티 이름의 빈이 없으면 타입으로
+	public static <T> T resource(ConfigurableListableBeanFactory beanFactory, String defaultName, Class<T> type,
+			String dependentBean) {
+		if (beanFactory.containsBean(defaultName)) {
+			return ref(beanFactory, defaultName, type, dependentBean);
+		}
+		return autowire(beanFactory, type, null, true, dependentBean);
+	}
+
+	//생성 코드용: private 필드 주입 (그 필드 하나만 리플렉션으로)
+	public static void setField(Object bean, Class<?> declaringClass, String fieldName, Object value) {
+		Field field = ReflectionUtils.findField(declaringClass, fieldName);
+		if (field == null) {
+			throw new IllegalStateException("no field " + declaringClass.getName() + "." + fieldName);
+		}
+		ReflectionUtils.makeAccessible(field);
+		ReflectionUtils.setField(field, bean, value);
+	}
+
+	//생성 코드용: <list> (XML 과 같이 수정 가능한 ArrayList)
+	@SafeVarargs
+	public static <T> List<T> list(T... elements) {
+		return new ArrayList<>(Arrays.asList(elements));
+	}
+
+	//생성 코드용: @PropertySource - 처리 순서의 역순으로 부르면 나중 것이 우선(스프링과 같음)
+	public static void addPropertySource(GenericApplicationContext context, String name, String location,
+			String encoding, boolean ignoreResourceNotFound) {
+		ConfigurableEnvironment environment = context.getEnvironment();
+		String resolved = environment.resolveRequiredPlaceholders(location);
+		EncodedResource resource = new EncodedResource(context.getResource(resolved), encoding);
+		try {
+			environment.getPropertySources().addLast(name.isEmpty()
+					? new ResourcePropertySource(resource) : new ResourcePropertySource(name, resource));
+		} catch (FileNotFoundException | IllegalArgumentException e) {
+			if (!ignoreResourceNotFound) {
+				throw new IllegalStateException("property source not found: " + resolved, e);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("cannot read property source " + resolved, e);
+		}
+	}
+}
@@ -0,0 +1,254 @@
+package myspring.di.support;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * 줄 단위 출력을 백그라운드 스레드 하나가 모아서(batch) 쓰는 비동기 writer.
+ *
+ * - 호출 스레드는 메시지를 고정 크기 링 버퍼(ArrayBlockingQueue)에 넣고 바로 돌아간다.
+ * - writer 스레드가 버퍼를 한 번에 최대 batchSize 개씩 꺼내 인코딩하고(기본 UTF-8),
+ *   하나의 ByteBuffer 에 모아 채널(WritableByteChannel)로 한꺼번에 쓴다.
+ * - 버퍼가 가득 찼을 때의 동작(OverflowPolicy)
+ *   · BLOCK  : 자리가 날 때까지 기다린다(유실 없음).
+ *   · DROP   : 버린다(호출 스레드는 절대 기다리지 않음).
+ *   · SAMPLE : 넘친 메시지 sampleRate 개 중 1개만 기다려서 넣고 나머지는 버린다.
+ * - close() 는 남은 메시지를 모두 쓰고 writer 스레드를 끝낸다.
+ *   넣기(writeLine)는 읽기 잠금, close 는 쓰기 잠금을 잡으므로 closed 를 본 뒤에 들어오는 줄은 없다.
+ *   (writer 스레드는 closed 이고 버퍼가 비었을 때만 끝난다 → 받은 줄은 모두 쓰인다)
+ */
+public class AsyncConsoleWriter implements Flushable, Closeable {
+	private static final Logger log = LogManager.getLogger(AsyncConsoleWriter.class);
+
+	public enum OverflowPolicy { BLOCK, DROP, SAMPLE }
+
+
+	private final ArrayBlockingQueue<String> ring;
+	private final OutputStream out;
+	private final WritableByteChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+	private final CharsetEncoder encoder;
+	private final byte[] lineSeparator;
+	private final OverflowPolicy overflowPolicy;
+	private final int sampleRate;
+	private final int batchSize;
+	private final Thread writerThread;
+
+	private final AtomicLong enqueued = new AtomicLong();
+	private final AtomicLong overflowed = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private final Object writtenMonitor = new Object();
+	private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+	private volatile long written;
+	private volatile boolean closed;
+
+	public AsyncConsoleWriter(OutputStream out, int capacity, int batchSize,
+			OverflowPolicy overflowPolicy, int sampleRate) {
+		this(out, StandardCharsets.UTF_8, capacity, batchSize, overflowPolicy, sampleRate);
+	}
+
+	//System.out 을 감쌀 때는 System.out 과 같은 Charset.defaultCharset() 을 넘긴다
+	public AsyncConsoleWriter(OutputStream out, Charset charset, int capacity, int batchSize,
+			OverflowPolicy overflowPolicy, int sampleRate) {
+		if (capacity < 1 || batchSize < 1 || sampleRate < 1) {
+			throw new IllegalArgumentException("capacity, batchSize and sampleRate must be positive");
+		}
+		this.ring = new ArrayBlockingQueue<>(capacity);
+		this.out = out;
+		this.channel = Channels.newChannel(out);
+		this.encoder = charset.newEncoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.lineSeparator = System.lineSeparator().getBytes(charset);
+		this.batchSize = batchSize;
+		this.overflowPolicy = overflowPolicy;
+		this.sampleRate = sampleRate;
+		this.writerThread = new Thread(this::drainLoop, "async-console-writer");
+		this.writerThread.setDaemon(true);
+		this.writerThread.start();
+	}
+
+	/**
+	 * 한 줄을 출력 대기열에 넣는다.
+	 *
+	 * @return 대기열에 들어갔으면 true, 넘쳐서 버렸으면 false
+	 */
+	public boolean writeLine(String line) {
+		closeLock.readLock().lock();
+		try {
+			if (closed) {
+				throw new IllegalStateException("writer is closed");
+			}
+			boolean accepted;
+			switch (overflowPolicy) {
+				case BLOCK:
+					accepted = put(line);
+					break;
+				case DROP:
+					accepted = ring.offer(line);
+					break;
+				default:
+					accepted = ring.offer(line)
+							|| (overflowed.incrementAndGet() % sampleRate == 0 && put(line));
+			}
+			if (accepted) {
+				enqueued.incrementAndGet();
+			} else {
+				dropped.incrementAndGet();
+			}
+			return accepted;
+		} finally {
+			closeLock.readLock().unlock();
+		}
+	}
+
+	/** 지금까지 넣은 메시지가 모두 쓰일 때까지 기다린다. */
+	@Override
+	public void flush() {
+		long target = enqueued.get();
+		synchronized (writtenMonitor) {
+			while (written < target && writerThread.isAlive()) {
+				try {
+					writtenMonitor.wait(100);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	/** 더 받지 않고, 남은 메시지를 모두 쓴 뒤 writer 스레드를 끝낸다. */
+	@Override
+	public void close() {
+		//넣는 중인 writeLine 이 모두 끝나야 잠금을 얻는다 (BLOCK 으로 기다리는 줄도 writer 스레드가 비워 준다)
+		closeLock.writeLock().lock();
+		try {
+			if (closed) {
+				return;
+			}
+			closed = true;
+		} finally {
+			closeLock.writeLock().unlock();
+		}
+		try {
+			writerThread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		}
+		//writer 스레드가 비정상 종료했으면 남은 줄을 여기서 쓴다
+		List<String> rest = new ArrayList<>();
+		ring.drainTo(rest);
+		if (!rest.isEmpty()) {
+			writeBatch(rest);
+		}
+	}
+
+	/** @return 넘쳐서 버린 메시지 수 */
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	//자리가 날 때까지 기다린다. 비워 줄 writer 스레드가 없으면 포기한다
+	private boolean put(String line) {
+		try {
+			while (!ring.offer(line, 50, TimeUnit.MILLISECONDS)) {
+				if (!writerThread.isAlive()) {
+					return false;
+				}
+			}
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private void drainLoop() {
+		List<String> batch = new ArrayList<>(batchSize);
+		while (true) {
+			String first;
+			try {
+				first = ring.poll(50, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				first = null;
+			}
+			if (first == null) {
+				if (closed && ring.isEmpty()) {
+					return;
+				}
+				continue;
+			}
+			batch.add(first);
+			ring.drainTo(batch, batchSize - 1);
+			writeBatch(batch);
+			batch.clear();
+		}
+	}
+
+	private void writeBatch(List<String> batch) {
+		try {
+			for (String line : batch) {
+				encode(line);
+				if (buffer.remaining() < lineSeparator.length) {
+					drainBuffer();
+				}
+				buffer.put(lineSeparator);
+			}
+			drainBuffer();
+			out.flush();
+		} catch (IOException e) {
+			//출력 대상이 닫혔거나 실패하면 이번 batch 는 버리고 계속 진행한다
+			buffer.clear();
+			dropped.addAndGet(batch.size());
+			log.error("출력 실패, {}줄 버림", box(batch.size()), e);
+		} finally {
+			synchronized (writtenMonitor) {
+				written += batch.size();
+				writtenMonitor.notifyAll();
+			}
+		}
+	}
+
+	private void encode(String line) throws IOException {
+		CharBuffer chars = CharBuffer.wrap(line);
+		encoder.reset();
+		while (encoder.encode(chars, buffer, true).isOverflow()) {
+			drainBuffer();
+		}
+		while (encoder.flush(buffer).isOverflow()) {
+			drainBuffer();
+		}
+	}
+
+	private void drainBuffer() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+}
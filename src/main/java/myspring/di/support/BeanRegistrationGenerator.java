@@ -0,0 +1,775 @@
+package myspring.di.support;
+
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.SimpleTypeConverter;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
+import org.springframework.beans.factory.config.RuntimeBeanNameReference;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.ManagedList;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.context.annotation.ConfigurationClassPostProcessor;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.context.annotation.PropertySources;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * 빌드 때 XML 설정을 자바 빈 등록 코드로 바꾸는 생성기(AOT). pom.xml 의 process-classes 단계에서 실행된다.
+ *
+ * - XML 을 읽고 component-scan / @Configuration(@ComponentScan, @PropertySource) 처리까지 끝낸 빈 정의를
+ *   인스턴스 supplier(new + 주입) 코드로 쓴다. 빈은 만들지 않는다.
+ * - annotation-config 가 켜진 컨텍스트면 @Resource / @Autowired / @Value 주입 지점도 여기서 찾아 코드로 쓴다.
+ *   → 실행 시 XML 파서, 스캐너, 어노테이션 후처리기가 필요 없다.
+ * - 자리표시자(${...})는 실행 시 풀고, 자리표시자 없는 값은 여기서 미리 변환해 리터럴로 쓴다.
+ * - SpEL 은 #{'${key}'.split(',')} 모양만 자바 코드(String.split)로 바꾼다.
+ * - 지원하지 않는 설정(factory-method, autowire 모드, 내부 빈, <map>/<set>, @Bean 메서드, @PostConstruct 등)을
+ *   만나면 어느 빈의 무엇인지 적은 IllegalStateException 으로 빌드를 멈춘다.
+ *
+ *   생성 결과 (spring-beans.xml)
+ *   myspring.di.aot.SpringBeans__BeanFactoryRegistrations : XML 과 같은 순서로 registerBeanDefinition
+ *   myspring.di.aot.SpringBeans__BeanDefinitions          : public 멤버만 쓰는 빈
+ *   myspring.di.annot.SpringBeans__BeanDefinitions        : package-private 필드를 쓰는 HelloBean (같은 패키지여야 접근 가능)
+ *
+ *   java myspring.di.support.BeanRegistrationGenerator <출력 디렉터리> classpath:spring-beans.xml ...
+ */
+public class BeanRegistrationGenerator {
+	private static final Logger log = LogManager.getLogger(BeanRegistrationGenerator.class);
+
+	static final String DEFINITIONS_SUFFIX = "__BeanDefinitions";
+	private static final String SUPPORT = "AotApplicationContexts";
+	private static final Pattern SPLIT_EXPRESSION = Pattern.compile("#\\{'([^']*)'\\.split\\('([^']*)'\\)\\}");
+	//annotation-config 가 등록하는 후처리기: 하는 일을 빌드 때 끝내므로 생성 코드에는 넣지 않는다
+	private static final Set<String> ANNOTATION_PROCESSORS = new HashSet<>(Arrays.asList(
+			AnnotationConfigUtils.CONFIGURATION_ANNOTATION_PROCESSOR_BEAN_NAME,
+			AnnotationConfigUtils.AUTOWIRED_ANNOTATION_PROCESSOR_BEAN_NAME,
+			AnnotationConfigUtils.COMMON_ANNOTATION_PROCESSOR_BEAN_NAME,
+			AnnotationConfigUtils.PERSISTENCE_ANNOTATION_PROCESSOR_BEAN_NAME,
+			AnnotationConfigUtils.EVENT_LISTENER_PROCESSOR_BEAN_NAME,
+			AnnotationConfigUtils.EVENT_LISTENER_FACTORY_BEAN_NAME));
+
+	private final Path outputDirectory;
+	private final ParameterNameDiscoverer parameterNames = new DefaultParameterNameDiscoverer();
+	private final SimpleTypeConverter typeConverter = new SimpleTypeConverter();
+
+	public BeanRegistrationGenerator(Path outputDirectory) {
+		this.outputDirectory = outputDirectory;
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			throw new IllegalArgumentException("usage: BeanRegistrationGenerator <output dir> <config location>...");
+		}
+		Path output = Paths.get(args[0]);
+		FileSystemUtils.deleteRecursively(output);
+		BeanRegistrationGenerator generator = new BeanRegistrationGenerator(output);
+		for (int i = 1; i < args.length; i++) {
+			generator.generate(args[i]);
+		}
+	}
+
+	/** configLocation 하나의 등록 코드를 쓰고 쓴 파일들을 돌려준다. */
+	public List<Path> generate(String configLocation) throws IOException {
+		GenericApplicationContext context = new GenericApplicationContext();
+		new XmlBeanDefinitionReader(context).loadBeanDefinitions(AotApplicationContexts.toResourceLocation(configLocation));
+		DefaultListableBeanFactory beanFactory = context.getDefaultListableBeanFactory();
+		if (beanFactory.containsBeanDefinition(AnnotationConfigUtils.CONFIGURATION_ANNOTATION_PROCESSOR_BEAN_NAME)) {
+			//@Configuration(@ComponentScan, @Import, @ImportResource) 처리 - 실행 시에는 하지 않는다
+			ConfigurationClassPostProcessor processor = new ConfigurationClassPostProcessor();
+			processor.setEnvironment(context.getEnvironment());
+			processor.setResourceLoader(context);
+			processor.setBeanClassLoader(context.getClassLoader());
+			processor.postProcessBeanDefinitionRegistry(beanFactory);
+		}
+
+		ContextWriter writer = new ContextWriter(configLocation, beanFactory);
+		for (String beanName : beanFactory.getBeanDefinitionNames()) {
+			if (!ANNOTATION_PROCESSORS.contains(beanName)) {
+				writer.addBean(beanName);
+			}
+		}
+		List<Path> files = writer.write();
+		log.info("{}: {} beans -> {}", configLocation, writer.registrations.size(), files);
+		return files;
+	}
+
+
+	//컨텍스트 하나: 등록 클래스 1개 + 패키지별 __BeanDefinitions
+	private final class ContextWriter {
+		final String configLocation;
+		final String contextName;
+		final DefaultListableBeanFactory beanFactory;
+		final boolean autowiredAnnotations;
+		final boolean commonAnnotations;
+		final boolean eventListeners;
+		final List<String> registrations = new ArrayList<>();
+		final List<String> propertySources = new ArrayList<>();
+		final Map<String, StringBuilder> definitionsByPackage = new LinkedHashMap<>();
+		final Set<String> methodNames = new HashSet<>();
+
+		ContextWriter(String configLocation, DefaultListableBeanFactory beanFactory) {
+			this.configLocation = configLocation;
+			this.contextName = AotApplicationContexts.contextName(configLocation);
+			this.beanFactory = beanFactory;
+			this.autowiredAnnotations = beanFactory.containsBeanDefinition(AnnotationConfigUtils.AUTOWIRED_ANNOTATION_PROCESSOR_BEAN_NAME);
+			this.commonAnnotations = beanFactory.containsBeanDefinition(AnnotationConfigUtils.COMMON_ANNOTATION_PROCESSOR_BEAN_NAME);
+			this.eventListeners = beanFactory.containsBeanDefinition(AnnotationConfigUtils.EVENT_LISTENER_PROCESSOR_BEAN_NAME);
+		}
+
+		void addBean(String beanName) {
+			BeanDefinition merged = beanFactory.getMergedBeanDefinition(beanName);
+			if (merged.isAbstract()) {
+				return;
+			}
+			BeanWriter bean = new BeanWriter(this, beanName, (RootBeanDefinition) merged);
+			String pkg = bean.write();
+			String methodName = uniqueMethodName(pkg, beanName);
+			definitionsByPackage.computeIfAbsent(pkg, p -> new StringBuilder())
+					.append(bean.toMethod(methodName));
+			registrations.add("\t\tbeanFactory.registerBeanDefinition(" + quote(beanName) + ", "
+					+ pkg + "." + contextName + DEFINITIONS_SUFFIX + "." + methodName + "(beanFactory));\n");
+			for (String alias : beanFactory.getAliases(beanName)) {
+				registrations.add("\t\tbeanFactory.registerAlias(" + quote(beanName) + ", " + quote(alias) + ");\n");
+			}
+			if (bean.configurationClass) {
+				addPropertySources(bean.beanClass);
+			}
+		}
+
+		//같은 클래스에서 나중에 처리된 @PropertySource 가 앞선다 → 역순으로 addLast
+		void addPropertySources(Class<?> configClass) {
+			for (PropertySource source : AnnotatedElementUtils.getMergedRepeatableAnnotations(
+					configClass, PropertySource.class, PropertySources.class)) {
+				if (source.factory() != org.springframework.core.io.support.PropertySourceFactory.class
+						&& source.factory() != org.springframework.core.io.support.DefaultPropertySourceFactory.class) {
+					throw unsupported(configClass.getName(), "@PropertySource factory " + source.factory().getName());
+				}
+				for (String location : source.value()) {
+					propertySources.add(0, "\t\t" + SUPPORT + ".addPropertySource(context, " + quote(source.name()) + ", "
+							+ quote(location) + ", " + (source.encoding().isEmpty() ? "null" : quote(source.encoding()))
+							+ ", " + source.ignoreResourceNotFound() + ");\n");
+				}
+			}
+		}
+
+		String uniqueMethodName(String pkg, String beanName) {
+			String base = "get" + StringUtils.capitalize(identifier(beanName)) + "BeanDefinition";
+			String name = base;
+			for (int i = 2; !methodNames.add(pkg + "." + name); i++) {
+				name = base + i;
+			}
+			return name;
+		}
+
+		List<Path> write() throws IOException {
+			List<Path> files = new ArrayList<>();
+			for (Map.Entry<String, StringBuilder> entry : definitionsByPackage.entrySet()) {
+				files.add(writeClass(entry.getKey(), contextName + DEFINITIONS_SUFFIX,
+						configLocation + " 의 빈 정의",
+						"public final class " + contextName + DEFINITIONS_SUFFIX + " {\n"
+						+ "\tprivate " + contextName + DEFINITIONS_SUFFIX + "() {\n\t}\n"
+						+ entry.getValue() + "}\n"));
+			}
+			StringBuilder body = new StringBuilder();
+			body.append("public final class ").append(contextName).append(AotApplicationContexts.REGISTRATIONS_SUFFIX)
+					.append(" implements ApplicationContextInitializer<GenericApplicationContext> {\n")
+					.append("\t@Override\n\tpublic void initialize(GenericApplicationContext context) {\n")
+					.append("\t\tDefaultListableBeanFactory beanFactory = context.getDefaultListableBeanFactory();\n");
+			propertySources.forEach(body::append);
+			registrations.forEach(body::append);
+			body.append("\t}\n}\n");
+			files.add(writeClass(AotApplicationContexts.GENERATED_PACKAGE, contextName + AotApplicationContexts.REGISTRATIONS_SUFFIX,
+					configLocation + " 을 대신하는 빈 등록", body.toString()));
+			return files;
+		}
+
+		Path writeClass(String pkg, String className, String description, String body) throws IOException {
+			String source = "package " + pkg + ";\n\n"
+					+ "import org.springframework.beans.factory.support.DefaultListableBeanFactory;\n"
+					+ "import org.springframework.beans.factory.support.RootBeanDefinition;\n"
+					+ "import org.springframework.context.ApplicationContextInitializer;\n"
+					+ "import org.springframework.context.support.GenericApplicationContext;\n\n"
+					+ "import myspring.di.support." + SUPPORT + ";\n\n"
+					+ "/**\n * " + description.replace("*/", "* /") + " (BeanRegistrationGenerator 가 생성, 고치지 말 것).\n */\n"
+					+ "@SuppressWarnings({\"unchecked\", \"rawtypes\", \"unused\"})\n"
+					+ body;
+			Path file = outputDirectory.resolve(pkg.replace('.', '/')).resolve(className + ".java");
+			Files.createDirectories(file.getParent());
+			Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+			return file;
+		}
+	}
+
+
+	//빈 하나: instance supplier 본문과 빈 정의 속성
+	private final class BeanWriter {
+		final ContextWriter context;
+		final String beanName;
+		final RootBeanDefinition definition;
+		final Class<?> beanClass;
+		final boolean configurationClass;
+		final StringBuilder supplier = new StringBuilder();
+		String requiredPackage;
+
+		BeanWriter(ContextWriter context, String beanName, RootBeanDefinition definition) {
+			this.context = context;
+			this.beanName = beanName;
+			this.definition = definition;
+			try {
+				this.beanClass = definition.resolveBeanClass(ClassUtils.getDefaultClassLoader());
+			} catch (ClassNotFoundException e) {
+				throw new IllegalStateException("bean '" + beanName + "': " + e.getMessage(), e);
+			}
+			this.configurationClass = definition.hasAttribute(
+					"org.springframework.context.annotation.ConfigurationClassPostProcessor.configurationClass");
+		}
+
+		//본문을 만들고 생성 클래스가 놓일 패키지를 돌려준다
+		String write() {
+			check(definition.getFactoryMethodName() == null && definition.getFactoryBeanName() == null, "factory-method");
+			check(definition.getResolvedAutowireMode() == AbstractBeanDefinition.AUTOWIRE_NO, "autowire mode");
+			check(!definition.hasMethodOverrides(), "lookup-method / replaced-method");
+			check(definition.getQualifiers().isEmpty(), "<qualifier>");
+			check(beanClass != null, "bean class");
+			String type = typeName(beanClass);
+
+			supplier.append("\t\t\t").append(type).append(" bean = new ").append(type).append("(")
+					.append(constructorArguments()).append(");\n");
+			if (context.commonAnnotations || context.autowiredAnnotations || context.eventListeners) {
+				annotationInjection();
+			}
+			for (PropertyValue property : definition.getPropertyValues().getPropertyValueList()) {
+				propertyInjection(property);
+			}
+			supplier.append("\t\t\treturn bean;\n");
+			return requiredPackage != null ? requiredPackage : AotApplicationContexts.GENERATED_PACKAGE;
+		}
+
+		String toMethod(String methodName) {
+			StringBuilder method = new StringBuilder();
+			method.append("\n\t/** ").append(comment(beanName)).append(" */\n")
+					.append("\tpublic static RootBeanDefinition ").append(methodName)
+					.append("(DefaultListableBeanFactory beanFactory) {\n")
+					.append("\t\tRootBeanDefinition beanDefinition = new RootBeanDefinition(")
+					.append(typeName(beanClass)).append(".class, () -> {\n")
+					.append(supplier)
+					.append("\t\t});\n");
+			if (!definition.isSingleton()) {
+				method.append("\t\tbeanDefinition.setScope(").append(quote(definition.getScope())).append(");\n");
+			}
+			if (definition.isLazyInit()) {
+				method.append("\t\tbeanDefinition.setLazyInit(true);\n");
+			}
+			if (definition.isPrimary()) {
+				method.append("\t\tbeanDefinition.setPrimary(true);\n");
+			}
+			if (!definition.isAutowireCandidate()) {
+				method.append("\t\tbeanDefinition.setAutowireCandidate(false);\n");
+			}
+			if (definition.getRole() != BeanDefinition.ROLE_APPLICATION) {
+				method.append("\t\tbeanDefinition.setRole(org.springframework.beans.factory.config.BeanDefinition.")
+						.append(definition.getRole() == BeanDefinition.ROLE_SUPPORT ? "ROLE_SUPPORT" : "ROLE_INFRASTRUCTURE").append(");\n");
+			}
+			if (definition.getDependsOn() != null && definition.getDependsOn().length > 0) {
+				method.append("\t\tbeanDefinition.setDependsOn(").append(stringArray(definition.getDependsOn())).append(");\n");
+			}
+			if (definition.getInitMethodName() != null) {
+				method.append("\t\tbeanDefinition.setInitMethodName(").append(quote(definition.getInitMethodName())).append(");\n");
+			}
+			if (definition.getDestroyMethodName() != null) {
+				method.append("\t\tbeanDefinition.setDestroyMethodName(").append(quote(definition.getDestroyMethodName())).append(");\n");
+			}
+			method.append("\t\treturn beanDefinition;\n\t}\n");
+			return method.toString();
+		}
+
+		// ---- 생성자 ----
+
+		String constructorArguments() {
+			int count = definition.getConstructorArgumentValues().getArgumentCount();
+			if (count == 0) {
+				Constructor<?> constructor = defaultConstructor();
+				return constructor == null ? "" : autowiredArguments(constructor);
+			}
+			List<Constructor<?>> candidates = new ArrayList<>();
+			for (Constructor<?> constructor : beanClass.getDeclaredConstructors()) {
+				if (constructor.getParameterCount() == count && !Modifier.isPrivate(constructor.getModifiers())) {
+					candidates.add(constructor);
+				}
+			}
+			if (candidates.size() != 1) {
+				throw unsupported(beanName, candidates.size() + " constructors with " + count + " arguments");
+			}
+			Constructor<?> constructor = candidates.get(0);
+			access(constructor.getModifiers(), beanClass);
+			List<ValueHolder> generic = new ArrayList<>(definition.getConstructorArgumentValues().getGenericArgumentValues());
+			List<String> arguments = new ArrayList<>();
+			for (int i = 0; i < count; i++) {
+				ValueHolder holder = definition.getConstructorArgumentValues().getIndexedArgumentValue(i, null);
+				if (holder == null) {
+					holder = generic.remove(0);
+				}
+				check(holder.getName() == null, "<constructor-arg name>");
+				arguments.add(value(holder.getValue(), ResolvableType.forConstructorParameter(constructor, i),
+						"constructor argument " + i));
+			}
+			return String.join(", ", arguments);
+		}
+
+		//기본 생성자가 있으면 null, 없으면 (annotation-config 에서) @Autowired 또는 하나뿐인 생성자
+		Constructor<?> defaultConstructor() {
+			Constructor<?>[] constructors = beanClass.getDeclaredConstructors();
+			Constructor<?> autowired = null;
+			for (Constructor<?> constructor : constructors) {
+				if (constructor.getParameterCount() > 0 && AnnotatedElementUtils.hasAnnotation(constructor, Autowired.class)) {
+					autowired = constructor;
+				}
+			}
+			if (autowired == null && constructors.length == 1 && constructors[0].getParameterCount() > 0) {
+				autowired = constructors[0];
+			}
+			if (autowired != null && context.autowiredAnnotations) {
+				access(autowired.getModifiers(), beanClass);
+				return autowired;
+			}
+			try {
+				Constructor<?> constructor = beanClass.getDeclaredConstructor();
+				access(constructor.getModifiers(), beanClass);
+				return null;
+			} catch (NoSuchMethodException e) {
+				throw unsupported(beanName, "no default constructor");
+			}
+		}
+
+		// ---- 어노테이션 주입 (CommonAnnotationBeanPostProcessor → AutowiredAnnotationBeanPostProcessor 순서) ----
+
+		void annotationInjection() {
+			List<Class<?>> hierarchy = new ArrayList<>();
+			for (Class<?> type = beanClass; type != null && type != Object.class; type = type.getSuperclass()) {
+				hierarchy.add(0, type);
+			}
+			for (Class<?> type : hierarchy) {
+				for (Method method : type.getDeclaredMethods()) {
+					if (context.commonAnnotations && (method.isAnnotationPresent(PostConstruct.class) || method.isAnnotationPresent(PreDestroy.class))) {
+						throw unsupported(beanName, "@PostConstruct/@PreDestroy on " + method.getName() + " (use InitializingBean/DisposableBean)");
+					}
+					if (context.eventListeners && AnnotatedElementUtils.hasAnnotation(method, EventListener.class)) {
+						throw unsupported(beanName, "@EventListener on " + method.getName());
+					}
+				}
+			}
+			if (context.commonAnnotations) {
+				for (Class<?> type : hierarchy) {
+					for (Field field : injectableFields(type)) {
+						Resource resource = field.getAnnotation(Resource.class);
+						if (resource != null) {
+							assign(field, resourceValue(resource, field.getName(), field.getType()));
+						}
+					}
+					for (Method method : injectableMethods(type)) {
+						Resource resource = method.getAnnotation(Resource.class);
+						if (resource != null) {
+							check(method.getParameterCount() == 1, "@Resource method " + method.getName());
+							String name = method.getName().startsWith("set")
+									? Introspector.decapitalize(method.getName().substring(3)) : method.getName();
+							invoke(method, resourceValue(resource, name, method.getParameterTypes()[0]));
+						}
+					}
+				}
+			}
+			if (context.autowiredAnnotations) {
+				for (Class<?> type : hierarchy) {
+					for (Field field : injectableFields(type)) {
+						Value value = AnnotatedElementUtils.findMergedAnnotation(field, Value.class);
+						Autowired autowired = AnnotatedElementUtils.findMergedAnnotation(field, Autowired.class);
+						if (value != null) {
+							assign(field, stringValue(value.value(), ResolvableType.forField(field, beanClass), "@Value " + field.getName()));
+						} else if (autowired != null) {
+							assign(field, dependency(field.getType(), field.getName(),
+									AnnotatedElementUtils.findMergedAnnotation(field, Qualifier.class), autowired.required()));
+						}
+					}
+					for (Method method : injectableMethods(type)) {
+						Value value = AnnotatedElementUtils.findMergedAnnotation(method, Value.class);
+						Autowired autowired = AnnotatedElementUtils.findMergedAnnotation(method, Autowired.class);
+						if (value != null || autowired != null) {
+							invoke(method, autowiredArguments(method, value, autowired == null || autowired.required()));
+						}
+					}
+				}
+			}
+		}
+
+		List<Field> injectableFields(Class<?> type) {
+			List<Field> fields = new ArrayList<>();
+			for (Field field : type.getDeclaredFields()) {
+				if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+					fields.add(field);
+				}
+			}
+			return fields;
+		}
+
+		//덮어쓴 메서드는 가장 구체적인 것 한 번만
+		List<Method> injectableMethods(Class<?> type) {
+			List<Method> methods = new ArrayList<>();
+			for (Method method : type.getDeclaredMethods()) {
+				if (!Modifier.isStatic(method.getModifiers()) && !method.isBridge() && !method.isSynthetic()
+						&& method.equals(ClassUtils.getMostSpecificMethod(method, beanClass))) {
+					methods.add(method);
+				}
+			}
+			methods.sort((a, b) -> a.getName().compareTo(b.getName()));
+			return methods;
+		}
+
+		String resourceValue(Resource resource, String defaultName, Class<?> declaredType) {
+			Class<?> type = resource.type() == Object.class ? declaredType : resource.type();
+			if (resource.name().isEmpty()) {
+				return SUPPORT + ".resource(beanFactory, " + quote(defaultName) + ", " + classLiteral(type) + ", " + quote(beanName) + ")";
+			}
+			return SUPPORT + ".ref(beanFactory, " + stringValue(resource.name(), ResolvableType.forClass(String.class), "@Resource name")
+					+ ", " + classLiteral(type) + ", " + quote(beanName) + ")";
+		}
+
+		String autowiredArguments(Executable executable) {
+			return autowiredArguments(executable, null, true);
+		}
+
+		String autowiredArguments(Executable executable, Value methodValue, boolean required) {
+			String[] names = executable instanceof Method
+					? parameterNames.getParameterNames((Method) executable)
+					: parameterNames.getParameterNames((Constructor<?>) executable);
+			Parameter[] parameters = executable.getParameters();
+			List<String> arguments = new ArrayList<>();
+			for (int i = 0; i < parameters.length; i++) {
+				Value value = AnnotatedElementUtils.findMergedAnnotation(parameters[i], Value.class);
+				if (value == null) {
+					value = methodValue;
+				}
+				if (value != null) {
+					arguments.add(stringValue(value.value(), ResolvableType.forMethodParameter(MethodParameter.forExecutable(executable, i), beanClass),
+							"@Value parameter " + i));
+				} else {
+					arguments.add(dependency(parameters[i].getType(), names == null ? null : names[i],
+							AnnotatedElementUtils.findMergedAnnotation(parameters[i], Qualifier.class), required));
+				}
+			}
+			return String.join(", ", arguments);
+		}
+
+		String dependency(Class<?> type, String name, Qualifier qualifier, boolean required) {
+			if (type.isArray() || Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)
+					|| type == Optional.class || ObjectFactory.class.isAssignableFrom(type)) {
+				throw unsupported(beanName, "@Autowired " + type.getSimpleName() + " " + name);
+			}
+			if (qualifier != null) {
+				String ref = SUPPORT + ".ref(beanFactory, " + quote(qualifier.value()) + ", " + classLiteral(type) + ", " + quote(beanName) + ")";
+				return required ? ref : "(beanFactory.containsBean(" + quote(qualifier.value()) + ") ? " + ref + " : null)";
+			}
+			return SUPPORT + ".autowire(beanFactory, " + classLiteral(type) + ", " + (name == null ? "null" : quote(name))
+					+ ", " + required + ", " + quote(beanName) + ")";
+		}
+
+		void assign(Field field, String value) {
+			check(!Modifier.isFinal(field.getModifiers()), "final field " + field.getName());
+			if (Modifier.isPrivate(field.getModifiers())) {
+				supplier.append("\t\t\t").append(SUPPORT).append(".setField(bean, ").append(classLiteral(field.getDeclaringClass()))
+						.append(", ").append(quote(field.getName())).append(", ").append(value).append(");\n");
+			} else {
+				access(field.getModifiers(), field.getDeclaringClass());
+				supplier.append("\t\t\tbean.").append(field.getName()).append(" = ").append(value).append(";\n");
+			}
+		}
+
+		void invoke(Method method, String arguments) {
+			check(!Modifier.isPrivate(method.getModifiers()), "private method " + method.getName());
+			access(method.getModifiers(), method.getDeclaringClass());
+			supplier.append("\t\t\tbean.").append(method.getName()).append("(").append(arguments).append(");\n");
+		}
+
+		// ---- XML <property> ----
+
+		void propertyInjection(PropertyValue property) {
+			String name = property.getName();
+			check(name.indexOf('.') < 0 && name.indexOf('[') < 0, "nested property " + name);
+			PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(beanClass, name);
+			if (descriptor == null || descriptor.getWriteMethod() == null) {
+				throw unsupported(beanName, "no setter for property '" + name + "'");
+			}
+			Method setter = descriptor.getWriteMethod();
+			access(setter.getModifiers(), setter.getDeclaringClass());
+			supplier.append("\t\t\tbean.").append(setter.getName()).append("(")
+					.append(value(property.getValue(), ResolvableType.forMethodParameter(setter, 0, beanClass), "property " + name))
+					.append(");\n");
+		}
+
+		// ---- 값 → 자바 식 ----
+
+		String value(Object value, ResolvableType type, String where) {
+			if (value instanceof RuntimeBeanReference) {
+				RuntimeBeanReference reference = (RuntimeBeanReference) value;
+				check(!reference.isToParent(), "<ref parent>");
+				return SUPPORT + ".ref(beanFactory, " + quote(reference.getBeanName()) + ", "
+						+ classLiteral(type.resolve(Object.class)) + ", " + quote(beanName) + ")";
+			}
+			if (value instanceof RuntimeBeanNameReference) {
+				return quote(((RuntimeBeanNameReference) value).getBeanName());
+			}
+			if (value instanceof TypedStringValue) {
+				TypedStringValue typed = (TypedStringValue) value;
+				check(!typed.hasTargetType() && typed.getTargetTypeName() == null, "typed <value> in " + where);
+				return stringValue(typed.getValue(), type, where);
+			}
+			if (value instanceof ManagedList) {
+				ResolvableType elementType = type.asCollection().getGeneric(0);
+				check(type.resolve(Object.class).isAssignableFrom(ArrayList.class), "<list> for " + type + " in " + where);
+				List<String> elements = new ArrayList<>();
+				for (Object element : (ManagedList<?>) value) {
+					elements.add(value(element, elementType, where));
+				}
+				return SUPPORT + ".list(" + String.join(", ", elements) + ")";
+			}
+			if (value instanceof String) {
+				return stringValue((String) value, type, where);
+			}
+			if (value instanceof String[]) {
+				List<String> elements = new ArrayList<>();
+				for (String element : (String[]) value) {
+					elements.add(stringValue(element, ResolvableType.forClass(String.class), where));
+				}
+				String array = "new String[] {" + String.join(", ", elements) + "}";
+				return type.resolve() == String[].class ? array
+						: SUPPORT + ".convert(beanFactory, " + array + ", " + classLiteral(type.resolve(Object.class)) + ")";
+			}
+			if (value instanceof Boolean || value instanceof Number || value instanceof Character) {
+				Class<?> target = type.resolve(Object.class);
+				if (ClassUtils.resolvePrimitiveIfNecessary(target) == value.getClass()) {
+					return literal(value);
+				}
+				return SUPPORT + ".convert(beanFactory, " + literal(value) + ", " + classLiteral(target) + ")";
+			}
+			if (value instanceof BeanDefinitionHolder || value instanceof BeanDefinition) {
+				throw unsupported(beanName, "inner bean in " + where);
+			}
+			throw unsupported(beanName, (value == null ? "null" : value.getClass().getSimpleName()) + " in " + where);
+		}
+
+		//문자열 값: ${...} 는 실행 시 풀고, 나머지는 지금 변환해서 리터럴로
+		String stringValue(String raw, ResolvableType type, String where) {
+			if (raw == null) {
+				return "null";
+			}
+			Class<?> target = type.resolve(Object.class);
+			if (raw.contains("#{")) {
+				return expression(raw, target, where);
+			}
+			boolean placeholder = raw.contains("${");
+			if (target == String.class || target == Object.class) {
+				return placeholder ? SUPPORT + ".resolve(beanFactory, " + quote(raw) + ")" : quote(raw);
+			}
+			if (!placeholder && (ClassUtils.isPrimitiveOrWrapper(target) || target.isEnum())) {
+				try {
+					return literal(typeConverter.convertIfNecessary(raw, target));
+				} catch (RuntimeException e) {
+					throw new IllegalStateException("bean '" + beanName + "' " + where + ": cannot convert '" + raw + "' to "
+							+ target.getName(), e);
+				}
+			}
+			return SUPPORT + ".convert(beanFactory, " + quote(raw) + ", " + classLiteral(target) + ")";
+		}
+
+		//SpEL 은 #{'...'.split('...')} 만 → String.split
+		String expression(String raw, Class<?> target, String where) {
+			Matcher matcher = SPLIT_EXPRESSION.matcher(raw);
+			if (!matcher.matches()) {
+				throw unsupported(beanName, "SpEL " + raw + " in " + where + " (only #{'...'.split('...')})");
+			}
+			String source = matcher.group(1).contains("${")
+					? SUPPORT + ".resolve(beanFactory, " + quote(matcher.group(1)) + ")" : quote(matcher.group(1));
+			String array = source + ".split(" + quote(matcher.group(2)) + ")";
+			if (target == String[].class) {
+				return array;
+			}
+			if (target.isAssignableFrom(ArrayList.class)) {
+				return SUPPORT + ".list(" + array + ")";
+			}
+			return SUPPORT + ".convert(beanFactory, " + array + ", " + classLiteral(target) + ")";
+		}
+
+		// ---- 접근 / 이름 ----
+
+		String classLiteral(Class<?> type) {
+			return typeName(type) + ".class";
+		}
+
+		String typeName(Class<?> type) {
+			Class<?> component = type;
+			while (component.isArray()) {
+				component = component.getComponentType();
+			}
+			for (Class<?> c = component; c != null; c = c.getEnclosingClass()) {
+				access(c.getModifiers(), c);
+			}
+			String name = type.getCanonicalName();
+			if (name == null) {
+				throw unsupported(beanName, "local or anonymous class " + type.getName());
+			}
+			return name;
+		}
+
+		//public 이 아니면 생성 코드가 그 패키지에 있어야 한다
+		void access(int modifiers, Class<?> owner) {
+			if (Modifier.isPublic(modifiers) || owner.isPrimitive()) {
+				return;
+			}
+			check(!Modifier.isPrivate(modifiers), "private member of " + owner.getName());
+			String pkg = ClassUtils.getPackageName(owner);
+			if (requiredPackage != null && !requiredPackage.equals(pkg)) {
+				throw unsupported(beanName, "package-private members in both " + requiredPackage + " and " + pkg);
+			}
+			requiredPackage = pkg;
+		}
+
+		void check(boolean supported, String what) {
+			if (!supported) {
+				throw unsupported(beanName, what);
+			}
+		}
+	}
+
+
+	static IllegalStateException unsupported(String beanName, String what) {
+		return new IllegalStateException("bean '" + beanName + "': unsupported ahead of time: " + what);
+	}
+
+	static String identifier(String beanName) {
+		String name = beanName.substring(beanName.lastIndexOf('.') + 1);
+		StringBuilder identifier = new StringBuilder();
+		for (char c : name.toCharArray()) {
+			if (Character.isJavaIdentifierPart(c) && c < 0x80) {
+				identifier.append(c);
+			} else if (c != '#') {
+				identifier.append('_');
+			}
+		}
+		return identifier.length() == 0 ? "bean" : identifier.toString();
+	}
+
+	static String literal(Object value) {
+		if (value instanceof String) {
+			return quote((String) value);
+		}
+		if (value instanceof Enum) {
+			return ((Enum<?>) value).getDeclaringClass().getCanonicalName() + "." + ((Enum<?>) value).name();
+		}
+		if (value instanceof Character) {
+			String quoted = quote(String.valueOf(value));
+			return "'" + (value.equals('\'') ? "\\'" : quoted.substring(1, quoted.length() - 1).replace("\\\"", "\"")) + "'";
+		}
+		if (value instanceof Double) {
+			Double d = (Double) value;
+			return d.isNaN() ? "Double.NaN" : d.isInfinite() ? (d > 0 ? "Double.POSITIVE_INFINITY" : "Double.NEGATIVE_INFINITY") : d + "d";
+		}
+		if (value instanceof Float) {
+			Float f = (Float) value;
+			return f.isNaN() ? "Float.NaN" : f.isInfinite() ? (f > 0 ? "Float.POSITIVE_INFINITY" : "Float.NEGATIVE_INFINITY") : f + "f";
+		}
+		if (value instanceof Long) {
+			return value + "L";
+		}
+		if (value instanceof Short) {
+			return "(short) " + value;
+		}
+		if (value instanceof Byte) {
+			return "(byte) " + value;
+		}
+		return String.valueOf(value);
+	}
+
+	//ASCII 밖의 문자와 제어 문자는 escape (유니코드 escape 는 줄바꿈/따옴표에 쓰면 안 된다)
+	static String quote(String value) {
+		StringBuilder quoted = new StringBuilder("\"");
+		for (char c : value.toCharArray()) {
+			switch (c) {
+				case '"': quoted.append("\\\""); break;
+				case '\\': quoted.append("\\\\"); break;
+				case '\n': quoted.append("\\n"); break;
+				case '\r': quoted.append("\\r"); break;
+				case '\t': quoted.append("\\t"); break;
+				default:
+					if (c < 0x20) {
+						quoted.append(String.format("\\%03o", (int) c));
+					} else if (c >= 0x7f) {
+						quoted.append(String.format("\\u%04x", (int) c));
+					} else {
+						quoted.append(c);
+					}
+			}
+		}
+		return quoted.append('"').toString();
+	}
+
+	static String stringArray(String[] values) {
+		List<String> quoted = new ArrayList<>();
+		for (String value : values) {
+			quoted.add(quote(value));
+		}
+		return "new String[] {" + String.join(", ", quoted) + "}";
+	}
+
+	static String comment(String text) {
+		String quoted = quote(text);
+		return quoted.substring(1, quoted.length() - 1).replace("*/", "* /");
+	}
+}
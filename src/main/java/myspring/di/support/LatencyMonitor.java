@@ -0,0 +1,169 @@
+package myspring.di.support;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.HdrHistogram.Histogram;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jmx.export.MBeanExportOperations;
+
+/**
+ * 메서드별 지연 시간 모음(MethodLatency) + AOP interceptor + 주기 출력 + JMX 등록.
+ *
+ * - invoke(): 호출 앞뒤로 System.nanoTime 을 재서 그 메서드의 MethodLatency 에 기록한다.
+ *   MethodLatency 는 Method 를 키로 한 번만 만든다(이후 호출은 map 조회 한 번).
+ * - mbeanExporter 가 있으면 새 MethodLatency 를 "myspring.latency:type=Method,name=클래스.메서드(인자)" 로 등록한다.
+ *   이 객체 자신은 MBeanExporter 설정에서 "myspring.latency:type=LatencyMonitor" 로 노출한다(report, reset).
+ * - dumpIntervalSeconds > 0 이면 그 주기마다 지난 주기에 호출된 메서드의 표를 로그로 남긴다.
+ */
+public class LatencyMonitor implements MethodInterceptor, InitializingBean, DisposableBean {
+	public static final String JMX_DOMAIN = "myspring.latency";
+
+	private static final Logger log = LogManager.getLogger(LatencyMonitor.class);
+	private static final String HEADER = String.format("%-60s %9s %6s %10s %10s %10s %10s",
+			"method", "count", "errors", "p50(us)", "p99(us)", "p99.9(us)", "max(us)");
+
+	private final ConcurrentHashMap<Method, MethodLatency> methods = new ConcurrentHashMap<>();
+	private MBeanExportOperations mbeanExporter;
+	private long dumpIntervalSeconds;
+	private ScheduledExecutorService dumper;
+
+	public void setMbeanExporter(MBeanExportOperations mbeanExporter) { this.mbeanExporter = mbeanExporter; }
+
+	public long getDumpIntervalSeconds() { return dumpIntervalSeconds; }
+	public void setDumpIntervalSeconds(long dumpIntervalSeconds) { this.dumpIntervalSeconds = dumpIntervalSeconds; }
+
+	@Override
+	public void afterPropertiesSet() {
+		if (dumpIntervalSeconds > 0) {
+			dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+				Thread t = new Thread(r, "latency-monitor-dump");
+				t.setDaemon(true);
+				return t;
+			});
+			dumper.scheduleAtFixedRate(this::dump, dumpIntervalSeconds, dumpIntervalSeconds, TimeUnit.SECONDS);
+		}
+	}
+
+	@Override
+	public void destroy() {
+		if (dumper != null) {
+			dumper.shutdown();
+			dump();
+		}
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		MethodLatency latency = methods.get(invocation.getMethod());
+		if (latency == null) {
+			latency = register(invocation.getMethod(), AopUtils.getTargetClass(invocation.getThis()));
+		}
+		long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			Object result = invocation.proceed();
+			failed = false;
+			return result;
+		} finally {
+			latency.record(System.nanoTime() - start, failed);
+		}
+	}
+
+	private MethodLatency register(Method method, Class<?> targetClass) {
+		boolean[] created = new boolean[1];
+		MethodLatency latency = methods.computeIfAbsent(method, m -> {
+			created[0] = true;
+			return new MethodLatency(nameOf(m, targetClass));
+		});
+		if (created[0] && mbeanExporter != null) {
+			try {
+				mbeanExporter.registerManagedResource(latency, objectNameOf(latency.getName()));
+			} catch (RuntimeException e) {
+				log.warn("JMX 등록 실패: {}", latency.getName(), e);
+			}
+		}
+		return latency;
+	}
+
+	static String nameOf(Method method, Class<?> targetClass) {
+		StringBuilder sb = new StringBuilder(targetClass.getSimpleName()).append('.').append(method.getName()).append('(');
+		Class<?>[] types = method.getParameterTypes();
+		for (int i = 0; i < types.length; i++) {
+			sb.append(i == 0 ? "" : ",").append(types[i].getSimpleName());
+		}
+		return sb.append(')').toString();
+	}
+
+	static ObjectName objectNameOf(String methodName) {
+		try {
+			return new ObjectName(JMX_DOMAIN + ":type=Method,name=" + ObjectName.quote(methodName));
+		} catch (MalformedObjectNameException e) {
+			throw new IllegalArgumentException(methodName, e);
+		}
+	}
+
+	/** @return 기록된 메서드 이름으로 찾은 MethodLatency, 없으면 null */
+	public MethodLatency getLatency(String name) {
+		for (MethodLatency latency : methods.values()) {
+			if (latency.getName().equals(name)) {
+				return latency;
+			}
+		}
+		return null;
+	}
+
+	public List<MethodLatency> getLatencies() {
+		List<MethodLatency> list = new ArrayList<>(methods.values());
+		list.sort(Comparator.comparing(MethodLatency::getName));
+		return list;
+	}
+
+	public int getMethodCount() { return methods.size(); }
+
+	/** @return 처음부터의 누적 표 (JMX 속성 Report) */
+	public String getReport() {
+		StringBuilder sb = new StringBuilder(HEADER);
+		for (MethodLatency latency : getLatencies()) {
+			sb.append('\n').append(latency);
+		}
+		return sb.toString();
+	}
+
+	/** 지난 주기에 호출된 메서드만 로그로 남긴다. */
+	public void dump() {
+		StringBuilder sb = new StringBuilder();
+		long[] errors = new long[1];
+		for (MethodLatency latency : getLatencies()) {
+			Histogram interval = latency.takeInterval(errors);
+			if (interval.getTotalCount() > 0) {
+				sb.append('\n').append(MethodLatency.format(latency.getName(), interval.getTotalCount(), errors[0], interval));
+			}
+		}
+		if (sb.length() > 0) {
+			log.info("method latency (last interval)\n{}{}", HEADER, sb);
+		}
+	}
+
+	/** 모든 메서드의 누적 값을 지운다. */
+	public void reset() {
+		for (MethodLatency latency : methods.values()) {
+			latency.reset();
+		}
+	}
+}
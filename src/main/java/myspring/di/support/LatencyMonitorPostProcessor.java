@@ -0,0 +1,105 @@
+package myspring.di.support;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.ClassUtils;
+
+/**
+ * packages 로 시작하는 패키지의 빈을 프록시로 감싸 LatencyMonitor 로 메서드 시간을 잰다.
+ *
+ * - 대상: packages 안의 클래스가 선언한 public 메서드. equals/hashCode/toString 과 getter/setter 는 뺀다.
+ *   재려는 메서드가 하나도 없는 빈(값 객체 등)은 프록시로 감싸지 않는다.
+ * - 인터페이스가 없는 빈이 많아서 클래스 프록시(CGLIB)를 쓴다. final 클래스는 건너뛴다.
+ *
+ *   예) spring-metrics.xml
+ *   <bean class="myspring.di.support.LatencyMonitorPostProcessor">
+ *     <property name="latencyMonitor" ref="latencyMonitor"/>
+ *     <property name="packages" value="mylab,myspring"/>
+ *   </bean>
+ */
+public class LatencyMonitorPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor implements InitializingBean {
+	private LatencyMonitor latencyMonitor;
+	private String[] packages = new String[0];
+
+	public LatencyMonitorPostProcessor() {
+		setProxyTargetClass(true);
+		//다른 프록시(@Transactional 등)가 이미 있으면 그 advisor 목록에 더한다
+		setBeforeExistingAdvisors(false);
+	}
+
+	public void setLatencyMonitor(LatencyMonitor latencyMonitor) { this.latencyMonitor = latencyMonitor; }
+
+	//"mylab", "myspring", "mylab.order" 처럼 패키지 접두어 (쉼표로 여러 개)
+	public void setPackages(String[] packages) {
+		this.packages = new String[packages.length];
+		for (int i = 0; i < packages.length; i++) {
+			String p = packages[i].trim();
+			this.packages[i] = p.endsWith(".") ? p : p + ".";
+		}
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		if (latencyMonitor == null) {
+			throw new IllegalStateException("latencyMonitor is required");
+		}
+		this.advisor = new DefaultPointcutAdvisor(new PackagePointcut(), latencyMonitor);
+	}
+
+	@Override
+	protected boolean isEligible(Object bean, String beanName) {
+		return bean != latencyMonitor && !Modifier.isFinal(ClassUtils.getUserClass(bean).getModifiers())
+				&& super.isEligible(bean, beanName);
+	}
+
+	private boolean inPackages(Class<?> type) {
+		String name = type.getName();
+		for (String p : packages) {
+			if (name.startsWith(p)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private class PackagePointcut extends StaticMethodMatcherPointcut {
+		PackagePointcut() {
+			setClassFilter(new ClassFilter() {
+				@Override
+				public boolean matches(Class<?> clazz) {
+					return inPackages(ClassUtils.getUserClass(clazz));
+				}
+			});
+		}
+
+		@Override
+		public boolean matches(Method method, Class<?> targetClass) {
+			return Modifier.isPublic(method.getModifiers()) && !Modifier.isStatic(method.getModifiers())
+					&& inPackages(method.getDeclaringClass()) && !isAccessor(method)
+					&& !AopUtils.isEqualsMethod(method) && !AopUtils.isHashCodeMethod(method) && !AopUtils.isToStringMethod(method);
+		}
+	}
+
+	static boolean isAccessor(Method method) {
+		String name = method.getName();
+		int params = method.getParameterCount();
+		if (params == 0 && method.getReturnType() != void.class) {
+			return isProperty(name, "get") || (isProperty(name, "is") && method.getReturnType() == boolean.class);
+		}
+		//add/remove...Listener 는 JavaBeans 이벤트 등록이라 값 객체(Product 등)를 감싸지 않도록 같이 뺀다
+		return params == 1 && method.getReturnType() == void.class
+				&& (isProperty(name, "set") || (name.endsWith("Listener") && (isProperty(name, "add") || isProperty(name, "remove"))));
+	}
+
+	private static boolean isProperty(String name, String prefix) {
+		return name.length() > prefix.length() && name.startsWith(prefix)
+				&& Character.isUpperCase(name.charAt(prefix.length()));
+	}
+}
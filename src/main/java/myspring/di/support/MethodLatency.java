@@ -0,0 +1,96 @@
+package myspring.di.support;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * 메서드 하나의 호출 수 / 예외 수 / 지연 시간 분포.
+ *
+ * - 기록은 HdrHistogram Recorder 에 한다(잠금 없음, 값 3자리 정밀도).
+ * - 읽을 때 Recorder 의 구간(interval) 히스토그램을 꺼내 누적 히스토그램과
+ *   "지난 주기 출력 이후" 히스토그램(LatencyMonitor 주기 출력용)에 더한다.
+ * - getter 는 MBeanExporter 가 그대로 JMX 속성으로 노출한다. 시간 단위는 µs.
+ */
+public class MethodLatency {
+	private final String name;
+	private final Recorder recorder = new Recorder(3);
+	private final LongAdder calls = new LongAdder();
+	private final LongAdder errors = new LongAdder();
+	private final Histogram total = new Histogram(3);
+	private final Histogram sinceLastDump = new Histogram(3);
+	private long errorsAtLastDump;
+	private Histogram interval;
+
+	public MethodLatency(String name) {
+		this.name = name;
+	}
+
+	public void record(long nanos, boolean failed) {
+		recorder.recordValue(nanos);
+		calls.increment();
+		if (failed) {
+			errors.increment();
+		}
+	}
+
+	public String getName() { return name; }
+	public long getCount() { return calls.sum(); }
+	public long getErrorCount() { return errors.sum(); }
+
+	public double getMeanMicros() { return snapshot().getMean() / 1_000.0; }
+	public double getP50Micros() { return micros(50.0); }
+	public double getP90Micros() { return micros(90.0); }
+	public double getP99Micros() { return micros(99.0); }
+	public double getP999Micros() { return micros(99.9); }
+	public double getMaxMicros() { return snapshot().getMaxValue() / 1_000.0; }
+
+	private double micros(double percentile) {
+		return snapshot().getValueAtPercentile(percentile) / 1_000.0;
+	}
+
+	/** @return 처음부터 지금까지의 누적 히스토그램 (복사본) */
+	public synchronized Histogram snapshot() {
+		drain();
+		return total.copy();
+	}
+
+	/** @return 지난 takeInterval 이후 기록된 히스토그램 (복사본, 예외 수는 [0] 에) */
+	synchronized Histogram takeInterval(long[] errorsInInterval) {
+		drain();
+		Histogram taken = sinceLastDump.copy();
+		sinceLastDump.reset();
+		long errorCount = errors.sum();
+		errorsInInterval[0] = errorCount - errorsAtLastDump;
+		errorsAtLastDump = errorCount;
+		return taken;
+	}
+
+	private void drain() {
+		interval = recorder.getIntervalHistogram(interval);
+		total.add(interval);
+		sinceLastDump.add(interval);
+	}
+
+	/** 누적 값을 지운다. */
+	public synchronized void reset() {
+		recorder.reset();
+		total.reset();
+		sinceLastDump.reset();
+		calls.reset();
+		errors.reset();
+		errorsAtLastDump = 0;
+	}
+
+	static String format(String name, long count, long errors, Histogram h) {
+		return String.format("%-60s %9d %6d %10.1f %10.1f %10.1f %10.1f", name, count, errors,
+				h.getValueAtPercentile(50.0) / 1_000.0, h.getValueAtPercentile(99.0) / 1_000.0,
+				h.getValueAtPercentile(99.9) / 1_000.0, h.getMaxValue() / 1_000.0);
+	}
+
+	@Override
+	public String toString() {
+		return format(name, getCount(), getErrorCount(), snapshot());
+	}
+}
@@ -0,0 +1,467 @@
+package myspring.di.support;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.Resource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.aop.framework.ProxyFactoryBean;
+import org.springframework.aop.target.LazyInitTargetSource;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * 큰 컨텍스트용 시작 모드(opt-in): 빈 정의로 의존 그래프를 만들고, 독립적인 싱글톤은 fork/join 풀에서 미리 만들고,
+ * lazy 빈은 프록시 뒤에 두어 처음 쓸 때 만든다.
+ *
+ * - 의존 그래프: ref/depends-on/내부 빈/컬렉션, factory-bean, @Autowired/@Resource/@Qualifier(필드, 메서드, 생성자).
+ *   깊이(wave) 0 은 아무 빈에도 의존하지 않는 싱글톤이다. 순환은 끊어서 센다.
+ * - 병렬 생성: 인자 없는 생성자로 만드는 eager 싱글톤의 "생성자 호출"만 풀에서 wave 순서로 먼저 시작하고,
+ *   빈 정의에 instance supplier 로 그 결과를 넘긴다.
+ *   주입/Aware/초기화/BeanPostProcessor 는 지금처럼 refresh 스레드에서 의존 순서대로 한다.
+ *   (스프링 5.2 는 싱글톤을 만드는 동안 전역 잠금(singletonObjects)을 잡고 있어서 getBean 자체를 여러 스레드에서
+ *   부르면 줄을 서거나 교착된다.)
+ *   refresh 스레드가 아직 시작하지 않은 생성을 만나면 기다리지 않고 직접 만든다 → 코어가 하나여도 느려지지 않는다.
+ * - lazy 빈(lazy-init="true", default-lazy-init, @Lazy 클래스): 원래 정의는 "lazyTarget.<이름>" 으로 옮기고
+ *   <이름> 에는 LazyInitTargetSource 프록시(ProxyFactoryBean)를 둔다.
+ *   → eager 빈에 주입되어도 첫 메서드 호출 때 만들어진다. 생명주기 콜백은 실제 빈에만 불린다.
+ *   final 클래스처럼 프록시를 만들 수 없으면 지금처럼 lazy 빈으로 둔다.
+ * - 생성자 부작용(로그 등)이 BeanPostProcessor 등록보다 먼저, 다른 스레드에서 일어난다.
+ *   postProcessBeforeInstantiation 으로 빈을 바꿔치는 후처리기가 있으면 미리 만든 객체는 버려진다.
+ *
+ *   사용: refresh 전에 켠다
+ *   GenericXmlApplicationContext ctx = new GenericXmlApplicationContext();
+ *   ctx.load("classpath:spring-beans.xml");
+ *   ParallelBeanInitializer.enable(ctx);
+ *   ctx.refresh();
+ *   또는 -Dmyspring.init.parallel=true (AotApplicationContexts), @ContextConfiguration(initializers = ParallelBeanInitializer.Initializer.class)
+ */
+public class ParallelBeanInitializer implements BeanFactoryPostProcessor {
+	public static final String ENABLED_PROPERTY = "myspring.init.parallel";
+	public static final String LAZY_TARGET_PREFIX = "lazyTarget.";
+
+	private static final Logger log = LogManager.getLogger(ParallelBeanInitializer.class);
+
+	private final ForkJoinPool pool;
+	private final Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+	private final List<List<String>> waves = new ArrayList<>();
+	private final Set<String> parallelBeans = new LinkedHashSet<>();
+	private final Set<String> lazyProxies = new LinkedHashSet<>();
+
+	public ParallelBeanInitializer(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/** refresh 전의 컨텍스트에 켠다 (공용 ForkJoinPool) */
+	public static ParallelBeanInitializer enable(ConfigurableApplicationContext context) {
+		return enable(context, ForkJoinPool.commonPool());
+	}
+
+	public static ParallelBeanInitializer enable(ConfigurableApplicationContext context, ForkJoinPool pool) {
+		ParallelBeanInitializer initializer = new ParallelBeanInitializer(pool);
+		context.addBeanFactoryPostProcessor(initializer);
+		return initializer;
+	}
+
+	/** -Dmyspring.init.parallel=true 이면 true */
+	public static boolean isEnabled() {
+		return Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY));
+	}
+
+	//@ContextConfiguration(initializers = ...) / web.xml contextInitializerClasses 용
+	public static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+		@Override
+		public void initialize(ConfigurableApplicationContext context) {
+			enable(context);
+		}
+	}
+
+	/** 빈 이름 → 의존하는 빈 이름 (lazy 프록시는 의존 없음, 실제 빈은 lazyTarget.<이름>) */
+	public Map<String, Set<String>> getDependencies() {
+		return Collections.unmodifiableMap(dependencies);
+	}
+
+	/** eager 싱글톤을 의존 깊이별로 나눈 것. 같은 wave 의 빈끼리는 서로 의존하지 않는다. */
+	public List<List<String>> getWaves() {
+		return Collections.unmodifiableList(waves);
+	}
+
+	/** 생성자를 풀에서 미리 부른 빈 */
+	public Set<String> getParallelBeans() {
+		return Collections.unmodifiableSet(parallelBeans);
+	}
+
+	/** 프록시 뒤로 옮긴 lazy 빈 */
+	public Set<String> getLazyProxies() {
+		return Collections.unmodifiableSet(lazyProxies);
+	}
+
+	//programmatic BeanFactoryPostProcessor → ConfigurationClassPostProcessor(component-scan, @Configuration) 다음,
+	//PropertySourcesPlaceholderConfigurer 등 빈으로 등록된 후처리기보다 먼저 불린다
+	@Override
+	public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+		if (!(beanFactory instanceof DefaultListableBeanFactory)) {
+			log.warn("{} 에서는 병렬 초기화를 하지 않음", beanFactory.getClass().getName());
+			return;
+		}
+		DefaultListableBeanFactory factory = (DefaultListableBeanFactory) beanFactory;
+		long start = System.nanoTime();
+		buildDependencies(factory);
+		proxyLazySingletons(factory);
+		buildWaves(factory);
+		startConstructors(factory);
+		factory.clearMetadataCache();
+		log.info("빈 {}개, wave {}개, 생성자 병렬 {}개 (풀 {}), lazy 프록시 {}개 ({} ms)", dependencies.size(), waves.size(),
+				parallelBeans.size(), pool.getParallelism(), lazyProxies.size(), (System.nanoTime() - start) / 1_000_000);
+	}
+
+
+	private void buildDependencies(DefaultListableBeanFactory factory) {
+		boolean annotationConfig = factory.containsBeanDefinition(AnnotationConfigUtils.AUTOWIRED_ANNOTATION_PROCESSOR_BEAN_NAME);
+		for (String name : factory.getBeanDefinitionNames()) {
+			BeanDefinition definition = factory.getMergedBeanDefinition(name);
+			if (definition.isAbstract()) {
+				continue;
+			}
+			Set<String> references = new LinkedHashSet<>();
+			collectDefinition(definition, references);
+			if (annotationConfig) {
+				Class<?> type = beanClass(factory, definition);
+				if (type != null) {
+					collectInjectionPoints(factory, type, references);
+				}
+			}
+			Set<String> canonical = new LinkedHashSet<>();
+			for (String reference : references) {
+				canonical.add(factory.canonicalName(reference));
+			}
+			canonical.remove(name);
+			dependencies.put(name, canonical);
+		}
+	}
+
+	private void collectDefinition(BeanDefinition definition, Set<String> references) {
+		if (definition.getDependsOn() != null) {
+			Collections.addAll(references, definition.getDependsOn());
+		}
+		if (definition.getFactoryBeanName() != null) {
+			references.add(definition.getFactoryBeanName());
+		}
+		for (ValueHolder holder : definition.getConstructorArgumentValues().getIndexedArgumentValues().values()) {
+			collectValue(holder.getValue(), references);
+		}
+		for (ValueHolder holder : definition.getConstructorArgumentValues().getGenericArgumentValues()) {
+			collectValue(holder.getValue(), references);
+		}
+		for (PropertyValue property : definition.getPropertyValues().getPropertyValues()) {
+			collectValue(property.getValue(), references);
+		}
+	}
+
+	//<ref bean>, 내부 빈, <list>/<set>/<map> 안의 ref (<idref> 는 이름만 넘기므로 의존이 아니다)
+	private void collectValue(Object value, Set<String> references) {
+		if (value instanceof RuntimeBeanReference) {
+			references.add(((RuntimeBeanReference) value).getBeanName());
+		} else if (value instanceof BeanDefinitionHolder) {
+			collectDefinition(((BeanDefinitionHolder) value).getBeanDefinition(), references);
+		} else if (value instanceof BeanDefinition) {
+			collectDefinition((BeanDefinition) value, references);
+		} else if (value instanceof Collection) {
+			for (Object element : (Collection<?>) value) {
+				collectValue(element, references);
+			}
+		} else if (value instanceof Map) {
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				collectValue(entry.getKey(), references);
+				collectValue(entry.getValue(), references);
+			}
+		}
+	}
+
+	//@Resource(name) / @Qualifier 는 이름으로, 나머지는 타입으로 (컬렉션 주입, ${...} 이름은 후보 전부)
+	private void collectInjectionPoints(DefaultListableBeanFactory factory, Class<?> type, Set<String> references) {
+		for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+			if (constructor.isAnnotationPresent(Autowired.class) || type.getDeclaredConstructors().length == 1) {
+				for (Class<?> parameter : constructor.getParameterTypes()) {
+					collectByType(factory, parameter, references);
+				}
+			}
+		}
+		ReflectionUtils.doWithFields(type, field -> collectInjectionPoint(factory, field.getAnnotation(Resource.class),
+				field.getAnnotation(Autowired.class), field.getAnnotation(Qualifier.class), field.getName(), field.getType(), references),
+				field -> !Modifier.isStatic(field.getModifiers()));
+		ReflectionUtils.doWithMethods(type, method -> {
+			for (Class<?> parameter : method.getParameterTypes()) {
+				collectInjectionPoint(factory, method.getAnnotation(Resource.class), method.getAnnotation(Autowired.class),
+						method.getAnnotation(Qualifier.class), null, parameter, references);
+			}
+		}, method -> !Modifier.isStatic(method.getModifiers()) && method.getParameterCount() > 0);
+	}
+
+	private void collectInjectionPoint(DefaultListableBeanFactory factory, Resource resource, Autowired autowired,
+			Qualifier qualifier, String defaultName, Class<?> type, Set<String> references) {
+		if (resource == null && autowired == null) {
+			return;
+		}
+		String name = resource != null && !resource.name().isEmpty() ? resource.name()
+				: qualifier != null ? qualifier.value() : resource != null ? defaultName : null;
+		if (name != null && !name.contains("${") && factory.containsBean(name)) {
+			references.add(name);
+		} else {
+			collectByType(factory, type, references);
+		}
+	}
+
+	private void collectByType(DefaultListableBeanFactory factory, Class<?> type, Set<String> references) {
+		if (type.isPrimitive() || type == String.class || Collection.class.isAssignableFrom(type)
+				|| Map.class.isAssignableFrom(type) || type.isArray()) {
+			return;
+		}
+		Collections.addAll(references, factory.getBeanNamesForType(type, true, false));
+	}
+
+
+	//lazy 싱글톤 <이름> → lazyTarget.<이름>(원래 정의) + <이름>(LazyInitTargetSource 프록시)
+	private void proxyLazySingletons(DefaultListableBeanFactory factory) {
+		for (String name : factory.getBeanDefinitionNames()) {
+			BeanDefinition merged = factory.getMergedBeanDefinition(name);
+			if (!merged.isLazyInit() || !merged.isSingleton() || merged.isAbstract() || name.startsWith(LAZY_TARGET_PREFIX)
+					|| merged.getRole() != BeanDefinition.ROLE_APPLICATION) {
+				continue;
+			}
+			Class<?> type = factory.getType(name, false);
+			if (type == null || !canProxy(type)) {
+				log.debug("lazy 빈 '{}' ({}) 은 프록시 없이 둠", name, type);
+				continue;
+			}
+			String targetName = LAZY_TARGET_PREFIX + name;
+			AbstractBeanDefinition target = ((AbstractBeanDefinition) factory.getBeanDefinition(name)).cloneBeanDefinition();
+			target.setAutowireCandidate(false);
+			target.setPrimary(false);
+			factory.registerBeanDefinition(targetName, target);
+			factory.registerBeanDefinition(name, lazyProxyDefinition(factory, targetName, type, (AbstractBeanDefinition) merged));
+			lazyProxies.add(name);
+			dependencies.put(targetName, dependencies.getOrDefault(name, Collections.emptySet()));
+			dependencies.put(name, Collections.emptySet());
+		}
+	}
+
+	//CGLIB 는 final 클래스와 보이는 생성자가 없는 클래스를 상속할 수 없다 (인터페이스는 JDK 프록시)
+	private static boolean canProxy(Class<?> type) {
+		if (type.isInterface()) {
+			return true;
+		}
+		if (Modifier.isFinal(type.getModifiers()) || type.isPrimitive() || type.isArray()) {
+			return false;
+		}
+		for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+			if (!Modifier.isPrivate(constructor.getModifiers())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static RootBeanDefinition lazyProxyDefinition(DefaultListableBeanFactory factory, String targetName, Class<?> type,
+			AbstractBeanDefinition original) {
+		RootBeanDefinition proxy = new RootBeanDefinition(ProxyFactoryBean.class, () -> {
+			LazyInitTargetSource targetSource = new LazyInitTargetSource();
+			targetSource.setTargetBeanName(targetName);
+			targetSource.setTargetClass(type);
+			targetSource.setBeanFactory(factory);
+			ProxyFactoryBean proxyFactory = new ProxyFactoryBean();
+			proxyFactory.setTargetSource(targetSource);
+			proxyFactory.setProxyTargetClass(!type.isInterface());
+			return proxyFactory;
+		});
+		//FactoryBean 을 만들지 않고도 getBeanNamesForType / @Autowired 가 타입을 안다
+		proxy.setAttribute(FactoryBean.OBJECT_TYPE_ATTRIBUTE, type);
+		proxy.setLazyInit(true);
+		proxy.setPrimary(original.isPrimary());
+		proxy.setAutowireCandidate(original.isAutowireCandidate());
+		proxy.copyQualifiersFrom(original);
+		proxy.setDescription("lazy proxy for '" + targetName + "'");
+		return proxy;
+	}
+
+
+	//의존 깊이 = 1 + 의존하는 빈의 최대 깊이 (eager 싱글톤만 모은다)
+	private void buildWaves(DefaultListableBeanFactory factory) {
+		Map<String, Integer> levels = new LinkedHashMap<>();
+		for (String name : dependencies.keySet()) {
+			if (!factory.containsBeanDefinition(name)) {
+				continue;
+			}
+			BeanDefinition merged = factory.getMergedBeanDefinition(name);
+			if (!merged.isSingleton() || merged.isLazyInit()) {
+				continue;
+			}
+			int level = level(name, levels, new HashSet<>());
+			while (waves.size() <= level) {
+				waves.add(new ArrayList<>());
+			}
+			waves.get(level).add(name);
+		}
+	}
+
+	private int level(String name, Map<String, Integer> levels, Set<String> visiting) {
+		Integer known = levels.get(name);
+		if (known != null) {
+			return known;
+		}
+		if (!visiting.add(name)) {
+			log.debug("순환 의존: '{}'", name);
+			return 0;
+		}
+		int level = 0;
+		for (String dependency : dependencies.getOrDefault(name, Collections.emptySet())) {
+			if (dependencies.containsKey(dependency)) {
+				level = Math.max(level, level(dependency, levels, visiting) + 1);
+			}
+		}
+		visiting.remove(name);
+		levels.put(name, level);
+		return level;
+	}
+
+
+	private void startConstructors(DefaultListableBeanFactory factory) {
+		ClassLoader classLoader = factory.getBeanClassLoader();
+		for (List<String> wave : waves) {
+			for (String name : wave) {
+				Constructor<?> constructor = defaultConstructor(factory, name);
+				if (constructor == null) {
+					continue;
+				}
+				PendingInstance pending = new PendingInstance(constructor, classLoader);
+				((AbstractBeanDefinition) factory.getBeanDefinition(name)).setInstanceSupplier(pending::get);
+				parallelBeans.add(name);
+				pool.execute(pending::run);
+			}
+		}
+	}
+
+	//스프링이 고를 생성자가 인자 없는 생성자임이 확실한 빈만 (생성자 주입, factory-method, lookup-method, 후처리기 제외)
+	private static Constructor<?> defaultConstructor(DefaultListableBeanFactory factory, String name) {
+		AbstractBeanDefinition merged = (AbstractBeanDefinition) factory.getMergedBeanDefinition(name);
+		if (merged.getRole() != BeanDefinition.ROLE_APPLICATION || merged.getInstanceSupplier() != null
+				|| merged.getFactoryMethodName() != null || merged.hasConstructorArgumentValues() || merged.hasMethodOverrides()
+				|| merged.getResolvedAutowireMode() == AbstractBeanDefinition.AUTOWIRE_CONSTRUCTOR) {
+			return null;
+		}
+		Class<?> type = beanClass(factory, merged);
+		if (type == null || type.isInterface() || Modifier.isAbstract(type.getModifiers())
+				|| (type.isMemberClass() && !Modifier.isStatic(type.getModifiers()))
+				|| FactoryBean.class.isAssignableFrom(type) || BeanPostProcessor.class.isAssignableFrom(type)
+				|| BeanFactoryPostProcessor.class.isAssignableFrom(type)) {
+			return null;
+		}
+		for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+			if (constructor.isAnnotationPresent(Autowired.class)) {
+				return null;
+			}
+		}
+		try {
+			return type.getDeclaredConstructor();
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	private static Class<?> beanClass(DefaultListableBeanFactory factory, BeanDefinition definition) {
+		if (definition instanceof AbstractBeanDefinition && ((AbstractBeanDefinition) definition).hasBeanClass()) {
+			return ((AbstractBeanDefinition) definition).getBeanClass();
+		}
+		if (definition.getBeanClassName() == null || definition.getFactoryMethodName() != null) {
+			return null;
+		}
+		try {
+			return ClassUtils.forName(definition.getBeanClassName(), factory.getBeanClassLoader());
+		} catch (ClassNotFoundException | LinkageError e) {
+			return null;
+		}
+	}
+
+
+	//풀 스레드와 refresh 스레드 중 먼저 잡은 쪽이 생성자를 부른다
+	//처음 get() 은 그 결과를, 그 뒤(싱글톤을 다시 만들 때)는 새 객체를 돌려준다
+	private static final class PendingInstance {
+		private final Constructor<?> constructor;
+		private final ClassLoader classLoader;
+		private final AtomicBoolean claimed = new AtomicBoolean();
+		private final AtomicBoolean consumed = new AtomicBoolean();
+		private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+		PendingInstance(Constructor<?> constructor, ClassLoader classLoader) {
+			this.constructor = constructor;
+			this.classLoader = classLoader;
+		}
+
+		void run() {
+			if (!claimed.compareAndSet(false, true)) {
+				return;
+			}
+			Thread thread = Thread.currentThread();
+			ClassLoader previous = thread.getContextClassLoader();
+			thread.setContextClassLoader(classLoader);
+			try {
+				result.complete(BeanUtils.instantiateClass(constructor));
+			} catch (Throwable e) {
+				result.completeExceptionally(e);
+			} finally {
+				thread.setContextClassLoader(previous);
+			}
+		}
+
+		Object get() {
+			if (consumed.getAndSet(true)) {
+				return BeanUtils.instantiateClass(constructor);
+			}
+			run();
+			try {
+				return result.join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				if (e.getCause() instanceof Error) {
+					throw (Error) e.getCause();
+				}
+				throw e;
+			}
+		}
+	}
+}
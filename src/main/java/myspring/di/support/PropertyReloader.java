@@ -0,0 +1,422 @@
+package myspring.di.support;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.Resource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanExpressionContext;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.ResourceLoaderAware;
+import org.springframework.context.event.ApplicationContextEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * values.properties 같은 설정 파일이 바뀌면 다시 읽고, 그 값을 주입받은 싱글톤에 다시 넣는다.
+ *
+ * - 파일을 ReloadablePropertySource(불변 스냅샷 + AtomicReference)로 Environment 에 넣는다.
+ *   같은 파일의 @PropertySource 가 있으면 그 자리를 바꾸고, 없으면 시스템 프로퍼티/환경 변수 바로 다음에 둔다.
+ *   → environment.getProperty, ${...}(<context:property-placeholder>, @Value) 모두 새 값을 본다.
+ * - NIO WatchService 로 파일이 있는 디렉터리를 지켜보다가(데몬 스레드 하나) 바뀌면 debounceMillis 동안 조용해진 뒤 다시 읽는다.
+ * - 다시 주입하는 곳 (바뀐 키를 쓰는 곳만)
+ *   · XML <property value="${...}"> : PropertySourcesPlaceholderConfigurer 가 바꾸기 전의 원래 문자열을 기억해 두었다가 setter 로
+ *   · @Value("${...}") / @Value("#{...${...}...}") 필드와 메서드
+ *   · @Resource(name = "${...}") : 바뀐 이름의 빈으로
+ *   생성자 인자, @Bean 메서드 안에서 읽은 값, 프로토타입은 다시 넣지 않는다(프로토타입은 다음에 만들 때 새 값).
+ * - 요청 스레드는 잠그지 않는다. 다시 주입은 감시 스레드가 필드/setter 에 그냥 쓰는 것이라,
+ *   다른 스레드에는 조금 늦게 보일 수 있다(volatile 이 아닌 필드).
+ *
+ *   사용: 다른 설정과 함께 spring-reload.xml 을 읽거나, refresh 전에 붙인다
+ *   PropertyReloader reloader = PropertyReloader.attach(ctx, "classpath:values.properties");
+ *   (classpath 자원은 target/classes 처럼 파일일 때만 지켜볼 수 있다. jar 안이면 처음 값 그대로 쓴다.)
+ */
+public class PropertyReloader implements BeanFactoryPostProcessor, BeanPostProcessor, PriorityOrdered, EnvironmentAware,
+		ResourceLoaderAware, ApplicationListener<ApplicationContextEvent>, DisposableBean {
+	private static final Logger log = LogManager.getLogger(PropertyReloader.class);
+	private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{([^}:]+)");
+
+	private String location = "classpath:values.properties";
+	private long debounceMillis = 100;
+	private ConfigurableEnvironment environment;
+	private ResourceLoader resourceLoader;
+	private ConfigurableListableBeanFactory beanFactory;
+	private ReloadablePropertySource propertySource;
+	private volatile long version;
+
+	//XML 빈 이름 → 프로퍼티 이름 → ${...} 가 들어 있던 원래 값
+	private final Map<String, Map<String, String>> xmlPlaceholders = new ConcurrentHashMap<>();
+	private final Map<Class<?>, List<InjectionPoint>> injectionPoints = new ConcurrentHashMap<>();
+	private final List<Binding> bindings = new CopyOnWriteArrayList<>();
+
+	private volatile WatchService watchService;
+	private volatile Thread watcher;
+
+	/** refresh 전의 컨텍스트에 붙인다 */
+	public static PropertyReloader attach(ConfigurableApplicationContext context, String location) {
+		PropertyReloader reloader = new PropertyReloader();
+		reloader.setLocation(location);
+		reloader.setEnvironment(context.getEnvironment());
+		reloader.setResourceLoader(context);
+		context.addBeanFactoryPostProcessor(reloader);
+		context.addApplicationListener(reloader);
+		return reloader;
+	}
+
+	public void setLocation(String location) {
+		this.location = location;
+	}
+
+	//저장 한 번에 MODIFY 이벤트가 여러 번 온다 → 이 시간 동안 이벤트가 없을 때 한 번만 읽는다
+	public void setDebounceMillis(long debounceMillis) {
+		this.debounceMillis = debounceMillis;
+	}
+
+	@Override
+	public void setEnvironment(Environment environment) {
+		if (environment instanceof ConfigurableEnvironment) {
+			this.environment = (ConfigurableEnvironment) environment;
+		}
+	}
+
+	@Override
+	public void setResourceLoader(ResourceLoader resourceLoader) {
+		this.resourceLoader = resourceLoader;
+	}
+
+	//PropertySourcesPlaceholderConfigurer 보다 먼저 (XML 의 원래 ${...} 를 기억해야 한다)
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+
+	/** 지금 쓰는 PropertySource (파일이 아니어서 붙지 않았으면 null) */
+	public ReloadablePropertySource getPropertySource() {
+		return propertySource;
+	}
+
+	/** 다시 주입까지 끝난 스냅샷 버전 (처음 1, 붙지 않았으면 0) */
+	public long getVersion() {
+		return version;
+	}
+
+	public boolean isWatching() {
+		Thread thread = watcher;
+		return thread != null && thread.isAlive();
+	}
+
+	@Override
+	public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+		this.beanFactory = beanFactory;
+		beanFactory.addBeanPostProcessor(this);
+		if (environment == null || resourceLoader == null) {
+			log.warn("Environment/ResourceLoader 가 없어 {} 을(를) 다시 읽지 않음", location);
+			return;
+		}
+		org.springframework.core.io.Resource resource = resourceLoader.getResource(environment.resolveRequiredPlaceholders(location));
+		try {
+			if (!resource.isFile()) {
+				log.warn("{} 은(는) 파일이 아니어서 다시 읽지 않음", resource.getDescription());
+				return;
+			}
+			propertySource = new ReloadablePropertySource(resource.getDescription(), resource.getFile().toPath());
+			version = propertySource.getVersion();
+		} catch (IOException e) {
+			throw new IllegalStateException("cannot read " + resource.getDescription(), e);
+		}
+		MutablePropertySources sources = environment.getPropertySources();
+		if (sources.contains(propertySource.getName())) {
+			sources.replace(propertySource.getName(), propertySource);
+		} else if (sources.contains(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME)) {
+			sources.addAfter(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME, propertySource);
+		} else {
+			sources.addFirst(propertySource);
+		}
+		for (String beanName : beanFactory.getBeanDefinitionNames()) {
+			Map<String, String> placeholders = new LinkedHashMap<>();
+			for (PropertyValue property : beanFactory.getBeanDefinition(beanName).getPropertyValues().getPropertyValues()) {
+				Object value = property.getValue();
+				String text = value instanceof TypedStringValue ? ((TypedStringValue) value).getValue()
+						: value instanceof String ? (String) value : null;
+				if (text != null && text.contains("${")) {
+					placeholders.put(property.getName(), text);
+				}
+			}
+			if (!placeholders.isEmpty()) {
+				xmlPlaceholders.put(beanName, placeholders);
+			}
+		}
+	}
+
+	//초기화 전의(프록시로 감싸기 전) 싱글톤에서 ${...} 를 쓰는 주입 지점을 기억한다
+	@Override
+	public Object postProcessBeforeInitialization(Object bean, String beanName) {
+		if (propertySource == null || !beanFactory.containsBeanDefinition(beanName)
+				|| !beanFactory.getMergedBeanDefinition(beanName).isSingleton()) {
+			return bean;
+		}
+		Map<String, String> placeholders = xmlPlaceholders.get(beanName);
+		if (placeholders != null) {
+			placeholders.forEach((property, text) -> bindings.add(new Binding(beanName, bean, text, null, property)));
+		}
+		for (InjectionPoint point : injectionPoints.computeIfAbsent(bean.getClass(), PropertyReloader::findInjectionPoints)) {
+			bindings.add(new Binding(beanName, bean, point.expression, point, null));
+		}
+		return bean;
+	}
+
+	@Override
+	public void onApplicationEvent(ApplicationContextEvent event) {
+		if (event instanceof ContextRefreshedEvent) {
+			start();
+		} else if (event instanceof ContextClosedEvent) {
+			stop();
+		}
+	}
+
+	@Override
+	public void destroy() {
+		stop();
+	}
+
+	/**
+	 * 파일을 지금 다시 읽고, 바뀐 키를 쓰는 빈에 다시 주입한다. 바뀐 키를 돌려준다.
+	 * 감시 스레드가 부르지만 직접 불러도 된다(쓰는 쪽끼리만 잠금).
+	 */
+	public synchronized Set<String> reload() {
+		if (propertySource == null) {
+			return Collections.emptySet();
+		}
+		Set<String> changed;
+		try {
+			changed = propertySource.reload();
+		} catch (IOException e) {
+			log.warn("{} 을(를) 다시 읽지 못함, 이전 값 유지: {}", propertySource.getName(), e.toString());
+			return Collections.emptySet();
+		}
+		if (changed.isEmpty()) {
+			return changed;
+		}
+		int rebound = 0;
+		for (Binding binding : bindings) {
+			if (!Collections.disjoint(binding.keys, changed)) {
+				try {
+					binding.apply();
+					rebound++;
+				} catch (Exception e) {
+					log.warn("빈 '{}' 에 {} 을(를) 다시 넣지 못함: {}", binding.beanName, binding.expression, e.toString());
+				}
+			}
+		}
+		version = propertySource.getVersion();
+		log.info("{} 다시 읽음 (v{}): 바뀐 키 {}, 다시 주입 {}곳", propertySource.getName(), version, changed, rebound);
+		return changed;
+	}
+
+
+	private synchronized void start() {
+		if (propertySource == null || watcher != null) {
+			return;
+		}
+		Path file = propertySource.getSource();
+		try {
+			watchService = file.getFileSystem().newWatchService();
+			file.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+		} catch (IOException e) {
+			log.warn("{} 을(를) 지켜볼 수 없음: {}", file, e.toString());
+			return;
+		}
+		Thread thread = new Thread(() -> watch(file.getFileName()), "property-reloader-" + file.getFileName());
+		thread.setDaemon(true);
+		watcher = thread;
+		thread.start();
+		log.info("{} 지켜보는 중 (바인딩 {}곳)", file, bindings.size());
+	}
+
+	private void stop() {
+		Thread thread;
+		synchronized (this) {
+			thread = watcher;
+			watcher = null;
+			if (watchService != null) {
+				try {
+					watchService.close();
+				} catch (IOException e) {
+					log.debug("WatchService 닫기 실패", e);
+				}
+				watchService = null;
+			}
+		}
+		if (thread != null) {
+			try {
+				thread.join(TimeUnit.SECONDS.toMillis(5));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		bindings.clear();
+	}
+
+	private void watch(Path fileName) {
+		WatchService service = watchService;
+		try {
+			while (true) {
+				boolean changed = matches(service.take(), fileName);
+				WatchKey more;
+				while ((more = service.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+					changed |= matches(more, fileName);
+				}
+				if (changed) {
+					reload();
+				}
+			}
+		} catch (ClosedWatchServiceException | InterruptedException e) {
+			log.debug("{} 감시 종료", fileName);
+		}
+	}
+
+	//같은 디렉터리의 다른 파일 이벤트는 무시 (편집기가 임시 파일에 쓰고 rename 하면 CREATE 로 온다)
+	private static boolean matches(WatchKey key, Path fileName) {
+		boolean matched = false;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (fileName.equals(event.context())) {
+				matched = true;
+			}
+		}
+		key.reset();
+		return matched;
+	}
+
+
+	private static List<InjectionPoint> findInjectionPoints(Class<?> type) {
+		List<InjectionPoint> points = new ArrayList<>();
+		ReflectionUtils.doWithFields(type, field -> {
+			Value value = field.getAnnotation(Value.class);
+			Resource resource = field.getAnnotation(Resource.class);
+			if (value != null && value.value().contains("${")) {
+				points.add(new InjectionPoint(value.value(), false, field, null));
+			} else if (resource != null && resource.name().contains("${")) {
+				points.add(new InjectionPoint(resource.name(), true, field, null));
+			}
+		}, field -> !Modifier.isStatic(field.getModifiers()));
+		ReflectionUtils.doWithMethods(type, method -> {
+			Value value = method.getAnnotation(Value.class);
+			Resource resource = method.getAnnotation(Resource.class);
+			if (value != null && value.value().contains("${")) {
+				points.add(new InjectionPoint(value.value(), false, null, method));
+			} else if (resource != null && resource.name().contains("${")) {
+				points.add(new InjectionPoint(resource.name(), true, null, method));
+			}
+		}, method -> !Modifier.isStatic(method.getModifiers()) && method.getParameterCount() == 1);
+		return points.isEmpty() ? Collections.emptyList() : points;
+	}
+
+	//@Value / @Resource(name = "${...}") 가 붙은 필드 또는 인자 하나짜리 메서드
+	private static final class InjectionPoint {
+		final String expression;
+		final boolean reference;
+		final Field field;
+		final Method method;
+
+		InjectionPoint(String expression, boolean reference, Field field, Method method) {
+			this.expression = expression;
+			this.reference = reference;
+			this.field = field;
+			this.method = method;
+		}
+	}
+
+	//빈 하나의 주입 지점 하나 (XML 프로퍼티면 point 가 null)
+	private final class Binding {
+		final String beanName;
+		final Object bean;
+		final String expression;
+		final InjectionPoint point;
+		final String property;
+		final Set<String> keys = new LinkedHashSet<>();
+
+		Binding(String beanName, Object bean, String expression, InjectionPoint point, String property) {
+			this.beanName = beanName;
+			this.bean = bean;
+			this.expression = expression;
+			this.point = point;
+			this.property = property;
+			Matcher matcher = PLACEHOLDER.matcher(expression);
+			while (matcher.find()) {
+				keys.add(matcher.group(1).trim());
+			}
+		}
+
+		void apply() throws ReflectiveOperationException {
+			if (point == null) {
+				BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(bean);
+				wrapper.setConversionService(beanFactory.getConversionService());
+				beanFactory.copyRegisteredEditorsTo(wrapper);
+				wrapper.setPropertyValue(property, evaluate());
+				return;
+			}
+			Object value = point.reference ? beanFactory.getBean(beanFactory.resolveEmbeddedValue(expression)) : evaluate();
+			if (point.field != null) {
+				ReflectionUtils.makeAccessible(point.field);
+				point.field.set(bean, beanFactory.getTypeConverter().convertIfNecessary(value, point.field.getType(), point.field));
+			} else {
+				ReflectionUtils.makeAccessible(point.method);
+				MethodParameter parameter = new MethodParameter(point.method, 0);
+				point.method.invoke(bean, beanFactory.getTypeConverter().convertIfNecessary(value, parameter.getParameterType(), parameter));
+			}
+		}
+
+		//${...} 를 풀고, #{...} 가 있으면 SpEL 로 평가
+		private Object evaluate() {
+			String resolved = beanFactory.resolveEmbeddedValue(expression);
+			if (resolved != null && resolved.contains("#{") && beanFactory.getBeanExpressionResolver() != null) {
+				return beanFactory.getBeanExpressionResolver().evaluate(resolved, new BeanExpressionContext(beanFactory, null));
+			}
+			return resolved;
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package myspring.di.support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.core.env.EnumerablePropertySource;
+
+/**
+ * .properties 파일 하나를 불변 스냅샷으로 들고 있는 PropertySource.
+ *
+ * - getProperty 는 AtomicReference 에서 현재 스냅샷을 꺼내 읽기만 한다 → 잠금 없음, 다시 읽는 중에도 기다리지 않는다.
+ * - reload() 는 파일 전체를 새 스냅샷으로 읽은 뒤 한 번에 바꾼다 → 읽는 쪽은 이전 값 전체 또는 새 값 전체만 본다.
+ *   읽다가 실패하면(IOException) 이전 스냅샷을 그대로 둔다.
+ * - 파일 형식은 Properties.load (ISO-8859-1 + \\uXXXX) 로 @PropertySource 와 같다.
+ */
+public class ReloadablePropertySource extends EnumerablePropertySource<Path> {
+
+	private final AtomicReference<Snapshot> snapshot;
+
+	public ReloadablePropertySource(String name, Path file) throws IOException {
+		super(name, file);
+		this.snapshot = new AtomicReference<>(read(file, 1));
+	}
+
+	@Override
+	public Object getProperty(String name) {
+		return snapshot.get().values.get(name);
+	}
+
+	@Override
+	public boolean containsProperty(String name) {
+		return snapshot.get().values.containsKey(name);
+	}
+
+	@Override
+	public String[] getPropertyNames() {
+		return snapshot.get().names.clone();
+	}
+
+	/** 읽은 횟수 (처음 1, 값이 바뀔 때마다 +1) */
+	public long getVersion() {
+		return snapshot.get().version;
+	}
+
+	/** 현재 스냅샷 (수정 불가) */
+	public Map<String, String> getValues() {
+		return snapshot.get().values;
+	}
+
+	//파일을 다시 읽어 바뀐(추가/삭제 포함) 키를 돌려준다. 바뀐 것이 없으면 스냅샷을 바꾸지 않는다.
+	//쓰는 쪽끼리만 잠근다 (읽는 쪽은 getProperty 에서 잠그지 않음)
+	public synchronized Set<String> reload() throws IOException {
+		Snapshot current = snapshot.get();
+		Snapshot next = read(getSource(), current.version + 1);
+		Set<String> changed = new TreeSet<>();
+		for (Map.Entry<String, String> entry : next.values.entrySet()) {
+			if (!entry.getValue().equals(current.values.get(entry.getKey()))) {
+				changed.add(entry.getKey());
+			}
+		}
+		for (String key : current.values.keySet()) {
+			if (!next.values.containsKey(key)) {
+				changed.add(key);
+			}
+		}
+		if (!changed.isEmpty()) {
+			snapshot.set(next);
+		}
+		return changed;
+	}
+
+	private static Snapshot read(Path file, long version) throws IOException {
+		Properties properties = new Properties();
+		try (InputStream in = Files.newInputStream(file)) {
+			properties.load(in);
+		}
+		Map<String, String> values = new HashMap<>();
+		for (String key : properties.stringPropertyNames()) {
+			values.put(key, properties.getProperty(key));
+		}
+		return new Snapshot(Collections.unmodifiableMap(values), version);
+	}
+
+	private static final class Snapshot {
+		final Map<String, String> values;
+		final String[] names;
+		final long version;
+
+		Snapshot(Map<String, String> values, long version) {
+			this.values = values;
+			this.names = values.keySet().toArray(new String[0]);
+			this.version = version;
+		}
+	}
+}
@@ -0,0 +1,448 @@
+package myspring.di.support;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+
+/**
+ * 컨텍스트 시작(refresh) 시간을 빈 단위로 재는 프로파일러.
+ *
+ * - 빈마다 생성(instantiate) / 주입(inject: 프로퍼티, @Autowired, @Value, Aware) / 초기화(init: @PostConstruct,
+ *   afterPropertiesSet, init-method) 시간을 잰다.
+ * - 빈을 만드는 도중에 다른 빈이 만들어지면 그 빈을 자식으로 기록한다(스레드별 스택).
+ *   → 의존 사슬과 자기 시간(self = total - 자식 total)을 알 수 있다.
+ * - 단계(phase): 빈 정의 읽기(XML 파싱, <context:component-scan>) / 설정 클래스 처리(@Configuration,
+ *   @ComponentScan) / 나머지 refresh(BeanFactoryPostProcessor, 싱글톤 생성).
+ * - refresh 가 끝나면(ContextRefreshedEvent) 임계 경로(가장 오래 걸린 의존 사슬)를 로그로 남기고,
+ *   outputDirectory 가 있으면 startup-profile.json 과 startup-profile.folded(flame graph 용 collapsed stack)를 쓴다.
+ *
+ *   사용: refresh 전에 붙인다
+ *   ClassPathXmlApplicationContext ctx = new ClassPathXmlApplicationContext(new String[] {"spring-beans.xml"}, false);
+ *   StartupProfiler profiler = StartupProfiler.attach(ctx);
+ *   ctx.refresh();
+ *   또는 @ContextConfiguration(initializers = StartupProfiler.Initializer.class) / contextInitializerClasses
+ */
+public class StartupProfiler implements BeanDefinitionRegistryPostProcessor, InstantiationAwareBeanPostProcessor,
+		ApplicationListener<ContextRefreshedEvent>, PriorityOrdered {
+	public static final String BEAN_NAME = "startupProfiler";
+
+	private static final Logger log = LogManager.getLogger(StartupProfiler.class);
+
+	private final String contextName;
+	private final long attachedAt = System.nanoTime();
+	private volatile long definitionsLoadedAt;
+	private volatile long configurationProcessedAt;
+	private volatile long refreshedAt;
+	private Path outputDirectory;
+
+	private final Map<String, BeanTiming> timings = new ConcurrentHashMap<>();
+	private final List<BeanTiming> roots = new CopyOnWriteArrayList<>();
+	private final ThreadLocal<Deque<BeanTiming>> creating = ThreadLocal.withInitial(ArrayDeque::new);
+
+	public StartupProfiler(String contextName) {
+		this.contextName = contextName;
+	}
+
+	/** refresh 전의 컨텍스트에 붙인다. refresh 가 시작되면 "startupProfiler" 싱글톤으로도 등록된다. */
+	public static StartupProfiler attach(ConfigurableApplicationContext context) {
+		StartupProfiler profiler = new StartupProfiler(context.getDisplayName());
+		context.addBeanFactoryPostProcessor(profiler);
+		context.addApplicationListener(profiler);
+		return profiler;
+	}
+
+	//@ContextConfiguration(initializers = ...) / web.xml contextInitializerClasses 용
+	public static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+		@Override
+		public void initialize(ConfigurableApplicationContext context) {
+			attach(context).setOutputDirectory(outputDirectoryFromSystemProperty());
+		}
+	}
+
+	//-Dstartup.profile.dir=target/startup 이 있으면 그곳에 결과 파일을 쓴다
+	static Path outputDirectoryFromSystemProperty() {
+		String dir = System.getProperty("startup.profile.dir");
+		return dir == null || dir.isEmpty() ? null : Paths.get(dir);
+	}
+
+	public void setOutputDirectory(Path outputDirectory) {
+		this.outputDirectory = outputDirectory;
+	}
+
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+
+	//programmatic BeanDefinitionRegistryPostProcessor 는 가장 먼저 불린다 → 빈 정의 읽기가 끝난 시점
+	@Override
+	public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+		definitionsLoadedAt = System.nanoTime();
+		if (registry instanceof ConfigurableListableBeanFactory) {
+			ConfigurableListableBeanFactory beanFactory = (ConfigurableListableBeanFactory) registry;
+			//BeanPostProcessor 빈보다 먼저 등록해서 그 빈들의 생성도 잰다
+			beanFactory.addBeanPostProcessor(this);
+			if (!beanFactory.containsSingleton(BEAN_NAME)) {
+				beanFactory.registerSingleton(BEAN_NAME, this);
+			}
+		}
+	}
+
+	//모든 BeanDefinitionRegistryPostProcessor(ConfigurationClassPostProcessor 등)가 끝난 시점
+	@Override
+	public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+		configurationProcessedAt = System.nanoTime();
+	}
+
+	@Override
+	public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) {
+		//refresh 이후의 prototype·lazy 빈은 시작 시간이 아니므로 기록하지 않는다
+		if (refreshedAt != 0) {
+			return null;
+		}
+		Deque<BeanTiming> stack = creating.get();
+		BeanTiming parent = stack.peek();
+		BeanTiming timing = new BeanTiming(beanName, beanClass.getName(), parent, System.nanoTime());
+		stack.push(timing);
+		timings.put(beanName, timing);
+		if (parent == null) {
+			roots.add(timing);
+		} else {
+			parent.children.add(timing);
+		}
+		return null;
+	}
+
+	@Override
+	public boolean postProcessAfterInstantiation(Object bean, String beanName) {
+		if (refreshedAt != 0) {
+			return true;
+		}
+		BeanTiming timing = current(beanName);
+		if (timing != null) {
+			timing.instantiatedAt = System.nanoTime();
+		}
+		return true;
+	}
+
+	@Override
+	public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+		if (refreshedAt != 0) {
+			return bean;
+		}
+		BeanTiming timing = current(beanName);
+		if (timing != null) {
+			timing.injectedAt = System.nanoTime();
+		}
+		return bean;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+		if (refreshedAt != 0) {
+			return bean;
+		}
+		BeanTiming timing = current(beanName);
+		if (timing != null) {
+			timing.finishedAt = System.nanoTime();
+			//생성 중 예외로 남은 항목까지 함께 꺼낸다
+			Deque<BeanTiming> stack = creating.get();
+			BeanTiming popped;
+			do {
+				popped = stack.pop();
+			} while (popped != timing);
+		}
+		return bean;
+	}
+
+	private BeanTiming current(String beanName) {
+		for (BeanTiming timing : creating.get()) {
+			if (timing.name.equals(beanName)) {
+				return timing;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void onApplicationEvent(ContextRefreshedEvent event) {
+		if (refreshedAt != 0) {
+			return;
+		}
+		refreshedAt = System.nanoTime();
+		creating.remove();
+		log.info("{}", this);
+		if (outputDirectory != null) {
+			try {
+				Path[] written = writeTo(outputDirectory);
+				log.info("startup profile: {}, {}", written[0], written[1]);
+			} catch (IOException e) {
+				log.warn("startup profile 을 쓰지 못함: {}", outputDirectory, e);
+			}
+		}
+	}
+
+	/** @return 기록된 빈 (이름 → 시간) */
+	public Map<String, BeanTiming> getTimings() {
+		return Collections.unmodifiableMap(timings);
+	}
+
+	public BeanTiming getTiming(String beanName) {
+		return timings.get(beanName);
+	}
+
+	/** @return 단계 이름 → 시간(ns), refresh 전이면 끝난 단계까지 */
+	public Map<String, Long> getPhases() {
+		Map<String, Long> phases = new LinkedHashMap<>();
+		long definitions = definitionsLoadedAt;
+		long configuration = configurationProcessedAt;
+		long refreshed = refreshedAt;
+		if (definitions != 0) {
+			phases.put("bean definitions", definitions - attachedAt);
+		}
+		if (configuration != 0) {
+			phases.put("configuration classes", configuration - definitions);
+		}
+		if (refreshed != 0) {
+			phases.put("post processors + singletons", refreshed - configuration);
+		}
+		return phases;
+	}
+
+	/** @return attach 부터 refresh 끝까지(ns), 아직이면 지금까지 */
+	public long getTotalNanos() {
+		long end = refreshedAt;
+		return (end != 0 ? end : System.nanoTime()) - attachedAt;
+	}
+
+	/** @return 가장 오래 걸린 최상위 빈에서 시작해, 매번 가장 오래 걸린 자식을 따라간 사슬 */
+	public List<BeanTiming> getCriticalPath() {
+		List<BeanTiming> path = new ArrayList<>();
+		List<BeanTiming> candidates = roots;
+		while (!candidates.isEmpty()) {
+			BeanTiming slowest = Collections.max(candidates, Comparator.comparingLong(BeanTiming::getTotalNanos));
+			path.add(slowest);
+			candidates = slowest.children;
+		}
+		return path;
+	}
+
+	/** @return 자기 시간이 큰 순서로 최대 limit 개 */
+	public List<BeanTiming> getSlowestBeans(int limit) {
+		List<BeanTiming> sorted = new ArrayList<>(timings.values());
+		sorted.sort(Comparator.comparingLong(BeanTiming::getSelfNanos).reversed());
+		return sorted.subList(0, Math.min(limit, sorted.size()));
+	}
+
+	/** outputDirectory 에 startup-profile.json / startup-profile.folded 를 쓴다. */
+	public Path[] writeTo(Path directory) throws IOException {
+		Files.createDirectories(directory);
+		Path json = directory.resolve("startup-profile.json");
+		Path folded = directory.resolve("startup-profile.folded");
+		try (Writer out = Files.newBufferedWriter(json, StandardCharsets.UTF_8)) {
+			writeJson(out);
+		}
+		try (Writer out = Files.newBufferedWriter(folded, StandardCharsets.UTF_8)) {
+			writeFolded(out);
+		}
+		return new Path[] { json, folded };
+	}
+
+	/** 단계, 빈(시작 순), 임계 경로를 JSON 으로 쓴다. 시간은 ms */
+	public void writeJson(Appendable out) throws IOException {
+		out.append("{\"context\":").append(quote(contextName))
+				.append(",\"totalMillis\":").append(millis(getTotalNanos()))
+				.append(",\"phases\":{");
+		String sep = "";
+		for (Map.Entry<String, Long> phase : getPhases().entrySet()) {
+			out.append(sep).append(quote(phase.getKey())).append(':').append(millis(phase.getValue()));
+			sep = ",";
+		}
+		out.append("},\"beans\":[");
+		List<BeanTiming> all = new ArrayList<>(timings.values());
+		all.sort(Comparator.comparingLong(t -> t.startedAt));
+		sep = "";
+		for (BeanTiming t : all) {
+			out.append(sep).append("{\"name\":").append(quote(t.name))
+					.append(",\"type\":").append(quote(t.type))
+					.append(",\"parent\":").append(t.parent == null ? "null" : quote(t.parent.name))
+					.append(",\"depth\":").append(Integer.toString(t.getDepth()))
+					.append(",\"startMillis\":").append(millis(t.startedAt - attachedAt))
+					.append(",\"instantiateMillis\":").append(millis(t.getInstantiateNanos()))
+					.append(",\"injectMillis\":").append(millis(t.getInjectNanos()))
+					.append(",\"initMillis\":").append(millis(t.getInitNanos()))
+					.append(",\"totalMillis\":").append(millis(t.getTotalNanos()))
+					.append(",\"selfMillis\":").append(millis(t.getSelfNanos()))
+					.append('}');
+			sep = ",";
+		}
+		out.append("],\"criticalPath\":[");
+		sep = "";
+		for (BeanTiming t : getCriticalPath()) {
+			out.append(sep).append(quote(t.name));
+			sep = ",";
+		}
+		out.append("]}\n");
+	}
+
+	/**
+	 * collapsed stack 형식(flamegraph.pl, speedscope): "컨텍스트;단계;빈;자식빈 자기시간(µs)" 한 줄씩.
+	 * 빈 생성 시간 밖의 단계 시간도 넣어서 전체 폭이 refresh 시간과 같다.
+	 */
+	public void writeFolded(Appendable out) throws IOException {
+		String root = frame(contextName);
+		long beansTotal = 0;
+		for (BeanTiming t : roots) {
+			beansTotal += t.getTotalNanos();
+		}
+		for (Map.Entry<String, Long> phase : getPhases().entrySet()) {
+			long value = phase.getValue();
+			if (phase.getKey().equals("post processors + singletons")) {
+				value -= beansTotal;
+			}
+			folded(out, root + ';' + frame(phase.getKey()), value);
+		}
+		for (BeanTiming t : roots) {
+			writeFolded(out, root + ";beans", t);
+		}
+	}
+
+	private void writeFolded(Appendable out, String prefix, BeanTiming timing) throws IOException {
+		String stack = prefix + ';' + frame(timing.name);
+		folded(out, stack, timing.getSelfNanos());
+		for (BeanTiming child : timing.children) {
+			writeFolded(out, stack, child);
+		}
+	}
+
+	private static void folded(Appendable out, String stack, long nanos) throws IOException {
+		long micros = nanos / 1000;
+		if (micros > 0) {
+			out.append(stack).append(' ').append(Long.toString(micros)).append('\n');
+		}
+	}
+
+	//collapsed 형식의 구분자(; 와 공백)를 피한다
+	private static String frame(String name) {
+		return name.replace(';', '_').replace(' ', '_');
+	}
+
+	private static String millis(long nanos) {
+		return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+	}
+
+	private static String quote(String s) {
+		StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c == '"' || c == '\\') {
+				sb.append('\\').append(c);
+			} else if (c < 0x20) {
+				sb.append(String.format("\\u%04x", (int) c));
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.append('"').toString();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("startup ").append(contextName).append(": ").append(millis(getTotalNanos())).append("ms, ")
+				.append(timings.size()).append(" beans");
+		for (Map.Entry<String, Long> phase : getPhases().entrySet()) {
+			sb.append("\n  phase ").append(phase.getKey()).append(": ").append(millis(phase.getValue())).append("ms");
+		}
+		sb.append("\n  critical path:");
+		for (BeanTiming t : getCriticalPath()) {
+			sb.append("\n    ").append(t);
+		}
+		sb.append("\n  slowest (self):");
+		for (BeanTiming t : getSlowestBeans(5)) {
+			sb.append("\n    ").append(t);
+		}
+		return sb.toString();
+	}
+
+	//빈 하나의 시간 기록. 값은 ns, 끝나지 않은 구간은 0
+	public static final class BeanTiming {
+		final String name;
+		final String type;
+		final BeanTiming parent;
+		final long startedAt;
+		volatile long instantiatedAt;
+		volatile long injectedAt;
+		volatile long finishedAt;
+		final List<BeanTiming> children = new CopyOnWriteArrayList<>();
+
+		BeanTiming(String name, String type, BeanTiming parent, long startedAt) {
+			this.name = name;
+			this.type = type;
+			this.parent = parent;
+			this.startedAt = startedAt;
+		}
+
+		public String getName() { return name; }
+		public String getType() { return type; }
+		public String getParentName() { return parent == null ? null : parent.name; }
+		public List<BeanTiming> getChildren() { return Collections.unmodifiableList(children); }
+
+		public int getDepth() {
+			int depth = 0;
+			for (BeanTiming p = parent; p != null; p = p.parent) {
+				depth++;
+			}
+			return depth;
+		}
+
+		public long getInstantiateNanos() { return instantiatedAt == 0 ? 0 : instantiatedAt - startedAt; }
+		public long getInjectNanos() { return injectedAt == 0 || instantiatedAt == 0 ? 0 : injectedAt - instantiatedAt; }
+		public long getInitNanos() { return finishedAt == 0 || injectedAt == 0 ? 0 : finishedAt - injectedAt; }
+		public long getTotalNanos() { return finishedAt == 0 ? 0 : finishedAt - startedAt; }
+
+		//자식 빈 생성 시간을 뺀 시간
+		public long getSelfNanos() {
+			long self = getTotalNanos();
+			for (BeanTiming child : children) {
+				self -= child.getTotalNanos();
+			}
+			return Math.max(0, self);
+		}
+
+		@Override
+		public String toString() {
+			return name + " " + millis(getTotalNanos()) + "ms (self " + millis(getSelfNanos()) + ", instantiate "
+					+ millis(getInstantiateNanos()) + ", inject " + millis(getInjectNanos()) + ", init "
+					+ millis(getInitNanos()) + ")";
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package myspring.di.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 스레드마다 자기 버퍼 조각(segment)에만 쓰는 문자열 버퍼.
+ *
+ * - append() 는 호출한 스레드의 segment 에만 쓰므로 잠금도 CAS 도 없다.
+ *   (스레드가 처음 append 할 때 segment 를 목록에 한 번 등록하는 것만 CAS 를 쓴다.)
+ * - segment 는 고정 크기 chunk 의 연결 리스트이고, 쓰는 스레드는 항목을 채운 뒤
+ *   volatile count 를 올려서 공개한다(단일 쓰기 스레드 → 읽는 쪽은 잠금 없이 읽는다).
+ * - merge() 는 모든 segment 를 기록 시각(System.nanoTime) 순으로 병합한다.
+ *   한 스레드의 메시지 순서는 항상 유지되고, 스레드 사이의 순서는 기록 시각을 따른다.
+ */
+public class ThreadSegmentBuffer {
+	private static final int CHUNK_SIZE = 256;
+
+	private final Queue<Segment> segments = new ConcurrentLinkedQueue<>();
+
+	private final ThreadLocal<Segment> localSegment = ThreadLocal.withInitial(() -> {
+		Segment segment = new Segment();
+		segments.add(segment);
+		return segment;
+	});
+
+	public void append(String message) {
+		localSegment.get().append(message, System.nanoTime());
+	}
+
+	/** 모든 스레드의 메시지를 기록 시각 순으로 이어 붙인다. */
+	public String merge() {
+		List<Cursor> cursors = new ArrayList<>();
+		for (Segment segment : segments) {
+			Cursor cursor = new Cursor(segment.head);
+			if (cursor.hasNext()) {
+				cursors.add(cursor);
+			}
+		}
+		StringBuilder merged = new StringBuilder();
+		while (!cursors.isEmpty()) {
+			int earliest = 0;
+			for (int i = 1; i < cursors.size(); i++) {
+				if (cursors.get(i).stamp() < cursors.get(earliest).stamp()) {
+					earliest = i;
+				}
+			}
+			Cursor cursor = cursors.get(earliest);
+			merged.append(cursor.message());
+			cursor.advance();
+			if (!cursor.hasNext()) {
+				cursors.remove(earliest);
+			}
+		}
+		return merged.toString();
+	}
+
+	/** 한 스레드 전용 버퍼. append 는 소유 스레드만 호출한다. */
+	private static final class Segment {
+		final Chunk head = new Chunk();
+		Chunk tail = head;
+
+		void append(String message, long stamp) {
+			Chunk chunk = tail;
+			int n = chunk.count;
+			if (n == CHUNK_SIZE) {
+				Chunk next = new Chunk();
+				chunk.next = next;
+				tail = chunk = next;
+				n = 0;
+			}
+			chunk.messages[n] = message;
+			chunk.stamps[n] = stamp;
+			chunk.count = n + 1; // volatile 쓰기로 항목 공개
+		}
+	}
+
+	private static final class Chunk {
+		final String[] messages = new String[CHUNK_SIZE];
+		final long[] stamps = new long[CHUNK_SIZE];
+		volatile int count;
+		volatile Chunk next;
+	}
+
+	/** merge() 시점에 공개된 항목까지만 읽는 커서. */
+	private static final class Cursor {
+		Chunk chunk;
+		int index;
+		int limit;
+
+		Cursor(Chunk chunk) {
+			this.chunk = chunk;
+			this.limit = chunk.count;
+			skipFullChunk();
+		}
+
+		boolean hasNext() {
+			return index < limit;
+		}
+
+		long stamp() {
+			return chunk.stamps[index];
+		}
+
+		String message() {
+			return chunk.messages[index];
+		}
+
+		void advance() {
+			index++;
+			skipFullChunk();
+		}
+
+		private void skipFullChunk() {
+			if (index == limit && limit == CHUNK_SIZE && chunk.next != null) {
+				chunk = chunk.next;
+				index = 0;
+				limit = chunk.count;
+			}
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package myspring.di.xml;
+
+import java.nio.charset.Charset;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+
+import myspring.di.support.AsyncConsoleWriter;
+import myspring.di.support.AsyncConsoleWriter.OverflowPolicy;
+
+//ConsolePrinter 의 비동기 버전
+//print() 는 링 버퍼에 넣고 바로 돌아가고, 백그라운드 스레드가 모아서 System.out 에 쓴다.
+//컨텍스트가 닫힐 때(destroy) 남은 메시지를 모두 쓴다.
+public class AsyncConsolePrinter implements Printer, DisposableBean {
+	private static final Logger log = LogManager.getLogger(AsyncConsolePrinter.class);
+
+	private int capacity = 8192;
+	private int batchSize = 256;
+	private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+	private int sampleRate = 100;
+	private volatile AsyncConsoleWriter writer;
+	
+	public AsyncConsolePrinter() {
+		log.info("{} 생성자가 호출됨", this.getClass().getName());
+	}
+
+	public void setCapacity(int capacity) {
+		this.capacity = capacity;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	//BLOCK, DROP, SAMPLE
+	public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	//SAMPLE 일 때 넘친 메시지 몇 개 중 1개를 남길지
+	public void setSampleRate(int sampleRate) {
+		this.sampleRate = sampleRate;
+	}
+
+	public void print(String message) {
+		writer().writeLine(message);
+	}
+
+	//지금까지 print() 한 메시지가 모두 출력될 때까지 기다린다
+	public void flush() {
+		if (writer != null) {
+			writer.flush();
+		}
+	}
+
+	public long getDroppedCount() {
+		return writer == null ? 0 : writer.getDroppedCount();
+	}
+
+	@Override
+	public void destroy() {
+		if (writer != null) {
+			writer.close();
+		}
+	}
+
+	//처음 출력할 때 설정값으로 writer 스레드를 시작한다
+	private AsyncConsoleWriter writer() {
+		AsyncConsoleWriter w = writer;
+		if (w == null) {
+			synchronized (this) {
+				w = writer;
+				if (w == null) {
+					writer = w = new AsyncConsoleWriter(System.out, Charset.defaultCharset(), capacity, batchSize, overflowPolicy, sampleRate);
+				}
+			}
+		}
+		return w;
+	}
+}
@@ -1,8 +1,13 @@
 package myspring.di.xml;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
 public class ConsolePrinter implements Printer {
+	private static final Logger log = LogManager.getLogger(ConsolePrinter.class);
+
 	public ConsolePrinter() {
-		System.out.println(this.getClass().getName() + " 생성자가 호출됨");
+		log.info("{} 생성자가 호출됨", this.getClass().getName());
 	}
 	
 	public void print(String message) {
@@ -2,17 +2,22 @@ package myspring.di.xml;
 
 import java.util.List;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
 public class Hello {
+	private static final Logger log = LogManager.getLogger(Hello.class);
+
 	String name;
 	Printer printer;
 	List<String> names;
 
 	public Hello() {
-		System.out.println(this.getClass().getName() + " 생성자가 호출됨");
+		log.info("{} 생성자가 호출됨", this.getClass().getName());
 	}
 
 	public Hello(String name, Printer printer) {
-		System.out.println(this.getClass().getName() + " Overloaded 생성자가 호출됨");
+		log.info("{} Overloaded 생성자가 호출됨", this.getClass().getName());
 		this.name = name;
 		this.printer = printer;
 	}
@@ -27,13 +32,12 @@ public class Hello {
 
 	//setFirstName
 	public void setName(String name) {
-		System.out.println(this.getClass().getName() + " setName() 호출됨 " + name);
+		log.info("{} setName() 호출됨 {}", this.getClass().getName(), name);
 		this.name = name;
 	}
 
 	public void setPrinter(Printer printer) {
-		System.out.println(this.getClass().getName() + " setPrinter() 호출됨 " + 
-				printer.getClass().getName());
+		log.info("{} setPrinter() 호출됨 {}", this.getClass().getName(), printer.getClass().getName());
 		this.printer = printer;
 	}
 
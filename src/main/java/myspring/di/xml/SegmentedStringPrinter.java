@@ -0,0 +1,26 @@
+package myspring.di.xml;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import myspring.di.support.ThreadSegmentBuffer;
+
+//StringPrinter 와 같은 역할이지만 스레드마다 따로 쌓고 toString() 에서 합친다.
+//여러 스레드가 동시에 print() 해도 하나의 잠금에 줄 서지 않는다.
+public class SegmentedStringPrinter implements Printer {
+	private static final Logger log = LogManager.getLogger(SegmentedStringPrinter.class);
+
+	private final ThreadSegmentBuffer buffer = new ThreadSegmentBuffer();
+	
+	public SegmentedStringPrinter() {
+		log.info("{} 생성자가 호출됨", this.getClass().getName());
+	}
+
+	public void print(String message) {
+		this.buffer.append(message);
+	}
+
+	public String toString() {
+		return this.buffer.merge();
+	}
+}
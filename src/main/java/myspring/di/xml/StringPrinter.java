@@ -1,10 +1,15 @@
 package myspring.di.xml;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
 public class StringPrinter implements Printer {
+	private static final Logger log = LogManager.getLogger(StringPrinter.class);
+
 	private StringBuffer buffer = new StringBuffer();
 	
 	public StringPrinter() {
-		System.out.println(this.getClass().getName() + " 생성자가 호출됨");
+		log.info("{} 생성자가 호출됨", this.getClass().getName());
 	}
 
 	public void print(String message) {
@@ -0,0 +1,146 @@
+package mylab.notification.di.annot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import mylab.notification.di.annot.AsyncNotificationDispatcher.Backpressure;
+
+class AsyncNotificationDispatcherTest {
+
+    @Test
+    @DisplayName("느린 제공업체(20ms)로 200건 비동기 전송 → 호출 스레드는 기다리지 않고 모두 완료")
+    void asyncSendDoesNotBlockCaller() throws Exception {
+        FakeNotificationService email = new FakeNotificationService("email", 20);
+        FakeNotificationService sms = new FakeNotificationService("sms", 20);
+        try (AsyncNotificationDispatcher dispatcher = new AsyncNotificationDispatcher(
+                AsyncNotificationDispatcher.newDefaultExecutor(50), 1000, Backpressure.BLOCK)) {
+            NotificationManager manager = new NotificationManager(email, sms, dispatcher);
+
+            long start = System.nanoTime();
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(manager.sendNotificationByEmailAsync("이메일 " + i));
+                futures.add(manager.sendNotificationBySmsAsync("SMS " + i));
+            }
+            long submitMillis = (System.nanoTime() - start) / 1_000_000;
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            long totalMillis = (System.nanoTime() - start) / 1_000_000;
+            System.out.println("200건 제출 " + submitMillis + "ms, 전송 완료 " + totalMillis
+                    + "ms (동기였다면 약 4000ms, virtual=" + AsyncNotificationDispatcher.isVirtualThreadSupported() + ")");
+
+            assertTrue(submitMillis < 1000);
+            assertEquals(100, email.getSentCount());
+            assertEquals(100, sms.getSentCount());
+            assertEquals(200, dispatcher.getCompletedCount());
+            assertEquals(0, dispatcher.getPendingCount());
+        }
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 REJECT 는 바로 실패, CALLER_RUNS 는 호출 스레드에서 전송")
+    void backpressureWhenFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        NotificationService stuck = blockedUntil(release);
+        FakeNotificationService fast = new FakeNotificationService("fast", 0);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try (AsyncNotificationDispatcher reject = new AsyncNotificationDispatcher(executor, 2, Backpressure.REJECT)) {
+            CompletableFuture<Void> first = reject.dispatch(stuck, "1");
+            CompletableFuture<Void> second = reject.dispatch(stuck, "2");
+            CompletableFuture<Void> third = reject.dispatch(fast, "3");
+            assertEquals(2, reject.getPendingCount());
+            CompletionException e = assertThrows(CompletionException.class, third::join);
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+            assertEquals(1, reject.getRejectedCount());
+
+            release.countDown();
+            CompletableFuture.allOf(first, second).join();
+            assertEquals(0, fast.getSentCount());
+        }
+
+        CountDownLatch release2 = new CountDownLatch(1);
+        NotificationService stuck2 = blockedUntil(release2);
+        try (AsyncNotificationDispatcher callerRuns = new AsyncNotificationDispatcher(
+                Executors.newSingleThreadExecutor(), 1, Backpressure.CALLER_RUNS)) {
+            CompletableFuture<Void> first = callerRuns.dispatch(stuck2, "1");
+            CompletableFuture<Void> second = callerRuns.dispatch(fast, "2");
+            assertTrue(second.isDone());
+            assertEquals(1, fast.getSentCount());
+            release2.countDown();
+            first.join();
+        }
+    }
+
+    @Test
+    @DisplayName("전송 예외는 future 로 전달된다")
+    void failureCompletesFutureExceptionally() throws Exception {
+        try (AsyncNotificationDispatcher dispatcher = new AsyncNotificationDispatcher(
+                Executors.newSingleThreadExecutor(), 10, Backpressure.BLOCK)) {
+            CompletableFuture<Void> future = dispatcher.dispatch(message -> {
+                throw new IllegalStateException("SMTP down");
+            }, "실패");
+            CompletionException e = assertThrows(CompletionException.class, future::join);
+            assertEquals("SMTP down", e.getCause().getMessage());
+            assertEquals(1, dispatcher.getFailedCount());
+            assertEquals(0, dispatcher.getPendingCount());
+        }
+    }
+
+    @Test
+    @DisplayName("CALLER_RUNS 에서 던진 Error 도 future 로 전달된다")
+    void callerRunsErrorCompletesFuture() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (AsyncNotificationDispatcher dispatcher = new AsyncNotificationDispatcher(
+                Executors.newSingleThreadExecutor(), 1, Backpressure.CALLER_RUNS)) {
+            CompletableFuture<Void> first = dispatcher.dispatch(blockedUntil(release), "1");
+            CompletableFuture<Void> second = dispatcher.dispatch(message -> {
+                throw new AssertionError("boom");
+            }, "2");
+            CompletionException e = assertThrows(CompletionException.class, second::join);
+            assertTrue(e.getCause() instanceof AssertionError);
+            assertEquals(1, dispatcher.getFailedCount());
+            release.countDown();
+            first.join();
+        }
+    }
+
+    @Test
+    @DisplayName("BLOCK 으로 기다리다 인터럽트되면 InterruptedException 으로 실패 (거절로 세지 않음)")
+    void interruptedBlockFailsWithInterruptedException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (AsyncNotificationDispatcher dispatcher = new AsyncNotificationDispatcher(
+                Executors.newSingleThreadExecutor(), 1, Backpressure.BLOCK)) {
+            CompletableFuture<Void> first = dispatcher.dispatch(blockedUntil(release), "1");
+            Thread.currentThread().interrupt();
+            CompletableFuture<Void> second = dispatcher.dispatch(message -> {}, "2");
+            assertTrue(Thread.interrupted());
+            CompletionException e = assertThrows(CompletionException.class, second::join);
+            assertTrue(e.getCause() instanceof InterruptedException);
+            assertEquals(0, dispatcher.getRejectedCount());
+            release.countDown();
+            first.join();
+        }
+    }
+
+    // latch 가 열릴 때까지 전송이 끝나지 않는 제공업체
+    private static NotificationService blockedUntil(CountDownLatch latch) {
+        return message -> {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+}
@@ -0,0 +1,137 @@
+package mylab.notification.di.annot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BatchingNotificationServiceTest {
+
+    // 받은 묶음을 기록하는 채널
+    static class RecordingService implements NotificationService {
+        final List<String> sends = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void sendNotification(String message) {
+            sends.add("?:" + message);
+        }
+
+        @Override
+        public void sendNotification(String recipient, String message) {
+            sends.add(recipient + ":" + message);
+        }
+
+        @Override
+        public void sendNotifications(String recipient, List<String> messages) {
+            sends.add(recipient + ":" + messages);
+        }
+    }
+
+    @Test
+    @DisplayName("크기 한도에 닿으면 바로, 아니면 시간 한도 후 수신자별로 합쳐서 전송")
+    void flushesBySizeAndTime() throws Exception {
+        RecordingService channel = new RecordingService();
+        try (BatchingNotificationService batching = new BatchingNotificationService("email", channel, 3, 100)) {
+            batching.sendNotification("kim@a.com", "1");
+            batching.sendNotification("lee@a.com", "A");
+            batching.sendNotification("kim@a.com", "2");
+            batching.sendNotification("kim@a.com", "3"); // kim 크기 한도
+            waitUntil(() -> channel.sends.size() == 1, 1000);
+            assertEquals("kim@a.com:[1, 2, 3]", channel.sends.get(0));
+
+            waitUntil(() -> channel.sends.size() == 2, 1000); // lee 는 시간 한도로
+            assertEquals("lee@a.com:A", channel.sends.get(1));
+
+            assertEquals(2, batching.getSendCount());
+            assertEquals(4, batching.getMessageCount());
+            assertEquals(2.0, batching.getMessagesPerSend(), 0.0);
+            assertEquals(3, batching.getMaxMessagesPerSend());
+            assertTrue(batching.getMaxWaitMillis() >= 90, batching.toString());
+            System.out.println(batching);
+        }
+    }
+
+    @Test
+    @DisplayName("수신자 없는 메시지는 묶지 않고 한 건씩 그대로 전달")
+    void recipientLessMessagesPassThrough() throws Exception {
+        RecordingService channel = new RecordingService();
+        try (BatchingNotificationService batching = new BatchingNotificationService("email", channel, 3, 10_000)) {
+            batching.sendNotification("공지 1");
+            batching.sendNotification("공지 2");
+            batching.sendNotification("공지 3");
+            assertEquals(Arrays.asList("?:공지 1", "?:공지 2", "?:공지 3"), channel.sends);
+            assertEquals(0, batching.getPendingRecipientCount());
+            assertEquals(0, batching.getSendCount());
+        }
+    }
+
+    @Test
+    @DisplayName("close() 는 남은 묶음을 보내고, 동시 전송에서도 메시지를 잃지 않는다")
+    void concurrentSendersLoseNothing() throws Exception {
+        FakeNotificationService provider = new FakeNotificationService("sms", 1);
+        BatchingNotificationService batching = new BatchingNotificationService("sms", provider, 50, 20);
+        ExecutorService senders = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            senders.execute(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    batching.sendNotification("010-0000-" + (i % 10), "메시지 " + i);
+                }
+            });
+        }
+        senders.shutdown();
+        assertTrue(senders.awaitTermination(30, TimeUnit.SECONDS));
+        batching.close();
+
+        assertEquals(8_000, provider.getSentCount());
+        assertEquals(0, batching.getPendingRecipientCount());
+        assertTrue(provider.getSendCount() < 8_000 / 10, "sends=" + provider.getSendCount());
+        System.out.println(batching + ", provider sends=" + provider.getSendCount());
+    }
+
+    @Test
+    @DisplayName("close() 와 겹친 전송, close() 이후의 전송도 호출 스레드에서 보내고 잃지 않는다")
+    void sendsDuringAndAfterCloseAreDelivered() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            FakeNotificationService provider = new FakeNotificationService("sms", 0);
+            BatchingNotificationService batching = new BatchingNotificationService("sms", provider, 7, 10_000);
+            ExecutorService senders = Executors.newFixedThreadPool(4);
+            for (int t = 0; t < 4; t++) {
+                senders.execute(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        batching.sendNotification("010-0000-" + (i % 3), "메시지 " + i);
+                    }
+                });
+            }
+            batching.close();
+            senders.shutdown();
+            assertTrue(senders.awaitTermination(30, TimeUnit.SECONDS));
+
+            assertEquals(2_000, provider.getSentCount());
+            assertEquals(0, batching.getPendingRecipientCount());
+        }
+
+        RecordingService channel = new RecordingService();
+        BatchingNotificationService closed = new BatchingNotificationService("email", channel, 3, 10_000);
+        closed.close();
+        closed.sendNotification("kim@a.com", "늦은 메시지");
+        assertEquals(Collections.singletonList("kim@a.com:늦은 메시지"), channel.sends);
+        assertEquals(0, closed.getPendingRecipientCount());
+    }
+
+    private static void waitUntil(BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package mylab.notification.di.annot;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class NotificationOutboxTest {
+
+    private static final int SEGMENT_SIZE = 64 * 1024;
+
+    @TempDir
+    Path dir;
+
+    // 받은 순서대로 "수신자:메시지" 를 기록하는 채널
+    static class RecordingService implements NotificationService {
+        final List<String> received = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void sendNotification(String message) {
+            received.add(message);
+        }
+
+        @Override
+        public void sendNotification(String recipient, String message) {
+            received.add(recipient + ":" + message);
+        }
+    }
+
+    private static Map<String, NotificationService> channels(NotificationService sms) {
+        Map<String, NotificationService> channels = new HashMap<>();
+        channels.put("sms", sms);
+        return channels;
+    }
+
+    @Test
+    @DisplayName("group commit 으로 대량 append → 순서대로 전송하고 다 보낸 세그먼트는 지운다")
+    void appendCommitAndDeliver() throws Exception {
+        FakeNotificationService sms = new FakeNotificationService("sms", 0);
+        try (NotificationOutbox outbox = new NotificationOutbox(dir, channels(sms), SEGMENT_SIZE)) {
+            int count = 20_000;
+            long start = System.nanoTime();
+            List<CompletableFuture<Long>> futures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                futures.add(outbox.append("sms", "010-0000-" + (i % 10_000), "주문 알림 " + i));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("outbox append %d건 %.0f건/s, commit %d회 (commit 당 %.1f건), 세그먼트 %d개%n",
+                    count, count / seconds, outbox.getCommitCount(), outbox.getAppendsPerCommit(), outbox.getSegmentCount());
+
+            assertEquals(outbox.getWriteOffset(), outbox.getDurableOffset());
+            assertTrue(outbox.getSegmentCount() > 1);
+
+            outbox.start();
+            waitUntil(() -> sms.getSentCount() == count);
+            waitUntil(() -> outbox.getSegmentCount() == 1);
+            assertEquals(outbox.getWriteOffset(), outbox.getDeliveredOffset());
+        }
+    }
+
+    @Test
+    @DisplayName("보내기 전에 멈춘 레코드는 다시 열면 순서대로 다시 보낸다")
+    void replaysUndeliveredAfterRestart() throws Exception {
+        try (NotificationOutbox outbox = new NotificationOutbox(dir, channels(new RecordingService()), SEGMENT_SIZE)) {
+            for (int i = 0; i < 100; i++) {
+                outbox.enqueue("sms", "010-1234-5678", "메시지 " + i);
+            }
+            // sender 를 시작하지 않은 채 종료 → 프로세스가 죽은 것과 같다
+        }
+
+        RecordingService sms = new RecordingService();
+        try (NotificationOutbox outbox = new NotificationOutbox(dir, channels(sms), SEGMENT_SIZE)) {
+            assertEquals(100, outbox.getRecoveredCount());
+            outbox.start();
+            waitUntil(() -> sms.received.size() == 100);
+            for (int i = 0; i < 100; i++) {
+                assertEquals("010-1234-5678:메시지 " + i, sms.received.get(i));
+            }
+            waitUntil(() -> outbox.getDeliveredOffset() == outbox.getWriteOffset());
+        }
+
+        try (NotificationOutbox outbox = new NotificationOutbox(dir, channels(new RecordingService()), SEGMENT_SIZE)) {
+            assertEquals(0, outbox.getRecoveredCount());
+        }
+    }
+
+    @Test
+    @DisplayName("쓰다 만 마지막 레코드는 버리고 그 자리부터 이어 쓴다")
+    void ignoresTornTail() throws Exception {
+        long end;
+        try (NotificationOutbox outbox = new NotificationOutbox(dir, channels(new RecordingService()), SEGMENT_SIZE)) {
+            for (int i = 0; i < 10; i++) {
+                outbox.enqueue("sms", "010", "메시지 " + i);
+            }
+            end = outbox.getWriteOffset();
+        }
+        writeGarbage(dir.resolve(String.format("outbox-%020d.log", 0)), (int) end);
+
+        RecordingService sms = new RecordingService();
+        try (NotificationOutbox outbox = new NotificationOutbox(dir, channels(sms), SEGMENT_SIZE)) {
+            assertEquals(10, outbox.getRecoveredCount());
+            assertEquals(end, outbox.getWriteOffset());
+            outbox.enqueue("sms", "010", "메시지 10");
+            outbox.start();
+            waitUntil(() -> sms.received.size() == 11);
+            assertEquals("010:메시지 10", sms.received.get(10));
+        }
+    }
+
+    @Test
+    @DisplayName("전송이 실패하면 같은 레코드를 다시 시도해 순서를 지킨다")
+    void retriesFailedDelivery() throws Exception {
+        RecordingService recording = new RecordingService();
+        int[] failuresLeft = { 3 };
+        NotificationService flaky = new NotificationService() {
+            @Override
+            public void sendNotification(String message) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void sendNotification(String recipient, String message) {
+                if (failuresLeft[0]-- > 0) {
+                    throw new IllegalStateException("SMS gateway timeout");
+                }
+                recording.sendNotification(recipient, message);
+            }
+        };
+        try (NotificationOutbox outbox = new NotificationOutbox(dir, channels(flaky), SEGMENT_SIZE)) {
+            outbox.enqueue("sms", "a", "1");
+            outbox.enqueue("sms", "b", "2");
+            outbox.start();
+            waitUntil(() -> recording.received.size() == 2);
+            assertEquals(Arrays.asList("a:1", "b:2"), recording.received);
+            assertEquals(3, outbox.getDeliveryFailureCount());
+        }
+    }
+
+    @Test
+    @DisplayName("레코드가 세그먼트를 정확히 채워도 다 보낸 세그먼트 파일은 지운다")
+    void deletesExactlyFilledSegment() throws Exception {
+        RecordingService sms = new RecordingService();
+        int segmentSize = 1024;
+        // 레코드 = 헤더 8 + 길이 3개 12 + "sms" 3 + "010" 3 + 메시지 102 = 128 바이트 → 8건이면 딱 맞는다
+        char[] body = new char[102];
+        Arrays.fill(body, 'x');
+        String message = new String(body);
+        try (NotificationOutbox outbox = new NotificationOutbox(dir, channels(sms), segmentSize)) {
+            for (int i = 0; i < 8; i++) {
+                outbox.enqueue("sms", "010", message);
+            }
+            assertEquals(segmentSize, outbox.getWriteOffset());
+            outbox.enqueue("sms", "010", "다음 세그먼트");
+            assertEquals(2, outbox.getSegmentCount());
+
+            outbox.start();
+            waitUntil(() -> sms.received.size() == 9);
+            waitUntil(() -> outbox.getSegmentCount() == 1);
+            assertFalse(Files.exists(dir.resolve(String.format("outbox-%020d.log", 0))));
+            assertTrue(Files.exists(dir.resolve(String.format("outbox-%020d.log", 1))));
+        }
+    }
+
+    @Test
+    @DisplayName("maxAttempts 번 실패한 레코드는 outbox.dead 에 남기고 다음 레코드를 보낸다")
+    void deadLettersAfterMaxAttempts() throws Exception {
+        RecordingService recording = new RecordingService();
+        NotificationService broken = new NotificationService() {
+            @Override
+            public void sendNotification(String message) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void sendNotification(String recipient, String message) {
+                if (recipient.equals("blocked")) {
+                    throw new IllegalStateException("수신 거부");
+                }
+                recording.sendNotification(recipient, message);
+            }
+        };
+        try (NotificationOutbox outbox = new NotificationOutbox(dir, channels(broken), SEGMENT_SIZE)) {
+            outbox.setMaxAttempts(3);
+            outbox.enqueue("sms", "a", "1");
+            outbox.enqueue("sms", "blocked", "줄1\n줄2");
+            outbox.enqueue("sms", "b", "2");
+            outbox.start();
+            waitUntil(() -> recording.received.size() == 2);
+            assertEquals(Arrays.asList("a:1", "b:2"), recording.received);
+            assertEquals(3, outbox.getDeliveryFailureCount());
+            assertEquals(1, outbox.getDeadLetterCount());
+            assertEquals(Arrays.asList("sms\tblocked\t줄1\\n줄2\tjava.lang.IllegalStateException: 수신 거부"),
+                    Files.readAllLines(outbox.getDeadLetterFile(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("force 가 실패해 예외를 받은 레코드는 다음 force 가 성공해도, 다시 열어도 보내지 않는다")
+    void failedCommitIsNeverDelivered() throws Exception {
+        AtomicInteger failForces = new AtomicInteger();
+        try (NotificationOutbox outbox = new NotificationOutbox(dir, channels(new RecordingService()), SEGMENT_SIZE) {
+            @Override
+            void force(MappedByteBuffer buffer) {
+                if (failForces.getAndDecrement() > 0) {
+                    throw new IllegalStateException("디스크 오류");
+                }
+                super.force(buffer);
+            }
+        }) {
+            outbox.enqueue("sms", "a", "1");
+            failForces.set(1);
+            CompletionException failure = assertThrows(CompletionException.class,
+                    () -> outbox.append("sms", "b", "2").join());
+            assertTrue(failure.getCause() instanceof UncheckedIOException);
+            outbox.enqueue("sms", "c", "3"); // 같은 세그먼트를 다시 force → 취소 표시도 함께 내려간다
+            assertEquals(1, outbox.getCommitFailureCount());
+            assertEquals(1, outbox.getCancelledCount());
+            // sender 를 시작하지 않은 채 종료
+        }
+
+        RecordingService sms = new RecordingService();
+        try (NotificationOutbox outbox = new NotificationOutbox(dir, channels(sms), SEGMENT_SIZE)) {
+            assertEquals(2, outbox.getRecoveredCount());
+            outbox.enqueue("sms", "d", "4");
+            outbox.start();
+            waitUntil(() -> outbox.getDeliveredOffset() == outbox.getWriteOffset());
+            assertEquals(Arrays.asList("a:1", "c:3", "d:4"), sms.received);
+        }
+    }
+
+    @Test
+    @DisplayName("outbox 채널로 만든 NotificationManager 는 적고 돌아오고, 수신자 없는 알림은 수신자 없이 보낸다")
+    void managerInFrontOfOutbox() throws Exception {
+        RecordingService sms = new RecordingService();
+        try (NotificationOutbox outbox = new NotificationOutbox(dir, channels(sms), SEGMENT_SIZE)) {
+            NotificationManager manager = new NotificationManager(new RecordingService(), outbox.channel("sms"));
+            manager.sendNotificationBySms("010", "수신자 있음");
+            manager.sendNotificationBySms("수신자 없음");
+            assertEquals(2, outbox.getAppendCount());
+            assertTrue(sms.received.isEmpty());
+
+            outbox.start();
+            waitUntil(() -> sms.received.size() == 2);
+            assertEquals(Arrays.asList("010:수신자 있음", "수신자 없음"), sms.received);
+            assertThrows(IllegalArgumentException.class, () -> outbox.channel("fax"));
+        }
+    }
+
+    @Test
+    @DisplayName("다 보내고 지운 세그먼트는 매핑도 바로 푼다")
+    void deletedSegmentIsUnmapped() throws Exception {
+        Path maps = Paths.get("/proc/self/maps");
+        assumeTrue(Files.isReadable(maps));
+        RecordingService sms = new RecordingService();
+        int segmentSize = 1024;
+        try (NotificationOutbox outbox = new NotificationOutbox(dir, channels(sms), segmentSize)) {
+            for (int i = 0; i < 60; i++) {
+                outbox.enqueue("sms", "010", "메시지 " + i);
+            }
+            assertTrue(outbox.getSegmentCount() > 1);
+            String first = dir.resolve(String.format("outbox-%020d.log", 0)).toString();
+            assertTrue(new String(Files.readAllBytes(maps), StandardCharsets.UTF_8).contains(first));
+
+            outbox.start();
+            waitUntil(() -> outbox.getSegmentCount() == 1);
+            assertFalse(new String(Files.readAllBytes(maps), StandardCharsets.UTF_8).contains(first));
+        }
+    }
+
+    private static void writeGarbage(Path file, int position) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer garbage = ByteBuffer.allocate(30);
+            garbage.putInt(22).putInt(0xCAFEBABE).put("torn-record".getBytes()).flip();
+            channel.write(garbage, position);
+        }
+        assertTrue(Files.size(file) >= position + 30);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.sleep(5);
+        }
+    }
+}
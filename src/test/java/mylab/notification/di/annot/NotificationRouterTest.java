@@ -0,0 +1,202 @@
+package mylab.notification.di.annot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class NotificationRouterTest {
+
+    private static Map<String, NotificationService> channels(NotificationService... services) {
+        Map<String, NotificationService> channels = new HashMap<>();
+        for (NotificationService service : services) {
+            channels.put(service.getProviderId(), service);
+        }
+        return channels;
+    }
+
+    private static CompletableFuture<Void> all(List<CompletableFuture<Void>> futures) {
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    @Test
+    @DisplayName("대량 발송이 밀려 있어도 OTP(CRITICAL)는 다음 토큰에 바로 나간다")
+    void criticalDoesNotWaitBehindBulk() throws Exception {
+        FakeNotificationService sms = new FakeNotificationService("SKT", 0);
+        Map<String, Double> rates = new HashMap<>();
+        rates.put("SKT", 50.0);
+        try (NotificationRouter router = new NotificationRouter(channels(sms), rates,
+                Executors.newFixedThreadPool(4), 4, 1_000)) {
+            List<CompletableFuture<Void>> bulk = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                bulk.add(router.send("SKT", "010-" + i, "광고 " + i, NotificationPriority.BULK));
+            }
+            List<CompletableFuture<Void>> otp = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                otp.add(router.send("SKT", "010-9999", "OTP " + i, NotificationPriority.CRITICAL));
+            }
+            all(otp).get(2, TimeUnit.SECONDS);
+            long bulkSent = router.getSentCount(NotificationPriority.BULK);
+            System.out.println("OTP 최대 대기 " + router.getMaxWaitMillis(NotificationPriority.CRITICAL)
+                    + "ms, 그동안 나간 대량 발송 " + bulkSent + "건 / 200건");
+            assertTrue(bulkSent < 50, "bulk sent before OTP: " + bulkSent);
+            assertTrue(router.getMaxWaitMillis(NotificationPriority.CRITICAL) < 1000);
+        }
+    }
+
+    @Test
+    @DisplayName("제공업체별 토큰 버킷: 한도에 걸린 제공업체가 다른 제공업체를 막지 않는다")
+    void rateLimitIsPerProvider() throws Exception {
+        FakeNotificationService skt = new FakeNotificationService("SKT", 0);
+        FakeNotificationService kt = new FakeNotificationService("KT", 0);
+        Map<String, Double> rates = new HashMap<>();
+        rates.put("SKT", 100.0);
+        try (NotificationRouter router = new NotificationRouter(channels(skt, kt), rates,
+                Executors.newFixedThreadPool(4), 4, 1_000)) {
+            long start = System.nanoTime();
+            List<CompletableFuture<Void>> limited = new ArrayList<>();
+            List<CompletableFuture<Void>> unlimited = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                limited.add(router.send("SKT", "010-" + i, "m", NotificationPriority.NORMAL));
+                unlimited.add(router.send("KT", "010-" + i, "m", NotificationPriority.NORMAL));
+            }
+            all(unlimited).get(2, TimeUnit.SECONDS);
+            long unlimitedMillis = (System.nanoTime() - start) / 1_000_000;
+            all(limited).get(5, TimeUnit.SECONDS);
+            long limitedMillis = (System.nanoTime() - start) / 1_000_000;
+            System.out.println("KT(무제한) " + unlimitedMillis + "ms, SKT(100/s) " + limitedMillis + "ms");
+
+            assertTrue(limitedMillis >= 350, "SKT finished too fast: " + limitedMillis);
+            assertTrue(unlimitedMillis < limitedMillis);
+            assertEquals(50, kt.getSentCount());
+            assertEquals(50, skt.getSentCount());
+        }
+    }
+
+    @Test
+    @DisplayName("가중치 라운드 로빈: CRITICAL 이 밀려 있어도 BULK 는 17번에 1번 차례를 받는다")
+    void bulkIsNotStarved() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        NotificationService recording = new NotificationService() {
+            @Override
+            public void sendNotification(String message) {
+                if (message.equals("blocker")) {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return;
+                }
+                order.add(message);
+            }
+
+            @Override
+            public String getProviderId() { return "rec"; }
+        };
+        try (NotificationRouter router = new NotificationRouter(channels(recording), new HashMap<>(),
+                Executors.newSingleThreadExecutor(), 1, 1_000)) {
+            // 전송 슬롯(1개)을 막아 둔 채로 차선을 채운다 → 선택 순서가 결정적
+            CompletableFuture<Void> blocker = router.send("rec", "-", "blocker", NotificationPriority.NORMAL);
+            entered.await();
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(router.send("rec", "-", "C", NotificationPriority.CRITICAL));
+            }
+            for (int i = 0; i < 10; i++) {
+                futures.add(router.send("rec", "-", "B", NotificationPriority.BULK));
+            }
+            release.countDown();
+            blocker.join();
+            all(futures).get(5, TimeUnit.SECONDS);
+
+            assertEquals(2, Collections.frequency(order.subList(0, 34), "B"));
+            assertEquals(110, order.size());
+        }
+    }
+
+    @Test
+    @DisplayName("전송 슬롯 예약: 느린 BULK 가 몰려도 CRITICAL 은 예약된 슬롯으로 바로 나간다")
+    void criticalHasReservedInFlight() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        NotificationService slow = new NotificationService() {
+            @Override
+            public void sendNotification(String message) {
+                if (message.startsWith("광고")) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+
+            @Override
+            public String getProviderId() { return "slow"; }
+        };
+        try (NotificationRouter router = new NotificationRouter(channels(slow), new HashMap<>(),
+                Executors.newFixedThreadPool(8), 8, 1_000)) {
+            assertEquals(8, router.getInFlightLimit(NotificationPriority.CRITICAL));
+            assertEquals(5, router.getInFlightLimit(NotificationPriority.NORMAL));
+            assertEquals(4, router.getInFlightLimit(NotificationPriority.BULK));
+
+            List<CompletableFuture<Void>> bulk = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                bulk.add(router.send("slow", "010-" + i, "광고 " + i, NotificationPriority.BULK));
+            }
+            List<CompletableFuture<Void>> otp = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                otp.add(router.send("slow", "010-9999", "OTP " + i, NotificationPriority.CRITICAL));
+            }
+            try {
+                all(otp).get(2, TimeUnit.SECONDS);
+                router.send("slow", "010-1234", "안내", NotificationPriority.NORMAL).get(2, TimeUnit.SECONDS);
+                assertEquals(0, router.getSentCount(NotificationPriority.BULK));
+                // BULK 는 4건만 전송 중 (4번째 BULK 는 OTP/안내보다 늦게 나갈 수 있으므로 잠시 기다린다)
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+                while (router.getQueuedCount() > 16 && System.nanoTime() < deadline) {
+                    Thread.sleep(5);
+                }
+                assertEquals(16, router.getQueuedCount());
+            } finally {
+                release.countDown(); // 실패해도 close() 가 막힌 BULK 를 기다리며 멈추지 않게
+            }
+            all(bulk).get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    @DisplayName("limiter 한도 거절은 실패가 아니라 역압: 다시 줄 세워서 모두 보낸다")
+    void limiterRejectionIsRequeued() throws Exception {
+        FakeNotificationService smtp = new FakeNotificationService("smtp", 20);
+        ResilientNotificationService resilient = new ResilientNotificationService(smtp,
+                new CircuitBreaker(50, 0.5, 2_000, 10_000), new AdaptiveConcurrencyLimiter(2, 2, 2));
+        try (NotificationRouter router = new NotificationRouter(channels(resilient), new HashMap<>(),
+                Executors.newFixedThreadPool(8), 8, 1_000)) {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                futures.add(router.send("smtp", "user" + i + "@a.com", "안내 " + i, NotificationPriority.NORMAL));
+            }
+            all(futures).get(10, TimeUnit.SECONDS);
+
+            assertEquals(30, smtp.getSentCount());
+            assertEquals(30, router.getSentCount(NotificationPriority.NORMAL));
+            assertEquals(0, router.getFailedCount());
+            assertTrue(router.getRequeuedCount() > 0);
+            assertEquals(0, router.getQueuedCount());
+        }
+    }
+}
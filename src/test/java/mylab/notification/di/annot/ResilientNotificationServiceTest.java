@@ -0,0 +1,126 @@
+package mylab.notification.di.annot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ResilientNotificationServiceTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("장애 → OPEN(즉시 거절) → 시간이 지나면 HALF_OPEN 시험 호출 → 복구되면 CLOSED")
+    void circuitBreakerLifecycle() throws InterruptedException {
+        FaultInjectingNotificationService smtp = new FaultInjectingNotificationService("smtp");
+        CircuitBreaker breaker = new CircuitBreaker(10, 5, 0.5, 1_000, 50, 2);
+        ResilientNotificationService email = new ResilientNotificationService(smtp, breaker,
+                new AdaptiveConcurrencyLimiter(4, 1, 4));
+
+        smtp.setDown(true);
+        for (int i = 0; i < 5; i++) {
+            assertThrows(IllegalStateException.class, () -> email.sendNotification("a", "m"));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(RejectedExecutionException.class, () -> email.sendNotification("a", "m"));
+        assertEquals(5, smtp.getCallCount()); // 열린 동안은 제공업체를 부르지 않는다
+
+        Thread.sleep(60);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertThrows(IllegalStateException.class, () -> email.sendNotification("a", "m")); // 시험 실패 → 다시 OPEN
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        smtp.setDown(false);
+        Thread.sleep(60);
+        email.sendNotification("a", "m");
+        email.sendNotification("a", "m");
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(2, breaker.getOpenedCount());
+    }
+
+    @Test
+    @DisplayName("limiter: 지연이 그대로면 한도를 늘리고, 지연이 늘면 줄이고, 실패면 절반으로")
+    void limiterFollowsLatency() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100);
+        for (int i = 0; i < 50; i++) {
+            fillAndRelease(limiter, 2 * MS);
+        }
+        int grown = limiter.getLimit();
+        assertTrue(grown > 50, "limit=" + grown);
+
+        for (int i = 0; i < 30; i++) {
+            fillAndRelease(limiter, 20 * MS); // 제공업체 쪽에 줄이 생김
+        }
+        int shrunk = limiter.getLimit();
+        assertTrue(shrunk < grown / 4, "limit=" + shrunk);
+
+        assertTrue(limiter.tryAcquire());
+        limiter.release(2 * MS, false);
+        assertEquals(Math.max(2, shrunk / 2), limiter.getLimit());
+    }
+
+    // 한도를 절반 넘게 채운 상태에서 하나를 끝낸다
+    private static void fillAndRelease(AdaptiveConcurrencyLimiter limiter, long rtt) {
+        int n = limiter.getLimit();
+        for (int i = 0; i < n; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+        for (int i = 0; i < n; i++) {
+            limiter.release(rtt, true);
+        }
+    }
+
+    @Test
+    @DisplayName("제공업체가 느려져도(200ms) 호출자는 느린 호출 한 번 이상 기다리지 않는다")
+    void boundsCallerTailLatencyWhenProviderDegrades() throws Exception {
+        FaultInjectingNotificationService smtp = new FaultInjectingNotificationService("smtp");
+        smtp.setLatencyMillis(2);
+        ResilientNotificationService email = new ResilientNotificationService(smtp,
+                new CircuitBreaker(10, 0.5, 50, 10_000), new AdaptiveConcurrencyLimiter(8, 1, 32));
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger rejected = new AtomicInteger();
+        Runnable caller = () -> {
+            for (int i = 0; i < 100; i++) {
+                long start = System.nanoTime();
+                try {
+                    email.sendNotification("kim@a.com", "알림");
+                } catch (RejectedExecutionException e) {
+                    rejected.incrementAndGet();
+                }
+                latencies.add(System.nanoTime() - start);
+            }
+        };
+        for (int t = 0; t < 8; t++) {
+            callers.execute(caller);
+        }
+        Thread.sleep(50);
+        smtp.setLatencyMillis(200); // SMTP 서버가 느려짐
+        callers.shutdown();
+        assertTrue(callers.awaitTermination(30, TimeUnit.SECONDS));
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        double p95 = sorted.get((int) (sorted.size() * 0.95)) / (double) MS;
+        double max = sorted.get(sorted.size() - 1) / (double) MS;
+        System.out.printf("호출 %d건, 거절 %d건, 제공업체 호출 %d건, p95 %.1fms, max %.1fms, %s%n",
+                sorted.size(), rejected.get(), smtp.getCallCount(), p95, max, email);
+
+        assertEquals(CircuitBreaker.State.OPEN, email.getCircuitBreaker().getState());
+        assertTrue(smtp.getCallCount() < 800, "provider calls=" + smtp.getCallCount());
+        // 이미 보낸 호출은 느린 응답(200ms)을 한 번 기다리지만, 그 뒤에 줄 서지는 않는다
+        assertTrue(p95 < 50, "p95=" + p95);
+        assertTrue(max < 400, "max=" + max);
+    }
+}
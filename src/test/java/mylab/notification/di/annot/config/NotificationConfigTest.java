@@ -1,24 +1,58 @@
 package mylab.notification.di.annot.config;
 
+import mylab.notification.di.annot.BatchingNotificationService;
 import mylab.notification.di.annot.EmailNotificationService;
 import mylab.notification.di.annot.NotificationManager;
+import mylab.notification.di.annot.NotificationOutbox;
+import mylab.notification.di.annot.NotificationPriority;
+import mylab.notification.di.annot.NotificationRouter;
+import mylab.notification.di.annot.ResilientNotificationService;
 import mylab.notification.di.annot.SmsNotificationService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.nio.file.Path;
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = NotificationConfig.class)
 class NotificationConfigTest {
 
+    @TempDir
+    static Path outboxDir;
+
+    @DynamicPropertySource
+    static void outboxProperties(DynamicPropertyRegistry registry) {
+        registry.add("notification.outbox.dir", () -> outboxDir.toString());
+    }
+
     @Autowired
     private NotificationManager notificationManager;
 
+    @Autowired
+    private NotificationRouter notificationRouter;
+
+    @Autowired
+    private NotificationOutbox notificationOutbox;
+
+    @Autowired
+    @Qualifier("durableNotificationManager")
+    private NotificationManager durableNotificationManager;
+
+    @Autowired
+    @Qualifier("bulkNotificationManager")
+    private NotificationManager bulkNotificationManager;
+
     @Test
     @DisplayName("Java Config DI 및 기능 검증")
     void testNotificationManager() {
@@ -36,4 +70,49 @@ class NotificationConfigTest {
         notificationManager.sendNotificationByEmail("테스트 이메일");
         notificationManager.sendNotificationBySms("테스트 SMS");
     }
+
+    @Test
+    @DisplayName("대량 발송 매니저는 채널 서비스 앞에 묶음 전송 계층을 둔다")
+    void testBulkNotificationManager() {
+        BatchingNotificationService email = (BatchingNotificationService) bulkNotificationManager.getEmailService();
+        assertTrue(email.getDelegate() instanceof EmailNotificationService);
+        assertEquals(100, email.getMaxBatchSize());
+
+        bulkNotificationManager.sendNotificationByEmail("kim@a.com", "첫 번째 이메일");
+        bulkNotificationManager.sendNotificationByEmail("kim@a.com", "두 번째 이메일");
+        email.flush();
+        assertEquals(1, email.getSendCount());
+        assertEquals(2, email.getMessageCount());
+    }
+
+    @Test
+    @DisplayName("라우터는 이메일(resilient)/SMS 채널 하나씩만 등록하고 제공업체별 한도를 둔다")
+    void testNotificationRouter() {
+        assertTrue(notificationRouter.getChannels().keySet().containsAll(
+                Arrays.asList("emailNotificationService", "smsNotificationService")));
+        assertEquals(2, notificationRouter.getChannels().size());
+        assertTrue(notificationRouter.getChannels().get("emailNotificationService") instanceof ResilientNotificationService);
+        assertEquals(100.0, notificationRouter.getRateLimit("SKT").getRatePerSecond(), 1e-9);
+
+        notificationRouter.send("smsNotificationService", "010-1234-5678", "OTP 123456", NotificationPriority.CRITICAL).join();
+        assertEquals(1, notificationRouter.getSentCount(NotificationPriority.CRITICAL));
+    }
+
+    @Test
+    @DisplayName("durable 매니저는 outbox 에 먼저 적고, outbox 가 이메일/SMS 서비스로 보낸다")
+    void testDurableNotificationManager() throws InterruptedException {
+        assertEquals("smtp.gmail.com:587", durableNotificationManager.getEmailService().getProviderId());
+        assertEquals("SKT", durableNotificationManager.getSmsService().getProviderId());
+
+        long before = notificationOutbox.getDeliveredCount();
+        durableNotificationManager.sendNotificationByEmail("kim@a.com", "주문 완료");
+        durableNotificationManager.sendNotificationBySms("결제 완료");
+        assertEquals(notificationOutbox.getWriteOffset(), notificationOutbox.getDurableOffset());
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (notificationOutbox.getDeliveredCount() < before + 2) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.sleep(5);
+        }
+    }
 }
@@ -0,0 +1,102 @@
+package mylab.order.di.xml;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * IncrementalShoppingCartTest
+ *
+ * - 추가/삭제/수량 변경을 반복하면서 누적 총액(O(1))이
+ *   기존 ShoppingCart 의 전체 순회(full-scan) 총액과 항상 같은지 검증한다.
+ */
+class IncrementalShoppingCartTest {
+
+    @Test
+    @DisplayName("setProducts 로 주입한 목록의 누적 총액 = 전체 순회 총액")
+    void setProductsMatchesFullScan() {
+        List<Product> products = Arrays.asList(
+                new Product("P001", "노트북", 150000),
+                new Product("P002", "스마트폰", 800000),
+                new Product("P001", "노트북", 150000));
+
+        IncrementalShoppingCart cart = new IncrementalShoppingCart();
+        cart.setProducts(products);
+
+        ShoppingCart scan = new ShoppingCart();
+        scan.setProducts(products);
+
+        assertEquals(2, cart.getQuantity("P001"));
+        assertEquals(3, cart.getItemCount());
+        assertEquals(scan.getTotalPriceUnits(), cart.getTotalPriceUnits());
+        assertEquals(scan.getTotalPrice(), cart.getTotalPrice(), 1e-6);
+        assertEquals(1100000.0, cart.getTotalPrice(), 0.0);
+    }
+
+    @Test
+    @DisplayName("double 합산 오차 없이 정확한 금액으로 누적")
+    void exactMoneyArithmetic() {
+        IncrementalShoppingCart cart = new IncrementalShoppingCart();
+        Product dime = new Product("D", "10센트", 0.1);
+        cart.addProduct(dime, 3);
+
+        assertEquals(30L, cart.getTotalPriceUnits());
+        assertEquals("0.30", cart.getTotalAmount().toPlainString());
+        assertEquals(0.3, cart.getTotalPrice(), 0.0); // 0.1+0.1+0.1 != 0.3 (double)
+    }
+
+    @Test
+    @DisplayName("무작위 추가/삭제/수량 변경 후에도 전체 순회 총액과 일치")
+    void randomOperationsMatchFullScan() {
+        Random random = new Random(42);
+        Product[] catalog = new Product[50];
+        for (int i = 0; i < catalog.length; i++) {
+            catalog[i] = new Product("P" + i, "상품" + i, random.nextInt(1_000_000) / 100.0);
+        }
+
+        IncrementalShoppingCart cart = new IncrementalShoppingCart();
+        for (int op = 0; op < 5_000; op++) {
+            Product p = catalog[random.nextInt(catalog.length)];
+            switch (random.nextInt(4)) {
+                case 0:
+                case 1:
+                    cart.addProduct(p, 1 + random.nextInt(3));
+                    break;
+                case 2:
+                    cart.removeProduct(p.getId());
+                    break;
+                default:
+                    if (cart.getQuantity(p.getId()) > 0) {
+                        cart.updateQuantity(p.getId(), random.nextInt(5));
+                    }
+            }
+
+            ShoppingCart scan = new ShoppingCart();
+            scan.setProducts(new ArrayList<>(cart.getProducts()));
+            assertEquals(scan.getTotalPriceUnits(), cart.getTotalPriceUnits(), "op #" + op);
+            assertEquals(scan.getTotalPrice(), cart.getTotalPrice(), 1e-6, "op #" + op);
+            assertEquals(scan.getProducts().size(), cart.getItemCount(), "op #" + op);
+        }
+    }
+
+    @Test
+    @DisplayName("잘못된 수량/없는 상품은 예외")
+    void invalidOperations() {
+        IncrementalShoppingCart cart = new IncrementalShoppingCart();
+        Product p = new Product("P001", "노트북", 150000);
+        assertThrows(IllegalArgumentException.class, () -> cart.addProduct(p, 0));
+        assertThrows(IllegalArgumentException.class, () -> cart.updateQuantity("P001", 1));
+
+        cart.addProduct(p);
+        cart.updateQuantity("P001", 0);
+        assertEquals(0, cart.getItemCount());
+        assertEquals(0L, cart.getTotalPriceUnits());
+        assertFalse(cart.removeProduct("P001"));
+    }
+}
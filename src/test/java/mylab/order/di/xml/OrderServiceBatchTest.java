@@ -0,0 +1,68 @@
+package mylab.order.di.xml;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * OrderServiceBatchTest
+ *
+ * - 일괄 계산(calculateOrderTotals)의 결과가 카트마다 calculateOrderTotal(cart)를
+ *   반복 호출한 결과와 같은지 검증한다.
+ * - 처리량(throughput) 비교는 JMH 벤치마크 OrderBatchBenchmark 에서 한다.
+ */
+class OrderServiceBatchTest {
+
+    private static final OrderService orderService = new OrderService();
+
+    private static List<ShoppingCart> carts;
+
+    @BeforeAll
+    static void createCarts() {
+        Random random = new Random(1);
+        Product[] catalog = new Product[500];
+        for (int i = 0; i < catalog.length; i++) {
+            catalog[i] = new Product("P" + i, "상품" + i, random.nextInt(10_000_000) / 100.0);
+        }
+        carts = new ArrayList<>();
+        for (int c = 0; c < 200_000; c++) {
+            int size = 1 + random.nextInt(c % 100 == 0 ? 200 : 5); // 대부분 작은 카트 + 일부 큰 카트
+            List<Product> products = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                products.add(catalog[random.nextInt(catalog.length)]);
+            }
+            ShoppingCart cart = new ShoppingCart();
+            cart.setProducts(products);
+            carts.add(cart);
+        }
+    }
+
+    @Test
+    @DisplayName("일괄 계산 결과 = 단건 계산 반복 결과 (List / Stream / LinkedList)")
+    void batchMatchesLoop() {
+        double[] expected = new double[carts.size()];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = orderService.calculateOrderTotal(carts.get(i));
+        }
+
+        assertArrayEquals(expected, orderService.calculateOrderTotals(carts));
+        assertArrayEquals(expected, orderService.calculateOrderTotals(carts.stream()));
+
+        List<ShoppingCart> head = new LinkedList<>(carts.subList(0, 1_000));
+        double[] headTotals = orderService.calculateOrderTotals(head);
+        for (int i = 0; i < headTotals.length; i++) {
+            assertEquals(expected[i], headTotals[i]);
+        }
+
+        assertEquals(0, orderService.calculateOrderTotals(Collections.<ShoppingCart>emptyList()).length);
+        assertThrows(IllegalArgumentException.class, () -> orderService.setBatchChunkSize(0));
+    }
+}
@@ -0,0 +1,93 @@
+package mylab.order.di.xml;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * ProductCatalogTest
+ *
+ * - 병렬 배열 카탈로그의 등록/조회와 slot 기반 총액이
+ *   Product 리스트 기반 ShoppingCart 의 총액과 같은지 검증한다.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(locations = "classpath:mylab-order-di.xml")
+class ProductCatalogTest {
+
+    @Autowired private ProductCatalog productCatalog;
+
+    @Autowired private OrderService orderService;
+
+    @Test
+    @DisplayName("XML 로 등록한 카탈로그와 slot 기반 주문 총액")
+    void catalogBeanAndSlotTotal() {
+        assertEquals(2, productCatalog.size());
+        int notebook = productCatalog.slotOf("P001");
+        int phone = productCatalog.slotOf("P002");
+        assertEquals("노트북", productCatalog.getName(notebook));
+        assertEquals("스마트폰", productCatalog.getName(phone));
+        assertEquals(-1, productCatalog.slotOf("P999"));
+
+        assertEquals(950000.0, orderService.calculateOrderTotal(new int[] {notebook, phone}), 0.0);
+        assertEquals(1100000.0,
+                orderService.calculateOrderTotal(new int[] {notebook, phone}, new int[] {2, 1}), 0.0);
+    }
+
+    @Test
+    @DisplayName("대량 등록 후 ID/이름/가격 조회와 재등록(가격 갱신)")
+    void putAndLookupManyProducts() {
+        ProductCatalog catalog = new ProductCatalog();
+        int n = 100_000;
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, catalog.put("P" + i, "상품" + i, i * 100L));
+        }
+        assertEquals(n, catalog.size());
+        for (int i = 0; i < n; i += 997) {
+            int slot = catalog.slotOf("P" + i);
+            assertEquals(i, slot);
+            assertEquals("P" + i, catalog.getId(slot));
+            assertEquals("상품" + i, catalog.getName(slot));
+            assertEquals(i * 100L, catalog.getPriceUnits(slot));
+        }
+
+        assertEquals(7, catalog.put("P7", "다른이름", 1L));
+        assertEquals(n, catalog.size());
+        assertEquals("상품7", catalog.getName(7));
+        assertEquals(1L, catalog.getPriceUnits(7));
+        assertThrows(IndexOutOfBoundsException.class, () -> catalog.getPriceUnits(n));
+    }
+
+    @Test
+    @DisplayName("CatalogShoppingCart 총액 = Product 리스트 ShoppingCart 총액")
+    void catalogCartMatchesListCart() {
+        Random random = new Random(7);
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            products.add(new Product("P" + i, "상품" + i, random.nextInt(10_000_000) / 100.0));
+        }
+        List<Product> picked = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            picked.add(products.get(random.nextInt(products.size())));
+        }
+
+        ShoppingCart listCart = new ShoppingCart();
+        listCart.setProducts(picked);
+
+        CatalogShoppingCart catalogCart = new CatalogShoppingCart(new ProductCatalog());
+        catalogCart.setProducts(picked);
+
+        assertEquals(picked.size(), catalogCart.getLineCount());
+        assertEquals(listCart.getTotalPriceUnits(), catalogCart.getTotalPriceUnits());
+        assertEquals(listCart.getTotalPrice(), catalogCart.getTotalPrice(), 1e-6);
+        assertEquals(picked.size(), catalogCart.getProducts().size());
+    }
+}
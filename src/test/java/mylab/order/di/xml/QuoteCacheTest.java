@@ -0,0 +1,198 @@
+package mylab.order.di.xml;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * QuoteCacheTest
+ *
+ * - 같은 내용의 카트는 한 번만 계산되고, 가격 변경/시간 만료/LRU 방출 시 다시 계산되는지 검증한다.
+ */
+class QuoteCacheTest {
+
+    private final AtomicInteger pricingCalls = new AtomicInteger();
+
+    private final ToDoubleFunction<ShoppingCart> countingPricer = cart -> {
+        pricingCalls.incrementAndGet();
+        return cart.getTotalPrice();
+    };
+
+    private static ShoppingCart cartOf(Product... products) {
+        ShoppingCart cart = new ShoppingCart();
+        cart.setProducts(Arrays.asList(products));
+        return cart;
+    }
+
+    @Test
+    @DisplayName("같은 내용(순서 무관)의 카트는 캐시 적중, 쿠폰이 다르면 별도 견적")
+    void hitsForSameContent() {
+        QuoteCache cache = new QuoteCache();
+        Product notebook = new Product("P001", "노트북", 150000);
+        Product phone = new Product("P002", "스마트폰", 800000);
+
+        assertEquals(950000.0, cache.getOrCompute(cartOf(notebook, phone), countingPricer), 0.0);
+        assertEquals(950000.0, cache.getOrCompute(cartOf(phone, notebook), countingPricer), 0.0);
+
+        IncrementalShoppingCart incremental = new IncrementalShoppingCart();
+        incremental.addProduct(phone);
+        incremental.addProduct(notebook);
+        assertEquals(950000.0, cache.getOrCompute(incremental, countingPricer), 0.0);
+        assertEquals(1, pricingCalls.get());
+
+        incremental.setCouponCode("WELCOME");
+        cache.getOrCompute(incremental, countingPricer);
+        assertEquals(2, pricingCalls.get());
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate(), 0.0);
+    }
+
+    @Test
+    @DisplayName("상품 가격이 바뀌면 그 상품이 들어간 견적만 제거")
+    void priceChangeInvalidatesAffectedQuotes() {
+        QuoteCache cache = new QuoteCache();
+        Product notebook = new Product("P001", "노트북", 150000);
+        Product phone = new Product("P002", "스마트폰", 800000);
+        ShoppingCart both = cartOf(notebook, phone);
+        ShoppingCart phoneOnly = cartOf(phone);
+
+        cache.getOrCompute(both, countingPricer);
+        cache.getOrCompute(phoneOnly, countingPricer);
+        assertEquals(2, cache.size());
+
+        notebook.setPrice(140000);
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getInvalidationCount());
+
+        assertEquals(940000.0, cache.getOrCompute(both, countingPricer), 0.0);
+        assertEquals(800000.0, cache.getOrCompute(phoneOnly, countingPricer), 0.0);
+        assertEquals(3, pricingCalls.get());
+    }
+
+    @Test
+    @DisplayName("최대 개수 초과 시 가장 오래 안 쓴 견적부터 방출(LRU)")
+    void evictsLeastRecentlyUsed() {
+        QuoteCache cache = new QuoteCache();
+        cache.setMaxSize(2);
+        ShoppingCart a = cartOf(new Product("A", "a", 1));
+        ShoppingCart b = cartOf(new Product("B", "b", 2));
+        ShoppingCart c = cartOf(new Product("C", "c", 3));
+
+        cache.getOrCompute(a, countingPricer);
+        cache.getOrCompute(b, countingPricer);
+        cache.getOrCompute(a, countingPricer); // a 를 최근 사용으로
+        cache.getOrCompute(c, countingPricer); // b 방출
+        assertEquals(1, cache.getEvictionCount());
+
+        cache.getOrCompute(a, countingPricer);
+        assertEquals(3, pricingCalls.get());
+        cache.getOrCompute(b, countingPricer);
+        assertEquals(4, pricingCalls.get());
+    }
+
+    @Test
+    @DisplayName("유효 시간이 지나면 다시 계산")
+    void expiresAfterTtl() throws InterruptedException {
+        QuoteCache cache = new QuoteCache();
+        cache.setTtlMillis(20);
+        ShoppingCart cart = cartOf(new Product("A", "a", 1));
+
+        cache.getOrCompute(cart, countingPricer);
+        cache.getOrCompute(cart, countingPricer);
+        assertEquals(1, pricingCalls.get());
+
+        Thread.sleep(40);
+        cache.getOrCompute(cart, countingPricer);
+        assertEquals(2, pricingCalls.get());
+    }
+
+    @Test
+    @DisplayName("CatalogShoppingCart 지문 = 같은 상품의 ShoppingCart 지문")
+    void fingerprintsAreCompatible() {
+        Product notebook = new Product("P001", "노트북", 150000);
+        Product phone = new Product("P002", "스마트폰", 800000);
+        CatalogShoppingCart catalogCart = new CatalogShoppingCart(new ProductCatalog());
+        catalogCart.setProducts(Arrays.asList(notebook, phone, phone));
+
+        assertEquals(cartOf(phone, notebook, phone).getContentFingerprint(), catalogCart.getContentFingerprint());
+        assertNotEquals(cartOf(phone, notebook).getContentFingerprint(), catalogCart.getContentFingerprint());
+    }
+
+    @Test
+    @DisplayName("지문이 같아도 내용이 다른 카트는 서로의 견적을 받지 않는다")
+    void fingerprintCollisionIsNotAHit() {
+        QuoteCache cache = new QuoteCache();
+        // "Aa" 와 "BB" 는 String.hashCode 가 같으므로 같은 가격이면 지문도 같다
+        ShoppingCart aa = cartOf(new Product("Aa", "a", 1000));
+        ShoppingCart bb = cartOf(new Product("BB", "b", 1000));
+        assertEquals(aa.getContentFingerprint(), bb.getContentFingerprint());
+        assertNotEquals(aa.getContent(), bb.getContent());
+
+        cache.getOrCompute(aa, countingPricer);
+        cache.getOrCompute(bb, countingPricer);
+        assertEquals(2, pricingCalls.get());
+        assertEquals(0, cache.getHitCount());
+
+        // 같은 지문 자리에는 나중 카트(bb)의 견적이 남는다
+        assertEquals(1, cache.size());
+        cache.getOrCompute(bb, countingPricer);
+        assertEquals(2, pricingCalls.get());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    @DisplayName("hasContent: 카트 구현과 담은 순서에 관계없이 (상품 ID, 단가, 수량)이 같아야 true")
+    void hasContentComparesLines() {
+        Product notebook = new Product("P001", "노트북", 150000);
+        Product phone = new Product("P002", "스마트폰", 800000);
+        CartContent content = cartOf(phone, notebook, phone).getContent();
+
+        IncrementalShoppingCart incremental = new IncrementalShoppingCart();
+        incremental.addProduct(notebook);
+        incremental.addProduct(phone, 2);
+        CatalogShoppingCart catalogCart = new CatalogShoppingCart(new ProductCatalog());
+        catalogCart.setProducts(Arrays.asList(notebook, phone, phone));
+
+        assertTrue(cartOf(notebook, phone, phone).hasContent(content));
+        assertTrue(incremental.hasContent(content));
+        assertTrue(catalogCart.hasContent(content));
+
+        assertFalse(cartOf(notebook, phone).hasContent(content));
+        assertFalse(cartOf(notebook, phone, phone, phone).hasContent(content));
+        incremental.updateQuantity("P002", 1);
+        assertFalse(incremental.hasContent(content));
+        catalogCart.addProduct("P001", 1);
+        assertFalse(catalogCart.hasContent(content));
+        assertFalse(cartOf(notebook, phone, new Product("P002", "스마트폰", 700000)).hasContent(content));
+    }
+
+    @Test
+    @DisplayName("CatalogShoppingCart: 카탈로그 가격이 바뀌면 견적을 버리고 새 가격으로 다시 계산")
+    void catalogPriceChangeInvalidates() {
+        QuoteCache cache = new QuoteCache();
+        ProductCatalog catalog = new ProductCatalog();
+        CatalogShoppingCart cart = new CatalogShoppingCart(catalog);
+        cart.setProducts(Arrays.asList(new Product("P001", "노트북", 150000), new Product("P002", "스마트폰", 800000)));
+
+        assertEquals(950000.0, cache.getOrCompute(cart, countingPricer), 0.0);
+        assertEquals(950000.0, cache.getOrCompute(cart, countingPricer), 0.0);
+        assertEquals(1, pricingCalls.get());
+
+        catalog.setPriceUnits(catalog.slotOf("P001"), Money.toUnits(140000));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getInvalidationCount());
+        assertEquals(940000.0, cache.getOrCompute(cart, countingPricer), 0.0);
+        assertEquals(2, pricingCalls.get());
+
+        // 같은 값으로 다시 put 하면 알림이 없다
+        catalog.put("P002", "스마트폰", Money.toUnits(800000));
+        assertEquals(1, cache.size());
+    }
+}
@@ -0,0 +1,90 @@
+package mylab.order.di.xml.pricing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import mylab.order.di.xml.IncrementalShoppingCart;
+import mylab.order.di.xml.OrderService;
+import mylab.order.di.xml.Product;
+
+/**
+ * PricingPipelineTest
+ *
+ * - mylab-order-pricing.xml 의 규칙(10% 할인 → 쿠폰 → 배송비)이 순서대로 적용되는지 검증한다.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(locations = "classpath:mylab-order-pricing.xml")
+class PricingPipelineTest {
+
+    @Autowired private PricingPipeline pricingPipeline;
+
+    @Autowired @Qualifier("pricedOrderService") private OrderService pricedOrderService;
+
+    @Autowired @Qualifier("orderService") private OrderService orderService;
+
+    @Test
+    @DisplayName("규칙이 order 순으로 고정되고 주문 총액에 적용됨")
+    void rulesAppliedInOrder() {
+        List<PricingRule> rules = pricingPipeline.getRules();
+        assertEquals(3, rules.size());
+        assertTrue(rules.get(0) instanceof PercentageDiscountRule);
+        assertTrue(rules.get(1) instanceof CouponRule);
+        assertTrue(rules.get(2) instanceof ShippingFeeRule);
+
+        // 950,000 → 10% 할인 855,000 (배송비 무료)
+        assertEquals(855000.0, pricedOrderService.calculateOrderTotal(), 0.0);
+        // 파이프라인이 없는 기존 서비스는 그대로
+        assertEquals(950000.0, orderService.calculateOrderTotal(), 0.0);
+    }
+
+    @Test
+    @DisplayName("쿠폰 + 배송비 (소액 카트)")
+    void couponAndShipping() {
+        IncrementalShoppingCart cart = new IncrementalShoppingCart();
+        cart.addProduct(new Product("P100", "마우스", 30000), 1);
+        assertEquals(33000.0, pricedOrderService.calculateOrderTotal(cart), 0.0);
+
+        cart.setCouponCode("WELCOME");
+        assertEquals(23000.0, pricedOrderService.calculateOrderTotal(cart), 0.0);
+
+        cart.clear();
+        assertEquals(0.0, pricedOrderService.calculateOrderTotal(cart), 0.0);
+    }
+
+    @Test
+    @DisplayName("수백 개 규칙도 정렬된 배열로 고정되어 순서대로 적용")
+    void hundredsOfRules() {
+        List<PricingRule> many = new ArrayList<>();
+        for (int i = 300; i > 0; i--) {
+            ShippingFeeRule fee = new ShippingFeeRule();
+            fee.setOrder(i);
+            fee.setFee(1);
+            many.add(fee);
+        }
+        PercentageDiscountRule half = new PercentageDiscountRule();
+        half.setOrder(1000);
+        half.setDiscountPercent(50);
+        many.add(half);
+
+        PricingPipeline pipeline = new PricingPipeline();
+        pipeline.setRules(many);
+        pipeline.afterPropertiesSet();
+        assertSame(half, pipeline.getRules().get(300));
+
+        IncrementalShoppingCart cart = new IncrementalShoppingCart();
+        cart.setProducts(Arrays.asList(new Product("P1", "책", 100)));
+        // (100 + 300 × 1) × 50% = 200
+        assertEquals(20000L, pipeline.price(cart));
+    }
+}
@@ -0,0 +1,186 @@
+package mylab.student.di.annot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * StudentService / EnrollmentService 를 H2(MySQL 모드) 위의 sql/student.sql 스키마로 검증한다.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(locations = "classpath:mylab-student-jdbc.xml")
+@TestPropertySource(properties = {
+        "student.jdbc.driverClassName=org.h2.Driver",
+        "student.jdbc.url=jdbc:h2:mem:students;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "student.jdbc.username=sa",
+        "student.jdbc.password=" })
+class StudentServiceTest {
+
+    private static final String INSERT_STUDENT =
+            "insert into STUDENT(STU_CODE, STU_NAME, STU_AGE, STU_GRADE, STU_DAYNIGHT, DEPT_CODE) values (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    // sql/student.sql 을 그대로 실행한다 (ScriptUtils 로 나눠서 문자열 안의 ; 도 안전)
+    @BeforeEach
+    void createSchema() {
+        for (String table : Arrays.asList("COURSE_STATUS", "COURSE", "STUDENT", "DEPT")) {
+            studentRepository.getJdbcTemplate().execute("drop table if exists " + table);
+        }
+        new ResourceDatabasePopulator(false, false, "UTF-8", new FileSystemResource("sql/student.sql"))
+                .execute(studentRepository.getJdbcTemplate().getDataSource());
+    }
+
+    @AfterEach
+    void resetSizes() {
+        studentRepository.setFetchSize(StudentRepository.DEFAULT_FETCH_SIZE);
+        enrollmentRepository.setBatchSize(EnrollmentRepository.DEFAULT_BATCH_SIZE);
+    }
+
+    // STU_CODE 2000 ~ 2000+count-1, 학과 10/20/30/40 번갈아
+    private void insertStudents(int count) {
+        List<Object[]> rows = IntStream.range(0, count)
+                .mapToObj(i -> new Object[] { 2000 + i, "학생" + i, 20 + i % 5, (1 + i % 4) + "학년", i % 2 == 0 ? "주간" : "야간", 10 * (1 + i % 4) })
+                .collect(Collectors.toList());
+        studentRepository.getJdbcTemplate().batchUpdate(INSERT_STUDENT, rows);
+    }
+
+    @Test
+    @DisplayName("mylab-student-jdbc.xml: 서비스에 리포지토리가 주입되고 sql/student.sql 의 데이터를 읽는다")
+    void readsSeedData() {
+        assertSame(studentRepository, studentService.getStudentRepository());
+        assertEquals(500, studentRepository.getFetchSize());
+        assertEquals(1000, enrollmentRepository.getBatchSize());
+
+        assertEquals(new Student(1002, "홍길동", 20, "1학년", "주간", 30), studentService.findStudent(1002));
+        assertNull(studentService.findStudent(9999));
+        assertEquals(new Dept(30, "영어영문학과"), studentRepository.findDept(30));
+        assertEquals(4, studentRepository.findDepartments().size());
+        assertEquals(Arrays.asList(new Course(1000, "자바프로그래밍", "김자바"), new Course(2000, "파이썬프로그래밍", "박파이썬")),
+                enrollmentService.getCourses());
+        assertEquals(Arrays.asList(new CourseStatus(1002, 1000, 90), new CourseStatus(1002, 2000, 80)),
+                enrollmentService.getTranscript(1002));
+    }
+
+    @Test
+    @DisplayName("registerStudent: STU_ID 가 채워지고, 없는 학과는 IllegalArgumentException, 중복 학번은 DuplicateKeyException")
+    void registerStudent() {
+        Student student = studentService.registerStudent(new Student(1003, "김철수", 21, "2학년", "야간", 20));
+        assertTrue(student.getStuId() > 0);
+        assertEquals(student.getStuId(), studentService.findStudent(1003).getStuId());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> studentService.registerStudent(new Student(1004, "이영희", 22, "3학년", "주간", 99)));
+        assertThrows(DuplicateKeyException.class,
+                () -> studentService.registerStudent(new Student(1002, "중복", 20, "1학년", "주간", 10)));
+        assertEquals(2, studentRepository.countStudents());
+    }
+
+    @Test
+    @DisplayName("키셋 페이지: STU_ID 순으로 빠짐없이, 중간에 지워져도 다음 페이지는 마지막 STU_ID 다음부터")
+    void keysetPagination() {
+        insertStudents(2_500);
+
+        List<Long> ids = new ArrayList<>();
+        StudentPage page = studentService.getStudents(1000);
+        int pages = 1;
+        ids.addAll(page.getStudents().stream().map(Student::getStuId).collect(Collectors.toList()));
+        while (page.hasNext()) {
+            page = studentService.getStudents(page.getNextAfterId(), 1000);
+            pages++;
+            ids.addAll(page.getStudents().stream().map(Student::getStuId).collect(Collectors.toList()));
+        }
+        assertEquals(3, pages);
+        assertEquals(2_501, ids.size());
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i) > ids.get(i - 1));
+        }
+
+        // 첫 페이지를 읽은 뒤 그 페이지의 행을 지워도 다음 페이지는 밀리지 않는다 (OFFSET 이면 한 명 건너뜀)
+        StudentPage first = studentService.getStudents(10);
+        Student eleventh = studentService.getStudents(first.getNextAfterId(), 1).getStudents().get(0);
+        studentRepository.getJdbcTemplate().update("delete from STUDENT where STU_ID = ?", first.getStudents().get(1).getStuId());
+        assertEquals(eleventh, studentService.getStudents(first.getNextAfterId(), 10).getStudents().get(0));
+
+        // 학과별
+        StudentPage dept20 = studentService.getStudentsByDept(20, 0, 100);
+        assertTrue(dept20.hasNext());
+        assertTrue(dept20.getStudents().stream().allMatch(s -> s.getDeptCode() == 20));
+
+        assertThrows(IllegalArgumentException.class, () -> studentService.getStudents(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> studentService.getStudents(0, StudentRepository.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    @DisplayName("forEachStudent: fetchSize 단위로 읽으며 한 명씩 넘긴다")
+    void streamsAllStudents() {
+        insertStudents(1_000);
+        studentRepository.setFetchSize(64);
+
+        long[] ageSum = new long[1];
+        List<Integer> codes = new ArrayList<>();
+        long count = studentService.forEachStudent(student -> {
+            ageSum[0] += student.getStuAge();
+            if (codes.size() < 3) {
+                codes.add(student.getStuCode());
+            }
+        });
+
+        assertEquals(1_001, count);
+        assertEquals(Arrays.asList(1002, 2000, 2001), codes);
+        assertEquals(20 + IntStream.range(0, 1_000).map(i -> 20 + i % 5).sum(), ageSum[0]);
+    }
+
+    @Test
+    @DisplayName("enroll: batchSize 단위 executeBatch, 없는 과목이 섞이면 전체 롤백, 점수 범위는 보내기 전에 검사")
+    void batchEnrollment() {
+        insertStudents(2_500);
+        enrollmentRepository.setBatchSize(1000);
+        List<CourseStatus> enrollments = IntStream.range(0, 2_500)
+                .mapToObj(i -> new CourseStatus(2000 + i, 1000, i % 101))
+                .collect(Collectors.toList());
+
+        assertEquals(2_500, enrollmentService.enroll(enrollments));
+        assertEquals(2 + 2_500, enrollmentRepository.countEnrollments());
+        assertEquals(Arrays.asList(new CourseStatus(2499, 1000, 499 % 101)), enrollmentService.getTranscript(2499));
+        double expected = (90 + IntStream.range(0, 2_500).map(i -> i % 101).sum()) / 2_501.0;
+        assertEquals(expected, enrollmentService.averageScore(1000), 1e-9);
+        assertEquals(80.0, enrollmentService.averageScore(2000), 0.0);
+        assertEquals(0.0, enrollmentService.averageScore(3000), 0.0);
+
+        assertThrows(DataIntegrityViolationException.class, () -> enrollmentService.enroll(Arrays.asList(
+                new CourseStatus(2000, 2000, 70), new CourseStatus(2001, 9999, 70))));
+        assertThrows(IllegalArgumentException.class, () -> enrollmentService.enroll(Arrays.asList(
+                new CourseStatus(2000, 2000, 70), new CourseStatus(2001, 2000, 101))));
+        assertEquals(2 + 2_500, enrollmentRepository.countEnrollments());
+        assertEquals(0, enrollmentService.enroll(new ArrayList<>()));
+    }
+}
@@ -0,0 +1,139 @@
+package mylab.user.di.annot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * AuthorizationPolicy(패턴 trie) / AuthorizationEngine(판정 캐시) / mylab-user-authz.xml 을 검증한다.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(locations = "classpath:mylab-user-authz.xml")
+class AuthorizationEngineTest {
+
+    @Autowired
+    private SecurityService securityService;
+
+    @Autowired
+    private AuthorizationEngine authorizationEngine;
+
+    private static AuthorizationPolicy policy(String text) {
+        return AuthorizationPolicy.parse(new StringReader(text));
+    }
+
+    @Test
+    @DisplayName("mylab-user-authz.xml: authorize 가 규칙 파일로 판정")
+    void authorizeFromConfig() {
+        assertSame(authorizationEngine, securityService.getAuthorizationEngine());
+        assertTrue(securityService.authorize("gildong", "/users/gildong/profile"));
+        assertFalse(securityService.authorize("gildong", "/users/gildong/password"));
+        assertTrue(securityService.authorize("dooly", "/orders/2024/10/1"));
+        assertFalse(securityService.authorize("dooly", "/admin/users"));
+        assertTrue(securityService.authorize("admin", "/admin/users"));
+        assertFalse(securityService.authorize("admin", "/admin/audit/log"));
+        assertFalse(securityService.authorize("nobody", "/orders/1"));
+        System.out.println(authorizationEngine);
+    }
+
+    @Test
+    @DisplayName("* 는 한 구간, ** 는 0개 이상 구간")
+    void wildcards() {
+        AuthorizationPolicy p = policy(
+                "role u R  # 주석\n"
+                + "allow /a/*/c R\n"
+                + "allow /b/** R\n"
+                + "allow /d/**/e R\n");
+        assertEquals(3, p.getRuleCount());
+        assertTrue(p.isAllowed("u", "/a/x/c"));
+        assertFalse(p.isAllowed("u", "/a/x/y/c"));
+        assertFalse(p.isAllowed("u", "/a/c"));
+        assertTrue(p.isAllowed("u", "/b"));
+        assertTrue(p.isAllowed("u", "/b/x/y/z"));
+        assertTrue(p.isAllowed("u", "/d/e"));
+        assertTrue(p.isAllowed("u", "/d/x/y/e"));
+        assertFalse(p.isAllowed("u", "/d/x/y"));
+        assertFalse(p.isAllowed("u", "/x"));
+    }
+
+    @Test
+    @DisplayName("deny 가 allow 보다 우선, 역할이 겹칠 때만 적용")
+    void denyOverridesAllow() {
+        AuthorizationPolicy p = policy(
+                "role user USER\nrole admin USER ADMIN\nrole auditor AUDITOR\n"
+                + "allow /** USER AUDITOR\n"
+                + "deny /secret/** USER\n");
+        assertFalse(p.isAllowed("user", "/secret/1"));
+        assertFalse(p.isAllowed("admin", "/secret/1"));
+        assertTrue(p.isAllowed("auditor", "/secret/1"));
+        assertTrue(p.isAllowed("admin", "/public"));
+    }
+
+    @Test
+    @DisplayName("판정을 캐시하고, 정책을 바꾸면 캐시도 바뀐다")
+    void cachesUntilPolicyChanges() {
+        AuthorizationEngine engine = new AuthorizationEngine(policy("role u R\nallow /x R\n"));
+        assertTrue(engine.isAllowed("u", "/x"));
+        assertTrue(engine.isAllowed("u", "/x"));
+        assertFalse(engine.isAllowed("u", "/y"));
+        assertEquals(2, engine.getEvaluationCount());
+        assertEquals(2, engine.getCachedDecisionCount());
+
+        long version = engine.getVersion();
+        engine.setPolicy(policy("role u R\nallow /y R\n"));
+        assertEquals(version + 1, engine.getVersion());
+        assertFalse(engine.isAllowed("u", "/x"));
+        assertTrue(engine.isAllowed("u", "/y"));
+
+        engine.setMaxCachedDecisions(2);
+        engine.isAllowed("u", "/z");
+        assertEquals(1, engine.getCacheClearCount());
+    }
+
+    @Test
+    @DisplayName("캐시가 넘치면 그 조각만 비우고, 다른 사용자의 판정은 계속 적중")
+    void overflowClearsOneSegment() {
+        AuthorizationEngine engine = new AuthorizationEngine(policy("role user0 R\nallow /** R\n"));
+        engine.setMaxCachedDecisions(16 * 100);
+        for (int u = 0; u < 200; u++) {
+            engine.isAllowed("user" + u, "/home");
+        }
+        long evaluations = engine.getEvaluationCount();
+        assertEquals(200, engine.getCachedDecisionCount());
+
+        // 한 사용자가 자기 조각을 넘치게 채워도 전체가 비지 않는다
+        for (int r = 0; r < 150; r++) {
+            engine.isAllowed("user0", "/doc/" + r);
+        }
+        assertEquals(1, engine.getCacheClearCount());
+        int hits = 0;
+        for (int u = 0; u < 200; u++) {
+            long before = engine.getEvaluationCount();
+            engine.isAllowed("user" + u, "/home");
+            hits += engine.getEvaluationCount() == before ? 1 : 0;
+        }
+        assertTrue(hits >= 150, "hits=" + hits);
+        assertEquals(200 - hits, engine.getEvaluationCount() - evaluations - 150);
+
+        // 이미 있는 판정을 다시 넣어도 개수는 늘지 않는다
+        int cached = engine.getCachedDecisionCount();
+        engine.isAllowed("user1", "/home");
+        assertEquals(cached, engine.getCachedDecisionCount());
+    }
+
+    @Test
+    @DisplayName("잘못된 규칙은 줄 번호와 함께 IllegalArgumentException")
+    void rejectsBadRules() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> policy("role u R\nallow /a/b* R\n"));
+        assertTrue(e.getMessage().startsWith("line 2"));
+        assertThrows(IllegalArgumentException.class, () -> policy("permit /a R\n"));
+        assertThrows(IllegalArgumentException.class, () -> policy("allow /a\n"));
+    }
+}
@@ -0,0 +1,170 @@
+package mylab.user.di.annot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * CachingUserRepository 의 적중/부재 캐시/무효화/동시 조회 합치기/방출을 검증한다.
+ */
+class CachingUserRepositoryTest {
+
+    private final InMemoryUserRepository store = new InMemoryUserRepository();
+    private final CachingUserRepository cache = new CachingUserRepository(store);
+
+    @Test
+    @DisplayName("두 번째 조회부터 캐시 적중, DB 는 한 번만 조회")
+    void readThrough() {
+        store.saveUser("gildong", "홍길동");
+        long before = store.getRoundTripCount();
+
+        assertEquals("홍길동", cache.findByUserId("gildong").getName());
+        assertSame(cache.findByUserId("gildong"), cache.findByUserId("gildong"));
+        assertEquals(1, store.getRoundTripCount() - before);
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals("InMemory", cache.getDbType());
+        System.out.println(cache);
+    }
+
+    @Test
+    @DisplayName("없는 사용자도 negativeTtl 동안 기억하고, 저장하면 바로 지운다")
+    void negativeCaching() throws InterruptedException {
+        cache.setNegativeTtlMillis(30);
+
+        assertNull(cache.findByUserId("nobody"));
+        assertNull(cache.findByUserId("nobody"));
+        assertEquals(1, store.getRoundTripCount());
+        assertEquals(1, cache.getNegativeHitCount());
+
+        Thread.sleep(60);
+        assertNull(cache.findByUserId("nobody"));
+        assertEquals(2, store.getRoundTripCount());
+
+        assertTrue(cache.saveUser("nobody", "이제있음"));
+        assertEquals("이제있음", cache.findByUserId("nobody").getName());
+    }
+
+    @Test
+    @DisplayName("saveUsers 는 해당 userid 항목을 모두 지운다")
+    void saveUsersInvalidates() {
+        assertNull(cache.findByUserId("a"));
+        assertNull(cache.findByUserId("b"));
+        assertEquals(2, cache.size());
+
+        cache.saveUsers(Arrays.asList(new User("a", "에이"), new User("b", "비")));
+        assertEquals(0, cache.size());
+        assertEquals("에이", cache.findByUserId("a").getName());
+        assertEquals("비", cache.findByUserId("b").getName());
+    }
+
+    @Test
+    @DisplayName("같은 키를 동시에 찾으면 DB 조회는 한 번(single-flight)")
+    void coalescesConcurrentMisses() throws Exception {
+        store.saveUser("dooly", "둘리");
+        store.setRoundTripMicros(50_000);
+        long before = store.getRoundTripCount();
+
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<User>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return cache.findByUserId("dooly");
+                }));
+            }
+            start.countDown();
+            for (Future<User> result : results) {
+                assertEquals("둘리", result.get().getName());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(1, store.getRoundTripCount() - before);
+        assertEquals(1, cache.getLoadCount());
+        assertTrue(cache.getAverageLoadMillis() >= 50.0);
+        System.out.println(cache);
+    }
+
+    @Test
+    @DisplayName("최대 개수 초과 시 가장 오래 안 쓴 항목부터 방출, 유효 시간이 지나면 다시 조회")
+    void evictsAndExpires() throws InterruptedException {
+        cache.setMaxSize(2);
+        cache.findByUserId("a");
+        cache.findByUserId("b");
+        cache.findByUserId("a"); // a 를 최근 사용으로
+        cache.findByUserId("c"); // b 방출
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.size());
+
+        long before = store.getRoundTripCount();
+        cache.findByUserId("a");
+        assertEquals(before, store.getRoundTripCount());
+        cache.findByUserId("b");
+        assertEquals(before + 1, store.getRoundTripCount());
+
+        store.saveUser("t", "티");
+        cache.setTtlMillis(20);
+        cache.findByUserId("t");
+        Thread.sleep(40);
+        before = store.getRoundTripCount();
+        cache.findByUserId("t");
+        assertEquals(before + 1, store.getRoundTripCount());
+    }
+
+    @Test
+    @DisplayName("DB 조회가 Error 를 던져도 합쳐진 호출자는 같은 Error 를 받고, 실패한 조회 시간도 평균에 들어간다")
+    void loadErrorReachesCoalescedCallers() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch fail = new CountDownLatch(1);
+        CachingUserRepository failing = new CachingUserRepository(new InMemoryUserRepository() {
+            @Override
+            public User findByUserId(String userId) {
+                entered.countDown();
+                try {
+                    fail.await();
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new AssertionError("driver crashed");
+            }
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<User> loader = pool.submit(() -> failing.findByUserId("dooly"));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            Future<User> waiter = pool.submit(() -> failing.findByUserId("dooly"));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (failing.getCoalescedCount() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            fail.countDown();
+
+            ExecutionException e = assertThrows(ExecutionException.class, () -> loader.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof AssertionError);
+            e = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof AssertionError);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, failing.getLoadFailureCount());
+        assertEquals(1, failing.getCoalescedCount());
+        assertTrue(failing.getAverageLoadMillis() >= 20.0, failing.toString());
+    }
+}
@@ -0,0 +1,178 @@
+package mylab.user.di.annot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import mylab.user.di.annot.BulkRegistrationResult.Reason;
+import mylab.user.di.annot.JdbcUserRepository.UpsertPolicy;
+
+/**
+ * JdbcUserRepository 를 H2(MySQL 모드) 위의 sql/user.sql 스키마로 검증한다.
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(locations = "classpath:mylab-user-jdbc.xml")
+@TestPropertySource(properties = {
+        "user.jdbc.driverClassName=org.h2.Driver",
+        "user.jdbc.url=jdbc:h2:mem:users;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "user.jdbc.username=sa",
+        "user.jdbc.password=" })
+class JdbcUserRepositoryTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcUserRepository repository;
+
+    // sql/user.sql 을 그대로 실행한다 (H2 에 없는 show 제외)
+    @BeforeEach
+    void createSchema() throws IOException {
+        repository.getJdbcTemplate().execute("drop table if exists users");
+        String script = new String(Files.readAllBytes(Paths.get("sql/user.sql")), StandardCharsets.UTF_8);
+        List<String> statements = new ArrayList<>();
+        ScriptUtils.splitSqlScript(script, ';', statements);
+        for (String sql : statements) {
+            if (!sql.startsWith("show")) {
+                repository.getJdbcTemplate().execute(sql);
+            }
+        }
+    }
+
+    @AfterEach
+    void resetPolicy() {
+        repository.setUpsertPolicy(UpsertPolicy.FAIL);
+        repository.setBatchSize(JdbcUserRepository.DEFAULT_BATCH_SIZE);
+    }
+
+    @Test
+    @DisplayName("mylab-user-jdbc.xml: UserService 에 캐시 + JdbcUserRepository 가 주입되고 users 테이블에 저장")
+    void registerUserThroughJdbc() {
+        assertSame(repository, ((CachingUserRepository) userService.getUserRepository()).getDelegate());
+        assertEquals(new User("gildong", "홍길동", "남", "서울"), repository.findByUserId("gildong"));
+
+        assertTrue(userService.registerUser("u100", "김철수", "1234"));
+        assertEquals("김철수", repository.findByUserId("u100").getName());
+        assertNull(repository.findByUserId("nobody"));
+    }
+
+    @Test
+    @DisplayName("saveUsers: batchSize 단위 executeBatch, 한 트랜잭션")
+    void batchInsert() {
+        repository.setBatchSize(1000);
+        List<User> users = new ArrayList<>();
+        IntStream.range(0, 2_500).forEach(i -> users.add(new User("batch" + i, "사용자" + i, i % 2 == 0 ? "남" : "여", "서울")));
+
+        boolean[] saved = repository.saveUsers(users);
+
+        assertEquals(2_500, saved.length);
+        for (boolean s : saved) {
+            assertTrue(s);
+        }
+        assertEquals(2 + 2_500, repository.countUsers());
+        assertEquals("사용자2499", repository.findByUserId("batch2499").getName());
+    }
+
+    @Test
+    @DisplayName("FAIL: 중복이면 DuplicateKeyException, 묶음은 전체 롤백")
+    void failPolicy() {
+        assertThrows(DuplicateKeyException.class, () -> repository.saveUser("gildong", "다른이름"));
+        assertThrows(DuplicateKeyException.class, () -> repository.saveUsers(Arrays.asList(
+                new User("new1", "새사용자"), new User("dooly", "중복"))));
+        assertNull(repository.findByUserId("new1"));
+        assertEquals(2, repository.countUsers());
+    }
+
+    @Test
+    @DisplayName("IGNORE: 중복은 건너뛰고 false, UPDATE: 중복이면 덮어쓰고 true")
+    void ignoreAndUpdatePolicies() {
+        repository.setUpsertPolicy(UpsertPolicy.IGNORE);
+        boolean[] saved = repository.saveUsers(Arrays.asList(
+                new User("new1", "새사용자"), new User("dooly", "중복"), new User("new2", "새사용자2")));
+        assertArrayEquals(new boolean[] { true, false, true }, saved);
+        assertEquals("둘리", repository.findByUserId("dooly").getName());
+
+        repository.setUpsertPolicy(UpsertPolicy.UPDATE);
+        saved = repository.saveUsers(Arrays.asList(new User("dooly", "둘리2", "남", "서울"), new User("new3", "새사용자3")));
+        assertArrayEquals(new boolean[] { true, true }, saved);
+        assertEquals(new User("dooly", "둘리2", "남", "서울"), repository.findByUserId("dooly"));
+        assertTrue(repository.save(new User("dooly", "둘리2", "남", "서울"))); // 값이 같아도 true
+        assertEquals(5, repository.countUsers());
+    }
+
+    @Test
+    @DisplayName("IGNORE + rewriteBatchedStatements: executeBatch 가 SUCCESS_NO_INFO(-2)만 돌려줘도 중복은 false")
+    void ignorePolicyWithoutRowCounts() {
+        JdbcUserRepository rewriting = new JdbcUserRepository(successNoInfo(repository.getJdbcTemplate().getDataSource()));
+        rewriting.setUpsertPolicy(UpsertPolicy.IGNORE);
+        rewriting.setBatchSize(2);
+        boolean[] saved = rewriting.saveUsers(Arrays.asList(new User("new1", "새사용자"), new User("dooly", "중복"),
+                new User("new2", "새사용자2"), new User("new1", "묶음 안 중복"), new User("gildong", "중복")));
+        assertArrayEquals(new boolean[] { true, false, true, false, false }, saved);
+        assertEquals("새사용자", repository.findByUserId("new1").getName());
+        assertEquals(4, repository.countUsers());
+    }
+
+    // MySQL + rewriteBatchedStatements=true 처럼 executeBatch 결과를 모두 SUCCESS_NO_INFO 로 바꾸는 DataSource
+    private static DataSource successNoInfo(DataSource target) {
+        return proxy(DataSource.class, target, (method, result) ->
+                method.getName().equals("getConnection") ? proxy(Connection.class, result, (m, r) ->
+                        m.getName().equals("prepareStatement") ? proxy(PreparedStatement.class, r, (pm, pr) -> {
+                            if (pm.getName().equals("executeBatch")) {
+                                Arrays.fill((int[]) pr, Statement.SUCCESS_NO_INFO);
+                            }
+                            return pr;
+                        }) : r) : result);
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, BiFunction<Method, Object, Object> after) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (p, method, args) -> {
+            try {
+                return after.apply(method, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }));
+    }
+
+    @Test
+    @DisplayName("일괄 등록 + FAIL: 중복 레코드만 실패로 보고되고 나머지는 저장")
+    void bulkRegistrationIsolatesDuplicates() {
+        BulkRegistrationResult result = userService.registerUsers(IntStream.range(0, 10).mapToObj(i ->
+                i == 4 ? new UserRegistration("gildong", "중복", "pw") : new UserRegistration("bulk" + i, "사용자" + i, "pw")));
+
+        assertEquals(9, result.getRegistered());
+        assertEquals(1, result.getFailures().size());
+        assertEquals(4, result.getFailures().get(0).getIndex());
+        assertEquals(Reason.ERROR, result.getFailures().get(0).getReason());
+        assertEquals(2 + 9, repository.countUsers());
+    }
+}
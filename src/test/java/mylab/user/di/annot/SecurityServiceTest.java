@@ -0,0 +1,127 @@
+package mylab.user.di.annot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+/**
+ * SecurityService + CredentialStore(PBKDF2) 인증을 검증한다. (테스트는 반복 횟수를 낮춰 빠르게)
+ */
+class SecurityServiceTest {
+
+    private final CredentialStore store = new CredentialStore(new PasswordHasher(1_000));
+    private final SecurityService security = new SecurityService();
+
+    @AfterEach
+    void shutdown() {
+        security.destroy();
+    }
+
+    @Test
+    @DisplayName("credentialStore 가 없으면 비밀번호가 비어 있지 않은지만 확인 (기존 동작)")
+    void legacyCheck() {
+        assertTrue(security.authenticate("gildong", "1234"));
+        assertFalse(security.authenticate("gildong", ""));
+        assertFalse(security.authenticate("gildong", null));
+    }
+
+    @Test
+    @DisplayName("PBKDF2 해시로 확인: 맞는 비밀번호만 통과, 없는 사용자도 해시를 계산")
+    void verifiesHash() {
+        security.setCredentialStore(store);
+        security.setPassword("gildong", "s3cret");
+
+        assertFalse(security.authenticate("gildong", "wrong"));
+        assertFalse(security.authenticate("nobody", "s3cret"));
+        assertTrue(security.authenticate("gildong", "s3cret"));
+        assertEquals(3, store.getHashVerificationCount());
+        assertEquals(2, store.getFailureCount());
+        assertTrue(new PasswordHasher(1_000).hash("x".toCharArray()).startsWith("pbkdf2-sha256$1000$"));
+    }
+
+    @Test
+    @DisplayName("최근 성공한 같은 비밀번호는 해시 없이 통과, 비밀번호를 바꾸면 다시 해시")
+    void cachesRecentSuccess() throws Exception {
+        security.setCredentialStore(store);
+        security.setPassword("dooly", "hoi");
+        assertTrue(security.authenticate("dooly", "hoi"));
+        assertTrue(security.authenticateAsync("dooly", "hoi").get());
+        assertFalse(security.authenticate("dooly", "hoi!"));
+        assertEquals(1, store.getCacheHitCount());
+        assertEquals(2, store.getHashVerificationCount());
+
+        security.setPassword("dooly", "new");
+        assertFalse(security.authenticate("dooly", "hoi"));
+        assertTrue(security.authenticate("dooly", "new"));
+        System.out.println(store);
+    }
+
+    @Test
+    @DisplayName("해시 비용을 올리면 예전 해시는 로그인 성공 때 새 비용으로 바뀐다")
+    void rehashesOnLogin() {
+        String old = new PasswordHasher(500).hash("pw".toCharArray());
+        store.putHash("u1", old);
+        assertTrue(store.getHasher().needsRehash(old));
+
+        security.setCredentialStore(store);
+        assertTrue(security.authenticate("u1", "pw"));
+        assertEquals(1, store.getRehashCount());
+        store.setCacheTtlMillis(0);
+        assertTrue(security.authenticate("u1", "pw"));
+        assertEquals(1, store.getRehashCount());
+    }
+
+    @Test
+    @DisplayName("해시 대기열이 가득 차면 RejectedExecutionException")
+    void rejectsWhenQueueFull() throws Exception {
+        ExecutorService executor = SecurityService.newVerificationExecutor(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            security.setCredentialStore(store);
+            security.setVerificationExecutor(executor);
+            security.setPassword("gildong", "s3cret");
+
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            executor.execute(() -> { });
+            assertThrows(RejectedExecutionException.class, () -> security.authenticateAsync("gildong", "s3cret"));
+
+            release.countDown();
+            ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+            while (!pool.getQueue().isEmpty() || pool.getActiveCount() > 0) {
+                Thread.sleep(1);
+            }
+            assertTrue(security.authenticate("gildong", "s3cret"));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("mylab-user-credentials.xml: SecurityService 에 CredentialStore 가 주입되어 해시로 확인")
+    void credentialStoreFromConfig() {
+        try (ClassPathXmlApplicationContext context = new ClassPathXmlApplicationContext("mylab-user-credentials.xml")) {
+            SecurityService fromConfig = context.getBean(SecurityService.class);
+            assertSame(context.getBean(CredentialStore.class), fromConfig.getCredentialStore());
+
+            fromConfig.setPassword("gildong", "s3cret");
+            assertFalse(fromConfig.authenticate("gildong", "wrong"));
+            assertTrue(fromConfig.authenticate("gildong", "s3cret"));
+            assertEquals(2, fromConfig.getCredentialStore().getHashVerificationCount());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package mylab.user.di.annot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import mylab.user.di.annot.BulkRegistrationResult.Failure;
+import mylab.user.di.annot.BulkRegistrationResult.Reason;
+
+class UserServiceBulkTest {
+
+    private static UserService newService(UserRepository repository, int batchSize) {
+        UserService service = new UserService();
+        service.setUserRepository(repository);
+        service.setSecurityService(new SecurityService());
+        service.setBulkBatchSize(batchSize);
+        return service;
+    }
+
+    @Test
+    @DisplayName("일괄 등록: 묶음 단위로 저장하고 실패 레코드는 순번/이유와 함께 보고")
+    void registersInBatchesAndReportsFailures() {
+        InMemoryUserRepository repository = new InMemoryUserRepository();
+        repository.saveUser("u7", "기존 사용자");
+        UserService service = newService(repository, 100);
+
+        Stream<UserRegistration> input = IntStream.range(0, 1_000).mapToObj(i -> {
+            if (i == 3) return new UserRegistration("u3", "이름없음", "");     // 인증 실패
+            if (i == 5) return new UserRegistration("u5", null, "pw");          // 입력 오류
+            return new UserRegistration("u" + i, "사용자" + i, "pw" + i);        // u7 은 이미 있음
+        });
+        BulkRegistrationResult result = service.registerUsers(input);
+        System.out.println(result);
+
+        assertEquals(1_000, result.getTotal());
+        assertEquals(997, result.getRegistered());
+        assertEquals(10, result.getBatches());
+        assertEquals(1 + 10, repository.getRoundTripCount());
+
+        Map<Long, Failure> failures = result.getFailures().stream()
+                .collect(Collectors.toMap(Failure::getIndex, Function.identity()));
+        assertEquals(Reason.AUTHENTICATION_FAILED, failures.get(3L).getReason());
+        assertEquals(Reason.INVALID, failures.get(5L).getReason());
+        assertEquals(Reason.REJECTED_BY_REPOSITORY, failures.get(7L).getReason());
+        assertEquals("기존 사용자", repository.getUser("u7").getName());
+    }
+
+    @Test
+    @DisplayName("saveUsers 가 예외를 던지면 그 묶음만 한 건씩 다시 저장해 문제 레코드만 실패 처리")
+    void isolatesFailingRecordWhenBatchThrows() {
+        InMemoryUserRepository repository = new InMemoryUserRepository() {
+            @Override
+            public boolean[] saveUsers(List<User> batch) {
+                if (batch.stream().anyMatch(u -> u.getUserId().equals("bad"))) {
+                    throw new IllegalStateException("Data truncation");
+                }
+                return super.saveUsers(batch);
+            }
+
+            @Override
+            public boolean saveUser(String userId, String name) {
+                if (userId.equals("bad")) {
+                    throw new IllegalStateException("Data truncation: userid");
+                }
+                return super.saveUser(userId, name);
+            }
+        };
+        UserService service = newService(repository, 4);
+
+        BulkRegistrationResult result = service.registerUsers(Stream.of("a", "b", "bad", "c", "d", "e")
+                .map(id -> new UserRegistration(id, "이름", "pw")));
+
+        assertEquals(5, result.getRegistered());
+        assertEquals(1, result.getFailures().size());
+        Failure failure = result.getFailures().get(0);
+        assertEquals(2, failure.getIndex());
+        assertEquals(Reason.ERROR, failure.getReason());
+        assertTrue(failure.getMessage().contains("Data truncation"));
+    }
+}
@@ -0,0 +1,115 @@
+package myspring.di.support;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.context.support.GenericXmlApplicationContext;
+import org.springframework.util.ClassUtils;
+
+import mylab.order.di.xml.OrderService;
+import mylab.user.di.annot.UserService;
+import myspring.di.annot.HelloBean;
+import myspring.di.annot.PrinterBean;
+import myspring.di.xml.Hello;
+
+public class AotApplicationContextsTest {
+
+	//생성 코드로 띄운 컨텍스트는 XML 로 띄운 것과 빈 이름/타입이 같다 (annotation-config 후처리기만 빠진다)
+	@Test
+	void generatedContextsMatchXml() {
+		for (String config : Arrays.asList("spring-beans.xml", "mylab-order-di.xml", "mylab-user-di.xml")) {
+			assumeTrue(AotApplicationContexts.isGenerated(config), "run the build without -Daot.skip");
+			try (GenericApplicationContext generated = AotApplicationContexts.create(config);
+					GenericXmlApplicationContext xml = new GenericXmlApplicationContext("classpath:" + config)) {
+				assertFalse(generated instanceof GenericXmlApplicationContext);
+				assertFalse(generated.containsBeanDefinition(AnnotationConfigUtils.AUTOWIRED_ANNOTATION_PROCESSOR_BEAN_NAME));
+
+				Set<String> expected = new TreeSet<>();
+				for (String name : xml.getBeanDefinitionNames()) {
+					if (!name.startsWith("org.springframework.context.annotation.internal")
+							&& !name.startsWith("org.springframework.context.event.internal")) {
+						expected.add(name);
+					}
+				}
+				assertEquals(expected, new TreeSet<>(Arrays.asList(generated.getBeanDefinitionNames())), config);
+				for (String name : expected) {
+					assertEquals(ClassUtils.getUserClass(xml.getType(name)), generated.getType(name), name);
+				}
+			}
+		}
+	}
+
+	//XML 자리표시자, @Value(${...}), @Value(#{...split}), @Resource(name = ${...}), @Autowired 가 같은 값으로 들어간다
+	@Test
+	void injectsLikeXml() {
+		assumeTrue(AotApplicationContexts.isGenerated("spring-beans.xml"));
+		try (GenericApplicationContext context = AotApplicationContexts.create("spring-beans.xml")) {
+			assertEquals("Hello 스프링", context.getBean("hello", Hello.class).sayHello());
+			Hello helloC = context.getBean("helloC", Hello.class);
+			assertEquals("Hello 생성자", helloC.sayHello());
+			assertEquals(Arrays.asList("Java", "SpringFW", "SpringBoot"), helloC.getNames());
+
+			HelloBean helloBean = context.getBean(HelloBean.class);
+			assertEquals("Hello 어노테이션", helloBean.sayHello());
+			assertEquals(Arrays.asList("Java", "SpringFW", "SpringBoot"), helloBean.getNames());
+			helloBean.print();
+			assertEquals("Hello 어노테이션", context.getBean("stringPrinterBean", PrinterBean.class).toString());
+			//주입한 빈이 먼저 없어지지 않도록 의존 관계도 등록된다
+			assertTrue(Arrays.asList(context.getBeanFactory().getDependentBeans("stringPrinterBean")).contains("helloBean"));
+		}
+		try (GenericApplicationContext context = AotApplicationContexts.create("mylab-order-di.xml")) {
+			assertEquals(950000.0, context.getBean(OrderService.class).calculateOrderTotal(), 0.0);
+		}
+		try (GenericApplicationContext context = AotApplicationContexts.create("mylab-user-di.xml")) {
+			UserService userService = context.getBean(UserService.class);
+			assertTrue(userService.registerUser("gildong", "홍길동", "1234"));
+			assertEquals("MySQL", userService.getUserRepository().getDbType());
+			assertNull(userService.getSecurityService().getAuthorizationEngine());
+		}
+	}
+
+	//-Dmyspring.aot.enabled=false 이거나 생성 코드가 없으면 XML 로 띄운다
+	@Test
+	void fallsBackToXml() {
+		assertEquals("myspring.di.aot.MylabOrderDi__BeanFactoryRegistrations",
+				AotApplicationContexts.registrationsClassName("classpath:mylab-order-di.xml"));
+		assertFalse(AotApplicationContexts.isGenerated("mylab-order-pricing.xml"));
+		System.setProperty(AotApplicationContexts.ENABLED_PROPERTY, "false");
+		try (GenericApplicationContext context = AotApplicationContexts.create("mylab-order-di.xml")) {
+			assertTrue(context instanceof GenericXmlApplicationContext);
+			assertEquals(950000.0, context.getBean(OrderService.class).calculateOrderTotal(), 0.0);
+		} finally {
+			System.clearProperty(AotApplicationContexts.ENABLED_PROPERTY);
+		}
+	}
+
+	//parent 로 상속한 정의도 합쳐서(merged) 쓰고, 지원하지 않는 설정은 빌드를 멈춘다
+	@Test
+	void generatesMergedDefinitionsAndRejectsUnsupported(@TempDir Path dir) throws IOException {
+		BeanRegistrationGenerator generator = new BeanRegistrationGenerator(dir);
+		List<Path> files = generator.generate("classpath:mylab-order-pricing.xml");
+		String definitions = new String(Files.readAllBytes(files.get(0)), StandardCharsets.UTF_8);
+		assertTrue(definitions.contains("getPricedOrderServiceBeanDefinition"));
+		assertTrue(definitions.contains("bean.setShoppingCart(AotApplicationContexts.ref(beanFactory, \"shoppingCart\", "
+				+ "mylab.order.di.xml.ShoppingCart.class, \"pricedOrderService\"));"));
+		assertTrue(definitions.contains("bean.setDiscountPercent(10);"));
+
+		//mylab-user-jdbc.xml 의 HikariConfig 는 내부 빈
+		IllegalStateException e = assertThrows(IllegalStateException.class,
+				() -> generator.generate("classpath:mylab-user-jdbc.xml"));
+		assertEquals("bean 'userDataSource': unsupported ahead of time: inner bean in constructor argument 0", e.getMessage());
+	}
+}
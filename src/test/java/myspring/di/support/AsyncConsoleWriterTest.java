@@ -0,0 +1,166 @@
+package myspring.di.support;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericXmlApplicationContext;
+
+import myspring.di.support.AsyncConsoleWriter.OverflowPolicy;
+import myspring.di.xml.Hello;
+import myspring.di.xml.Printer;
+
+public class AsyncConsoleWriterTest {
+	private static final String NL = System.lineSeparator();
+
+	//넣은 순서대로, 하나도 빠짐없이 쓰는지 확인 (batch 크기보다 많이)
+	@Test
+	void writesAllLinesInOrder() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		StringBuilder expected = new StringBuilder();
+		try (AsyncConsoleWriter writer = new AsyncConsoleWriter(out, 64, 16, OverflowPolicy.BLOCK, 1)) {
+			for (int i = 0; i < 1_000; i++) {
+				assertTrue(writer.writeLine("줄 " + i));
+				expected.append("줄 ").append(i).append(NL);
+			}
+		}
+		assertEquals(expected.toString(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+	}
+
+	//DROP 은 기다리지 않고 버린다, SAMPLE 은 넘친 메시지 중 일부만 남긴다
+	@Test
+	void dropAndSampleWhenFull() throws InterruptedException {
+		for (OverflowPolicy policy : new OverflowPolicy[] { OverflowPolicy.DROP, OverflowPolicy.SAMPLE }) {
+			GatedOutputStream out = new GatedOutputStream();
+			AsyncConsoleWriter writer = new AsyncConsoleWriter(out, 4, 1, policy, 2);
+			writer.writeLine("first");
+			out.entered.await(); //writer 스레드가 첫 줄을 쓰다가 멈춘 상태
+
+			int accepted = 0;
+			for (int i = 0; i < 4; i++) {
+				if (writer.writeLine("fill " + i)) {
+					accepted++;
+				}
+			}
+			assertEquals(4, accepted);
+			if (policy == OverflowPolicy.DROP) {
+				assertFalse(writer.writeLine("overflow"));
+				assertEquals(1, writer.getDroppedCount());
+				out.gate.countDown();
+			} else {
+				assertFalse(writer.writeLine("overflow 1")); //1번째 → 버림
+				new Thread(() -> {
+					sleepQuietly(50);
+					out.gate.countDown();
+				}).start();
+				assertTrue(writer.writeLine("overflow 2")); //2번째 → 자리가 날 때까지 기다림
+				assertEquals(1, writer.getDroppedCount());
+			}
+			writer.close();
+			String written = new String(out.toByteArray(), StandardCharsets.UTF_8);
+			assertTrue(written.startsWith("first" + NL + "fill 0" + NL));
+			assertEquals(policy == OverflowPolicy.SAMPLE, written.contains("overflow 2"));
+		}
+	}
+
+	//close 와 동시에 넣어도 true 를 돌려받은 줄은 모두 쓰이고, BLOCK 으로 기다리던 스레드도 멈추지 않는다
+	@Test
+	void closeRacesWithWriters() throws InterruptedException {
+		for (int round = 0; round < 20; round++) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			AsyncConsoleWriter writer = new AsyncConsoleWriter(out, 8, 4, OverflowPolicy.BLOCK, 1);
+			AtomicInteger accepted = new AtomicInteger();
+			CountDownLatch started = new CountDownLatch(4);
+			List<Thread> threads = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				Thread thread = new Thread(() -> {
+					started.countDown();
+					try {
+						while (true) {
+							if (writer.writeLine("x")) {
+								accepted.incrementAndGet();
+							}
+						}
+					} catch (IllegalStateException closed) {
+						//close 이후
+					}
+				});
+				thread.start();
+				threads.add(thread);
+			}
+			started.await();
+			writer.close();
+			for (Thread thread : threads) {
+				thread.join(5_000);
+				assertFalse(thread.isAlive());
+			}
+			String written = new String(out.toByteArray(), StandardCharsets.UTF_8);
+			assertEquals(accepted.get(), written.split(NL, -1).length - 1);
+		}
+	}
+
+	//컨텍스트를 닫으면 destroy() 에서 남은 메시지를 모두 출력한다
+	@Test
+	void flushesWhenContextCloses() {
+		PrintStream original = System.out;
+		ByteArrayOutputStream captured = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(captured, true));
+		try {
+			GenericXmlApplicationContext context = new GenericXmlApplicationContext("classpath:spring-beans.xml");
+			Printer printer = context.getBean("asyncConsolePrinter", Printer.class);
+			Hello hello = new Hello("async", printer);
+			for (int i = 0; i < 500; i++) {
+				hello.print();
+			}
+			context.close();
+		} finally {
+			System.setOut(original);
+		}
+		String output = new String(captured.toByteArray(), Charset.defaultCharset());
+		int count = output.split("Hello async", -1).length - 1;
+		assertEquals(500, count);
+	}
+
+	private static void sleepQuietly(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	//gate 가 열릴 때까지 쓰기를 멈추는 출력 스트림 (느린 stdout 흉내)
+	static class GatedOutputStream extends FilterOutputStream {
+		final CountDownLatch entered = new CountDownLatch(1);
+		final CountDownLatch gate = new CountDownLatch(1);
+
+		GatedOutputStream() {
+			super(new ByteArrayOutputStream());
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			entered.countDown();
+			try {
+				gate.await();
+			} catch (InterruptedException e) {
+				throw new IOException(e);
+			}
+			out.write(b, off, len);
+		}
+
+		byte[] toByteArray() {
+			return ((ByteArrayOutputStream) out).toByteArray();
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package myspring.di.support;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.support.GenericXmlApplicationContext;
+
+import mylab.order.di.xml.OrderService;
+import mylab.order.di.xml.Product;
+import mylab.user.di.annot.SecurityService;
+import mylab.user.di.annot.UserService;
+
+public class LatencyMonitorTest {
+
+	//spring-metrics.xml 을 같이 읽으면 서비스 메서드가 기록되고, getter/setter 와 값 객체는 감싸지 않는다
+	@Test
+	void recordsServiceMethods() throws Exception {
+		GenericXmlApplicationContext context = new GenericXmlApplicationContext(
+				"classpath:mylab-order-di.xml", "classpath:spring-metrics.xml");
+		try {
+			OrderService orderService = context.getBean("orderService", OrderService.class);
+			assertTrue(AopUtils.isCglibProxy(orderService));
+			assertFalse(AopUtils.isAopProxy(context.getBean("product1", Product.class)));
+
+			for (int i = 0; i < 1_000; i++) {
+				assertEquals(950000.0, orderService.calculateOrderTotal(), 0.0);
+			}
+			orderService.getShoppingCart();
+
+			LatencyMonitor monitor = context.getBean(LatencyMonitor.class);
+			MethodLatency total = monitor.getLatency("OrderService.calculateOrderTotal()");
+			assertEquals(1_000, total.getCount());
+			assertEquals(0, total.getErrorCount());
+			assertTrue(total.getP99Micros() > 0);
+			assertTrue(total.getMaxMicros() >= total.getP99Micros());
+			assertNull(monitor.getLatency("OrderService.getShoppingCart()"));
+
+			//JMX 로 같은 값을 읽는다
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			assertEquals(1_000L, server.getAttribute(
+					LatencyMonitor.objectNameOf("OrderService.calculateOrderTotal()"), "Count"));
+			String report = (String) server.getAttribute(
+					new ObjectName("myspring.latency:type=LatencyMonitor"), "Report");
+			assertTrue(report.contains("OrderService.calculateOrderTotal()"));
+			System.out.println(report);
+		} finally {
+			context.close();
+		}
+	}
+
+	//예외도 호출로 세고, 주기 출력은 지난 주기에 호출된 것만 꺼낸다
+	@Test
+	void countsErrorsAndIntervals() {
+		GenericXmlApplicationContext context = new GenericXmlApplicationContext(
+				"classpath:mylab-user-di.xml", "classpath:spring-metrics.xml");
+		try {
+			UserService userService = context.getBean(UserService.class);
+			SecurityService securityService = context.getBean(SecurityService.class);
+			assertTrue(userService.registerUser("gildong", "홍길동", "1234"));
+			assertThrows(IllegalStateException.class, () -> securityService.setPassword("gildong", "1234"));
+
+			LatencyMonitor monitor = context.getBean(LatencyMonitor.class);
+			assertEquals(1, monitor.getLatency("UserService.registerUser(String,String,String)").getCount());
+			assertEquals(1, monitor.getLatency("SecurityService.authenticate(String,String)").getCount());
+			assertEquals(1, monitor.getLatency("UserRepository.saveUser(String,String)").getCount());
+			MethodLatency setPassword = monitor.getLatency("SecurityService.setPassword(String,String)");
+			assertEquals(1, setPassword.getErrorCount());
+
+			long[] errors = new long[1];
+			assertEquals(1, setPassword.takeInterval(errors).getTotalCount());
+			assertEquals(1, errors[0]);
+			assertEquals(0, setPassword.takeInterval(errors).getTotalCount());
+			assertEquals(0, errors[0]);
+			assertEquals(1, setPassword.getCount());
+		} finally {
+			context.close();
+		}
+	}
+}
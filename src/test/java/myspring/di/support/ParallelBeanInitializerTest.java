@@ -0,0 +1,172 @@
+package myspring.di.support;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.context.support.GenericXmlApplicationContext;
+
+import mylab.order.di.xml.OrderService;
+import myspring.di.annot.HelloBean;
+import myspring.di.annot.PrinterBean;
+import myspring.di.xml.Hello;
+
+public class ParallelBeanInitializerTest {
+
+	//spring-beans.xml: 병렬 모드로 띄워도 주입 결과는 같다. 생성자 주입(helloC)은 풀에서 만들지 않는다.
+	@Test
+	void sameBeansAsSequential() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		GenericXmlApplicationContext context = new GenericXmlApplicationContext();
+		context.load("classpath:spring-beans.xml");
+		ParallelBeanInitializer initializer = ParallelBeanInitializer.enable(context, pool);
+		context.refresh();
+		try {
+			assertEquals("Hello 스프링", context.getBean("hello", Hello.class).sayHello());
+			Hello helloC = context.getBean("helloC", Hello.class);
+			assertEquals("Hello 생성자", helloC.sayHello());
+			assertEquals(Arrays.asList("Java", "SpringFW", "SpringBoot"), helloC.getNames());
+			HelloBean helloBean = context.getBean(HelloBean.class);
+			helloBean.print();
+			assertEquals("Hello 어노테이션", context.getBean("stringPrinterBean", PrinterBean.class).toString());
+
+			assertTrue(initializer.getParallelBeans().containsAll(Arrays.asList("hello", "stringPrinter", "consolePrinter", "helloBean")));
+			assertFalse(initializer.getParallelBeans().contains("helloC"));
+			//XML ref 와 @Resource(name = "${...}") 모두 그래프에 들어간다
+			assertTrue(initializer.getDependencies().get("hello").contains("stringPrinter"));
+			assertTrue(initializer.getDependencies().get("helloC").contains("consolePrinter"));
+			assertTrue(initializer.getDependencies().get("helloBean").contains("stringPrinterBean"));
+			assertEquals(0, waveOf(initializer, "stringPrinter"));
+			assertTrue(waveOf(initializer, "hello") > waveOf(initializer, "stringPrinter"));
+		} finally {
+			context.close();
+			pool.shutdown();
+		}
+
+		GenericXmlApplicationContext order = new GenericXmlApplicationContext();
+		order.load("classpath:mylab-order-di.xml");
+		ParallelBeanInitializer.enable(order);
+		order.refresh();
+		try {
+			assertEquals(950000.0, order.getBean(OrderService.class).calculateOrderTotal(), 0.0);
+		} finally {
+			order.close();
+		}
+	}
+
+	//lazy 빈은 eager 빈에 주입되어도 첫 호출 때 만들어지고, 쓰지 않으면 닫을 때도 만들지 않는다
+	@Test
+	void lazyBeansBehindProxies() {
+		Counted.created.set(0);
+		Counted.destroyed.set(0);
+		GenericApplicationContext context = lazyContext();
+		ParallelBeanInitializer initializer = ParallelBeanInitializer.enable(context);
+		context.refresh();
+		try {
+			assertEquals(Arrays.asList("counted"), Arrays.asList(initializer.getLazyProxies().toArray()));
+			Counted counted = context.getBean(Holder.class).getCounted();
+			assertTrue(AopUtils.isCglibProxy(counted));
+			assertSame(counted, context.getBean("counted"));
+			assertSame(counted, context.getBean(Counted.class));
+			assertEquals(0, Counted.created.get());
+
+			assertEquals(1, counted.next());
+			assertEquals(2, counted.next());
+			assertEquals(1, Counted.created.get());
+			assertFalse(AopUtils.isAopProxy(context.getBean(ParallelBeanInitializer.LAZY_TARGET_PREFIX + "counted")));
+		} finally {
+			context.close();
+		}
+		assertEquals(1, Counted.destroyed.get());
+
+		Counted.created.set(0);
+		Counted.destroyed.set(0);
+		GenericApplicationContext unused = lazyContext();
+		ParallelBeanInitializer.enable(unused);
+		unused.refresh();
+		unused.getBean(Holder.class);
+		unused.close();
+		assertEquals(0, Counted.created.get());
+		assertEquals(0, Counted.destroyed.get());
+	}
+
+	//풀에서 부른 생성자의 예외도 refresh 에서 빈 이름과 함께 나온다
+	@Test
+	void constructorFailureFailsRefresh() {
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.registerBeanDefinition("broken", new RootBeanDefinition(Broken.class));
+		ParallelBeanInitializer initializer = ParallelBeanInitializer.enable(context);
+		BeanCreationException e = assertThrows(BeanCreationException.class, context::refresh);
+		assertEquals("broken", e.getBeanName());
+		assertTrue(initializer.getParallelBeans().contains("broken"));
+	}
+
+	private static GenericApplicationContext lazyContext() {
+		GenericApplicationContext context = new GenericApplicationContext();
+		RootBeanDefinition counted = new RootBeanDefinition(Counted.class);
+		counted.setLazyInit(true);
+		context.registerBeanDefinition("counted", counted);
+		RootBeanDefinition holder = new RootBeanDefinition(Holder.class);
+		holder.getPropertyValues().add("counted", new RuntimeBeanReference("counted"));
+		context.registerBeanDefinition("holder", holder);
+		return context;
+	}
+
+	private static int waveOf(ParallelBeanInitializer initializer, String name) {
+		List<List<String>> waves = initializer.getWaves();
+		for (int i = 0; i < waves.size(); i++) {
+			if (waves.get(i).contains(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public static class Counted implements DisposableBean {
+		static final AtomicInteger created = new AtomicInteger();
+		static final AtomicInteger destroyed = new AtomicInteger();
+
+		private int count;
+
+		public Counted() {
+			created.incrementAndGet();
+		}
+
+		public int next() {
+			return ++count;
+		}
+
+		@Override
+		public void destroy() {
+			destroyed.incrementAndGet();
+		}
+	}
+
+	public static class Holder {
+		private Counted counted;
+
+		public Counted getCounted() {
+			return counted;
+		}
+
+		public void setCounted(Counted counted) {
+			this.counted = counted;
+		}
+	}
+
+	public static class Broken {
+		public Broken() {
+			throw new IllegalStateException("broken");
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package myspring.di.support;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.support.GenericXmlApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import myspring.di.annot.ConsolePrinterBean;
+import myspring.di.annot.HelloBean;
+import myspring.di.annot.StringPrinterBean;
+import myspring.di.xml.Hello;
+
+public class PropertyReloaderTest {
+
+	//XML ${myname11}, @Value(${myname21}), @Value(#{'${mynames21}'.split(',')}), @Resource(name = ${myprinter21}) 가 새 값으로 바뀐다
+	@Test
+	void rebindsChangedKeys(@TempDir Path dir) throws IOException {
+		Path file = copyValues(dir);
+		GenericXmlApplicationContext context = new GenericXmlApplicationContext();
+		context.load("classpath:spring-beans.xml");
+		PropertyReloader reloader = PropertyReloader.attach(context, file.toUri().toString());
+		context.refresh();
+		try {
+			Hello hello = context.getBean("hello", Hello.class);
+			HelloBean helloBean = context.getBean(HelloBean.class);
+			assertEquals("Hello 스프링", hello.sayHello());
+			assertEquals("Hello 어노테이션", helloBean.sayHello());
+			assertTrue(ReflectionTestUtils.getField(helloBean, "printer") instanceof StringPrinterBean);
+
+			write(file, "myname11=Spring", "myname12=\\uC0DD\\uC131\\uC790", "myname21=Annotation",
+					"myprinter21=consolePrinterBean", "mynames21=Java,Kotlin");
+			Set<String> changed = reloader.reload();
+			assertEquals(new TreeSet<>(Arrays.asList("myname11", "myname21", "myprinter21", "mynames21")), changed);
+			assertEquals(2, reloader.getVersion());
+
+			assertEquals("Hello Spring", hello.sayHello());
+			assertEquals("Hello Annotation", helloBean.sayHello());
+			assertEquals(Arrays.asList("Java", "Kotlin"), helloBean.getNames());
+			assertTrue(ReflectionTestUtils.getField(helloBean, "printer") instanceof ConsolePrinterBean);
+			assertEquals("Spring", context.getEnvironment().getProperty("myname11"));
+			//생성자 인자는 처음 값 그대로
+			assertEquals("Hello 생성자", context.getBean("helloC", Hello.class).sayHello());
+
+			//같은 내용이면 아무것도 하지 않고, 읽지 못하면 이전 스냅샷을 쓴다
+			assertTrue(reloader.reload().isEmpty());
+			Files.delete(file);
+			assertTrue(reloader.reload().isEmpty());
+			assertEquals("Spring", context.getEnvironment().getProperty("myname11"));
+		} finally {
+			context.close();
+		}
+	}
+
+	//WatchService: 파일을 바꾸면 감시 스레드가 다시 읽고, 컨텍스트를 닫으면 스레드가 끝난다
+	@Test
+	void watchesFile(@TempDir Path dir) throws Exception {
+		Path file = copyValues(dir);
+		GenericXmlApplicationContext context = new GenericXmlApplicationContext();
+		context.load("classpath:spring-beans.xml");
+		PropertyReloader reloader = PropertyReloader.attach(context, file.toUri().toString());
+		reloader.setDebounceMillis(20);
+		context.refresh();
+		try {
+			assertTrue(reloader.isWatching());
+			Path temp = dir.resolve("values.properties.tmp");
+			write(temp, "myname11=Watched", "myname12=x", "myname21=y", "myprinter21=stringPrinterBean", "mynames21=Java");
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+			long deadline = System.currentTimeMillis() + 20_000;
+			while (reloader.getVersion() < 2 && System.currentTimeMillis() < deadline) {
+				Thread.sleep(20);
+			}
+			assertEquals(2, reloader.getVersion());
+			assertEquals("Hello Watched", context.getBean("hello", Hello.class).sayHello());
+		} finally {
+			context.close();
+		}
+		assertFalse(reloader.isWatching());
+	}
+
+	//spring-reload.xml 을 같이 읽으면 target/classes/values.properties 를 지켜본다
+	@Test
+	void xmlConfiguration() {
+		try (GenericXmlApplicationContext context = new GenericXmlApplicationContext("classpath:spring-beans.xml",
+				"classpath:spring-reload.xml")) {
+			PropertyReloader reloader = context.getBean(PropertyReloader.class);
+			assertEquals(1, reloader.getVersion());
+			assertTrue(reloader.isWatching());
+			assertSame(reloader.getPropertySource(), context.getEnvironment().getPropertySources().get("class path resource [values.properties]"));
+			assertEquals("Hello 스프링", context.getBean("hello", Hello.class).sayHello());
+		}
+	}
+
+	private static Path copyValues(Path dir) throws IOException {
+		Path file = dir.resolve("values.properties");
+		try (InputStream in = PropertyReloaderTest.class.getResourceAsStream("/values.properties")) {
+			Files.copy(in, file);
+		}
+		return file;
+	}
+
+	private static void write(Path file, String... lines) throws IOException {
+		Files.write(file, Arrays.asList(lines), StandardCharsets.ISO_8859_1);
+	}
+}
@@ -0,0 +1,98 @@
+package myspring.di.support;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+import myspring.di.support.StartupProfiler.BeanTiming;
+import myspring.di.xml.config.HelloConfig;
+
+public class StartupProfilerTest {
+
+	//spring-beans.xml: 스캔된 빈 + XML 빈을 모두 재고, 주입 중에 만들어진 빈은 자식으로 기록한다
+	@Test
+	void profilesXmlContext(@TempDir Path dir) throws IOException {
+		ClassPathXmlApplicationContext context = new ClassPathXmlApplicationContext(new String[] { "spring-beans.xml" }, false);
+		StartupProfiler profiler = StartupProfiler.attach(context);
+		profiler.setOutputDirectory(dir);
+		context.refresh();
+		try {
+			assertSame(profiler, context.getBean(StartupProfiler.BEAN_NAME));
+			Map<String, BeanTiming> timings = profiler.getTimings();
+			assertTrue(timings.keySet().containsAll(Arrays.asList("hello", "helloC", "helloBean", "stringPrinter")));
+
+			//helloBean 의 @Resource(stringPrinterBean) 는 helloBean 을 만드는 도중에 생성된다
+			BeanTiming helloBean = profiler.getTiming("helloBean");
+			assertEquals("helloBean", profiler.getTiming("stringPrinterBean").getParentName());
+			assertTrue(helloBean.getTotalNanos() >= helloBean.getSelfNanos());
+			assertTrue(helloBean.getTotalNanos() > 0);
+
+			assertEquals(3, profiler.getPhases().size());
+			List<BeanTiming> path = profiler.getCriticalPath();
+			assertFalse(path.isEmpty());
+			for (int i = 1; i < path.size(); i++) {
+				assertSame(path.get(i - 1), profiler.getTiming(path.get(i).getParentName()));
+			}
+
+			String json = new String(Files.readAllBytes(dir.resolve("startup-profile.json")), StandardCharsets.UTF_8);
+			assertTrue(json.startsWith("{\"context\":"));
+			assertTrue(json.contains("{\"name\":\"stringPrinterBean\",\"type\":\"myspring.di.annot.StringPrinterBean\",\"parent\":\"helloBean\",\"depth\":1,"));
+			for (String line : Files.readAllLines(dir.resolve("startup-profile.folded"), StandardCharsets.UTF_8)) {
+				assertTrue(line.matches("[^ ]+(;[^ ;]+)+ \\d+"), line);
+			}
+			System.out.println(profiler);
+		} finally {
+			context.close();
+		}
+	}
+
+	//@Configuration 클래스는 "configuration classes" 단계에서 처리되고, @Bean 메서드 빈도 잰다
+	@Test
+	void profilesJavaConfig() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		StartupProfiler profiler = StartupProfiler.attach(context);
+		context.register(HelloConfig.class);
+		context.refresh();
+		try {
+			assertTrue(profiler.getPhases().get("configuration classes") > 0);
+			assertNotNull(profiler.getTiming("helloConfig"));
+			assertTrue(profiler.getTimings().size() >= 4);
+			assertTrue(profiler.getTotalNanos() >= profiler.getPhases().values().stream().mapToLong(Long::longValue).sum());
+		} finally {
+			context.close();
+		}
+	}
+
+	//refresh 이후에 만들어지는 prototype 빈은 기록하지 않는다
+	@Test
+	void ignoresBeansCreatedAfterRefresh() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		StartupProfiler profiler = StartupProfiler.attach(context);
+		context.register(HelloConfig.class);
+		context.refresh();
+		try {
+			int recorded = profiler.getTimings().size();
+			List<BeanTiming> path = profiler.getCriticalPath();
+			context.registerBean("lateBuilder", StringBuilder.class, definition -> definition.setScope("prototype"));
+			for (int i = 0; i < 100; i++) {
+				assertNotSame(context.getBean("lateBuilder"), context.getBean("lateBuilder"));
+			}
+			assertEquals(recorded, profiler.getTimings().size());
+			assertNull(profiler.getTiming("lateBuilder"));
+			assertEquals(path, profiler.getCriticalPath());
+		} finally {
+			context.close();
+		}
+	}
+}
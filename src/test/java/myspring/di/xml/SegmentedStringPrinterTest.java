@@ -0,0 +1,66 @@
+package myspring.di.xml;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericXmlApplicationContext;
+
+public class SegmentedStringPrinterTest {
+	
+	//spring-beans.xml 의 hello 빈과 같은 출력을 내는지 확인
+	@Test
+	void singleThreadSameAsStringPrinter() {
+		try (GenericXmlApplicationContext context = new GenericXmlApplicationContext("classpath:spring-beans.xml")) {
+			Printer printer = context.getBean("segmentedStringPrinter", Printer.class);
+			Hello hello = new Hello("스프링", printer);
+			hello.print();
+			hello.print();
+			assertEquals("Hello 스프링Hello 스프링", printer.toString());
+		}
+	}
+
+	//여러 스레드가 동시에 출력해도 스레드별 순서가 유지되고 빠짐없이 합쳐지는지 확인
+	@Test
+	void keepsPerThreadOrder() throws InterruptedException {
+		final Printer printer = new SegmentedStringPrinter();
+		final int threads = 8;
+		final int messages = 5_000; //chunk(256) 여러 개에 걸치도록
+		final CountDownLatch start = new CountDownLatch(1);
+		List<Thread> workers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			final int id = t;
+			Thread worker = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int i = 0; i < messages; i++) {
+					printer.print("[" + id + ":" + i + "]");
+				}
+			});
+			worker.start();
+			workers.add(worker);
+		}
+		start.countDown();
+		for (Thread worker : workers) {
+			worker.join();
+		}
+
+		int[] next = new int[threads];
+		Matcher matcher = Pattern.compile("\\[(\\d+):(\\d+)\\]").matcher(printer.toString());
+		int total = 0;
+		while (matcher.find()) {
+			int id = Integer.parseInt(matcher.group(1));
+			assertEquals(next[id]++, Integer.parseInt(matcher.group(2)));
+			total++;
+		}
+		assertEquals(threads * messages, total);
+	}
+}